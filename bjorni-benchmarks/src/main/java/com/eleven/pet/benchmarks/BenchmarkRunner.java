@@ -0,0 +1,45 @@
+package com.eleven.pet.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar: runs JMH and always exports the results as JSON.
+ * <p>
+ * Accepts every JMH command line option. Unless {@code -rf}/{@code -rff} say otherwise, the results
+ * are written to {@value #DEFAULT_RESULT_FILE} in the working directory, so two releases can be
+ * compared by diffing or plotting their files (e.g. with a JMH visualizer).
+ * </p>
+ * <pre>{@code
+ * java -jar bjorni-benchmarks/target/benchmarks.jar                       # everything
+ * java -jar bjorni-benchmarks/target/benchmarks.jar Ranking -rff 1.1.json  # a subset, own file
+ * }</pre>
+ */
+public final class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
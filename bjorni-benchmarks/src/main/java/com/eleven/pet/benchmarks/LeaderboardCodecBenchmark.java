@@ -0,0 +1,81 @@
+package com.eleven.pet.benchmarks;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.util.LeaderboardCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link LeaderboardCodec} with the server's Jackson JSON mapping on the payloads the
+ * leaderboard exchanges: a single submission, a client batch and a top list.
+ * <p>
+ * The encoded sizes are printed once during setup.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardCodecBenchmark {
+
+    /**
+     * Number of entries per payload: 1 for a single submission, 10 for a batch, 100 for a top list.
+     */
+    @Param({"1", "10", "100"})
+    public int entries;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private List<LeaderboardEntry> list;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(entries);
+        long timestamp = 1735689600000L;
+        for (int i = 0; i < entries; i++) {
+            timestamp += 1_000 + i * 37L;
+            list.add(new LeaderboardEntry("Bjorni the Bear " + i, 1 + i, i % 2 == 0 ? "TimingGame" : "GuessingGame", timestamp));
+        }
+        json = jsonMapper.writeValueAsBytes(list);
+        binary = LeaderboardCodec.encodeList(list);
+        System.out.printf("%n%d entries: JSON %d B, binary %d B (%.0f%%)%n",
+                entries, json.length, binary.length, 100.0 * binary.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return LeaderboardCodec.encodeList(list);
+    }
+
+    @Benchmark
+    public LeaderboardEntry[] jsonDecode() {
+        return jsonMapper.readValue(json, LeaderboardEntry[].class);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> binaryDecode() {
+        return LeaderboardCodec.decodeList(binary, 0, binary.length);
+    }
+}
@@ -0,0 +1,67 @@
+package com.eleven.pet.benchmarks;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the server's Jackson mapping of {@link LeaderboardEntry}: parsing a submission and
+ * writing a top-10 list, in both directions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardEntryJsonBenchmark {
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private LeaderboardEntry entry;
+    private List<LeaderboardEntry> top;
+    private byte[] entryJson;
+    private byte[] topJson;
+
+    @Setup
+    public void setUp() {
+        entry = new LeaderboardEntry("Bjorni the Bear", 1, "TimingGame", 1735689600000L);
+        top = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            top.add(new LeaderboardEntry("Player " + i, 1_000 - i * 37L, i % 2 == 0 ? "TimingGame" : "GuessingGame", 1735689600000L + i));
+        }
+        entryJson = jsonMapper.writeValueAsBytes(entry);
+        topJson = jsonMapper.writeValueAsBytes(top);
+    }
+
+    @Benchmark
+    public byte[] serializeEntry() {
+        return jsonMapper.writeValueAsBytes(entry);
+    }
+
+    @Benchmark
+    public LeaderboardEntry deserializeEntry() {
+        return jsonMapper.readValue(entryJson, LeaderboardEntry.class);
+    }
+
+    @Benchmark
+    public byte[] serializeTop10() {
+        return jsonMapper.writeValueAsBytes(top);
+    }
+
+    @Benchmark
+    public LeaderboardEntry[] deserializeTop10() {
+        return jsonMapper.readValue(topJson, LeaderboardEntry[].class);
+    }
+}
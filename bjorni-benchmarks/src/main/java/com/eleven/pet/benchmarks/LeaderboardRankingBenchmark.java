@@ -0,0 +1,110 @@
+package com.eleven.pet.benchmarks;
+
+import com.eleven.pet.server.leaderboard.LeaderboardIndex;
+import com.eleven.pet.server.leaderboard.LeaderboardSnapshots;
+import com.eleven.pet.server.model.PlayerStats;
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures what {@code GET /api/v1/leaderboard} costs at different numbers of players.
+ * <p>
+ * {@code cachedView} is the common case, an unchanged leaderboard served from
+ * {@link LeaderboardSnapshots}; {@code viewAfterWin} records a win first, so the view is rebuilt.
+ * {@code indexTop} reads the ranking without serializing. {@code fullSort} is the original
+ * implementation, which sorted every player on each request, as a baseline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardRankingBenchmark {
+    private static final String[] GAMES = {"TimingGame", "GuessingGame"};
+
+    /**
+     * Number of ranked players.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int players;
+
+    /**
+     * Requested length of the top list, the {@code limit} query parameter.
+     */
+    @Param({"10", "100"})
+    public int limit;
+
+    private final Map<String, PlayerStats> playerStats = new ConcurrentHashMap<>();
+    private final LeaderboardIndex index = new LeaderboardIndex();
+    private LeaderboardSnapshots snapshots;
+    private String[] playerIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long now = System.currentTimeMillis();
+        playerIds = new String[players];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = "player-" + i;
+            // A long tail of casual players and a few with many wins
+            int wins = (int) Math.min(100_000, 1 / (random.nextDouble() + 1e-5));
+            PlayerStats stats = PlayerStats.restore("Player " + i, wins, now - random.nextLong(86_400_000L),
+                    Map.of(GAMES[i % GAMES.length], wins));
+            playerStats.put(playerIds[i], stats);
+            index.update(playerIds[i], stats);
+        }
+        snapshots = new LeaderboardSnapshots(index, new ObjectMapper());
+    }
+
+    @Benchmark
+    public byte[] cachedView() {
+        return snapshots.top(limit).json();
+    }
+
+    @Benchmark
+    public byte[] viewAfterWin() {
+        String playerId = playerIds[next];
+        next = next + 1 == players ? 0 : next + 1;
+        PlayerStats stats = playerStats.get(playerId);
+        stats.recordWin(GAMES[next & 1]);
+        index.update(playerId, stats);
+        return snapshots.top(limit).json();
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> indexTop() {
+        return index.top(limit);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> fullSort() {
+        return playerStats.values().stream()
+                .map(stats -> new LeaderboardEntry(stats.getPlayerName(), stats.getTotalWins(),
+                        stats.getTopPlayedGame(), stats.getLastTimestamp()))
+                .sorted(Comparator.comparingLong(LeaderboardEntry::getScore).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
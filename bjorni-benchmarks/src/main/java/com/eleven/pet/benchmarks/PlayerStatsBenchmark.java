@@ -0,0 +1,61 @@
+package com.eleven.pet.benchmarks;
+
+import com.eleven.pet.server.model.GameIds;
+import com.eleven.pet.server.model.PlayerStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-win update of {@link PlayerStats} and the read of its most played game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerStatsBenchmark {
+    private static final String[] GAMES = {"TimingGame", "GuessingGame", "MemoryGame", "ReactionGame"};
+
+    /**
+     * Number of different games the player wins, which bounds the per-game counters scanned.
+     */
+    @Param({"1", "4"})
+    public int games;
+
+    private PlayerStats stats;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        GameIds.register(List.of(GAMES));
+        stats = new PlayerStats("Bjorni");
+        for (int i = 0; i < 1_000; i++) {
+            stats.recordWin(GAMES[i % games]);
+        }
+    }
+
+    @Benchmark
+    public PlayerStats recordWin() {
+        next = next + 1 == games ? 0 : next + 1;
+        stats.recordWin(GAMES[next]);
+        return stats;
+    }
+
+    @Benchmark
+    public String getTopPlayedGame() {
+        return stats.getTopPlayedGame();
+    }
+}
@@ -0,0 +1,113 @@
+package com.eleven.pet.benchmarks;
+
+import com.eleven.pet.shared.util.Signature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signing and verifying a score submission with {@link Signature}, as the client and the
+ * server do for every request.
+ * <p>
+ * The {@code legacy} benchmarks repeat the implementation used before engines were cached, which
+ * created and keyed a new {@link Mac} on every call, as a baseline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+
+    /**
+     * Number of distinct players signing, to include the cost of key lookups.
+     */
+    @Param({"1", "10000"})
+    public int players;
+
+    private final Signature signature = new Signature();
+    private String[] keys;
+    private String[] signatures;
+    private String payload;
+    private byte[] payloadBytes;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        payload = "{\"playerName\":\"Bjorni\",\"score\":1,\"gameName\":\"TimingGame\",\"timestamp\":1735689600000}";
+        payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        keys = new String[players];
+        signatures = new String[players];
+        for (int i = 0; i < players; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            signatures[i] = signature.calculateHMAC(payload, keys[i]);
+        }
+    }
+
+    private int nextPlayer(Cursor cursor) {
+        cursor.next = cursor.next + 1 == players ? 0 : cursor.next + 1;
+        return cursor.next;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String calculateHMAC(Cursor cursor) {
+        return signature.calculateHMAC(payload, keys[nextPlayer(cursor)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean verifyHMAC(Cursor cursor) {
+        int player = nextPlayer(cursor);
+        return signature.verifyHMAC(payloadBytes, 0, payloadBytes.length, keys[player], signatures[player]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyCalculateHMAC(Cursor cursor) {
+        return legacyHmac(payload, keys[nextPlayer(cursor)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean legacyVerifyHMAC(Cursor cursor) {
+        int player = nextPlayer(cursor);
+        return legacyHmac(payload, keys[player]).equals(signatures[player]);
+    }
+
+    /**
+     * The implementation {@link Signature} used before engines were cached.
+     */
+    private static String legacyHmac(String data, String key) {
+        try {
+            Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
+            SecretKeySpec secret_key = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+            sha256_HMAC.init(secret_key);
+            return Base64.getEncoder().encodeToString(sha256_HMAC.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.eleven.pet.character;
+
+import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.core.GameLog;
+import com.eleven.pet.environment.time.GameClock;
+import com.eleven.pet.inventory.ActivePotion;
+
+/**
+ * Catches a pet up on the time the game was closed.
+ *
+ * <p>Replaying hours of real time tick by tick would take millions of updates, so the
+ * elapsed time is split only at the moments where something actually changes: the wake-up
+ * hour, the end of the wake-up window, the start of the sleep window, midnight, every full
+ * hour of sleep, and hunger or cleanliness dropping below the level that speeds up
+ * happiness decay. Between those points stats decay at a constant rate, which is applied in
+ * closed form. The cost therefore grows with the number of in‑game days, not with the
+ * number of frames.</p>
+ *
+ * <p>The rules mirror the live game: a sleeping pet earns sleep rewards until the wake-up
+ * hour (with time running at the sleep time scale), an awake pet decays and is penalized at
+ * the wake-up hour for a night without sleep, potions and the reward cooldown run out, and
+ * every midnight hands out daily items, at most
+ * {@link GameConfig#OFFLINE_MAX_REPLENISHED_DAYS} times.</p>
+ */
+public final class OfflineProgress {
+    private static final double SECONDS_PER_GAME_HOUR = GameConfig.DAY_LENGTH_SECONDS / 24.0;
+    private static final double WAKE_UP = GameConfig.HOUR_WAKE_UP * SECONDS_PER_GAME_HOUR;
+    private static final double WAKE_UP_WINDOW_END = (GameConfig.HOUR_WAKE_UP + 1.0) * SECONDS_PER_GAME_HOUR;
+    private static final double SLEEP_WINDOW_START = GameConfig.HOUR_SLEEP_WINDOW_START * SECONDS_PER_GAME_HOUR;
+    // Stat level below which happiness decays faster, see PetModel#getHappinessDecayRate()
+    private static final int LOW_STAT_THRESHOLD = 30;
+    // Nudges a segment end just past a threshold crossing so the stat is below it afterwards
+    private static final double CROSSING_EPSILON_HOURS = 1e-9;
+    // Times of day closer than this, in game seconds, count as reached despite rounding
+    private static final double TIME_EPSILON = 1e-6;
+
+    private OfflineProgress() {
+    }
+
+    /**
+     * Advances the pet and its clock by the given real time.
+     *
+     * <p>The pet must be attached to a {@link GameClock} set to the time of day at which the
+     * game was closed; without a clock nothing happens, as in the live game. Afterwards the
+     * clock shows the time of day at which the pet is now, and the pet is awake.</p>
+     *
+     * @param pet         the pet to advance
+     * @param realSeconds real time the game was closed, in seconds; non-positive values are ignored
+     * @param asleep      whether the pet was asleep when the game was closed
+     * @return the in‑game time that passed, in seconds
+     */
+    public static double fastForward(PetModel pet, double realSeconds, boolean asleep) {
+        GameClock clock = pet.getClock();
+        if (clock == null || realSeconds <= 0) {
+            return 0.0;
+        }
+
+        Progress progress = new Progress(pet, clock.getGameTime());
+        double remaining = realSeconds;
+        if (asleep) {
+            remaining = progress.sleep(remaining);
+        }
+        if (remaining > 0) {
+            progress.stayAwake(remaining * GameConfig.TIMESCALE_NORMAL);
+        }
+
+        clock.setGameTime(progress.timeOfDay);
+        if (GameLog.isEnabled()) {
+            GameLog.info(String.format("Caught up on %.1f in-game hours while the game was closed.",
+                    progress.gameSecondsPassed / SECONDS_PER_GAME_HOUR));
+        }
+        return progress.gameSecondsPassed;
+    }
+
+    /**
+     * Mutable cursor over the offline period.
+     */
+    private static final class Progress {
+        private final PetModel pet;
+        private double timeOfDay;
+        private double gameSecondsPassed = 0.0;
+        private int replenishedDays = 0;
+
+        Progress(PetModel pet, double timeOfDay) {
+            this.pet = pet;
+            this.timeOfDay = timeOfDay;
+        }
+
+        /**
+         * Sleeps until the wake-up hour or until the real time runs out.
+         *
+         * @return the real time left after waking up, in seconds
+         */
+        double sleep(double realSeconds) {
+            // The reward counter is not saved; hours slept before closing were already rewarded
+            pet.setHoursSleptRewardCount((int) (pet.getCurrentSleepDuration() / SECONDS_PER_GAME_HOUR));
+
+            double untilWakeUp = inWakeUpWindow() ? 0.0 : secondsUntil(WAKE_UP);
+            double budget = realSeconds * GameConfig.TIMESCALE_SLEEP;
+            double left = Math.min(untilWakeUp, budget);
+            while (left > 0) {
+                double duration = pet.getCurrentSleepDuration();
+                double untilNextHour = Math.max((pet.getHoursSleptRewardCount() + 1) * SECONDS_PER_GAME_HOUR - duration, 0.0);
+                double step = Math.min(left, untilNextHour);
+
+                passTime(step);
+                pet.setCurrentSleepDuration(duration + step);
+                left -= step;
+                if (step == untilNextHour) {
+                    pet.rewardSleep(1);
+                    pet.setHoursSleptRewardCount(pet.getHoursSleptRewardCount() + 1);
+                }
+            }
+
+            if (budget < untilWakeUp) {
+                return 0.0;
+            }
+            // Woken up automatically at the wake-up hour; no missed-sleep penalty follows
+            pet.setPassedEightAM(true);
+            return realSeconds - untilWakeUp / GameConfig.TIMESCALE_SLEEP;
+        }
+
+        /**
+         * Decays the awake pet over the given game time, firing the time-of-day rules in order.
+         */
+        void stayAwake(double gameSeconds) {
+            // Rules whose window is already open fire immediately, as on the first live tick
+            if (inWakeUpWindow()) {
+                onWakeUpHour();
+            }
+            if (timeOfDay >= SLEEP_WINDOW_START) {
+                pet.setSleptThisNight(false);
+            }
+
+            double remaining = gameSeconds;
+            while (remaining > 0) {
+                double untilWakeUp = secondsUntil(WAKE_UP);
+                double untilWindowEnd = secondsUntil(WAKE_UP_WINDOW_END);
+                double untilSleepWindow = secondsUntil(SLEEP_WINDOW_START);
+                double untilRule = Math.min(Math.min(untilWakeUp, untilWindowEnd), untilSleepWindow);
+                // Midnight only needs a split so daily items are handed out
+                double step = Math.min(remaining, Math.min(untilRule, secondsUntil(GameConfig.DAY_LENGTH_SECONDS)));
+
+                decay(step);
+                passTime(step);
+                remaining -= step;
+
+                if (step == untilWakeUp) {
+                    onWakeUpHour();
+                } else if (step == untilWindowEnd) {
+                    pet.setPassedEightAM(false);
+                } else if (step == untilSleepWindow) {
+                    pet.setSleptThisNight(false);
+                }
+            }
+        }
+
+        private boolean inWakeUpWindow() {
+            return timeOfDay >= WAKE_UP && timeOfDay < WAKE_UP_WINDOW_END;
+        }
+
+        private void onWakeUpHour() {
+            if (!pet.isPassedEightAM()) {
+                if (!pet.isSleptThisNight()) {
+                    pet.applyMissedSleepPenalty();
+                }
+                pet.setPassedEightAM(true);
+            }
+        }
+
+        /**
+         * Applies stat decay in closed form, split where the happiness decay rate changes.
+         */
+        private void decay(double gameSeconds) {
+            double hours = gameSeconds / SECONDS_PER_GAME_HOUR;
+            while (hours > 0) {
+                PetDefinition definition = pet.getDefinition();
+                double segment = Math.min(hours, Math.min(
+                        hoursUntilLow(PetStats.STAT_HUNGER, pet.getHungerDecayAccum(), definition.hungerDecayRate()),
+                        hoursUntilLow(PetStats.STAT_CLEANLINESS, pet.getCleanlinessDecayAccum(), definition.cleanlinessDecayRate())));
+
+                double happinessRate = pet.getHappinessDecayRate();
+                pet.decayHungerAndCleanliness(segment);
+                pet.decayHappiness(happinessRate, segment);
+                hours -= segment;
+            }
+        }
+
+        /**
+         * Returns when a stat drops below {@link #LOW_STAT_THRESHOLD}, following the
+         * accumulator rule of {@link PetModel#decayHungerAndCleanliness(double)}.
+         */
+        private double hoursUntilLow(String statName, double accumulator, double rate) {
+            int value = pet.getStats().getStat(statName).get();
+            if (value < LOW_STAT_THRESHOLD || rate <= 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            // The stat is below the threshold once the accumulator falls below this bound
+            double bound = Math.min(LOW_STAT_THRESHOLD - value, -1.0);
+            return Math.max((accumulator - bound) / rate, 0.0) + CROSSING_EPSILON_HOURS;
+        }
+
+        /**
+         * Moves the clock forward, running down potions and the reward cooldown
+         * and handing out daily items at midnight.
+         */
+        private void passTime(double gameSeconds) {
+            for (ActivePotion potion : pet.getActivePotions()) {
+                potion.tick(gameSeconds);
+                if (potion.isExpired()) {
+                    pet.getActivePotions().remove(potion);
+                    GameLog.info("Effect Expired: " + potion.getName());
+                }
+            }
+            pet.setRewardCooldown(Math.max(pet.getRewardCooldown() - gameSeconds, 0.0));
+
+            gameSecondsPassed += gameSeconds;
+            timeOfDay += gameSeconds;
+            while (timeOfDay >= GameConfig.DAY_LENGTH_SECONDS - TIME_EPSILON) {
+                timeOfDay = Math.max(timeOfDay - GameConfig.DAY_LENGTH_SECONDS, 0.0);
+                if (replenishedDays < GameConfig.OFFLINE_MAX_REPLENISHED_DAYS) {
+                    pet.replenishDailyInventory();
+                    replenishedDays++;
+                }
+            }
+        }
+
+        /**
+         * Returns the game time until the next occurrence of the given time of day,
+         * a full day if it is now.
+         */
+        private double secondsUntil(double target) {
+            double until = target - timeOfDay;
+            return until > TIME_EPSILON ? until : until + GameConfig.DAY_LENGTH_SECONDS;
+        }
+    }
+}
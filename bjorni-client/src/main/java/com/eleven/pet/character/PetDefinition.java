@@ -7,7 +7,7 @@ import com.eleven.pet.core.GameConfig;
  *
  * <p>Instances describe how quickly stats change over time for a given species,
  * e.g. a dog vs. a cat. These values are used by {@link PetModel} when
- * applying stat decay and sleep rewards.</p>
+ * applying stat decay and sleep rewards, and when handing out daily items.</p>
  *
  * @param speciesName          display name of the species (e.g. "Dog", "Bear")
  * @param happinessDecayRate   rate at which happiness decreases per game hour
@@ -15,6 +15,10 @@ import com.eleven.pet.core.GameConfig;
  * @param cleanlinessDecayRate rate at which cleanliness decreases per game hour
  * @param energyPerHour        energy gained per hour of sleep
  * @param happinessPerHour     happiness gained per hour of sleep
+ * @param dailyFoodMin         fewest units of a food item handed out per daily roll
+ * @param dailyFoodMax         most units of a food item handed out per daily roll
+ * @param dailyCleaningMin     fewest units of a cleaning item handed out per daily roll
+ * @param dailyCleaningMax     most units of a cleaning item handed out per daily roll
  */
 public record PetDefinition(
         String speciesName,
@@ -22,7 +26,11 @@ public record PetDefinition(
         double hungerDecayRate,
         double cleanlinessDecayRate,
         int energyPerHour,
-        int happinessPerHour
+        int happinessPerHour,
+        int dailyFoodMin,
+        int dailyFoodMax,
+        int dailyCleaningMin,
+        int dailyCleaningMax
 ) {
 
     /**
@@ -34,4 +42,20 @@ public record PetDefinition(
         this(speciesName, GameConfig.HAPPINESS_DECAY_RATE, GameConfig.HUNGER_DECAY_RATE, GameConfig.CLEANLINESS_DECAY_RATE, GameConfig.SLEEP_ENERGY_PER_HOUR, GameConfig.SLEEP_HAPPINESS_PER_HOUR);
     }
 
+    /**
+     * Creates a {@code PetDefinition} with the given rates and the daily item amounts from {@link GameConfig}.
+     *
+     * @param speciesName          display name of the species
+     * @param happinessDecayRate   rate at which happiness decreases per game hour
+     * @param hungerDecayRate      rate at which hunger decreases per game hour
+     * @param cleanlinessDecayRate rate at which cleanliness decreases per game hour
+     * @param energyPerHour        energy gained per hour of sleep
+     * @param happinessPerHour     happiness gained per hour of sleep
+     */
+    public PetDefinition(String speciesName, double happinessDecayRate, double hungerDecayRate,
+                         double cleanlinessDecayRate, int energyPerHour, int happinessPerHour) {
+        this(speciesName, happinessDecayRate, hungerDecayRate, cleanlinessDecayRate, energyPerHour, happinessPerHour,
+                GameConfig.DAILY_FOOD_MIN, GameConfig.DAILY_FOOD_MAX, GameConfig.DAILY_CLEANING_MIN, GameConfig.DAILY_CLEANING_MAX);
+    }
+
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.eleven.pet.character.behavior.PetState;
 import com.eleven.pet.character.behavior.StateRegistry;
 import com.eleven.pet.core.AssetLoader;
 import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.core.GameLog;
 import com.eleven.pet.environment.time.GameClock;
 import com.eleven.pet.environment.time.TimeListener;
 import com.eleven.pet.environment.weather.WeatherListener;
@@ -32,8 +33,6 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 @Data
 public class PetModel implements TimeListener, WeatherListener {
-    private static final Random random = new Random();
-
     private final String name;
     private String playerId;
     private String secretKey;
@@ -60,6 +59,9 @@ public class PetModel implements TimeListener, WeatherListener {
 
     private PetDefinition definition;
 
+    // Source of the daily item rolls; seeded by simulations so runs can be reproduced
+    private final Random random;
+
     // Thread-safe list to handle concurrent modifications during ticks
     private final List<ActivePotion> activePotions = new CopyOnWriteArrayList<>();
 
@@ -74,10 +76,24 @@ public class PetModel implements TimeListener, WeatherListener {
      * @param clock         game clock to subscribe to, may be {@code null}
      */
     public PetModel(String name, PetDefinition definition, WeatherSystem weatherSystem, GameClock clock) {
+        this(name, definition, weatherSystem, clock, new Random());
+    }
+
+    /**
+     * Creates a new pet model that draws its daily items from the given random source.
+     *
+     * @param name          pet name
+     * @param definition    species parameters
+     * @param weatherSystem weather system to subscribe to, may be {@code null}
+     * @param clock         game clock to subscribe to, may be {@code null}
+     * @param random        random source for daily items, e.g. seeded for reproducible simulations
+     */
+    public PetModel(String name, PetDefinition definition, WeatherSystem weatherSystem, GameClock clock, Random random) {
         this.name = name;
         this.weatherSystem = weatherSystem;
         this.clock = clock;
         this.definition = definition;
+        this.random = random;
 
         // Initialize stats
         stats.registerStat(PetStats.STAT_HUNGER, 50);
@@ -91,13 +107,33 @@ public class PetModel implements TimeListener, WeatherListener {
         this.currentState = new SimpleObjectProperty<>(awakeState);
 
         // Subscribe to environment systems
-        if (clock != null) clock.subscribe(this);
+        if (clock != null) {
+            clock.subscribe(this);
+            scheduleTimeOfDayRules(clock);
+        }
         if (weatherSystem != null) weatherSystem.subscribe(this);
 
         // Set up daily inventory items
         replenishDailyInventory();
     }
 
+    /**
+     * Schedules the daily sleep rules on the clock, so that they run once when their
+     * hour is reached instead of being checked on every tick. Each rule is passed on
+     * to whichever state is active at that moment.
+     */
+    private void scheduleTimeOfDayRules(GameClock clock) {
+        clock.scheduleAtHour(GameConfig.HOUR_WAKE_UP, () -> {
+            if (currentState.get() != null) currentState.get().onWakeUpHour(this);
+        });
+        clock.scheduleAtHour(GameConfig.HOUR_WAKE_UP + 1.0, () -> {
+            if (currentState.get() != null) currentState.get().onWakeUpWindowEnd(this);
+        });
+        clock.scheduleAtHour(GameConfig.HOUR_SLEEP_WINDOW_START, () -> {
+            if (currentState.get() != null) currentState.get().onSleepWindowStart(this);
+        });
+    }
+
     /**
      * Computes the effective multiplier for a given stat based on all active potions.
      *
@@ -138,7 +174,7 @@ public class PetModel implements TimeListener, WeatherListener {
     public void addPotion(StatPotionDefinition def) {
         if (def != null) {
             activePotions.add(new ActivePotion(def));
-            System.out.println("Effect Applied: " + def.name() + " (x" + def.multiplier() + " to " + def.statType() + ")");
+            GameLog.info("Effect Applied: " + def.name() + " (x" + def.multiplier() + " to " + def.statType() + ")");
         }
     }
 
@@ -150,7 +186,7 @@ public class PetModel implements TimeListener, WeatherListener {
     public void changeState(PetState newState) {
         if (newState == null) return;
         currentState.set(newState);
-        System.out.println(name + " changed state to: " + newState.getStateName());
+        GameLog.info(name + " changed state to: " + newState.getStateName());
         String soundName = newState.getSoundName();
         if (soundName != null) {
             AssetLoader.getInstance().playSound(soundName);
@@ -231,7 +267,7 @@ public class PetModel implements TimeListener, WeatherListener {
      * Centralizes the business logic for missed sleep penalties.
      */
     public void applyMissedSleepPenalty() {
-        System.out.println(name + " stayed up all night! Penalty applied.");
+        GameLog.info(name + " stayed up all night! Penalty applied.");
         stats.modifyStat(PetStats.STAT_ENERGY, -GameConfig.MISSED_SLEEP_ENERGY_PENALTY);
         stats.modifyStat(PetStats.STAT_HAPPINESS, -GameConfig.MISSED_SLEEP_HAPPINESS_PENALTY);
     }
@@ -243,21 +279,27 @@ public class PetModel implements TimeListener, WeatherListener {
     /**
      * Replenishes daily inventory items into the pet's inventory.
      *
-     * <p>The amount and type of Items are randomized within configured bounds.</p>
+     * <p>The amount and type of Items are randomized within the bounds of the
+     * {@link PetDefinition}.</p>
      */
     public void replenishDailyInventory() {
-        System.out.println("Replenishing Daily Inventory for " + name + "...");
+        GameLog.info("Replenishing Daily Inventory for " + name + "...");
+        int foodMin = (definition != null) ? definition.dailyFoodMin() : GameConfig.DAILY_FOOD_MIN;
+        int foodMax = (definition != null) ? definition.dailyFoodMax() : GameConfig.DAILY_FOOD_MAX;
+        int cleaningMin = (definition != null) ? definition.dailyCleaningMin() : GameConfig.DAILY_CLEANING_MIN;
+        int cleaningMax = (definition != null) ? definition.dailyCleaningMax() : GameConfig.DAILY_CLEANING_MAX;
+
         for (int i = 0; i < random.nextInt(1, 6); i++) {
-            Item rndmDailyItem = ItemRegistry.getRandomItem();
+            Item rndmDailyItem = ItemRegistry.getRandomItem(random);
 
             if (Objects.requireNonNull(rndmDailyItem).getClass() == FoodItem.class) {
-                int quantity = random.nextInt(GameConfig.DAILY_FOOD_MIN, GameConfig.DAILY_FOOD_MAX + 1);
+                int quantity = random.nextInt(foodMin, foodMax + 1);
                 inventory.add(rndmDailyItem, quantity);
-                System.out.println("Added to Inventory: " + quantity + " x " + rndmDailyItem.name());
+                GameLog.info("Added to Inventory: " + quantity + " x " + rndmDailyItem.name());
             } else if (Objects.requireNonNull(rndmDailyItem).getClass() == CleaningItem.class) {
-                int quantity = random.nextInt(GameConfig.DAILY_CLEANING_MIN, GameConfig.DAILY_CLEANING_MAX + 1);
+                int quantity = random.nextInt(cleaningMin, cleaningMax + 1);
                 inventory.add(rndmDailyItem, quantity);
-                System.out.println("Added to Inventory: " + quantity + " x " + rndmDailyItem.name());
+                GameLog.info("Added to Inventory: " + quantity + " x " + rndmDailyItem.name());
             }
         }
     }
@@ -289,6 +331,21 @@ public class PetModel implements TimeListener, WeatherListener {
         double hoursElapsed = (timeDelta / GameConfig.DAY_LENGTH_SECONDS) * 24.0;
 
         // 2. Use 'hoursElapsed' for accumulation instead of 'timeDelta'
+        decayHungerAndCleanliness(hoursElapsed);
+
+        // 3. Use 'hoursElapsed' here as well
+        decayHappiness(getHappinessDecayRate(), hoursElapsed);
+    }
+
+    /**
+     * Reduces hunger and cleanliness at the {@link PetDefinition} rates.
+     *
+     * <p>Fractional decay is carried over in accumulators, so calling this once for a long
+     * span or many times for short spans removes the same whole amount.</p>
+     *
+     * @param hoursElapsed elapsed time in game hours
+     */
+    public void decayHungerAndCleanliness(double hoursElapsed) {
         hungerDecayAccum -= definition.hungerDecayRate() * hoursElapsed;
         cleanlinessDecayAccum -= definition.cleanlinessDecayRate() * hoursElapsed;
 
@@ -303,7 +360,18 @@ public class PetModel implements TimeListener, WeatherListener {
             cleanlinessDecayAccum -= cleanDelta;
             stats.modifyStat(PetStats.STAT_CLEANLINESS, cleanDelta);
         }
+    }
 
+    /**
+     * Computes the current happiness decay rate.
+     *
+     * <p>Starts from the {@link PetDefinition} rate, which doubles while hunger is below 30,
+     * rises by half while cleanliness is below 30, and is divided by the weather's
+     * happiness modifier.</p>
+     *
+     * @return happiness lost per game hour at the current stats and weather
+     */
+    public double getHappinessDecayRate() {
         double currentHunger = stats.getStat(PetStats.STAT_HUNGER).get();
         double currentClean = stats.getStat(PetStats.STAT_CLEANLINESS).get();
 
@@ -317,8 +385,17 @@ public class PetModel implements TimeListener, WeatherListener {
             double weatherModifier = weatherSystem.getCurrentWeather().getHappinessModifier();
             happinessRate /= weatherModifier; // Higher modifier = slower decay
         }
+        return happinessRate;
+    }
 
-        // 3. Use 'hoursElapsed' here as well
+    /**
+     * Reduces happiness at the given rate, carrying fractions over like
+     * {@link #decayHungerAndCleanliness(double)}.
+     *
+     * @param happinessRate happiness lost per game hour
+     * @param hoursElapsed  elapsed time in game hours
+     */
+    public void decayHappiness(double happinessRate, double hoursElapsed) {
         happinessDecayAccum -= happinessRate * hoursElapsed;
 
         if (Math.abs(happinessDecayAccum) >= 1.0) {
@@ -328,6 +405,36 @@ public class PetModel implements TimeListener, WeatherListener {
         }
     }
 
+    /**
+     * Rewards energy and happiness for hours of sleep at the {@link PetDefinition} rates,
+     * scaled by active potions.
+     *
+     * @param hours number of newly completed hours of sleep
+     */
+    public void rewardSleep(int hours) {
+        // Get multipliers from active potions
+        double energyMult = getStatMultiplier(PetStats.STAT_ENERGY);
+        double happyMult = getStatMultiplier(PetStats.STAT_HAPPINESS);
+
+        // Calculate base values
+        int energyPerHour = (definition != null) ? definition.energyPerHour() : GameConfig.SLEEP_ENERGY_PER_HOUR;
+        int happinessPerHour = (definition != null) ? definition.happinessPerHour() : GameConfig.SLEEP_HAPPINESS_PER_HOUR;
+        int baseEnergy = hours * energyPerHour;
+        int baseHappy = hours * happinessPerHour;
+
+        // Apply multipliers
+        int finalEnergyGain = (int) (baseEnergy * energyMult);
+        int finalHappyGain = (int) (baseHappy * happyMult);
+
+        // Update Stats
+        stats.modifyStat(PetStats.STAT_ENERGY, finalEnergyGain);
+        stats.modifyStat(PetStats.STAT_HAPPINESS, finalHappyGain);
+
+        GameLog.info("Sleep (" + hours + "h): Energy +" + finalEnergyGain
+                + " (x" + energyMult + "), Happiness +" + finalHappyGain
+                + " (x" + happyMult + ")");
+    }
+
     /**
      * Applies the result of a minigame to the pet's stats.
      *
@@ -372,7 +479,7 @@ public class PetModel implements TimeListener, WeatherListener {
             potion.tick(timeDelta);
             if (potion.isExpired()) {
                 activePotions.remove(potion);
-                System.out.println("Effect Expired: " + potion.getName());
+                GameLog.info("Effect Expired: " + potion.getName());
             }
         }
 
@@ -393,7 +500,7 @@ public class PetModel implements TimeListener, WeatherListener {
 
     @Override
     public void onWeatherChange(WeatherState newWeather) {
-        System.out.println(name + " notices the weather changed to: " + newWeather.getName());
+        GameLog.info(name + " notices the weather changed to: " + newWeather.getName());
         // Weather effects are applied continuously through the happiness decay modifier
     }
 }
\ No newline at end of file
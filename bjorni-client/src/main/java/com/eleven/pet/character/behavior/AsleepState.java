@@ -1,8 +1,8 @@
 package com.eleven.pet.character.behavior;
 
 import com.eleven.pet.character.PetModel;
-import com.eleven.pet.character.PetStats;
 import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.core.GameLog;
 import com.eleven.pet.inventory.Item;
 import com.google.auto.service.AutoService;
 
@@ -30,7 +30,7 @@ public class AsleepState implements PetState {
      */
     @Override
     public boolean handleConsume(PetModel pet, Item item) {
-        System.out.println(pet.getName() + " is asleep and cannot eat right now.");
+        GameLog.info(pet.getName() + " is asleep and cannot eat right now.");
         return false;
     }
 
@@ -52,7 +52,7 @@ public class AsleepState implements PetState {
     @Override
     public void handleSleep(PetModel pet) {
         // Manual Wake Up
-        System.out.println("Player woke up " + pet.getName() + " manually.");
+        GameLog.info("Player woke up " + pet.getName() + " manually.");
             
         wakeUp(pet);
     }
@@ -64,16 +64,15 @@ public class AsleepState implements PetState {
      */
     @Override
     public boolean handleClean(PetModel pet) {
-        System.out.println(pet.getName() + " is asleep and cannot be cleaned right now.");
+        GameLog.info(pet.getName() + " is asleep and cannot be cleaned right now.");
         return false;
     }
 
     /**
      * Periodic update while the pet is asleep.
      *
-     * <p>Accumulates sleep duration, periodically rewards energy and happiness
-     * based on hours slept (taking stat multipliers into account), and
-     * automatically wakes the pet at the configured wake-up hour.</p>
+     * <p>Accumulates sleep duration and periodically rewards energy and happiness
+     * based on hours slept (taking stat multipliers into account).</p>
      *
      * @param pet       the sleeping pet
      * @param timeDelta elapsed time since last tick, in game time units
@@ -93,41 +92,26 @@ public class AsleepState implements PetState {
         // Safety check: Prevent massive spikes if logic desyncs or saves are loaded weirdly
         if (hoursToReward > 10 && pet.getHoursSleptRewardCount() == 0) {
             pet.setHoursSleptRewardCount(totalHoursSlept);
-            System.out.println("Synced sleep reward counter (prevented massive load spike).");
+            GameLog.info("Synced sleep reward counter (prevented massive load spike).");
         }
 
         if (hoursToReward > 0) {
-            // Get multipliers from active potions
-            double energyMult = pet.getStatMultiplier(PetStats.STAT_ENERGY);
-            double happyMult = pet.getStatMultiplier(PetStats.STAT_HAPPINESS);
-
-            // Calculate base values
-            int baseEnergy = hoursToReward * GameConfig.SLEEP_ENERGY_PER_HOUR;
-            int baseHappy = hoursToReward * GameConfig.SLEEP_HAPPINESS_PER_HOUR;
-
-            // Apply multipliers
-            int finalEnergyGain = (int) (baseEnergy * energyMult);
-            int finalHappyGain = (int) (baseHappy * happyMult);
-
-            // Update Stats
-            pet.getStats().modifyStat(PetStats.STAT_ENERGY, finalEnergyGain);
-            pet.getStats().modifyStat(PetStats.STAT_HAPPINESS, finalHappyGain);
-
+            pet.rewardSleep(hoursToReward);
             pet.setHoursSleptRewardCount(pet.getHoursSleptRewardCount() + hoursToReward);
-
-            System.out.println("Sleep (" + hoursToReward + "h): Energy +" + finalEnergyGain
-                    + " (x" + energyMult + "), Happiness +" + finalHappyGain
-                    + " (x" + happyMult + ")");
         }
+    }
 
-        // Automatic wake up at 8:00 AM
-        if (pet.getCurrentGameHour() >= GameConfig.HOUR_WAKE_UP &&
-                pet.getCurrentGameHour() < (GameConfig.HOUR_WAKE_UP + 1.0)) {
-
-            System.out.println(pet.getName() + " automatically woke up at 8:00 AM.");
-            pet.setPassedEightAM(true);
-            wakeUp(pet);
-        }
+    /**
+     * Automatically wakes the pet at the wake-up hour. Counts as having passed
+     * the wake-up check, so no missed sleep penalty follows.
+     *
+     * @param pet the sleeping pet
+     */
+    @Override
+    public void onWakeUpHour(PetModel pet) {
+        GameLog.info(pet.getName() + " automatically woke up at 8:00 AM.");
+        pet.setPassedEightAM(true);
+        wakeUp(pet);
     }
 
     /**
@@ -2,7 +2,7 @@ package com.eleven.pet.character.behavior;
 
 import com.eleven.pet.character.PetModel;
 import com.eleven.pet.character.PetStats;
-import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.core.GameLog;
 import com.eleven.pet.inventory.Item;
 import com.google.auto.service.AutoService;
 
@@ -27,10 +27,10 @@ public class AwakeState implements PetState {
     public boolean handleConsume(PetModel pet, Item item) {
         if (pet.getInventory().canRemove(item, 1)) {  // QUERY 
             pet.getInventory().remove(item, 1);        //  COMMAND
-            System.out.println(pet.getName() + " is consuming " + item.name() + ".");
+            GameLog.info(pet.getName() + " is consuming " + item.name() + ".");
             return item.use(pet);
         }
-        System.out.println(item.name() + " is not available in inventory.");
+        GameLog.info(item.name() + " is not available in inventory.");
         return false;
     }
 
@@ -53,7 +53,7 @@ public class AwakeState implements PetState {
      */
     @Override
     public void handleSleep(PetModel pet) {
-        System.out.println(pet.getName() + " is getting ready to sleep...");
+        GameLog.info(pet.getName() + " is getting ready to sleep...");
 
         // Initialize sleep flags BEFORE changing state
         pet.setSleptThisNight(true);
@@ -82,13 +82,13 @@ public class AwakeState implements PetState {
     public boolean handleClean(PetModel pet) {
         int currentEnergy = pet.getStats().getStat(PetStats.STAT_ENERGY).get();
         if (currentEnergy < 5) {
-            System.out.println(pet.getName() + " is too tired to be cleaned right now.");
+            GameLog.info(pet.getName() + " is too tired to be cleaned right now.");
             return false;
         }
 
         int currentCleanliness = pet.getStats().getStat(PetStats.STAT_CLEANLINESS).get();
         if (currentCleanliness >= 100) {
-            System.out.println(pet.getName() + " is already perfectly clean!");
+            GameLog.info(pet.getName() + " is already perfectly clean!");
             return false;
         }
 
@@ -101,13 +101,12 @@ public class AwakeState implements PetState {
         }
         
         pet.getStats().modifyStat(PetStats.STAT_ENERGY, -5);
-        System.out.println(pet.getName() + " has been cleaned.");
+        GameLog.info(pet.getName() + " has been cleaned.");
         return true;
     }
 
     /**
-     * Periodic update called by the game clock. Applies stat decay and manages daily sleep
-     * checks and flags (missed sleep penalty at wake-up hour, resetting flags after the window).
+     * Periodic update called by the game clock. Applies stat decay.
      *
      * @param pet       the {@link PetModel} to update
      * @param timeDelta time elapsed since the last tick in game time units
@@ -116,28 +115,45 @@ public class AwakeState implements PetState {
     public void onTick(PetModel pet, double timeDelta) {
         if (pet.getClock() == null) return;
 
-        double currentHour = pet.getCurrentGameHour();
         pet.applyStatDecay(timeDelta);
+    }
 
-        // 1. Check for Missed Sleep Penalty at 8 AM
-        if (currentHour >= GameConfig.HOUR_WAKE_UP && currentHour < (GameConfig.HOUR_WAKE_UP + 1.0)) {
-            if (!pet.isPassedEightAM()) {
-                if (!pet.isSleptThisNight()) {
-                    applyMissedSleepPenalty(pet);
-                }
-                pet.setPassedEightAM(true);
+    /**
+     * Applies the missed sleep penalty at the wake-up hour if the pet did not sleep
+     * during the night, and marks the daily check as done.
+     *
+     * @param pet the {@link PetModel} to update
+     */
+    @Override
+    public void onWakeUpHour(PetModel pet) {
+        if (!pet.isPassedEightAM()) {
+            if (!pet.isSleptThisNight()) {
+                applyMissedSleepPenalty(pet);
             }
+            pet.setPassedEightAM(true);
         }
+    }
 
-        // 2. Reset the daily check flag after 9 AM
-        if (currentHour >= (GameConfig.HOUR_WAKE_UP + 1.0) && pet.isPassedEightAM()) {
-            pet.setPassedEightAM(false);
-        }
+    /**
+     * Resets the daily check flag once the wake-up window is over.
+     *
+     * @param pet the {@link PetModel} to update
+     */
+    @Override
+    public void onWakeUpWindowEnd(PetModel pet) {
+        pet.setPassedEightAM(false);
+    }
 
-        // 3. Reset sleep flag at 20:00 (Start of new sleep window)
-        if (currentHour >= GameConfig.HOUR_SLEEP_WINDOW_START && pet.isSleptThisNight()) {
+    /**
+     * Resets the sleep flag at the start of the new sleep window.
+     *
+     * @param pet the {@link PetModel} to update
+     */
+    @Override
+    public void onSleepWindowStart(PetModel pet) {
+        if (pet.isSleptThisNight()) {
             pet.setSleptThisNight(false);
-            System.out.println("It is now evening. Sleep flag reset.");
+            GameLog.info("It is now evening. Sleep flag reset.");
         }
     }
 
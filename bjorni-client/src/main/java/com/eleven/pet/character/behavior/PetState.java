@@ -8,7 +8,8 @@ import com.eleven.pet.inventory.Item;
  *
  * <p>Implementations encapsulate how the pet reacts to user actions
  * (consume, play, sleep, clean) and how it is updated over time while
- * the state is active.</p>
+ * the state is active. Rules tied to a time of day are not checked on every tick but
+ * called through the hour hooks, which {@link PetModel} schedules on its game clock.</p>
  */
 public interface PetState {
 
@@ -54,6 +55,34 @@ public interface PetState {
      */
     void onTick(PetModel pet, double timeDelta);
 
+    /**
+     * Called once a day when the clock reaches {@link com.eleven.pet.core.GameConfig#HOUR_WAKE_UP}
+     * while this state is active. Does nothing by default.
+     *
+     * @param pet the pet to update
+     */
+    default void onWakeUpHour(PetModel pet) {
+    }
+
+    /**
+     * Called once a day when the wake-up window closes, one hour after the wake-up hour,
+     * while this state is active. Does nothing by default.
+     *
+     * @param pet the pet to update
+     */
+    default void onWakeUpWindowEnd(PetModel pet) {
+    }
+
+    /**
+     * Called once a day when the clock reaches
+     * {@link com.eleven.pet.core.GameConfig#HOUR_SLEEP_WINDOW_START} while this state is
+     * active. Does nothing by default.
+     *
+     * @param pet the pet to update
+     */
+    default void onSleepWindowStart(PetModel pet) {
+    }
+
     /**
      * Returns the canonical, unique name of this state.
      *
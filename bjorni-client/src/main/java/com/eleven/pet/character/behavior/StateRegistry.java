@@ -1,5 +1,7 @@
 package com.eleven.pet.character.behavior;
 
+import com.eleven.pet.core.GameLog;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ServiceLoader;
@@ -79,12 +81,12 @@ public class StateRegistry {
         ServiceLoader<PetState> loader = ServiceLoader.load(PetState.class);
         for (PetState state : loader) {
             stateMap.put(state.getStateName(), state);
-            System.out.println("Loaded state: " + state.getStateName());
+            GameLog.info("Loaded state: " + state.getStateName());
         }
 
         // Fallback: if no states were loaded via SPI, manually register them
         if (stateMap.isEmpty()) {
-            System.out.println("No states loaded via SPI, registering manually...");
+            GameLog.info("No states loaded via SPI, registering manually...");
             registerState(new AwakeState());
             registerState(new AsleepState());
         }
@@ -23,6 +23,8 @@ public class AssetLoader {
     private static AssetLoader instance;
     private final Map<String, Image> imageCache = new HashMap<>();
     private final Map<String, AudioClip> soundCache = new HashMap<>();
+    // Headless simulations turn sound off so no audio clips are created
+    private volatile boolean soundEnabled = true;
     
     // Base path for all sounds
     private static final String SOUND_ROOT = "/audio/";
@@ -49,6 +51,9 @@ public class AssetLoader {
      * @param relativePath the name of the sound file (without extension) inside /resources/sounds/
      */
     public void playSound(String relativePath) {
+        if (!soundEnabled) {
+            return;
+        }
         AudioClip clip = soundCache.computeIfAbsent(relativePath, this::loadSound);
         if (clip != null) {
             // Stop if currently playing to allow rapid re-triggering or overlapping
@@ -59,6 +64,15 @@ public class AssetLoader {
         }
     }
 
+    /**
+     * Enables or disables sound playback; while disabled, {@link #playSound(String)} does nothing.
+     *
+     * @param soundEnabled {@code false} to mute all sound effects
+     */
+    public void setSoundEnabled(boolean soundEnabled) {
+        this.soundEnabled = soundEnabled;
+    }
+
     /**
      * Loads an audio clip from disk.
      */
@@ -70,6 +70,14 @@ public final class GameConfig {
      * Timescale multiplier applied while sleeping.
      */
     public static final double TIMESCALE_SLEEP = 4.0;
+    /**
+     * Real time simulated by one fixed simulation step, in seconds (20 steps per second).
+     */
+    public static final double SIMULATION_STEP_SECONDS = 1.0 / 20.0;
+    /**
+     * Largest backlog of real time the simulation catches up on after a stalled frame, in seconds.
+     */
+    public static final double SIMULATION_MAX_CATCH_UP_SECONDS = 5.0;
 
     /**
      * Default in‑game wake‑up hour.
@@ -107,11 +115,27 @@ public final class GameConfig {
      */
     public static final double AUTOSAVE_INTERVAL_SECONDS = 30.0;
 
+    /**
+     * Most in‑game days whose daily items are handed out when the game catches up
+     * on the time it was closed.
+     */
+    public static final int OFFLINE_MAX_REPLENISHED_DAYS = 3;
+
     /**
      * Path of the main savegame file.
      */
     public static final Path SAVE_PATH = Paths.get("savegame.dat");
 
+    /**
+     * Path of the file holding leaderboard results not yet accepted by the server.
+     */
+    public static final Path LEADERBOARD_OUTBOX_PATH = Paths.get("leaderboard-outbox.jsonl");
+
+    /**
+     * Whether leaderboard traffic uses the compact binary encoding instead of JSON.
+     */
+    public static final boolean LEADERBOARD_BINARY_WIRE = false;
+
     /**
      * Version tag stored in save files to detect incompatibilities.
      */
@@ -13,12 +13,16 @@ import javafx.util.Duration;
  * the game clock and weather system.
  *
  * <p>This class owns the main animation loop and schedules periodic
- * weather changes.</p>
+ * weather changes. The animation loop only measures real time; the
+ * simulation itself advances in fixed steps of
+ * {@link GameConfig#SIMULATION_STEP_SECONDS} through a {@link SimulationLoop},
+ * so game logic does not depend on the frame rate.</p>
  */
 public class GameEngine {
     private final PetModel model;
     private final GameClock clock;
     private final WeatherSystem weatherSystem;
+    private final SimulationLoop simulation;
 
     private AnimationTimer gameLoop;
     private Timeline weatherTimer;
@@ -37,6 +41,8 @@ public class GameEngine {
         this.model = model;
         this.clock = clock;
         this.weatherSystem = weatherSystem;
+        this.simulation = new SimulationLoop(GameConfig.SIMULATION_STEP_SECONDS,
+                GameConfig.SIMULATION_MAX_CATCH_UP_SECONDS, this::step);
     }
 
     /**
@@ -47,8 +53,9 @@ public class GameEngine {
     public void start() {
         if (isRunning) return;
 
-        // Start the visual/logic loop (60 FPS)
+        // Start the frame loop; it feeds real time into the fixed-step simulation
         lastFrameTime = System.nanoTime();
+        simulation.reset();
         gameLoop = new AnimationTimer() {
             @Override
             public void handle(long now) {
@@ -75,11 +82,10 @@ public class GameEngine {
     }
 
     /**
-     * Updates the game state based on the elapsed time since the last frame.
+     * Feeds the real time elapsed since the last frame into the simulation.
      *
-     * <p>The delta time is computed from {@code now} and used to advance the
-     * {@link GameClock}. When a new in‑game day starts, the pet's daily food
-     * is replenished.</p>
+     * <p>The delta time is computed from {@code now}; the {@link SimulationLoop}
+     * then runs as many fixed steps as have become due.</p>
      *
      * @param now the current time in nanoseconds, provided by {@link AnimationTimer}
      */
@@ -88,7 +94,15 @@ public class GameEngine {
         double deltaSeconds = (now - lastFrameTime) / 1_000_000_000.0;
         lastFrameTime = now;
 
-        boolean newDayStarted = clock.tick(deltaSeconds);
+        simulation.advance(deltaSeconds);
+    }
+
+    /**
+     * Advances the {@link GameClock} by one fixed simulation step. When a new
+     * in‑game day starts, the pet's daily food is replenished.
+     */
+    private void step() {
+        boolean newDayStarted = clock.tick(GameConfig.SIMULATION_STEP_SECONDS);
         if (newDayStarted) {
             model.replenishDailyInventory();
         }
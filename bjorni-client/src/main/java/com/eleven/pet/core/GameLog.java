@@ -0,0 +1,43 @@
+package com.eleven.pet.core;
+
+/**
+ * Console log of the game model: pet actions, state changes, weather and rewards.
+ *
+ * <p>Headless simulations turn it off with {@link #setEnabled(boolean)}, since printing every
+ * interaction of thousands of parallel pets would serialize them on {@link System#out}.</p>
+ */
+public final class GameLog {
+    private static volatile boolean enabled = true;
+
+    private GameLog() {
+    }
+
+    /**
+     * Prints a message to standard output unless logging is disabled.
+     *
+     * @param message the line to print
+     */
+    public static void info(String message) {
+        if (enabled) {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     * Returns whether messages are printed; callers can check it before building expensive messages.
+     *
+     * @return {@code true} if {@link #info(String)} prints
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the model's console output; errors on {@code System.err} are not affected.
+     *
+     * @param enabled {@code false} to silence {@link #info(String)}
+     */
+    public static void setEnabled(boolean enabled) {
+        GameLog.enabled = enabled;
+    }
+}
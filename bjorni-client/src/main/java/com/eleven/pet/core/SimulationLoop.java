@@ -0,0 +1,87 @@
+package com.eleven.pet.core;
+
+/**
+ * Fixed-timestep scheduler for the game simulation.
+ *
+ * <p>Real elapsed time is collected in an accumulator and consumed in steps of
+ * exactly {@link #getStepSeconds()}, so the simulation sees the same sequence of
+ * deltas no matter how often or how irregularly it is driven: 30, 60 or 144 frames
+ * per second and a frame that took half a second all produce identical results.
+ * Time left over after the last whole step is carried over to the next call.</p>
+ *
+ * <p>If the driver stalls for longer than the catch-up limit, the excess time is
+ * dropped instead of being replayed, so a long stall cannot snowball into frames
+ * that each try to simulate more than they can.</p>
+ *
+ * <p>This class has no JavaFX dependency and can be driven from any single thread.</p>
+ */
+public class SimulationLoop {
+    private final double stepSeconds;
+    private final double maxCatchUpSeconds;
+    private final Runnable step;
+
+    private double accumulator = 0.0;
+    private long stepCount = 0;
+
+    /**
+     * Creates a loop that runs {@code step} once per {@code stepSeconds} of real time.
+     *
+     * @param stepSeconds       real time simulated by one step, in seconds; must be positive
+     * @param maxCatchUpSeconds largest backlog of real time replayed after a stall, in seconds
+     * @param step              the simulation update to run for each step
+     */
+    public SimulationLoop(double stepSeconds, double maxCatchUpSeconds, Runnable step) {
+        if (stepSeconds <= 0) {
+            throw new IllegalArgumentException("Step length must be positive: " + stepSeconds);
+        }
+        this.stepSeconds = stepSeconds;
+        this.maxCatchUpSeconds = Math.max(maxCatchUpSeconds, stepSeconds);
+        this.step = step;
+    }
+
+    /**
+     * Adds real elapsed time and runs every step that became due.
+     *
+     * @param realSeconds real time since the previous call, in seconds; negative values are ignored
+     * @return the number of steps that were run
+     */
+    public int advance(double realSeconds) {
+        if (realSeconds > 0) {
+            accumulator = Math.min(accumulator + realSeconds, maxCatchUpSeconds);
+        }
+
+        int steps = 0;
+        while (accumulator >= stepSeconds) {
+            step.run();
+            accumulator -= stepSeconds;
+            steps++;
+        }
+        stepCount += steps;
+        return steps;
+    }
+
+    /**
+     * Discards any accumulated time, e.g. when the simulation is resumed after a pause.
+     */
+    public void reset() {
+        accumulator = 0.0;
+    }
+
+    /**
+     * Returns the real time simulated by one step.
+     *
+     * @return the step length in seconds
+     */
+    public double getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * Returns the number of steps run since this loop was created.
+     *
+     * @return the total step count
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+}
@@ -1,6 +1,7 @@
 package com.eleven.pet.daily_reward;
 
 import com.eleven.pet.character.PetModel;
+import com.eleven.pet.core.GameLog;
 import com.eleven.pet.inventory.Item;
 import com.eleven.pet.inventory.ItemRegistry;
 
@@ -50,7 +51,7 @@ public class Chest {
         if (!isOpened && item != null) {
             pet.addToInventory(item, quantity);
             isOpened = true;
-            System.out.println("Chest opened! Received " + quantity + "x " + item.name());
+            GameLog.info("Chest opened! Received " + quantity + "x " + item.name());
         }
     }
 
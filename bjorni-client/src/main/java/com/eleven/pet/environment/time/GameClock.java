@@ -5,10 +5,14 @@ import javafx.beans.binding.Bindings;
 import javafx.beans.binding.ObjectBinding;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * Central game time controller.
@@ -18,6 +22,13 @@ import java.util.List;
  * {@link TimeListener}s on each tick. It also exposes a derived
  * {@link DayCycle} based on the current in‑game time.
  * </p>
+ * <p>
+ * Code that only cares about particular moments, such as a given hour of the day,
+ * schedules a callback with {@link #scheduleAtHour(double, Runnable)} or
+ * {@link #scheduleAfter(double, Runnable)} instead of checking the time on every
+ * tick. Scheduled events are kept in a priority queue ordered by due time, so a
+ * tick only looks at the head of the queue.
+ * </p>
  */
 @Data
 public class GameClock {
@@ -26,6 +37,16 @@ public class GameClock {
     private final ObjectBinding<DayCycle> currentCycle;
     private double TIME_SCALE = GameConfig.TIMESCALE_NORMAL;
     private boolean paused = false;
+    // In‑game seconds since the clock was created; unlike gameTime it never wraps
+    @Setter(AccessLevel.NONE)
+    private double elapsedGameTime = 0.0;
+    @Getter(AccessLevel.NONE)
+    private final PriorityQueue<ScheduledEvent> scheduledEvents = new PriorityQueue<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long nextEventSequence = 0;
+    // Events due this close after the current time count as reached despite rounding
+    private static final double TIME_EPSILON = 1e-6;
 
     /**
      * Creates a new {@code GameClock} instance and initializes the in‑game time
@@ -57,7 +78,8 @@ public class GameClock {
      * The provided {@code realTimeElapsed} is multiplied by the current time
      * scale, added to the internal game time and wrapped at
      * {@link GameConfig#DAY_LENGTH_SECONDS}. All registered listeners are
-     * notified with the scaled delta.
+     * notified with the scaled delta, then every scheduled event that came due
+     * runs in order of its due time.
      * </p>
      *
      * @param realTimeElapsed elapsed real time since the last tick, in seconds
@@ -70,14 +92,88 @@ public class GameClock {
         double previousTime = gameTime.get();
         double scaledDelta = realTimeElapsed * TIME_SCALE;
         gameTime.set((previousTime + scaledDelta) % GameConfig.DAY_LENGTH_SECONDS);
+        elapsedGameTime += scaledDelta;
 
         for (TimeListener listener : listeners) {
             listener.onTick(scaledDelta);
         }
+        runDueEvents();
 
         return previousTime > gameTime.get(); // true: New day started
     }
 
+    /**
+     * Schedules a callback for every time the clock reaches the given hour of the day.
+     * <p>
+     * The first occurrence is the next time the hour is reached; if the clock shows
+     * exactly that hour now, that is tomorrow. The callback runs during
+     * {@link #tick(double)}, after the listeners were notified.
+     * </p>
+     *
+     * @param hour   hour of the day, in {@code [0, 24)}; fractions are minutes
+     * @param action callback to run
+     * @return handle to cancel the event with
+     * @throws IllegalArgumentException if the hour is outside {@code [0, 24)}
+     */
+    public ScheduledEvent scheduleAtHour(double hour, Runnable action) {
+        if (!(hour >= 0 && hour < 24)) {
+            throw new IllegalArgumentException("Hour must be in [0, 24): " + hour);
+        }
+        ScheduledEvent event = new ScheduledEvent(action, hour, nextEventSequence++,
+                elapsedGameTime + secondsUntilHour(hour));
+        scheduledEvents.add(event);
+        return event;
+    }
+
+    /**
+     * Schedules a callback to run once after the given amount of in‑game time.
+     * <p>
+     * Only time that passes through {@link #tick(double)} counts, so pausing the clock
+     * delays the event and {@link #setGameTime(double)} does not move it.
+     * </p>
+     *
+     * @param gameSeconds delay in in‑game seconds; {@code 0} runs the callback on the next tick
+     * @param action      callback to run
+     * @return handle to cancel the event with
+     * @throws IllegalArgumentException if the delay is negative
+     */
+    public ScheduledEvent scheduleAfter(double gameSeconds, Runnable action) {
+        if (!(gameSeconds >= 0)) {
+            throw new IllegalArgumentException("Delay must not be negative: " + gameSeconds);
+        }
+        ScheduledEvent event = new ScheduledEvent(action, Double.NaN, nextEventSequence++,
+                elapsedGameTime + gameSeconds);
+        scheduledEvents.add(event);
+        return event;
+    }
+
+    /**
+     * Runs every scheduled event that came due, moving daily events on to the next day
+     * before they run so that a callback may cancel its own event.
+     */
+    private void runDueEvents() {
+        while (!scheduledEvents.isEmpty() && scheduledEvents.peek().getDueTime() <= elapsedGameTime + TIME_EPSILON) {
+            ScheduledEvent event = scheduledEvents.poll();
+            if (event.isCancelled()) {
+                continue;
+            }
+            if (event.isDaily()) {
+                event.setDueTime(event.getDueTime() + GameConfig.DAY_LENGTH_SECONDS);
+                scheduledEvents.add(event);
+            }
+            event.run();
+        }
+    }
+
+    /**
+     * Returns the in‑game time until the clock next reaches the given hour, a full day
+     * if it shows that hour now.
+     */
+    private double secondsUntilHour(double hour) {
+        double until = hour / 24.0 * GameConfig.DAY_LENGTH_SECONDS - gameTime.get();
+        return until > TIME_EPSILON ? until : until + GameConfig.DAY_LENGTH_SECONDS;
+    }
+
     /**
      * Sets the time scale used to convert real-time into game time.
      * <p>
@@ -171,6 +267,37 @@ public class GameClock {
         return gameTime.get();
     }
 
+    /**
+     * Moves the clock to the given time of day without notifying listeners,
+     * e.g. to restore the time stored in a save file.
+     * <p>
+     * Daily events are moved to the next time their hour is reached from the new
+     * time; the hours jumped over do not fire. One-shot events keep their delay.
+     * </p>
+     *
+     * @param seconds in‑game time in seconds since the start of the day; wrapped
+     *                into {@code [0, }{@link GameConfig#DAY_LENGTH_SECONDS}{@code )}
+     */
+    public void setGameTime(double seconds) {
+        double wrapped = seconds % GameConfig.DAY_LENGTH_SECONDS;
+        if (wrapped < 0) {
+            wrapped += GameConfig.DAY_LENGTH_SECONDS;
+        }
+        gameTime.set(wrapped);
+
+        List<ScheduledEvent> events = new ArrayList<>(scheduledEvents);
+        scheduledEvents.clear();
+        for (ScheduledEvent event : events) {
+            if (event.isCancelled()) {
+                continue;
+            }
+            if (event.isDaily()) {
+                event.setDueTime(elapsedGameTime + secondsUntilHour(event.getHourOfDay()));
+            }
+            scheduledEvents.add(event);
+        }
+    }
+
     /**
      * Returns a JavaFX property representing the in‑game time.
      *
@@ -0,0 +1,84 @@
+package com.eleven.pet.environment.time;
+
+/**
+ * Handle of a callback scheduled on a {@link GameClock}.
+ * <p>
+ * Events are either daily, firing whenever the clock reaches a given hour of the
+ * day, or one-shot, firing once after a given amount of in‑game time. A cancelled
+ * event never fires again; it is dropped from the schedule once it comes due.
+ * </p>
+ */
+public final class ScheduledEvent implements Comparable<ScheduledEvent> {
+    private final Runnable action;
+    private final double hourOfDay;
+    private final long sequence;
+    private double dueTime;
+    private boolean cancelled = false;
+
+    /**
+     * Creates an event; only the {@link GameClock} schedules events.
+     *
+     * @param action    callback to run
+     * @param hourOfDay hour at which a daily event fires, or {@link Double#NaN} for a one-shot event
+     * @param sequence  scheduling order, so events due at the same time fire first come, first served
+     * @param dueTime   elapsed clock time at which the event fires next, in in‑game seconds
+     */
+    ScheduledEvent(Runnable action, double hourOfDay, long sequence, double dueTime) {
+        this.action = action;
+        this.hourOfDay = hourOfDay;
+        this.sequence = sequence;
+        this.dueTime = dueTime;
+    }
+
+    /**
+     * Stops the event from firing again.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether the event was cancelled.
+     *
+     * @return {@code true} if {@link #cancel()} was called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns whether the event fires every day.
+     *
+     * @return {@code true} for events scheduled at an hour of the day
+     */
+    public boolean isDaily() {
+        return !Double.isNaN(hourOfDay);
+    }
+
+    /**
+     * Returns the hour of the day at which a daily event fires.
+     *
+     * @return the hour in {@code [0, 24)}, or {@link Double#NaN} for one-shot events
+     */
+    public double getHourOfDay() {
+        return hourOfDay;
+    }
+
+    double getDueTime() {
+        return dueTime;
+    }
+
+    void setDueTime(double dueTime) {
+        this.dueTime = dueTime;
+    }
+
+    void run() {
+        action.run();
+    }
+
+    @Override
+    public int compareTo(ScheduledEvent other) {
+        int byTime = Double.compare(dueTime, other.dueTime);
+        return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+    }
+}
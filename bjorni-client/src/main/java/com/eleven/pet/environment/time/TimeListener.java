@@ -4,7 +4,9 @@ package com.eleven.pet.environment.time;
  * Listener for game time progression events.
  * <p>
  * Implementations are notified on each game clock tick and can update
- * their internal state based on the elapsed (scaled) game time.
+ * their internal state based on the elapsed (scaled) game time. Code that only
+ * needs to react at a particular time of day should schedule an event with
+ * {@link GameClock#scheduleAtHour(double, Runnable)} instead.
  * </p>
  */
 public interface TimeListener {
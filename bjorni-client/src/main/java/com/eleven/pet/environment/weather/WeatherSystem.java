@@ -1,5 +1,6 @@
 package com.eleven.pet.environment.weather;
 
+import com.eleven.pet.core.GameLog;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -21,17 +22,37 @@ public class WeatherSystem {
     private final List<WeatherListener> listeners = new ArrayList<>();
     private final ObjectProperty<WeatherState> currentWeather = new SimpleObjectProperty<>();
     private final List<WeatherState> availableStates = new ArrayList<>();
-    private final Random random = new Random();
+    private final Random random;
 
     /**
      * Creates a new {@code WeatherSystem} and loads all available
      * {@link WeatherState} implementations using {@link ServiceLoader}.
      */
     public WeatherSystem() {
+        this(new Random());
+    }
+
+    /**
+     * Creates a new {@code WeatherSystem} that picks the weather with the given random source.
+     * <p>
+     * Falls back to the built-in states if none are discovered via {@link ServiceLoader}.
+     * </p>
+     *
+     * @param random random source for weather changes, e.g. seeded for reproducible simulations
+     */
+    public WeatherSystem(Random random) {
+        this.random = random;
         ServiceLoader<WeatherState> loader = ServiceLoader.load(WeatherState.class);
         for (WeatherState ws : loader) {
             availableStates.add(ws);
         }
+
+        // Fallback: if no states were loaded via SPI, manually register them
+        if (availableStates.isEmpty()) {
+            availableStates.add(new SunnyState());
+            availableStates.add(new RainyState());
+            availableStates.add(new CloudyState());
+        }
     }
 
     /**
@@ -53,7 +74,7 @@ public class WeatherSystem {
         WeatherState newState = availableStates.get(random.nextInt(availableStates.size()));
         currentWeather.set(newState);
 
-        System.out.println("🌤️ Weather changed to: " + newState.getName());
+        GameLog.info("🌤️ Weather changed to: " + newState.getName());
 
         for (WeatherListener listener : listeners) {
             listener.onWeatherChange(newState);
@@ -61,6 +61,16 @@ public class ItemRegistry {
      * @return a randomly chosen item, or {@code null} if the registry is empty
      */
     public static Item getRandomItem() {
+        return getRandomItem(random);
+    }
+
+    /**
+     * Retrieves a random item from the registry using the given random source.
+     *
+     * @param random random source to draw from, e.g. a seeded one for reproducible simulations
+     * @return a randomly chosen item, or {@code null} if the registry is empty
+     */
+    public static Item getRandomItem(Random random) {
         if (registry.isEmpty()) {
             return null;
         }
@@ -1,9 +1,13 @@
 package com.eleven.pet.network.leaderboard;
 
+import com.eleven.pet.core.GameConfig;
 import com.eleven.pet.minigames.MinigameResult;
+import com.eleven.pet.shared.model.LeaderboardDelta;
 import com.eleven.pet.shared.model.LeaderboardEntry;
 import com.eleven.pet.shared.model.PlayerRegistration;
+import com.eleven.pet.shared.util.LeaderboardCodec;
 import com.eleven.pet.shared.util.Signature;
+import com.eleven.pet.shared.util.SignedRequest;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -11,10 +15,18 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the {@link LeaderboardService} that communicates with a remote REST API.
@@ -22,29 +34,89 @@ import java.util.concurrent.CompletableFuture;
  * This client handles the lifecycle of leaderboard interactions, including:
  * <ul>
  * <li>Player registration and credential management.</li>
- * <li>Secure score submission using HMAC signatures.</li>
+ * <li>Secure, batched score submission using HMAC signatures.</li>
  * <li>Retrieval of top leaderboard scores.</li>
+ * <li>Live leaderboard updates pushed over Server-Sent Events.</li>
  * </ul>
  * <p>
  * The client uses {@link java.net.http.HttpClient} for asynchronous network operations
  * and Jackson for JSON serialization/deserialization.
+ * <p>
+ * Won results are not sent one request per game. They are written to a durable {@link ScoreOutbox}
+ * and flushed to {@code POST /leaderboard/batch} once {@value #FLUSH_BATCH_SIZE} results are waiting
+ * or {@value #FLUSH_WINDOW_MILLIS} ms after the first one, whichever comes first. Failed flushes are
+ * retried with exponential backoff (including {@code 429 Too Many Requests}), and results left over from a previous run are sent as soon as
+ * credentials are available.
+ * <p>
+ * Leaderboard reads are conditional: the last list and its {@code ETag} are kept per limit, and a
+ * {@code 304 Not Modified} answer reuses the kept list instead of downloading and parsing it again.
+ * <p>
+ * With {@link GameConfig#LEADERBOARD_BINARY_WIRE} set, batches and top lists are exchanged in the
+ * compact {@link LeaderboardCodec} format instead of JSON; the signature then covers the binary body.
+ * <p>
+ * Every batch is signed together with its send time and a nonce derived from its body (see
+ * {@link SignedRequest}). If the server rejects the send time, the batch is kept and retried with the
+ * clock offset taken from the server's answer.
  */
 public class LeaderboardClient implements LeaderboardService {
     private static final String BASE_URL = "http://localhost:8080/api/v1";
     private static final String API_URL = BASE_URL + "/leaderboard";
+    private static final String BATCH_URL = API_URL + "/batch";
+    private static final String STREAM_URL = API_URL + "/stream";
     private static final String AUTH_URL = BASE_URL + "/auth/register";
 
+    private static final int FLUSH_BATCH_SIZE = 10;
+    private static final long FLUSH_WINDOW_MILLIS = 5_000;
+    private static final int MAX_BATCH_ENTRIES = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = 5 * 60_000;
+
     private final HttpClient httpClient;
     private final ObjectMapper jsonMapper;
     private final Signature signatureGenerator;
+    private final ScoreOutbox outbox;
+    private final boolean binaryWire;
 
-    private String playerId;
-    private String secretKey;
+    // Single thread, so flushes never overlap and the outbox is drained in order
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("leaderboard-flush").daemon().factory());
+    private ScheduledFuture<?> pendingFlush;
+    private int failedFlushes;
+    // Server time minus local time, learned from rejected request timestamps
+    private long clockOffsetMillis;
+
+    /**
+     * The last leaderboard list received for a limit, with the ETag the server sent for it.
+     */
+    private record CachedScores(String etag, List<LeaderboardEntry> entries) {
+    }
+
+    // Keyed by limit, so views of different sizes do not overwrite each other
+    private final ConcurrentHashMap<Integer, CachedScores> cachedScores = new ConcurrentHashMap<>();
+
+    private volatile String playerId;
+    private volatile String secretKey;
 
     public LeaderboardClient() {
+        this(GameConfig.LEADERBOARD_OUTBOX_PATH);
+    }
+
+    /**
+     * @param outboxPath the file backing the {@link ScoreOutbox} of unsent results.
+     */
+    public LeaderboardClient(Path outboxPath) {
+        this(outboxPath, GameConfig.LEADERBOARD_BINARY_WIRE);
+    }
+
+    /**
+     * @param outboxPath the file backing the {@link ScoreOutbox} of unsent results.
+     * @param binaryWire {@code true} to use the binary {@link LeaderboardCodec} format instead of JSON.
+     */
+    public LeaderboardClient(Path outboxPath, boolean binaryWire) {
+        this.binaryWire = binaryWire;
         this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
         this.jsonMapper = new ObjectMapper();
         this.signatureGenerator = new Signature();
+        this.outbox = new ScoreOutbox(outboxPath);
     }
 
     /**
@@ -83,13 +155,19 @@ public class LeaderboardClient implements LeaderboardService {
     public void setCredentials(String playerId, String secretKey) {
         this.playerId = playerId;
         this.secretKey = secretKey;
+
+        // Results from a previous session (or from before registration) can be sent now
+        if (outbox.size() > 0) {
+            scheduleFlush(0);
+        }
     }
 
     /**
-     * Submits a score to the leaderboard if the player won the game.
+     * Queues a score for the leaderboard if the player won the game.
      * <p>
-     * This method constructs a {@link LeaderboardEntry}, serializes it to JSON,
-     * and signs the request using an HMAC signature in the {@code X-HMAC-Signature} header.
+     * This method constructs a {@link LeaderboardEntry} and appends it to the durable outbox.
+     * The outbox is flushed as a signed batch by a background thread, so this call never waits
+     * for the network.
      * <p>
      * This is a "fire-and-forget" operation; errors are logged to {@code System.err}
      * but do not interrupt the flow of the calling thread.
@@ -103,42 +181,107 @@ public class LeaderboardClient implements LeaderboardService {
             return;
         }
 
+        outbox.add(new LeaderboardEntry(
+                playerName,
+                1,
+                result.gameName(),
+                System.currentTimeMillis()
+        ));
+
+        scheduleFlush(outbox.size() >= FLUSH_BATCH_SIZE ? 0 : FLUSH_WINDOW_MILLIS);
+    }
+
+    /**
+     * Makes sure a flush runs within {@code delayMillis}, keeping an earlier one if already scheduled.
+     */
+    private synchronized void scheduleFlush(long delayMillis) {
+        if (pendingFlush != null && !pendingFlush.isDone()) {
+            if (pendingFlush.getDelay(TimeUnit.MILLISECONDS) <= delayMillis) {
+                return;
+            }
+            pendingFlush.cancel(false);
+        }
+        pendingFlush = flushScheduler.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the oldest results in the outbox as one signed batch. Runs on the flush thread only.
+     */
+    private void flush() {
+        synchronized (this) {
+            pendingFlush = null; // Lets submissions arriving during this flush schedule the next one
+        }
+
+        String currentPlayerId = playerId;
+        String currentSecretKey = secretKey;
+        if (currentPlayerId == null || currentSecretKey == null) {
+            return; // setCredentials triggers the flush once registration completes
+        }
+
+        List<LeaderboardEntry> batch = outbox.peek(MAX_BATCH_ENTRIES);
+        if (batch.isEmpty()) {
+            return;
+        }
+
         try {
-            LeaderboardEntry entry = new LeaderboardEntry(
-                    playerName,
-                    1,
-                    result.gameName(),
-                    System.currentTimeMillis()
-            );
-
-            String jsonBody = jsonMapper.writeValueAsString(entry);
-            String signature = signatureGenerator.calculateHMAC(jsonBody, secretKey);
-
-            HttpRequest request = HttpRequest.newBuilder(URI.create(API_URL))
-                    .header("Content-Type", "application/json")
-                    .header("X-HMAC-Signature", signature)
-                    .header("X-Player-ID", playerId)
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+            byte[] body = binaryWire ? LeaderboardCodec.encodeList(batch) : jsonMapper.writeValueAsBytes(batch);
+            String timestamp = Long.toString(System.currentTimeMillis() + clockOffsetMillis);
+            // Same body, same nonce, so a retry of an accepted batch is answered with 409
+            String nonce = SignedRequest.nonceOf(body);
+            String signature = Base64.getEncoder().encodeToString(signatureGenerator.calculateHMAC(
+                    SignedRequest.context(timestamp, nonce), body, 0, body.length, currentSecretKey));
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(BATCH_URL))
+                    .header("Content-Type", binaryWire ? LeaderboardCodec.MEDIA_TYPE : "application/json")
+                    .header(SignedRequest.SIGNATURE_HEADER, signature)
+                    .header(SignedRequest.PLAYER_ID_HEADER, currentPlayerId)
+                    .header(SignedRequest.TIMESTAMP_HEADER, timestamp)
+                    .header(SignedRequest.NONCE_HEADER, nonce)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
                     .build();
 
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenApply(HttpResponse::statusCode)
-                    .thenAccept(statusCode -> {
-                        if (statusCode != 200) {
-                            System.err.println("Failed to submit score: HTTP " + statusCode);
-                        }
-                    })
-                    .exceptionally(e -> {
-                        System.err.println("Error submitting score: " + e.getMessage());
-                        return null;
-                    });
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            int statusCode = response.statusCode();
+            long serverTime = response.headers().firstValue(SignedRequest.SERVER_TIME_HEADER)
+                    .map(SignedRequest::parseTimestamp).orElse(-1L);
+            if (statusCode == 400 && serverTime >= 0) {
+                // Only the send time was rejected: correct the clock and send the batch again
+                clockOffsetMillis = serverTime - System.currentTimeMillis();
+                System.err.println("Leaderboard clock is off by " + clockOffsetMillis + " ms, retrying");
+            } else if (statusCode == 200 || statusCode == 409 || statusCode == 400) {
+                // 409: the server already accepted this exact batch, e.g. before a crash kept it in the outbox
+                if (statusCode == 400) {
+                    // The server will never accept this batch; retrying would block the outbox forever
+                    System.err.println("Leaderboard rejected " + batch.size() + " scores: HTTP 400");
+                }
+                outbox.remove(batch.size());
+                failedFlushes = 0;
+                if (outbox.size() > 0) {
+                    scheduleFlush(0);
+                }
+                return;
+            } else {
+                System.err.println("Failed to submit scores: HTTP " + statusCode);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         } catch (Exception e) {
-            e.printStackTrace();
+            System.err.println("Error submitting scores: " + e.getMessage());
         }
+
+        // Offline or server error: keep the results and retry with exponential backoff
+        failedFlushes++;
+        long delay = Math.min(FLUSH_WINDOW_MILLIS << Math.min(failedFlushes, 16), MAX_RETRY_DELAY_MILLIS);
+        scheduleFlush(delay);
     }
 
     /**
      * Asynchronously retrieves the top scores from the leaderboard.
+     * <p>
+     * If a list for this limit was received before, its ETag is sent in {@code If-None-Match} and the
+     * cached list is returned when the server answers {@code 304 Not Modified}.
+     * </p>
      *
      * @param limit the maximum number of scores to return.
      * @return a {@link CompletableFuture} containing a list of {@link LeaderboardEntry} objects.
@@ -149,22 +292,53 @@ public class LeaderboardClient implements LeaderboardService {
         // 1. Build the GET request with the limit parameter
         String urlWithParams = API_URL + "?limit=" + limit;
 
-        HttpRequest request = HttpRequest.newBuilder(URI.create(urlWithParams))
-                .GET()
-                .build();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(URI.create(urlWithParams)).GET();
+        if (binaryWire) {
+            requestBuilder.header("Accept", LeaderboardCodec.MEDIA_TYPE);
+        }
+        CachedScores cached = cachedScores.get(limit);
+        if (cached != null) {
+            requestBuilder.header("If-None-Match", cached.etag());
+        }
 
         // 2. Send it asynchronously
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(HttpResponse::body)
-                .thenApply(body -> {
+        return httpClient.sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() == 304 && cached != null) {
+                        return cached.entries(); // Unchanged since the last call, nothing to parse
+                    }
                     try {
-                        // 3. Deserialize the JSON List into Java Objects
-                        return jsonMapper.readValue(body, new TypeReference<>() {
-                        });
+                        // 3. Deserialize the list into Java Objects, in whichever format the server answered
+                        // Read-only, since the same list is handed out again on every 304
+                        byte[] body = response.body();
+                        boolean binary = response.headers().firstValue("Content-Type")
+                                .filter(type -> type.startsWith(LeaderboardCodec.MEDIA_TYPE)).isPresent();
+                        List<LeaderboardEntry> entries = List.copyOf(binary
+                                ? LeaderboardCodec.decodeList(body, 0, body.length)
+                                : jsonMapper.readValue(body, new TypeReference<List<LeaderboardEntry>>() {
+                                }));
+                        response.headers().firstValue("ETag").ifPresent(etag ->
+                                cachedScores.put(limit, new CachedScores(etag, entries)));
+                        return entries;
                     } catch (Exception e) {
                         System.err.println("Failed to parse leaderboard scores: " + e.getMessage());
                         return Collections.emptyList();
                     }
                 });
     }
-}
\ No newline at end of file
+
+    /**
+     * Subscribes to live changes of the top scores.
+     * <p>
+     * The first delta holds the whole list, later ones only the changed ranks; see {@link LeaderboardStream}.
+     * </p>
+     *
+     * @param limit    the number of ranks to follow.
+     * @param listener called with every delta, on a background thread.
+     * @return the open subscription; close it to stop receiving updates.
+     */
+    @Override
+    public LeaderboardStream subscribeTopScores(int limit, Consumer<LeaderboardDelta> listener) {
+        return new LeaderboardStream(httpClient, URI.create(STREAM_URL + "?limit=" + limit), jsonMapper, listener);
+    }
+}
@@ -1,11 +1,13 @@
 package com.eleven.pet.network.leaderboard;
 
 import com.eleven.pet.minigames.MinigameResult;
+import com.eleven.pet.shared.model.LeaderboardDelta;
 import com.eleven.pet.shared.model.LeaderboardEntry;
 import com.eleven.pet.shared.model.PlayerRegistration;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface LeaderboardService {
     /**
@@ -24,6 +26,15 @@ public interface LeaderboardService {
      */
     CompletableFuture<List<LeaderboardEntry>> getTopScores(int limit);
 
+    /**
+     * Subscribes to live changes of the top scores on the global leaderboard.
+     *
+     * @param limit    the number of top ranks to follow
+     * @param listener receives the full list as the first delta, then every change; called off the UI thread
+     * @return the subscription, which must be closed to stop the updates
+     */
+    LeaderboardStream subscribeTopScores(int limit, Consumer<LeaderboardDelta> listener);
+
     /**
      * Registers a new player with the leaderboard service.
      *
@@ -0,0 +1,156 @@
+package com.eleven.pet.network.leaderboard;
+
+import com.eleven.pet.shared.model.LeaderboardDelta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Subscription to the server's {@code GET /leaderboard/stream} Server-Sent Events.
+ * <p>
+ * A background thread keeps the connection open, parses every {@code delta} event into a
+ * {@link LeaderboardDelta} and passes it to the listener. If the connection drops it reconnects with
+ * exponential backoff; the server then starts again with the full list, so applying every delta
+ * in order always yields the current leaderboard.
+ * </p>
+ * The listener is called on the stream's thread, not on the JavaFX Application Thread.
+ */
+public class LeaderboardStream implements AutoCloseable {
+    private static final String DELTA_EVENT = "delta";
+    private static final long INITIAL_RECONNECT_DELAY_MILLIS = 1_000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 60_000;
+
+    private final HttpClient httpClient;
+    private final HttpRequest request;
+    private final ObjectMapper jsonMapper;
+    private final Consumer<LeaderboardDelta> listener;
+    private final Thread reader;
+
+    private volatile boolean closed;
+    // Set while events are read from an accepted connection
+    private volatile boolean connected;
+    // The body of the current connection, closed by close() to stop a blocked read
+    private volatile Stream<String> lines;
+
+    LeaderboardStream(HttpClient httpClient, URI uri, ObjectMapper jsonMapper, Consumer<LeaderboardDelta> listener) {
+        this.httpClient = httpClient;
+        this.request = HttpRequest.newBuilder(uri)
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        this.jsonMapper = jsonMapper;
+        this.listener = listener;
+        this.reader = Thread.ofVirtual().name("leaderboard-stream").start(this::run);
+    }
+
+    /**
+     * Returns whether the stream is currently receiving events. It is not while the server is
+     * unreachable, does not offer the stream, or between reconnection attempts.
+     *
+     * @return {@code true} if the stream is connected.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Stops the subscription. No listener calls are made once this returns, apart from one that
+     * may already be running.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Stream<String> current = lines;
+        if (current != null) {
+            current.close();
+        }
+        reader.interrupt();
+    }
+
+    /**
+     * Connects, reads events until the connection ends and reconnects until closed.
+     */
+    private void run() {
+        int failedConnections = 0;
+        while (!closed) {
+            try {
+                HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                try (Stream<String> body = response.body()) {
+                    if (response.statusCode() == 200) {
+                        lines = body;
+                        connected = true;
+                        if (!closed && readEvents(body.iterator())) {
+                            failedConnections = 0;
+                        }
+                    } else {
+                        System.err.println("Failed to open leaderboard stream: HTTP " + response.statusCode());
+                    }
+                } finally {
+                    connected = false;
+                    lines = null;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                if (!closed) {
+                    System.err.println("Leaderboard stream interrupted: " + e.getMessage());
+                }
+            }
+
+            if (closed) {
+                return;
+            }
+            failedConnections++;
+            long delay = Math.min(INITIAL_RECONNECT_DELAY_MILLIS << Math.min(failedConnections, 16), MAX_RECONNECT_DELAY_MILLIS);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Parses Server-Sent Events from the given lines and dispatches the {@code delta} events.
+     *
+     * @return {@code true} if at least one delta was received.
+     */
+    private boolean readEvents(Iterator<String> lines) throws Exception {
+        boolean received = false;
+        String event = "message";
+        StringBuilder data = new StringBuilder();
+        while (!closed && lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                // A blank line ends the event
+                if (DELTA_EVENT.equals(event) && !data.isEmpty()) {
+                    listener.accept(jsonMapper.readValue(data.toString(), LeaderboardDelta.class));
+                    received = true;
+                }
+                event = "message";
+                data.setLength(0);
+            } else if (line.startsWith(":")) {
+                continue; // Comment, e.g. the server's heartbeat
+            } else if (line.startsWith("event:")) {
+                event = fieldValue(line, 6);
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(fieldValue(line, 5));
+            }
+        }
+        return received;
+    }
+
+    private static String fieldValue(String line, int nameLength) {
+        // A single space after the colon is part of the syntax, not of the value
+        return line.startsWith(" ", nameLength) ? line.substring(nameLength + 1) : line.substring(nameLength);
+    }
+}
@@ -0,0 +1,131 @@
+package com.eleven.pet.network.leaderboard;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Durable FIFO queue of leaderboard results that have not been accepted by the server yet.
+ * <p>
+ * Every result is appended to a JSON Lines file before it is sent, so wins earned while the
+ * server is unreachable (or the game is closed before a flush) are submitted on a later run.
+ * Acknowledged results are removed by atomically rewriting the file.
+ * </p>
+ * Delivery is at-least-once: if the game exits between the server's acknowledgement and the
+ * rewrite, the affected results are submitted again on the next run.
+ */
+public class ScoreOutbox {
+    private final Path file;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final Deque<LeaderboardEntry> entries = new ArrayDeque<>();
+
+    /**
+     * Opens the outbox and loads any results left over from a previous run.
+     * Lines that cannot be parsed (e.g., a write interrupted by a crash) are skipped.
+     *
+     * @param file the backing file; created on the first {@link #add(LeaderboardEntry)}.
+     */
+    public ScoreOutbox(Path file) {
+        this.file = file;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    entries.add(jsonMapper.readValue(line, LeaderboardEntry.class));
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable outbox entry: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read leaderboard outbox: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a result to the outbox and writes it to disk.
+     * <p>
+     * If the disk write fails the result is still queued in memory, so it is only lost
+     * if the game is closed before the next successful submission.
+     * </p>
+     *
+     * @param entry the result to submit later.
+     */
+    public synchronized void add(LeaderboardEntry entry) {
+        entries.addLast(entry);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(jsonMapper.writeValueAsString(entry));
+            writer.newLine();
+        } catch (IOException e) {
+            System.err.println("Failed to write leaderboard outbox: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the oldest results without removing them.
+     *
+     * @param max the maximum number of results to return.
+     * @return up to {@code max} results, oldest first.
+     */
+    public synchronized List<LeaderboardEntry> peek(int max) {
+        List<LeaderboardEntry> batch = new ArrayList<>(Math.min(max, entries.size()));
+        for (LeaderboardEntry entry : entries) {
+            if (batch.size() == max) break;
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    /**
+     * Removes the oldest results after the server acknowledged them.
+     *
+     * @param count the number of results to remove, as returned by {@link #peek(int)}.
+     */
+    public synchronized void remove(int count) {
+        for (int i = 0; i < count && !entries.isEmpty(); i++) {
+            entries.removeFirst();
+        }
+        rewrite();
+    }
+
+    /**
+     * @return the number of results waiting to be submitted.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void rewrite() {
+        try {
+            if (entries.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (LeaderboardEntry entry : entries) {
+                    writer.write(jsonMapper.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The in-memory queue is still correct; at worst acknowledged results are resent
+            System.err.println("Failed to rewrite leaderboard outbox: " + e.getMessage());
+        }
+    }
+}
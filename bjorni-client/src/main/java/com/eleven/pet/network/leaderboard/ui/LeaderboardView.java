@@ -1,14 +1,20 @@
 package com.eleven.pet.network.leaderboard.ui;
 
 import com.eleven.pet.network.leaderboard.LeaderboardService;
+import com.eleven.pet.network.leaderboard.LeaderboardStream;
 import com.eleven.pet.shared.model.LeaderboardEntry;
 import com.eleven.pet.ui.ViewConstants;
+import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
+import javafx.animation.KeyFrame;
 import javafx.animation.ParallelTransition;
 import javafx.animation.ScaleTransition;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
@@ -18,15 +24,37 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A popup view that displays global high scores fetched from the server.
+ * <p>
+ * The list is loaded with {@link LeaderboardService#getTopScores(int)}, whose ETag cache turns
+ * repeated loads of an unchanged list into {@code 304 Not Modified}. While open, the view is
+ * subscribed to the leaderboard stream and reloads the list whenever it reports a change, so wins
+ * show up right away. The stream only covers the node it is connected to and is not offered by
+ * every server, so the list is also polled: often while the stream is down, rarely while it is up.
+ * Only the rows whose entry changed are rebuilt.
  */
 public class LeaderboardView extends StackPane {
+    private static final int LIMIT = 10;
+    private static final Duration POLL_INTERVAL = Duration.seconds(5);
+    // Polls this many intervals apart while the stream is connected, for changes on other cluster nodes
+    private static final int CONNECTED_POLL_INTERVALS = 6;
 
     private final LeaderboardService client;
     private VBox scoreListContainer;
     private Label statusLabel;
+    // Open while the view is shown
+    private LeaderboardStream subscription;
+    private Timeline poller;
+    private int intervalsSinceRefresh;
+    // The entries the rows currently show
+    private final List<LeaderboardEntry> shownEntries = new ArrayList<>();
+    // At most one load runs at a time; changes reported meanwhile trigger one more
+    private boolean refreshing;
+    private boolean refreshPending;
 
     public LeaderboardView(LeaderboardService client) {
         this.client = client;
@@ -81,7 +109,8 @@ public class LeaderboardView extends StackPane {
 
     /**
      * Toggles the visibility of the leaderboard.
-     * When opening, it automatically triggers a data refresh.
+     * When opening, it loads the scores and subscribes to live leaderboard updates; closing ends the
+     * subscription and the polling.
      */
     public void toggle(boolean show) {
         if (show) {
@@ -104,8 +133,15 @@ public class LeaderboardView extends StackPane {
                 ft.play();
             }
 
-            refreshScores();
+            subscribeScores();
         } else {
+            if (subscription != null) {
+                subscription.close();
+                subscription = null;
+                poller.stop();
+                poller = null;
+            }
+
             FadeTransition ft = new FadeTransition(Duration.millis(200), this);
             ft.setToValue(0);
             ft.setOnFinished(_ -> this.setVisible(false));
@@ -114,29 +150,105 @@ public class LeaderboardView extends StackPane {
     }
 
     /**
-     * Fetches scores from the client and updates the UI.
+     * Loads the scores, subscribes to change notifications and starts polling.
      */
-    private void refreshScores() {
+    private void subscribeScores() {
+        if (subscription != null) {
+            return;
+        }
         scoreListContainer.getChildren().clear();
+        shownEntries.clear();
         statusLabel.setText("Fetching scores...");
         statusLabel.setVisible(true);
 
-        client.getTopScores(10).thenAccept(scores -> {
-            // UI updates must happen on JavaFX Application Thread
-            Platform.runLater(() -> {
-                statusLabel.setVisible(false);
-                if (scores.isEmpty()) {
-                    statusLabel.setText("No scores available yet.");
-                    statusLabel.setVisible(true);
-                    return;
-                }
+        refresh();
+        // Every delta means the list changed; the first one after each (re)connect catches up on missed changes.
+        // UI updates must happen on JavaFX Application Thread
+        subscription = client.subscribeTopScores(LIMIT, _ -> Platform.runLater(this::refresh));
+        intervalsSinceRefresh = 0;
+        poller = new Timeline(new KeyFrame(POLL_INTERVAL, _ -> poll()));
+        poller.setCycleCount(Animation.INDEFINITE);
+        poller.play();
+    }
+
+    /**
+     * Reloads the list if the stream is down, or if it has not been reloaded for a while.
+     */
+    private void poll() {
+        if (subscription == null) {
+            return;
+        }
+        intervalsSinceRefresh++;
+        if (!subscription.isConnected() || intervalsSinceRefresh >= CONNECTED_POLL_INTERVALS) {
+            refresh();
+        }
+    }
+
+    /**
+     * Loads the current list, or marks it to be loaded again once the running load finished.
+     */
+    private void refresh() {
+        if (refreshing) {
+            refreshPending = true;
+            return;
+        }
+        refreshing = true;
+        intervalsSinceRefresh = 0;
+        client.getTopScores(LIMIT).whenComplete((entries, error) -> Platform.runLater(() -> {
+            refreshing = false;
+            if (subscription == null) {
+                return; // Closed in the meantime
+            }
+            if (error != null) {
+                showUnavailable();
+            } else {
+                showScores(entries);
+            }
+            if (refreshPending) {
+                refreshPending = false;
+                refresh();
+            }
+        }));
+    }
 
-                int rank = 1;
-                for (LeaderboardEntry entry : scores) {
-                    scoreListContainer.getChildren().add(createScoreRow(rank++, entry));
+    /**
+     * Replaces the rows whose entry changed and drops rows beyond the new list size.
+     */
+    private void showScores(List<LeaderboardEntry> entries) {
+        ObservableList<Node> rows = scoreListContainer.getChildren();
+        for (int rank = 0; rank < entries.size(); rank++) {
+            LeaderboardEntry entry = entries.get(rank);
+            if (rank < shownEntries.size()) {
+                if (!entry.equals(shownEntries.get(rank))) {
+                    shownEntries.set(rank, entry);
+                    rows.set(rank, createScoreRow(rank + 1, entry));
                 }
-            });
-        });
+            } else {
+                shownEntries.add(entry);
+                rows.add(createScoreRow(rank + 1, entry));
+            }
+        }
+        if (shownEntries.size() > entries.size()) {
+            shownEntries.subList(entries.size(), shownEntries.size()).clear();
+            rows.remove(entries.size(), rows.size());
+        }
+
+        if (rows.isEmpty()) {
+            statusLabel.setText("No scores available yet.");
+            statusLabel.setVisible(true);
+        } else {
+            statusLabel.setVisible(false);
+        }
+    }
+
+    /**
+     * Tells the player the server could not be reached, unless an earlier list is still shown.
+     */
+    private void showUnavailable() {
+        if (shownEntries.isEmpty()) {
+            statusLabel.setText("Leaderboard unavailable. Retrying...");
+            statusLabel.setVisible(true);
+        }
     }
 
     /**
@@ -0,0 +1,24 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+
+/**
+ * Aggregated results of all pets simulated with one configuration of a {@link ParameterSweep}.
+ *
+ * <p>The happiness percentiles are taken over the per-pet mean happiness, rounded to
+ * whole stat points.</p>
+ *
+ * @param index             configuration index in the {@link ParameterGrid}
+ * @param definition        the simulated definition
+ * @param pets              number of pets simulated
+ * @param survivalRate      share of pets that survived, see {@link SimulationResult#survived()}
+ * @param meanHappiness     mean happiness over all pets and steps
+ * @param happinessP10      10th percentile of the per-pet mean happiness
+ * @param happinessP50      median of the per-pet mean happiness
+ * @param happinessP90      90th percentile of the per-pet mean happiness
+ * @param meanHoursStarving in-game hours a pet spent starving, on average
+ */
+public record ConfigurationOutcome(int index, PetDefinition definition, int pets, double survivalRate,
+                                   double meanHappiness, int happinessP10, int happinessP50, int happinessP90,
+                                   double meanHoursStarving) {
+}
@@ -0,0 +1,150 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetModel;
+import com.eleven.pet.character.PetStats;
+import com.eleven.pet.character.behavior.AsleepState;
+import com.eleven.pet.character.behavior.StateRegistry;
+import com.eleven.pet.core.AssetLoader;
+import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.core.GameLog;
+import com.eleven.pet.environment.time.GameClock;
+import com.eleven.pet.environment.weather.WeatherSystem;
+import javafx.beans.property.IntegerProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs one pet through many in-game days without a JavaFX window.
+ *
+ * <p>The simulation wires up the same {@link GameClock}, {@link PetModel} and
+ * {@link WeatherSystem} as the game, but instead of waiting for animation frames it
+ * advances the clock in fixed in-game steps as fast as possible. Everything the
+ * {@code GameEngine} does on a timer happens here after the equivalent in-game time:
+ * daily items are handed out at midnight and the weather changes every
+ * {@link GameConfig#WEATHER_CHANGE_INTERVAL} in-game seconds. Before every step the
+ * {@link PlayerPolicy} gets to interact with the pet.</p>
+ *
+ * <p>Only JavaFX properties are used, which work without the toolkit. Sound and the
+ * {@link GameLog} must be turned off before the first run, see {@link #prepareForParallelRuns()}. Each simulation
+ * owns its clock, weather and pet, so separate simulations can run in parallel; a single
+ * simulation is not thread-safe and runs only once.</p>
+ */
+public class HeadlessSimulation {
+    private static final double SECONDS_PER_GAME_HOUR = GameConfig.DAY_LENGTH_SECONDS / 24.0;
+
+    private final SimulationConfig config;
+    private final GameClock clock = new GameClock();
+    private final WeatherSystem weatherSystem;
+    private final PetModel pet;
+    private boolean finished = false;
+
+    /**
+     * Creates the clock, weather and pet of a new simulation; the clock starts at noon.
+     *
+     * @param config settings of the run
+     */
+    public HeadlessSimulation(SimulationConfig config) {
+        this.config = config;
+        Random seeds = new Random(config.seed());
+        this.weatherSystem = new WeatherSystem(new Random(seeds.nextLong()));
+        this.pet = new PetModel(config.definition().speciesName(), config.definition(),
+                weatherSystem, clock, new Random(seeds.nextLong()));
+    }
+
+    /**
+     * Creates the shared singletons up front and turns sound and the model's console log off,
+     * so that simulations can then run on several threads. The singletons are created lazily
+     * and are not thread-safe.
+     */
+    public static void prepareForParallelRuns() {
+        GameLog.setEnabled(false);
+        StateRegistry.getInstance();
+        AssetLoader.getInstance().setSoundEnabled(false);
+    }
+
+    /**
+     * Simulates the configured number of days.
+     *
+     * @return the recorded stats and summary of the run
+     * @throws IllegalStateException if the simulation was already run
+     */
+    public SimulationResult run() {
+        if (finished) {
+            throw new IllegalStateException("A simulation can only be run once");
+        }
+        finished = true;
+
+        PetStats stats = pet.getStats();
+        IntegerProperty hunger = stats.getStat(PetStats.STAT_HUNGER);
+        IntegerProperty happiness = stats.getStat(PetStats.STAT_HAPPINESS);
+
+        double stepSeconds = config.stepSeconds();
+        long steps = Math.round(config.days() * GameConfig.DAY_LENGTH_SECONDS / stepSeconds);
+        double sampleSeconds = config.sampleHours() * SECONDS_PER_GAME_HOUR;
+        List<StatSample> samples = new ArrayList<>();
+
+        weatherSystem.changeWeather();
+        double untilWeatherChange = GameConfig.WEATHER_CHANGE_INTERVAL;
+        double untilSample = sampleSeconds;
+        if (sampleSeconds > 0) {
+            samples.add(sample(0.0));
+        }
+
+        double happinessSum = 0.0;
+        int minHappiness = happiness.get();
+        long starvingSteps = 0;
+
+        for (long step = 1; step <= steps; step++) {
+            config.policy().act(pet, pet.getCurrentGameHour());
+            if (clock.tick(stepSeconds)) {
+                pet.replenishDailyInventory();
+            }
+
+            untilWeatherChange -= stepSeconds;
+            if (untilWeatherChange <= 0) {
+                weatherSystem.changeWeather();
+                untilWeatherChange += GameConfig.WEATHER_CHANGE_INTERVAL;
+            }
+
+            int currentHappiness = happiness.get();
+            happinessSum += currentHappiness;
+            minHappiness = Math.min(minHappiness, currentHappiness);
+            if (hunger.get() <= GameConfig.MIN_STAT_VALUE) {
+                starvingSteps++;
+            }
+
+            if (sampleSeconds > 0) {
+                untilSample -= stepSeconds;
+                // Tolerate rounding so a sample lands on every full interval
+                if (untilSample <= stepSeconds * 1e-6) {
+                    samples.add(sample(step * stepSeconds));
+                    untilSample += sampleSeconds;
+                }
+            }
+        }
+
+        return new SimulationResult(config.seed(), config.days(), samples, sample(steps * stepSeconds),
+                happinessSum / steps, minHappiness, starvingSteps * stepSeconds / SECONDS_PER_GAME_HOUR);
+    }
+
+    /**
+     * Returns the simulated pet, e.g. to adjust its stats before the run.
+     *
+     * @return the pet of this simulation
+     */
+    public PetModel getPet() {
+        return pet;
+    }
+
+    private StatSample sample(double elapsedSeconds) {
+        PetStats stats = pet.getStats();
+        return new StatSample(elapsedSeconds / GameConfig.DAY_LENGTH_SECONDS,
+                stats.getStat(PetStats.STAT_HUNGER).get(),
+                stats.getStat(PetStats.STAT_HAPPINESS).get(),
+                stats.getStat(PetStats.STAT_ENERGY).get(),
+                stats.getStat(PetStats.STAT_CLEANLINESS).get(),
+                pet.getCurrentState() instanceof AsleepState);
+    }
+}
@@ -0,0 +1,79 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+import com.eleven.pet.core.GameConfig;
+
+import java.util.Arrays;
+
+/**
+ * Collects the results of the pets of one configuration into a {@link ConfigurationOutcome}.
+ *
+ * <p>Each sweep worker reuses a single accumulator for every configuration it evaluates,
+ * so aggregating costs no allocation beyond the final outcome. The happiness distribution
+ * is kept as a histogram over the stat range, which makes percentiles exact without
+ * storing the individual results. Not thread-safe.</p>
+ */
+final class OutcomeAccumulator {
+    private final int[] happinessHistogram = new int[GameConfig.MAX_STAT_VALUE - GameConfig.MIN_STAT_VALUE + 1];
+    private int pets;
+    private int survivors;
+    private double happinessSum;
+    private double hoursStarvingSum;
+
+    /**
+     * Forgets everything added so far.
+     */
+    void reset() {
+        Arrays.fill(happinessHistogram, 0);
+        pets = 0;
+        survivors = 0;
+        happinessSum = 0.0;
+        hoursStarvingSum = 0.0;
+    }
+
+    /**
+     * Adds the result of one pet.
+     *
+     * @param result result of the pet's run
+     */
+    void add(SimulationResult result) {
+        int bin = (int) Math.round(result.meanHappiness()) - GameConfig.MIN_STAT_VALUE;
+        happinessHistogram[Math.clamp(bin, 0, happinessHistogram.length - 1)]++;
+        pets++;
+        if (result.survived()) {
+            survivors++;
+        }
+        happinessSum += result.meanHappiness();
+        hoursStarvingSum += result.hoursStarving();
+    }
+
+    /**
+     * Summarizes the pets added since the last {@link #reset()}.
+     *
+     * @param index      configuration index
+     * @param definition the simulated definition
+     * @return the aggregated outcome
+     */
+    ConfigurationOutcome summarize(int index, PetDefinition definition) {
+        return new ConfigurationOutcome(index, definition, pets,
+                pets == 0 ? 0.0 : (double) survivors / pets,
+                pets == 0 ? 0.0 : happinessSum / pets,
+                percentile(0.1), percentile(0.5), percentile(0.9),
+                pets == 0 ? 0.0 : hoursStarvingSum / pets);
+    }
+
+    /**
+     * Returns the smallest happiness that at least the given share of pets did not exceed.
+     */
+    private int percentile(double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * pets));
+        long seen = 0;
+        for (int bin = 0; bin < happinessHistogram.length; bin++) {
+            seen += happinessHistogram[bin];
+            if (seen >= rank) {
+                return bin + GameConfig.MIN_STAT_VALUE;
+            }
+        }
+        return GameConfig.MIN_STAT_VALUE;
+    }
+}
@@ -0,0 +1,155 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Cartesian grid of {@link PetDefinition}s to sweep.
+ *
+ * <p>Every {@link SweepParameter} has a list of values, a single default from
+ * {@link com.eleven.pet.core.GameConfig} unless it is varied. Configurations are numbered
+ * from {@code 0} to {@code size() - 1} like the digits of a mixed-radix number, the last
+ * parameter varying fastest, so a configuration can be decoded from its index without
+ * materializing the grid. Grids are immutable.</p>
+ */
+public final class ParameterGrid {
+    private static final SweepParameter[] PARAMETERS = SweepParameter.values();
+
+    private final double[][] values;
+    private final int[] strides;
+    private final int size;
+
+    private ParameterGrid(double[][] values) {
+        this.values = values;
+        this.strides = new int[PARAMETERS.length];
+        int stride = 1;
+        for (int i = PARAMETERS.length - 1; i >= 0; i--) {
+            strides[i] = stride;
+            stride = Math.multiplyExact(stride, values[i].length);
+        }
+        this.size = stride;
+    }
+
+    /**
+     * Returns the grid holding only the default configuration.
+     *
+     * @return a grid of size {@code 1}
+     */
+    public static ParameterGrid defaults() {
+        double[][] values = new double[PARAMETERS.length][];
+        for (SweepParameter parameter : PARAMETERS) {
+            values[parameter.ordinal()] = new double[]{parameter.getDefaultValue()};
+        }
+        return new ParameterGrid(values);
+    }
+
+    /**
+     * Returns a copy of this grid that tries the given values for one parameter.
+     *
+     * @param parameter parameter to vary
+     * @param values    values to try; whole-number parameters are rounded
+     * @return the new grid
+     * @throws IllegalArgumentException if no value is given
+     * @throws ArithmeticException      if the grid would have more than {@link Integer#MAX_VALUE} configurations
+     */
+    public ParameterGrid with(SweepParameter parameter, double... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("No values given for " + parameter.getOptionName());
+        }
+        double[][] copy = this.values.clone();
+        copy[parameter.ordinal()] = values.clone();
+        return new ParameterGrid(copy);
+    }
+
+    /**
+     * Returns {@code count} evenly spaced values from {@code min} to {@code max}, both included.
+     *
+     * @param min   first value
+     * @param max   last value
+     * @param count number of values, at least {@code 1}; a single value is {@code min}
+     * @return the values
+     */
+    public static double[] range(double min, double max, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("A range needs at least one value");
+        }
+        double[] range = new double[count];
+        for (int i = 0; i < count; i++) {
+            range[i] = count == 1 ? min : min + (max - min) * i / (count - 1);
+        }
+        return range;
+    }
+
+    /**
+     * Returns the number of configurations in the grid.
+     *
+     * @return the product of the number of values of all parameters
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the values tried for a parameter.
+     *
+     * @param parameter the parameter
+     * @return a copy of its values
+     */
+    public double[] valuesOf(SweepParameter parameter) {
+        return values[parameter.ordinal()].clone();
+    }
+
+    /**
+     * Returns the value of a parameter in the configuration with the given index.
+     *
+     * @param index     configuration index, in {@code [0, size())}
+     * @param parameter the parameter
+     * @return its value in that configuration
+     */
+    public double valueAt(int index, SweepParameter parameter) {
+        Objects.checkIndex(index, size);
+        double[] options = values[parameter.ordinal()];
+        return options[(index / strides[parameter.ordinal()]) % options.length];
+    }
+
+    /**
+     * Builds the definition of the configuration with the given index.
+     *
+     * <p>A daily maximum below its minimum is raised to the minimum.</p>
+     *
+     * @param index configuration index, in {@code [0, size())}
+     * @return the definition of that configuration
+     */
+    public PetDefinition definitionAt(int index) {
+        int foodMin = intAt(index, SweepParameter.DAILY_FOOD_MIN);
+        int cleaningMin = intAt(index, SweepParameter.DAILY_CLEANING_MIN);
+        return new PetDefinition("Bear",
+                valueAt(index, SweepParameter.HAPPINESS_DECAY),
+                valueAt(index, SweepParameter.HUNGER_DECAY),
+                valueAt(index, SweepParameter.CLEANLINESS_DECAY),
+                intAt(index, SweepParameter.SLEEP_ENERGY),
+                intAt(index, SweepParameter.SLEEP_HAPPINESS),
+                foodMin,
+                Math.max(foodMin, intAt(index, SweepParameter.DAILY_FOOD_MAX)),
+                cleaningMin,
+                Math.max(cleaningMin, intAt(index, SweepParameter.DAILY_CLEANING_MAX)));
+    }
+
+    private int intAt(int index, SweepParameter parameter) {
+        return (int) Math.round(valueAt(index, parameter));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("ParameterGrid[" + size + " configurations");
+        for (SweepParameter parameter : PARAMETERS) {
+            double[] options = values[parameter.ordinal()];
+            if (options.length > 1) {
+                text.append(", ").append(parameter.getOptionName()).append('=').append(Arrays.toString(options));
+            }
+        }
+        return text.append(']').toString();
+    }
+}
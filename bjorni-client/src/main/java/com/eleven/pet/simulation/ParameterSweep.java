@@ -0,0 +1,133 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte-Carlo balancing sweep over a {@link ParameterGrid}.
+ *
+ * <p>Every configuration of the grid is simulated with the same number of pets by
+ * {@link HeadlessSimulation}, and their results are aggregated into one
+ * {@link ConfigurationOutcome} per configuration. Pet {@code i} uses seed
+ * {@code seed + i} in every configuration, so all configurations see the same daily
+ * items and weather and differences between them come from the parameters rather
+ * than from luck.</p>
+ *
+ * <p>The configurations are split recursively on a {@link ForkJoinPool} down to single
+ * configurations, so idle workers steal the remaining halves and all cores stay busy as
+ * long as there are more configurations than cores. The pets of one configuration run
+ * on one worker, which aggregates them in its own reusable {@link OutcomeAccumulator}.
+ * Results do not depend on the number of workers.</p>
+ */
+public class ParameterSweep {
+    private final ParameterGrid grid;
+    private final PlayerPolicy policy;
+    private final int days;
+    private final int petsPerConfiguration;
+    private final double stepSeconds;
+    private final long seed;
+
+    private final ThreadLocal<OutcomeAccumulator> accumulators = ThreadLocal.withInitial(OutcomeAccumulator::new);
+    private final AtomicInteger completed = new AtomicInteger();
+
+    /**
+     * Creates a sweep; nothing is simulated until {@link #run(ForkJoinPool)} is called.
+     *
+     * @param grid                 configurations to evaluate
+     * @param policy               scripted player used for every pet
+     * @param days                 in-game days simulated per pet
+     * @param petsPerConfiguration pets simulated per configuration
+     * @param stepSeconds          in-game seconds per simulation step
+     * @param seed                 seed of the first pet of every configuration
+     */
+    public ParameterSweep(ParameterGrid grid, PlayerPolicy policy, int days, int petsPerConfiguration,
+                          double stepSeconds, long seed) {
+        if (petsPerConfiguration < 1) {
+            throw new IllegalArgumentException("pets must be at least 1");
+        }
+        this.grid = grid;
+        this.policy = policy;
+        this.days = days;
+        this.petsPerConfiguration = petsPerConfiguration;
+        this.stepSeconds = stepSeconds;
+        this.seed = seed;
+        // Validates days, step and policy up front instead of on a worker
+        config(new PetDefinition("Bear"));
+    }
+
+    /**
+     * Evaluates every configuration of the grid on the given pool, with sound and the
+     * game log off.
+     *
+     * @param pool pool to run on, e.g. {@link ForkJoinPool#commonPool()}
+     * @return one outcome per configuration, in index order
+     */
+    public List<ConfigurationOutcome> run(ForkJoinPool pool) {
+        HeadlessSimulation.prepareForParallelRuns();
+        completed.set(0);
+        ConfigurationOutcome[] outcomes = new ConfigurationOutcome[grid.size()];
+        pool.invoke(new SweepTask(outcomes, 0, outcomes.length));
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Returns how many configurations the current or last run has finished, for progress reports.
+     *
+     * @return the number of evaluated configurations
+     */
+    public int getCompletedConfigurations() {
+        return completed.get();
+    }
+
+    /**
+     * Simulates all pets of one configuration in this worker's accumulator.
+     */
+    private ConfigurationOutcome evaluate(int index) {
+        PetDefinition definition = grid.definitionAt(index);
+        SimulationConfig config = config(definition);
+        OutcomeAccumulator accumulator = accumulators.get();
+        accumulator.reset();
+        for (int pet = 0; pet < petsPerConfiguration; pet++) {
+            accumulator.add(new HeadlessSimulation(config.withSeed(seed + pet)).run());
+        }
+        completed.incrementAndGet();
+        return accumulator.summarize(index, definition);
+    }
+
+    private SimulationConfig config(PetDefinition definition) {
+        // No time series is recorded, only the summary of each run is needed
+        return new SimulationConfig(definition, policy, days, stepSeconds, 0.0, seed);
+    }
+
+    /**
+     * Evaluates the configurations {@code [from, to)}, splitting the range in halves.
+     */
+    private final class SweepTask extends RecursiveAction {
+        private final ConfigurationOutcome[] outcomes;
+        private final int from;
+        private final int to;
+
+        SweepTask(ConfigurationOutcome[] outcomes, int from, int to) {
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int index = from; index < to; index++) {
+                    outcomes[index] = evaluate(index);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(outcomes, from, middle), new SweepTask(outcomes, middle, to));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetModel;
+import com.eleven.pet.character.PetStats;
+import com.eleven.pet.character.behavior.AsleepState;
+import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.inventory.CleaningItem;
+import com.eleven.pet.inventory.FoodItem;
+import com.eleven.pet.inventory.Item;
+import com.eleven.pet.inventory.ItemRegistry;
+
+/**
+ * Scripted stand-in for the player in a {@link HeadlessSimulation}.
+ *
+ * <p>A policy is asked once per simulation step what to do and interacts with the pet
+ * only through the public {@link PetModel} API, exactly like the UI does, so every
+ * game rule (state checks, inventory, energy costs) applies to it as well.</p>
+ */
+@FunctionalInterface
+public interface PlayerPolicy {
+    /**
+     * Hunger below which the caretaking policies feed the pet.
+     */
+    int FEED_BELOW_HUNGER = 60;
+    /**
+     * Cleanliness below which the caretaking policies use a cleaning item.
+     */
+    int CLEAN_BELOW_CLEANLINESS = 50;
+
+    /**
+     * A player who never opens the game.
+     */
+    PlayerPolicy NEGLECT = (_, _) -> { };
+
+    /**
+     * A player who is always around: feeds the pet when it gets hungry, cleans it when it
+     * gets dirty and puts it to bed as soon as the sleep window opens. Nothing is done
+     * while the pet sleeps.
+     */
+    PlayerPolicy CARETAKER = PlayerPolicy::careFor;
+
+    /**
+     * A player who checks in once a day, during the first hour of the sleep window,
+     * and then does everything the {@link #CARETAKER} would do.
+     */
+    PlayerPolicy EVENING_CHECK_IN = (pet, hour) -> {
+        if (hour >= GameConfig.HOUR_SLEEP_WINDOW_START && hour < GameConfig.HOUR_SLEEP_WINDOW_START + 1.0) {
+            careFor(pet, hour);
+        }
+    };
+
+    /**
+     * Lets the player interact with the pet before the next simulation step.
+     *
+     * @param pet  the simulated pet
+     * @param hour current in-game hour of day, in {@code [0, 24)}
+     */
+    void act(PetModel pet, double hour);
+
+    /**
+     * Looks up a built-in policy by its name, ignoring case.
+     *
+     * @param name one of {@code neglect}, {@code caretaker} or {@code evening-check-in}
+     * @return the policy with that name
+     * @throws IllegalArgumentException if there is no policy with that name
+     */
+    static PlayerPolicy byName(String name) {
+        return switch (name.toLowerCase()) {
+            case "neglect" -> NEGLECT;
+            case "caretaker" -> CARETAKER;
+            case "evening-check-in" -> EVENING_CHECK_IN;
+            default -> throw new IllegalArgumentException("Unknown policy: " + name
+                    + " (expected neglect, caretaker or evening-check-in)");
+        };
+    }
+
+    /**
+     * Feeds, cleans and puts the pet to bed as needed, using only items from its inventory.
+     */
+    private static void careFor(PetModel pet, double hour) {
+        if (pet.getCurrentState() instanceof AsleepState) {
+            return;
+        }
+
+        PetStats stats = pet.getStats();
+        while (stats.getStat(PetStats.STAT_HUNGER).get() < FEED_BELOW_HUNGER) {
+            Item food = bestOwned(pet, FoodItem.class);
+            if (food == null || !pet.performConsume(food)) {
+                break;
+            }
+        }
+
+        if (stats.getStat(PetStats.STAT_CLEANLINESS).get() < CLEAN_BELOW_CLEANLINESS
+                && stats.getStat(PetStats.STAT_ENERGY).get() >= 5) {
+            Item soap = bestOwned(pet, CleaningItem.class);
+            if (soap != null) {
+                pet.performConsume(soap);
+            }
+        }
+
+        if (pet.shouldPromptSleep()) {
+            pet.requestSleepInteraction();
+        }
+    }
+
+    /**
+     * Returns the owned item of the given type that restores the most, or {@code null}
+     * if the pet owns none that restores anything.
+     */
+    private static Item bestOwned(PetModel pet, Class<? extends Item> type) {
+        Item best = null;
+        int bestRestore = 0;
+        for (Integer id : pet.getInventory().getItems().keySet()) {
+            Item item = ItemRegistry.get(id);
+            if (item == null || !pet.getInventory().has(item)) {
+                continue;
+            }
+            int restore = item instanceof FoodItem food ? food.statsRestore()
+                    : item instanceof CleaningItem cleaning ? cleaning.statsRestore() : 0;
+            if (type.isInstance(item) && restore > bestRestore) {
+                best = item;
+                bestRestore = restore;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,51 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+import com.eleven.pet.core.GameConfig;
+
+/**
+ * Settings of one {@link HeadlessSimulation} run.
+ *
+ * <p>All times are in-game times: the simulation runs at the normal time scale and
+ * never waits for real time, so one step simply advances the clock by
+ * {@code stepSeconds}.</p>
+ *
+ * @param definition  species parameters of the simulated pet
+ * @param policy      scripted player interacting with the pet
+ * @param days        number of in-game days to simulate
+ * @param stepSeconds in-game seconds advanced per step; smaller steps follow the live game more closely
+ * @param sampleHours in-game hours between two recorded samples; {@code 0} records no time series
+ * @param seed        seed of the daily items and weather, so a run can be reproduced
+ */
+public record SimulationConfig(PetDefinition definition, PlayerPolicy policy, int days,
+                               double stepSeconds, double sampleHours, long seed) {
+    /**
+     * Default step length: five in-game minutes.
+     */
+    public static final double DEFAULT_STEP_SECONDS = GameConfig.DAY_LENGTH_SECONDS / (24.0 * 12.0);
+
+    public SimulationConfig {
+        if (definition == null || policy == null) {
+            throw new IllegalArgumentException("definition and policy are required");
+        }
+        if (days < 1) {
+            throw new IllegalArgumentException("days must be at least 1");
+        }
+        if (stepSeconds <= 0 || stepSeconds > GameConfig.DAY_LENGTH_SECONDS / 24.0) {
+            throw new IllegalArgumentException("step must be positive and at most one in-game hour");
+        }
+        if (sampleHours < 0) {
+            throw new IllegalArgumentException("sample-hours must not be negative");
+        }
+    }
+
+    /**
+     * Returns the same settings with another seed, e.g. for the next run of a batch.
+     *
+     * @param seed the new seed
+     * @return a copy of this configuration with the given seed
+     */
+    public SimulationConfig withSeed(long seed) {
+        return new SimulationConfig(definition, policy, days, stepSeconds, sampleHours, seed);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.core.GameConfig;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link HeadlessSimulation} run.
+ *
+ * @param seed          seed the run was started with
+ * @param days          number of in-game days simulated
+ * @param samples       recorded time series, oldest first; empty if sampling was turned off
+ * @param last          stats at the end of the run
+ * @param meanHappiness happiness averaged over all steps
+ * @param minHappiness  lowest happiness seen during the run
+ * @param hoursStarving in-game hours the pet spent with hunger at the minimum
+ */
+public record SimulationResult(long seed, int days, List<StatSample> samples, StatSample last,
+                               double meanHappiness, int minHappiness, double hoursStarving) {
+
+    /**
+     * Returns whether the pet came through the run: it never starved and its happiness
+     * never dropped to the minimum.
+     *
+     * @return {@code true} if the pet survived the run
+     */
+    public boolean survived() {
+        return hoursStarving == 0 && minHappiness > GameConfig.MIN_STAT_VALUE;
+    }
+}
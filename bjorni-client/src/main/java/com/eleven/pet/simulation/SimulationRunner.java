@@ -0,0 +1,165 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.core.GameLog;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Command line entry point for balancing runs.
+ *
+ * <p>Runs a batch of {@link HeadlessSimulation}s with consecutive seeds in parallel on
+ * all cores, prints a summary and the simulation speed, and optionally writes the
+ * recorded time series of every run to a CSV file. Options use the
+ * {@code --name=value} form and are all optional:</p>
+ * <pre>{@code
+ * --days=365 --runs=64 --seed=1 --policy=caretaker --step-minutes=5 --sample-hours=1 --out=stats.csv
+ * --hunger-decay=0.5 --happiness-decay=0.3 --cleanliness-decay=0.2
+ * }</pre>
+ *
+ * <p>The game logs every interaction to standard output, which would dominate the run
+ * time, so the {@link GameLog} is turned off for the simulations.</p>
+ */
+public final class SimulationRunner {
+    private static final List<String> OPTIONS = List.of("days", "runs", "seed", "policy", "step-minutes",
+            "sample-hours", "out", "hunger-decay", "happiness-decay", "cleanliness-decay");
+
+    private SimulationRunner() {
+    }
+
+    /**
+     * JVM entry point.
+     *
+     * @param args options in {@code --name=value} form
+     * @throws IOException if the CSV file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options;
+        SimulationConfig config;
+        int runs;
+        try {
+            options = parseOptions(args);
+            config = parseConfig(options);
+            runs = Integer.parseInt(options.getOrDefault("runs", "1"));
+            if (runs < 1) {
+                throw new IllegalArgumentException("runs must be at least 1");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Options: --days= --runs= --seed= --policy= --step-minutes= --sample-hours= --out="
+                    + " --hunger-decay= --happiness-decay= --cleanliness-decay=");
+            System.exit(2);
+            return;
+        }
+
+        System.out.printf("Simulating %,d run(s) of %,d days with policy %s...%n",
+                runs, config.days(), options.getOrDefault("policy", "caretaker"));
+        long start = System.nanoTime();
+        List<SimulationResult> results = runAll(config, runs);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        printSummary(results, seconds);
+        if (options.containsKey("out")) {
+            Path out = Path.of(options.get("out"));
+            try (BufferedWriter writer = Files.newBufferedWriter(out)) {
+                writeCsv(results, writer);
+            }
+            System.out.println("Time series written to " + out.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Runs the given number of simulations in parallel, seeded consecutively from the
+     * seed of {@code config}, with sound and the game log off.
+     *
+     * @param config settings shared by all runs
+     * @param runs   number of runs
+     * @return the results, in seed order
+     */
+    public static List<SimulationResult> runAll(SimulationConfig config, int runs) {
+        HeadlessSimulation.prepareForParallelRuns();
+        return LongStream.range(0, runs)
+                .parallel()
+                .mapToObj(run -> new HeadlessSimulation(config.withSeed(config.seed() + run)).run())
+                .toList();
+    }
+
+    /**
+     * Writes the time series of all runs as CSV, one row per sample.
+     *
+     * @param results results to write
+     * @param writer  destination; not closed
+     * @throws IOException if writing fails
+     */
+    public static void writeCsv(List<SimulationResult> results, Writer writer) throws IOException {
+        writer.write("seed,day,hunger,happiness,energy,cleanliness,asleep\n");
+        for (SimulationResult result : results) {
+            for (StatSample sample : result.samples()) {
+                writer.write(String.format(Locale.ROOT, "%d,%.4f,%d,%d,%d,%d,%b\n", result.seed(), sample.day(),
+                        sample.hunger(), sample.happiness(), sample.energy(), sample.cleanliness(), sample.asleep()));
+            }
+        }
+    }
+
+    private static void printSummary(List<SimulationResult> results, double seconds) {
+        double meanHappiness = 0.0;
+        double hoursStarving = 0.0;
+        int minHappiness = GameConfig.MAX_STAT_VALUE;
+        long days = 0;
+        for (SimulationResult result : results) {
+            meanHappiness += result.meanHappiness();
+            hoursStarving += result.hoursStarving();
+            minHappiness = Math.min(minHappiness, result.minHappiness());
+            days += result.days();
+        }
+
+        System.out.printf(Locale.ROOT, "Mean happiness %.1f, lowest happiness %d, starving %.1f h per run%n",
+                meanHappiness / results.size(), minHappiness, hoursStarving / results.size());
+        System.out.printf(Locale.ROOT, "Simulated %,d days in %.2f s (%,.0f days/s)%n",
+                days, seconds, days / Math.max(seconds, 1e-9));
+    }
+
+    private static Map<String, String> parseOptions(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+            options.put(name, arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static SimulationConfig parseConfig(Map<String, String> options) {
+        PetDefinition definition = new PetDefinition("Bear",
+                Double.parseDouble(options.getOrDefault("happiness-decay", String.valueOf(GameConfig.HAPPINESS_DECAY_RATE))),
+                Double.parseDouble(options.getOrDefault("hunger-decay", String.valueOf(GameConfig.HUNGER_DECAY_RATE))),
+                Double.parseDouble(options.getOrDefault("cleanliness-decay", String.valueOf(GameConfig.CLEANLINESS_DECAY_RATE))),
+                GameConfig.SLEEP_ENERGY_PER_HOUR, GameConfig.SLEEP_HAPPINESS_PER_HOUR);
+        double stepSeconds = options.containsKey("step-minutes")
+                ? Double.parseDouble(options.get("step-minutes")) * GameConfig.DAY_LENGTH_SECONDS / (24.0 * 60.0)
+                : SimulationConfig.DEFAULT_STEP_SECONDS;
+
+        return new SimulationConfig(definition,
+                PlayerPolicy.byName(options.getOrDefault("policy", "caretaker")),
+                Integer.parseInt(options.getOrDefault("days", "365")),
+                stepSeconds,
+                Double.parseDouble(options.getOrDefault("sample-hours", "1")),
+                Long.parseLong(options.getOrDefault("seed", "1")));
+    }
+}
@@ -0,0 +1,14 @@
+package com.eleven.pet.simulation;
+
+/**
+ * Stats of the simulated pet at one point in time.
+ *
+ * @param day         in-game days since the start of the run, including the fraction of the day
+ * @param hunger      hunger stat
+ * @param happiness   happiness stat
+ * @param energy      energy stat
+ * @param cleanliness cleanliness stat
+ * @param asleep      whether the pet was asleep
+ */
+public record StatSample(double day, int hunger, int happiness, int energy, int cleanliness, boolean asleep) {
+}
@@ -0,0 +1,77 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+import com.eleven.pet.core.GameConfig;
+
+/**
+ * Balancing parameters a {@link ParameterGrid} can vary, each a component of
+ * {@link PetDefinition}.
+ */
+public enum SweepParameter {
+    HAPPINESS_DECAY("happiness-decay", GameConfig.HAPPINESS_DECAY_RATE, false),
+    HUNGER_DECAY("hunger-decay", GameConfig.HUNGER_DECAY_RATE, false),
+    CLEANLINESS_DECAY("cleanliness-decay", GameConfig.CLEANLINESS_DECAY_RATE, false),
+    SLEEP_ENERGY("sleep-energy", GameConfig.SLEEP_ENERGY_PER_HOUR, true),
+    SLEEP_HAPPINESS("sleep-happiness", GameConfig.SLEEP_HAPPINESS_PER_HOUR, true),
+    DAILY_FOOD_MIN("daily-food-min", GameConfig.DAILY_FOOD_MIN, true),
+    DAILY_FOOD_MAX("daily-food-max", GameConfig.DAILY_FOOD_MAX, true),
+    DAILY_CLEANING_MIN("daily-cleaning-min", GameConfig.DAILY_CLEANING_MIN, true),
+    DAILY_CLEANING_MAX("daily-cleaning-max", GameConfig.DAILY_CLEANING_MAX, true);
+
+    private final String optionName;
+    private final double defaultValue;
+    private final boolean integral;
+
+    SweepParameter(String optionName, double defaultValue, boolean integral) {
+        this.optionName = optionName;
+        this.defaultValue = defaultValue;
+        this.integral = integral;
+    }
+
+    /**
+     * Returns the name used on the command line and in CSV headers.
+     *
+     * @return the option name, e.g. {@code hunger-decay}
+     */
+    public String getOptionName() {
+        return optionName;
+    }
+
+    /**
+     * Returns the value from {@link GameConfig} used when the parameter is not varied.
+     *
+     * @return the default value
+     */
+    public double getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Returns whether the parameter only takes whole numbers.
+     *
+     * @return {@code true} for item amounts and sleep rewards
+     */
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    /**
+     * Reads this parameter from a definition.
+     *
+     * @param definition the definition to read
+     * @return the value of the matching component
+     */
+    public double valueOf(PetDefinition definition) {
+        return switch (this) {
+            case HAPPINESS_DECAY -> definition.happinessDecayRate();
+            case HUNGER_DECAY -> definition.hungerDecayRate();
+            case CLEANLINESS_DECAY -> definition.cleanlinessDecayRate();
+            case SLEEP_ENERGY -> definition.energyPerHour();
+            case SLEEP_HAPPINESS -> definition.happinessPerHour();
+            case DAILY_FOOD_MIN -> definition.dailyFoodMin();
+            case DAILY_FOOD_MAX -> definition.dailyFoodMax();
+            case DAILY_CLEANING_MIN -> definition.dailyCleaningMin();
+            case DAILY_CLEANING_MAX -> definition.dailyCleaningMax();
+        };
+    }
+}
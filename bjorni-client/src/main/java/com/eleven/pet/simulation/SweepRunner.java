@@ -0,0 +1,210 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.core.GameConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Command line entry point for {@link ParameterSweep}s.
+ *
+ * <p>Every {@link SweepParameter} can be varied with {@code --<name>=<values>}, either as a
+ * comma-separated list or as {@code min:max:count} for evenly spaced values; parameters
+ * that are not given keep their {@link GameConfig} value. The grid is the Cartesian
+ * product of all values. Example with 5 × 5 × 4 × 4 = 400 configurations:</p>
+ * <pre>{@code
+ * --hunger-decay=0.3:0.7:5 --happiness-decay=0.2:0.4:5 --sleep-energy=3,4,5,6 --daily-food-max=5:8:4
+ * --pets=32 --days=30 --policy=evening-check-in --seed=1 --threads=8 --out=sweep.csv
+ * }</pre>
+ *
+ * <p>Progress is reported on standard error while the sweep runs. Afterwards the
+ * best configurations are printed and, with {@code --out}, one CSV row per
+ * configuration is written.</p>
+ */
+public final class SweepRunner {
+    private static final List<String> OPTIONS = List.of("pets", "days", "policy", "seed", "threads",
+            "step-minutes", "out", "top");
+
+    private SweepRunner() {
+    }
+
+    /**
+     * JVM entry point.
+     *
+     * @param args options in {@code --name=value} form
+     * @throws IOException          if the CSV file cannot be written
+     * @throws InterruptedException if interrupted while waiting for the sweep
+     * @throws ExecutionException   if a simulation failed
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        Map<String, String> options;
+        ParameterGrid grid;
+        ParameterSweep sweep;
+        int threads;
+        try {
+            options = parseOptions(args);
+            grid = parseGrid(options);
+            threads = Integer.parseInt(options.getOrDefault("threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            double stepSeconds = options.containsKey("step-minutes")
+                    ? Double.parseDouble(options.get("step-minutes")) * GameConfig.DAY_LENGTH_SECONDS / (24.0 * 60.0)
+                    : SimulationConfig.DEFAULT_STEP_SECONDS;
+            sweep = new ParameterSweep(grid,
+                    PlayerPolicy.byName(options.getOrDefault("policy", "caretaker")),
+                    Integer.parseInt(options.getOrDefault("days", "30")),
+                    Integer.parseInt(options.getOrDefault("pets", "16")),
+                    stepSeconds,
+                    Long.parseLong(options.getOrDefault("seed", "1")));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Options: --pets= --days= --policy= --seed= --threads= --step-minutes= --out= --top=");
+            System.err.print("Parameters (list a,b,c or range min:max:count):");
+            for (SweepParameter parameter : SweepParameter.values()) {
+                System.err.print(" --" + parameter.getOptionName() + "=");
+            }
+            System.err.println();
+            System.exit(2);
+            return;
+        }
+
+        System.out.printf("Sweeping %s on %d threads...%n", grid, threads);
+        long start = System.nanoTime();
+        List<ConfigurationOutcome> outcomes;
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            CompletableFuture<List<ConfigurationOutcome>> result = CompletableFuture.supplyAsync(() -> sweep.run(pool));
+            while (true) {
+                try {
+                    outcomes = result.get(10, TimeUnit.SECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    System.err.printf("%,d / %,d configurations%n", sweep.getCompletedConfigurations(), grid.size());
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long pets = (long) grid.size() * outcomes.getFirst().pets();
+        System.out.printf(Locale.ROOT, "Evaluated %,d configurations (%,d pets) in %.1f s (%,.1f configurations/s)%n",
+                grid.size(), pets, seconds, grid.size() / Math.max(seconds, 1e-9));
+        printTop(outcomes, Integer.parseInt(options.getOrDefault("top", "5")));
+
+        if (options.containsKey("out")) {
+            Path out = Path.of(options.get("out"));
+            try (BufferedWriter writer = Files.newBufferedWriter(out)) {
+                writeCsv(outcomes, writer);
+            }
+            System.out.println("Outcomes written to " + out.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Writes one CSV row per configuration: its parameters followed by the aggregated outcome.
+     *
+     * @param outcomes outcomes to write
+     * @param writer   destination; not closed
+     * @throws IOException if writing fails
+     */
+    public static void writeCsv(List<ConfigurationOutcome> outcomes, Writer writer) throws IOException {
+        StringBuilder header = new StringBuilder("index");
+        for (SweepParameter parameter : SweepParameter.values()) {
+            header.append(',').append(parameter.getOptionName());
+        }
+        writer.write(header.append(",pets,survival-rate,mean-happiness,happiness-p10,happiness-p50,happiness-p90,hours-starving\n")
+                .toString());
+
+        StringBuilder row = new StringBuilder();
+        for (ConfigurationOutcome outcome : outcomes) {
+            row.setLength(0);
+            row.append(outcome.index());
+            for (SweepParameter parameter : SweepParameter.values()) {
+                double value = parameter.valueOf(outcome.definition());
+                row.append(',');
+                if (parameter.isIntegral()) {
+                    row.append((long) value);
+                } else {
+                    row.append(value);
+                }
+            }
+            row.append(String.format(Locale.ROOT, ",%d,%.4f,%.2f,%d,%d,%d,%.2f%n", outcome.pets(),
+                    outcome.survivalRate(), outcome.meanHappiness(), outcome.happinessP10(),
+                    outcome.happinessP50(), outcome.happinessP90(), outcome.meanHoursStarving()));
+            writer.write(row.toString());
+        }
+    }
+
+    private static void printTop(List<ConfigurationOutcome> outcomes, int count) {
+        System.out.println("Best configurations by survival rate, then median happiness:");
+        outcomes.stream()
+                .sorted(Comparator.comparingDouble(ConfigurationOutcome::survivalRate)
+                        .thenComparingInt(ConfigurationOutcome::happinessP50)
+                        .reversed())
+                .limit(count)
+                .forEach(outcome -> System.out.printf(Locale.ROOT,
+                        "  #%d survival %.1f%%, happiness p10/p50/p90 %d/%d/%d, %s%n",
+                        outcome.index(), outcome.survivalRate() * 100, outcome.happinessP10(),
+                        outcome.happinessP50(), outcome.happinessP90(), outcome.definition()));
+    }
+
+    private static Map<String, String> parseOptions(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static ParameterGrid parseGrid(Map<String, String> options) {
+        ParameterGrid grid = ParameterGrid.defaults();
+        for (SweepParameter parameter : SweepParameter.values()) {
+            String values = options.get(parameter.getOptionName());
+            if (values != null) {
+                grid = grid.with(parameter, parseValues(values));
+            }
+        }
+
+        for (String name : options.keySet()) {
+            boolean known = OPTIONS.contains(name);
+            for (SweepParameter parameter : SweepParameter.values()) {
+                known |= parameter.getOptionName().equals(name);
+            }
+            if (!known) {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Parses {@code a,b,c} or {@code min:max:count}.
+     */
+    private static double[] parseValues(String values) {
+        String[] range = values.split(":");
+        if (range.length == 3) {
+            return ParameterGrid.range(Double.parseDouble(range[0]), Double.parseDouble(range[1]),
+                    Integer.parseInt(range[2]));
+        }
+        String[] list = values.split(",");
+        double[] parsed = new double[list.length];
+        for (int i = 0; i < list.length; i++) {
+            parsed[i] = Double.parseDouble(list[i].trim());
+        }
+        return parsed;
+    }
+}
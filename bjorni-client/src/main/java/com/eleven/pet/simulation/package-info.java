@@ -0,0 +1,7 @@
+/**
+ * This package contains the headless simulation used for balancing. It runs the pet,
+ * its clock and the weather without any JavaFX window, as fast as the CPU allows,
+ * with scripted player policies, and records how the stats develop over time.
+ */
+
+package com.eleven.pet.simulation;
@@ -1,5 +1,6 @@
 package com.eleven.pet.storage;
 
+import com.eleven.pet.character.OfflineProgress;
 import com.eleven.pet.character.PetFactory;
 import com.eleven.pet.character.PetModel;
 import com.eleven.pet.character.PetStats;
@@ -35,6 +36,7 @@ import java.util.stream.Collectors;
  *     <li>Encrypting and writing save data to disk</li>
  *     <li>Decrypting and reading save data from disk</li>
  *     <li>Mapping DTO data back into a live {@link com.eleven.pet.character.PetModel}</li>
+ *     <li>Catching the pet up on the time the game was closed, see {@link OfflineProgress}</li>
  * </ul>
  * The actual crypto operations are delegated to {@link EncryptionService}.
  * </p>
@@ -74,6 +76,9 @@ public class PersistenceService {
             dto.setTutorialCompleted(model.isTutorialCompleted());
             dto.setCurrentStateName(model.getCurrentState().getStateName());
             dto.setLastSaveTimestamp(System.currentTimeMillis());
+            if (model.getClock() != null) {
+                dto.setGameTime(model.getClock().getGameTime());
+            }
             dto.setPlayerId(model.getPlayerId());
             dto.setSecretKey(model.getSecretKey());
 
@@ -104,6 +109,8 @@ public class PersistenceService {
      * If the file does not exist, an empty {@link Optional} is returned. If it does
      * exist, the file is decrypted, deserialized into {@link PetDataDTO}, then
      * mapped into a fresh {@link PetModel} instance created by {@link PetFactory}.
+     * The game clock is set to the saved time of day, and the pet is then fast-forwarded
+     * by the real time that passed since {@link PetDataDTO#getLastSaveTimestamp()}.
      * </p>
      *
      * @param weatherSystem the weather system to associate with the loaded pet
@@ -132,7 +139,7 @@ public class PersistenceService {
 
             PetState restoredState = StateRegistry.getInstance().getState(stateName);
 
-            // Prevent loading into AsleepState directly as the clock may have advanced
+            // Never restore AsleepState directly; the catch-up below lets the pet sleep until it wakes up
             if (restoredState != null && !(restoredState instanceof AsleepState)) {
                 model.changeState(restoredState);
             }
@@ -149,6 +156,8 @@ public class PersistenceService {
             // Load reward cooldown
             model.setRewardCooldown(dto.getRewardCooldown());
 
+            catchUp(model, dto, restoredState instanceof AsleepState);
+
             System.out.println("[" + dto.getVersion() + "] Game loaded successfully!");
             return Optional.of(model);
 
@@ -157,6 +166,24 @@ public class PersistenceService {
         }
     }
 
+    /**
+     * Restores the saved time of day and simulates the time the game was closed.
+     *
+     * @param model  the restored pet
+     * @param dto    the loaded save data
+     * @param asleep whether the pet was asleep when the game was saved
+     */
+    private void catchUp(PetModel model, PetDataDTO dto, boolean asleep) {
+        GameClock clock = model.getClock();
+        if (clock == null || dto.getLastSaveTimestamp() <= 0) return;
+
+        if (dto.getGameTime() >= 0) {
+            clock.setGameTime(dto.getGameTime());
+        }
+        double secondsClosed = (System.currentTimeMillis() - dto.getLastSaveTimestamp()) / 1000.0;
+        OfflineProgress.fastForward(model, secondsClosed, asleep);
+    }
+
     /**
      * Extract a flat map of stat name to integer value from the given {@link PetStats}.
      *
@@ -51,6 +51,12 @@ public class PetDataDTO {
      */
     private long lastSaveTimestamp;
 
+    /**
+     * In‑game time of day (seconds since midnight) when this data was saved,
+     * or {@code -1} for saves that predate it.
+     */
+    private double gameTime = -1.0;
+
     /**
      * In‑game time (hours) when the pet started sleeping.
      */
@@ -6,6 +6,7 @@ import com.eleven.pet.character.PetStats;
 import com.eleven.pet.character.behavior.AsleepState;
 import com.eleven.pet.character.behavior.PetState;
 import com.eleven.pet.core.AssetLoader;
+import com.eleven.pet.core.GameConfig;
 import com.eleven.pet.environment.time.GameClock;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -259,17 +260,24 @@ public class HUDView extends StackPane {
     }
 
     /**
-     * Subscribes to game clock changes and updates the clock label
-     * and sleep button visibility accordingly.
+     * Shows the sleep button while sleep is allowed. Visibility only changes when the
+     * sleep window opens or closes or the pet changes state, so the button is refreshed
+     * at those moments instead of on every clock tick.
      */
     private void observeEnvironment() {
         if (clock == null) return;
 
-        clock.gameTimeProperty().addListener((_, _, time) -> {
-            boolean canSleep = controller.isSleepAllowed();
-            sleepBtn.setVisible(canSleep);
-        });
+        clock.scheduleAtHour(GameConfig.HOUR_SLEEP_WINDOW_START, this::refreshSleepPrompt);
+        clock.scheduleAtHour(GameConfig.HOUR_SLEEP_WINDOW_END, this::refreshSleepPrompt);
+        model.getStateProperty().addListener((_, _, _) -> refreshSleepPrompt());
+        refreshSleepPrompt();
+    }
 
+    /**
+     * Updates sleep button visibility based on whether the pet may sleep now.
+     */
+    private void refreshSleepPrompt() {
+        sleepBtn.setVisible(controller.isSleepAllowed());
     }
 
     /**
@@ -0,0 +1,127 @@
+package com.eleven.pet.character;
+
+import com.eleven.pet.character.behavior.AsleepState;
+import com.eleven.pet.character.behavior.AwakeState;
+import com.eleven.pet.character.behavior.StateRegistry;
+import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.environment.time.GameClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link OfflineProgress}, which catches a pet up on the time the game was closed.
+ */
+public class OfflineProgressTest {
+    private static final double SECONDS_PER_GAME_HOUR = GameConfig.DAY_LENGTH_SECONDS / 24.0;
+
+    /**
+     * Registers the behavior states, since AutoService doesn't work in tests.
+     */
+    @BeforeEach
+    void setUp() {
+        StateRegistry registry = StateRegistry.getInstance();
+        registry.registerState(new AwakeState());
+        registry.registerState(new AsleepState());
+    }
+
+    /**
+     * Verifies that fast-forwarding ends with the same stats as ticking through
+     * the same time frame by frame, within the rounding of the decay accumulators.
+     */
+    @Test
+    void testMatchesTickByTickSimulation() {
+        GameClock tickedClock = new GameClock();
+        PetModel ticked = createPet(tickedClock);
+        PetModel fastForwarded = createPet(new GameClock());
+
+        double days = 3;
+        double tick = SECONDS_PER_GAME_HOUR / 60.0;
+        for (int i = 0; i < days * 24 * 60; i++) {
+            tickedClock.tick(tick);
+        }
+        OfflineProgress.fastForward(fastForwarded, days * GameConfig.DAY_LENGTH_SECONDS, false);
+
+        for (String stat : new String[]{PetStats.STAT_HUNGER, PetStats.STAT_CLEANLINESS,
+                PetStats.STAT_ENERGY, PetStats.STAT_HAPPINESS}) {
+            assertEquals(ticked.getStats().getStat(stat).get(), fastForwarded.getStats().getStat(stat).get(), 3,
+                    stat + " should match the frame-by-frame result");
+        }
+        assertEquals(ticked.getCurrentGameHour(), fastForwarded.getCurrentGameHour(), 1e-6);
+    }
+
+    /**
+     * Verifies that a sleeping pet earns the hourly sleep rewards and wakes up
+     * at the wake-up hour, with time running at the sleep time scale.
+     */
+    @Test
+    void testSleepingPetIsRewardedUntilWakeUp() {
+        GameClock clock = new GameClock();
+        clock.setGameTime(2 * SECONDS_PER_GAME_HOUR);
+        PetModel pet = createPet(clock);
+        pet.getStats().registerStat(PetStats.STAT_ENERGY, 50);
+        pet.getStats().registerStat(PetStats.STAT_HAPPINESS, 50);
+        pet.setSleptThisNight(true);
+        pet.setCurrentSleepDuration(0.0);
+
+        double hoursUntilWakeUp = GameConfig.HOUR_WAKE_UP - 2;
+        OfflineProgress.fastForward(pet, hoursUntilWakeUp * SECONDS_PER_GAME_HOUR / GameConfig.TIMESCALE_SLEEP, true);
+
+        assertEquals(50 + hoursUntilWakeUp * GameConfig.SLEEP_ENERGY_PER_HOUR, pet.getStats().getStat(PetStats.STAT_ENERGY).get());
+        assertEquals(50 + hoursUntilWakeUp * GameConfig.SLEEP_HAPPINESS_PER_HOUR, pet.getStats().getStat(PetStats.STAT_HAPPINESS).get());
+        assertTrue(pet.isPassedEightAM(), "Waking up at the wake-up hour should not count as a missed night");
+        assertEquals(GameConfig.HOUR_WAKE_UP, pet.getCurrentGameHour(), 1e-6);
+    }
+
+    /**
+     * Verifies that a night spent awake is penalized once at the wake-up hour.
+     */
+    @Test
+    void testMissedNightIsPenalized() {
+        PetModel pet = createPet(new GameClock());
+
+        OfflineProgress.fastForward(pet, GameConfig.DAY_LENGTH_SECONDS, false);
+
+        assertEquals(50 - GameConfig.MISSED_SLEEP_ENERGY_PENALTY, pet.getStats().getStat(PetStats.STAT_ENERGY).get());
+        assertEquals(50 - (int) (24 * GameConfig.HUNGER_DECAY_RATE), pet.getStats().getStat(PetStats.STAT_HUNGER).get());
+        assertEquals(12.0, pet.getCurrentGameHour(), 1e-6);
+    }
+
+    /**
+     * Verifies that a very long absence empties the stats without replaying every frame.
+     */
+    @Test
+    void testLongAbsence() {
+        PetModel pet = createPet(new GameClock());
+
+        double gameSeconds = OfflineProgress.fastForward(pet, 1000 * GameConfig.DAY_LENGTH_SECONDS, false);
+
+        assertEquals(1000 * GameConfig.DAY_LENGTH_SECONDS, gameSeconds, 1e-3);
+        assertEquals(GameConfig.MIN_STAT_VALUE, pet.getStats().getStat(PetStats.STAT_HUNGER).get());
+        assertEquals(GameConfig.MIN_STAT_VALUE, pet.getStats().getStat(PetStats.STAT_CLEANLINESS).get());
+        assertEquals(GameConfig.MIN_STAT_VALUE, pet.getStats().getStat(PetStats.STAT_HAPPINESS).get());
+        assertEquals(12.0, pet.getCurrentGameHour(), 1e-3);
+    }
+
+    /**
+     * Verifies that nothing happens without a clock or elapsed time.
+     */
+    @Test
+    void testNoClockOrNoTime() {
+        PetModel withoutClock = createPet(null);
+        assertEquals(0.0, OfflineProgress.fastForward(withoutClock, GameConfig.DAY_LENGTH_SECONDS, false));
+        assertEquals(50, withoutClock.getStats().getStat(PetStats.STAT_HUNGER).get());
+
+        PetModel pet = createPet(new GameClock());
+        assertEquals(0.0, OfflineProgress.fastForward(pet, -5.0, false));
+        assertEquals(12.0, pet.getCurrentGameHour(), 1e-6);
+    }
+
+    private static PetModel createPet(GameClock clock) {
+        PetModel pet = PetFactory.createNewPet("TestPet", null, clock);
+        pet.getStats().registerStat(PetStats.STAT_HAPPINESS, 100);
+        pet.getStats().registerStat(PetStats.STAT_ENERGY, 50);
+        return pet;
+    }
+}
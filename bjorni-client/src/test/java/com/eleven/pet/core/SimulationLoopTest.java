@@ -0,0 +1,70 @@
+package com.eleven.pet.core;
+
+import com.eleven.pet.environment.time.GameClock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the fixed-timestep {@link SimulationLoop}.
+ */
+public class SimulationLoopTest {
+    // Powers of two keep the accumulated frame times exact
+    private static final double STEP = 1.0 / 16.0;
+
+    /**
+     * Verifies that the simulation runs the same steps whether it is driven
+     * by many short frames or by a few long ones.
+     */
+    @Test
+    void testStepsIndependentOfFrameRate() {
+        GameClock fastFrames = new GameClock();
+        GameClock slowFrames = new GameClock();
+        SimulationLoop fast = new SimulationLoop(STEP, 5.0, () -> fastFrames.tick(STEP));
+        SimulationLoop slow = new SimulationLoop(STEP, 5.0, () -> slowFrames.tick(STEP));
+
+        for (int frame = 0; frame < 128; frame++) {
+            fast.advance(1.0 / 128.0);
+        }
+        for (int frame = 0; frame < 4; frame++) {
+            slow.advance(0.25);
+        }
+
+        assertEquals(16, fast.getStepCount());
+        assertEquals(16, slow.getStepCount());
+        assertEquals(fastFrames.getGameTime(), slowFrames.getGameTime(), 1e-9);
+    }
+
+    /**
+     * Verifies that leftover time is carried over to the next frame.
+     */
+    @Test
+    void testLeftoverTimeIsCarriedOver() {
+        SimulationLoop loop = new SimulationLoop(STEP, 5.0, () -> { });
+
+        assertEquals(0, loop.advance(STEP / 2));
+        assertEquals(1, loop.advance(STEP * 3 / 4));
+        assertEquals(0, loop.advance(STEP / 2));
+        assertEquals(1, loop.advance(STEP / 2));
+    }
+
+    /**
+     * Verifies that a long stall is only caught up on to the configured limit.
+     */
+    @Test
+    void testStallIsCappedAtCatchUpLimit() {
+        SimulationLoop loop = new SimulationLoop(STEP, 1.0, () -> { });
+
+        assertEquals(16, loop.advance(30.0));
+        assertEquals(0, loop.advance(-1.0));
+    }
+
+    /**
+     * Verifies that a non-positive step length is rejected.
+     */
+    @Test
+    void testInvalidStepRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulationLoop(0.0, 1.0, () -> { }));
+    }
+}
@@ -5,13 +5,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
- * Tests for {@link GameClock} time progression and day-cycle calculation.
+ * Tests for {@link GameClock} time progression, day-cycle calculation and event scheduling.
  */
 public class GameClockTest {
+    private static final double SECONDS_PER_GAME_HOUR = GameConfig.DAY_LENGTH_SECONDS / 24.0;
 
     /**
      * Verifies that the {@link GameClock} calculates the correct {@link DayCycle}
@@ -65,4 +70,149 @@ public class GameClockTest {
         double finalTime = clock.getGameTime();
         assertEquals(initialTime, finalTime, "Game time should not change when paused");
     }
+
+    /**
+     * Verifies that a daily event fires once each time its hour is reached,
+     * no matter how the time is split into ticks.
+     */
+    @Test
+    void testDailyEventFiresOncePerDay() {
+        GameClock clock = new GameClock();
+        int[] fired = {0};
+        clock.scheduleAtHour(20.0, () -> fired[0]++);
+
+        clock.tick(7.9 * SECONDS_PER_GAME_HOUR);
+        assertEquals(0, fired[0], "Should not fire before 20:00");
+        clock.tick(0.2 * SECONDS_PER_GAME_HOUR);
+        assertEquals(1, fired[0], "Should fire when crossing 20:00");
+        for (int i = 0; i < 24 * 60; i++) {
+            clock.tick(SECONDS_PER_GAME_HOUR / 60.0);
+        }
+        assertEquals(2, fired[0], "Should fire once more a day later");
+
+        clock.tick(3 * GameConfig.DAY_LENGTH_SECONDS);
+        assertEquals(5, fired[0], "A long tick should fire once for every day it covers");
+    }
+
+    /**
+     * Verifies that scheduling at the current hour waits for the next day.
+     */
+    @Test
+    void testScheduleAtCurrentHourFiresTomorrow() {
+        GameClock clock = new GameClock();
+        int[] fired = {0};
+        clock.scheduleAtHour(12.0, () -> fired[0]++);
+
+        clock.tick(23.9 * SECONDS_PER_GAME_HOUR);
+        assertEquals(0, fired[0]);
+        clock.tick(0.1 * SECONDS_PER_GAME_HOUR);
+        assertEquals(1, fired[0]);
+    }
+
+    /**
+     * Verifies that a one-shot event fires once after its delay.
+     */
+    @Test
+    void testOneShotEventFiresOnce() {
+        GameClock clock = new GameClock();
+        int[] fired = {0};
+        clock.scheduleAfter(10.0, () -> fired[0]++);
+
+        clock.tick(9.0);
+        assertEquals(0, fired[0]);
+        clock.tick(1.0);
+        assertEquals(1, fired[0]);
+        clock.tick(GameConfig.DAY_LENGTH_SECONDS);
+        assertEquals(1, fired[0], "A one-shot event should not fire again");
+    }
+
+    /**
+     * Verifies that events due at the same time fire in the order they were
+     * scheduled and that events fire after the listeners saw the tick.
+     */
+    @Test
+    void testEventOrder() {
+        GameClock clock = new GameClock();
+        List<String> order = new ArrayList<>();
+        clock.subscribe(_ -> order.add("tick"));
+        clock.scheduleAtHour(13.0, () -> order.add("first"));
+        clock.scheduleAfter(SECONDS_PER_GAME_HOUR, () -> order.add("second"));
+        clock.scheduleAfter(0.5 * SECONDS_PER_GAME_HOUR, () -> order.add("earlier"));
+
+        clock.tick(2 * SECONDS_PER_GAME_HOUR);
+
+        assertEquals(List.of("tick", "earlier", "first", "second"), order);
+    }
+
+    /**
+     * Verifies that cancelled events no longer fire, also when an event cancels itself.
+     */
+    @Test
+    void testCancel() {
+        GameClock clock = new GameClock();
+        int[] fired = {0, 0};
+        ScheduledEvent cancelled = clock.scheduleAfter(1.0, () -> fired[0]++);
+        ScheduledEvent[] self = new ScheduledEvent[1];
+        self[0] = clock.scheduleAtHour(13.0, () -> {
+            fired[1]++;
+            self[0].cancel();
+        });
+
+        cancelled.cancel();
+        clock.tick(3 * GameConfig.DAY_LENGTH_SECONDS);
+
+        assertTrue(cancelled.isCancelled());
+        assertEquals(0, fired[0], "A cancelled event should not fire");
+        assertEquals(1, fired[1], "An event that cancelled itself should not fire again");
+    }
+
+    /**
+     * Verifies that setting the time moves daily events to their next occurrence
+     * without firing the hours that were jumped over.
+     */
+    @Test
+    void testSetGameTimeReanchorsDailyEvents() {
+        GameClock clock = new GameClock();
+        int[] fired = {0};
+        clock.scheduleAtHour(20.0, () -> fired[0]++);
+
+        clock.setGameTime(21.0 * SECONDS_PER_GAME_HOUR);
+        clock.tick(22.9 * SECONDS_PER_GAME_HOUR);
+        assertEquals(0, fired[0], "20:00 was skipped by setting the time");
+        clock.tick(0.2 * SECONDS_PER_GAME_HOUR);
+        assertEquals(1, fired[0]);
+
+        clock.setGameTime(19.0 * SECONDS_PER_GAME_HOUR);
+        clock.tick(1.1 * SECONDS_PER_GAME_HOUR);
+        assertEquals(2, fired[0], "Setting the time back should bring 20:00 closer");
+    }
+
+    /**
+     * Ensures that no events fire while the clock is paused.
+     */
+    @Test
+    void testPausedClockFiresNoEvents() {
+        GameClock clock = new GameClock();
+        int[] fired = {0};
+        clock.scheduleAfter(0.0, () -> fired[0]++);
+
+        clock.setPaused(true);
+        clock.tick(GameConfig.DAY_LENGTH_SECONDS);
+        assertEquals(0, fired[0]);
+
+        clock.setPaused(false);
+        clock.tick(0.0);
+        assertEquals(1, fired[0]);
+    }
+
+    /**
+     * Ensures that invalid hours and negative delays are rejected.
+     */
+    @Test
+    void testInvalidSchedules() {
+        GameClock clock = new GameClock();
+        assertThrows(IllegalArgumentException.class, () -> clock.scheduleAtHour(24.0, () -> { }));
+        assertThrows(IllegalArgumentException.class, () -> clock.scheduleAtHour(-1.0, () -> { }));
+        assertThrows(IllegalArgumentException.class, () -> clock.scheduleAfter(-1.0, () -> { }));
+    }
 }
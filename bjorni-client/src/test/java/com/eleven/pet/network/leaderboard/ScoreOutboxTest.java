@@ -0,0 +1,75 @@
+package com.eleven.pet.network.leaderboard;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests for {@link ScoreOutbox}, the durable queue of unsent leaderboard results.
+ */
+public class ScoreOutboxTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static LeaderboardEntry win(String game, long timestamp) {
+        return new LeaderboardEntry("Bjorni", 1, game, timestamp);
+    }
+
+    /**
+     * Results that were never acknowledged must still be there after a restart.
+     */
+    @Test
+    void testEntriesSurviveReopen() {
+        Path file = tempDir.resolve("outbox.jsonl");
+        ScoreOutbox outbox = new ScoreOutbox(file);
+        outbox.add(win("TimingGame", 1));
+        outbox.add(win("GuessingGame", 2));
+
+        ScoreOutbox reopened = new ScoreOutbox(file);
+
+        assertEquals(2, reopened.size());
+        assertEquals(List.of(win("TimingGame", 1), win("GuessingGame", 2)), reopened.peek(10));
+    }
+
+    /**
+     * Acknowledged results are removed from memory and from disk, oldest first.
+     */
+    @Test
+    void testRemoveDropsOldestEntries() {
+        Path file = tempDir.resolve("outbox.jsonl");
+        ScoreOutbox outbox = new ScoreOutbox(file);
+        for (int i = 0; i < 5; i++) {
+            outbox.add(win("TimingGame", i));
+        }
+
+        assertEquals(2, outbox.peek(2).size());
+        outbox.remove(2);
+
+        assertEquals(3, outbox.size());
+        assertEquals(2, new ScoreOutbox(file).peek(1).getFirst().getTimestamp());
+
+        outbox.remove(3);
+        assertFalse(Files.exists(file), "An empty outbox should not leave a file behind");
+    }
+
+    /**
+     * A partially written last line (e.g., after a crash) must not prevent loading the rest.
+     */
+    @Test
+    void testTornLineIsSkipped() throws Exception {
+        Path file = tempDir.resolve("outbox.jsonl");
+        new ScoreOutbox(file).add(win("TimingGame", 1));
+        Files.writeString(file, "{\"playerName\":\"Bj", StandardOpenOption.APPEND);
+
+        assertEquals(1, new ScoreOutbox(file).size());
+    }
+}
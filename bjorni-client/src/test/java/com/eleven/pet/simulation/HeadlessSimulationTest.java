@@ -0,0 +1,107 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+import com.eleven.pet.character.behavior.AsleepState;
+import com.eleven.pet.character.behavior.AwakeState;
+import com.eleven.pet.character.behavior.StateRegistry;
+import com.eleven.pet.core.AssetLoader;
+import com.eleven.pet.core.GameConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link HeadlessSimulation} and its {@link SimulationRunner}.
+ */
+public class HeadlessSimulationTest {
+
+    /**
+     * Registers the behavior states, since AutoService doesn't work in tests, and turns sound off.
+     */
+    @BeforeEach
+    void setUp() {
+        StateRegistry registry = StateRegistry.getInstance();
+        registry.registerState(new AwakeState());
+        registry.registerState(new AsleepState());
+        AssetLoader.getInstance().setSoundEnabled(false);
+    }
+
+    /**
+     * Verifies that two runs with the same seed record the same time series.
+     */
+    @Test
+    void testSameSeedReproducesRun() {
+        SimulationConfig config = config(PlayerPolicy.CARETAKER, 10, 42);
+
+        SimulationResult first = new HeadlessSimulation(config).run();
+        SimulationResult second = new HeadlessSimulation(config).run();
+
+        assertEquals(first.samples(), second.samples());
+        assertEquals(first.meanHappiness(), second.meanHappiness());
+    }
+
+    /**
+     * Verifies that one sample is recorded at the start and one per sampling interval.
+     */
+    @Test
+    void testSampleCount() {
+        SimulationResult result = new HeadlessSimulation(config(PlayerPolicy.NEGLECT, 2, 1)).run();
+
+        assertEquals(2 * 24 + 1, result.samples().size());
+        assertEquals(0.0, result.samples().getFirst().day(), 1e-9);
+        assertEquals(2.0, result.last().day(), 1e-9);
+    }
+
+    /**
+     * Verifies that a pet that is fed, cleaned and put to bed stays happier than a neglected one.
+     */
+    @Test
+    void testCaretakerKeepsPetHappierThanNeglect() {
+        SimulationResult caredFor = new HeadlessSimulation(config(PlayerPolicy.CARETAKER, 20, 7)).run();
+        SimulationResult neglected = new HeadlessSimulation(config(PlayerPolicy.NEGLECT, 20, 7)).run();
+
+        assertTrue(caredFor.meanHappiness() > neglected.meanHappiness(),
+                caredFor.meanHappiness() + " should exceed " + neglected.meanHappiness());
+        assertEquals(GameConfig.MIN_STAT_VALUE, neglected.last().happiness());
+        assertTrue(neglected.hoursStarving() > 0, "A neglected pet should run out of food");
+        assertTrue(caredFor.samples().stream().anyMatch(StatSample::asleep), "The caretaker should put the pet to bed");
+    }
+
+    /**
+     * Verifies that the runner returns one result per seed and writes one CSV row per sample.
+     */
+    @Test
+    void testRunnerRunsAllSeeds() throws IOException {
+        List<SimulationResult> results = SimulationRunner.runAll(config(PlayerPolicy.EVENING_CHECK_IN, 3, 100), 4);
+
+        assertEquals(List.of(100L, 101L, 102L, 103L), results.stream().map(SimulationResult::seed).toList());
+
+        StringWriter csv = new StringWriter();
+        SimulationRunner.writeCsv(results, csv);
+        long rows = csv.toString().lines().count();
+        assertEquals(1 + 4 * (3 * 24 + 1), rows);
+    }
+
+    /**
+     * Verifies that a simulation cannot be run twice and that invalid settings are rejected.
+     */
+    @Test
+    void testInvalidUse() {
+        HeadlessSimulation simulation = new HeadlessSimulation(config(PlayerPolicy.NEGLECT, 1, 1));
+        simulation.run();
+
+        assertThrows(IllegalStateException.class, simulation::run);
+        assertThrows(IllegalArgumentException.class, () -> config(PlayerPolicy.NEGLECT, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> PlayerPolicy.byName("unknown"));
+    }
+
+    private static SimulationConfig config(PlayerPolicy policy, int days, long seed) {
+        return new SimulationConfig(new PetDefinition("TestPet"), policy, days,
+                SimulationConfig.DEFAULT_STEP_SECONDS, 1.0, seed);
+    }
+}
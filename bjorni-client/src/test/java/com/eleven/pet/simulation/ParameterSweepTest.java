@@ -0,0 +1,129 @@
+package com.eleven.pet.simulation;
+
+import com.eleven.pet.character.PetDefinition;
+import com.eleven.pet.character.behavior.AsleepState;
+import com.eleven.pet.character.behavior.AwakeState;
+import com.eleven.pet.character.behavior.StateRegistry;
+import com.eleven.pet.core.GameConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ParameterGrid} and the {@link ParameterSweep} evaluating it.
+ */
+public class ParameterSweepTest {
+
+    /**
+     * Registers the behavior states, since AutoService doesn't work in tests.
+     */
+    @BeforeEach
+    void setUp() {
+        StateRegistry registry = StateRegistry.getInstance();
+        registry.registerState(new AwakeState());
+        registry.registerState(new AsleepState());
+    }
+
+    /**
+     * Verifies that the grid holds every combination exactly once, the last parameter varying fastest.
+     */
+    @Test
+    void testGridEnumeratesAllCombinations() {
+        ParameterGrid grid = ParameterGrid.defaults()
+                .with(SweepParameter.HUNGER_DECAY, 0.25, 0.5, 0.75)
+                .with(SweepParameter.SLEEP_ENERGY, 4, 6);
+
+        assertEquals(6, grid.size());
+        Set<PetDefinition> definitions = new HashSet<>();
+        for (int index = 0; index < grid.size(); index++) {
+            definitions.add(grid.definitionAt(index));
+        }
+        assertEquals(6, definitions.size());
+
+        assertEquals(0.25, grid.definitionAt(0).hungerDecayRate());
+        assertEquals(4, grid.definitionAt(0).energyPerHour());
+        assertEquals(6, grid.definitionAt(1).energyPerHour());
+        assertEquals(0.5, grid.definitionAt(2).hungerDecayRate());
+        assertEquals(GameConfig.HAPPINESS_DECAY_RATE, grid.definitionAt(5).happinessDecayRate());
+        assertEquals(GameConfig.DAILY_FOOD_MAX, grid.definitionAt(5).dailyFoodMax());
+    }
+
+    /**
+     * Verifies evenly spaced ranges and that a daily maximum below the minimum is raised.
+     */
+    @Test
+    void testRangesAndDailyAmounts() {
+        assertArrayEquals(new double[]{0.2, 0.4, 0.6}, ParameterGrid.range(0.2, 0.6, 3), 1e-12);
+        assertArrayEquals(new double[]{1.0}, ParameterGrid.range(1.0, 5.0, 1));
+
+        ParameterGrid grid = ParameterGrid.defaults()
+                .with(SweepParameter.DAILY_FOOD_MIN, 6)
+                .with(SweepParameter.DAILY_FOOD_MAX, 2);
+        assertEquals(6, grid.definitionAt(0).dailyFoodMax());
+        assertThrows(IllegalArgumentException.class, () -> grid.with(SweepParameter.HUNGER_DECAY));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.valueAt(1, SweepParameter.HUNGER_DECAY));
+    }
+
+    /**
+     * Verifies that a sweep returns one outcome per configuration in index order, that
+     * faster hunger decay does worse, and that results do not depend on the number of workers.
+     */
+    @Test
+    void testSweepIsOrderedAndIndependentOfParallelism() throws IOException {
+        ParameterGrid grid = ParameterGrid.defaults().with(SweepParameter.HUNGER_DECAY, 0.1, 0.5, 4.0);
+        ParameterSweep sweep = new ParameterSweep(grid, PlayerPolicy.EVENING_CHECK_IN, 5, 4,
+                SimulationConfig.DEFAULT_STEP_SECONDS, 1);
+
+        List<ConfigurationOutcome> parallel;
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            parallel = sweep.run(pool);
+        }
+        List<ConfigurationOutcome> sequential;
+        try (ForkJoinPool pool = new ForkJoinPool(1)) {
+            sequential = sweep.run(pool);
+        }
+
+        assertEquals(sequential, parallel);
+        assertEquals(3, sweep.getCompletedConfigurations());
+        assertEquals(List.of(0, 1, 2), parallel.stream().map(ConfigurationOutcome::index).toList());
+        assertEquals(4, parallel.getFirst().pets());
+        assertTrue(parallel.get(0).meanHoursStarving() <= parallel.get(2).meanHoursStarving());
+        assertTrue(parallel.get(2).meanHoursStarving() > 0, "Fast hunger decay should starve the pet");
+        assertTrue(parallel.get(0).happinessP10() <= parallel.get(0).happinessP50());
+        assertTrue(parallel.get(0).happinessP50() <= parallel.get(0).happinessP90());
+
+        StringWriter csv = new StringWriter();
+        SweepRunner.writeCsv(parallel, csv);
+        assertEquals(1 + 3, csv.toString().lines().count());
+    }
+
+    /**
+     * Verifies that the accumulator reports exact percentiles and forgets everything on reset.
+     */
+    @Test
+    void testAccumulatorPercentiles() {
+        OutcomeAccumulator accumulator = new OutcomeAccumulator();
+        for (int happiness = 1; happiness <= 10; happiness++) {
+            accumulator.add(new SimulationResult(happiness, 1, List.of(), null, happiness * 10, happiness, 0.0));
+        }
+        ConfigurationOutcome outcome = accumulator.summarize(0, new PetDefinition("TestPet"));
+
+        assertEquals(10, outcome.pets());
+        assertEquals(1.0, outcome.survivalRate());
+        assertEquals(55.0, outcome.meanHappiness(), 1e-9);
+        assertEquals(10, outcome.happinessP10());
+        assertEquals(50, outcome.happinessP50());
+        assertEquals(90, outcome.happinessP90());
+
+        accumulator.reset();
+        assertEquals(0, accumulator.summarize(0, new PetDefinition("TestPet")).pets());
+    }
+}
@@ -6,7 +6,10 @@ import com.eleven.pet.character.PetStats;
 import com.eleven.pet.character.behavior.AsleepState;
 import com.eleven.pet.character.behavior.StateRegistry;
 import com.eleven.pet.core.GameConfig;
+import com.eleven.pet.environment.time.GameClock;
 import com.eleven.pet.inventory.Inventory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -86,6 +89,37 @@ class PersistenceTest {
         assertNotEquals(original.getCurrentState(), loaded.getCurrentState());
     }
 
+    /**
+     * Verifies that loading restores the saved time of day and catches the pet
+     * up on the real time that passed since the save.
+     */
+    @Test
+    void loadCatchesUpOnTimeSinceLastSave() throws Exception {
+        Path savePath = tempDir.resolve("offline.dat");
+        PersistenceService service = new PersistenceService(new NoOpEncryptionService(), savePath);
+
+        GameClock clock = new GameClock();
+        clock.setGameTime(GameConfig.DAY_LENGTH_SECONDS * 10.0 / 24.0); // 10:00
+        PetModel original = PetFactory.createNewPet("Fluffy", null, clock);
+        original.getStats().registerStat(PetStats.STAT_ENERGY, 50);
+        service.save(original);
+
+        // Pretend the game was closed for one full in-game day
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode json = (ObjectNode) mapper.readTree(savePath.toFile());
+        long dayMillis = (long) (GameConfig.DAY_LENGTH_SECONDS * 1000);
+        json.put("lastSaveTimestamp", json.get("lastSaveTimestamp").asLong() - dayMillis);
+        mapper.writeValue(savePath.toFile(), json);
+
+        GameClock loadedClock = new GameClock();
+        PetModel loaded = service.load(null, loadedClock)
+                .orElseThrow(() -> new AssertionError("Loaded model should not be empty"));
+
+        assertEquals(50 - GameConfig.MISSED_SLEEP_ENERGY_PENALTY, loaded.getStats().getStat(PetStats.STAT_ENERGY).get(),
+                "The night spent awake while the game was closed should be penalized");
+        assertEquals(10.0, loaded.getCurrentGameHour(), 0.1);
+    }
+
     /**
      * Verifies that loading from a non‑existent save file returns an empty
      * {@link java.util.Optional} instead of throwing.
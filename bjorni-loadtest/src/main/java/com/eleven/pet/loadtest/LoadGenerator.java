@@ -0,0 +1,252 @@
+package com.eleven.pet.loadtest;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.model.PlayerRegistration;
+import com.eleven.pet.shared.util.Signature;
+import com.eleven.pet.shared.util.SignedRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load and soak generator for a running bjorni-server.
+ * <p>
+ * Registers {@code players} synthetic players through {@code /api/v1/auth/register}, then sends
+ * requests at a fixed target rate: signed score submissions and, at {@code read-ratio}, leaderboard
+ * reads. Every request runs on its own virtual thread, so a slow server does not slow down the
+ * schedule. Latencies are measured from the time a request was due, not from when it was sent,
+ * so queueing in the generator or the server is not hidden (no coordinated omission).
+ * </p>
+ * <p>
+ * Once {@code max-in-flight} requests are unanswered, further ones are dropped and counted
+ * instead of piling up. For soak runs, {@code report-seconds} prints the figures of every interval,
+ * so a slow drift in latency or errors shows up next to the final summary.
+ * </p>
+ * Start a local server, then run for example:
+ * <pre>{@code
+ * java -jar bjorni-loadtest/target/bjorni-loadtest-1.0.0.jar --players=1000 --rate=500 --seconds=60
+ * }</pre>
+ * See {@link LoadTestConfig#parse(String...)} for all options.
+ */
+public final class LoadGenerator {
+    private static final String[] GAMES = {"TimingGame", "GuessingGame"};
+    // Registrations sent at once while setting up the players
+    private static final int REGISTRATION_CONCURRENCY = 64;
+    // Default submission rate limit of the server's SubmissionGuard
+    private static final double GUARD_RATE_PER_SECOND = 2;
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Signature signatureUtil = new Signature();
+    private final Semaphore inFlight;
+
+    private List<PlayerRegistration> players;
+    // Submissions per player, used as the score so no two bodies of a player are identical
+    private AtomicLongArray sequences;
+
+    public LoadGenerator(LoadTestConfig config) {
+        this.config = config;
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Registers the players, warms the server up and measures.
+     *
+     * @return the figures of the measured period.
+     */
+    public LoadStats run() throws IOException, InterruptedException {
+        long setupStart = System.nanoTime();
+        players = registerPlayers();
+        sequences = new AtomicLongArray(players.size());
+        System.out.printf("Registered %,d players in %.1f s%n", players.size(), (System.nanoTime() - setupStart) / 1e9);
+        if (config.submissionsPerPlayerPerSecond() > GUARD_RATE_PER_SECOND) {
+            System.out.printf("Warning: %.1f submissions per player and second exceed the server's default rate limit; "
+                            + "add players or start the server with --bjorni.guard.rate-per-second%n",
+                    config.submissionsPerPlayerPerSecond());
+        }
+
+        if (!config.warmup().isZero()) {
+            System.out.printf("Warming up for %d s...%n", config.warmup().toSeconds());
+            drive(config.warmup(), new LoadStats(), false);
+        }
+        System.out.printf("Sending %,.0f req/s (%.0f%% reads) for %d s...%n",
+                config.rate(), config.readRatio() * 100, config.duration().toSeconds());
+        LoadStats total = new LoadStats();
+        long start = System.nanoTime();
+        drive(config.duration(), total, true);
+        System.out.print(total.report("total", (System.nanoTime() - start) / 1e9));
+        return total;
+    }
+
+    /**
+     * Sends requests at the target rate for {@code duration}, then waits for the unanswered ones.
+     *
+     * @param report whether to print the figures of every report interval.
+     */
+    private void drive(Duration duration, LoadStats total, boolean report) {
+        double nanosPerRequest = 1e9 / config.rate();
+        long reportNanos = config.reportInterval().toNanos();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intervalStart = start;
+        LoadStats interval = new LoadStats();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sent = 0; ; sent++) {
+                long due = start + (long) (sent * nanosPerRequest);
+                if (due >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                if (report && reportNanos > 0 && due - intervalStart >= reportNanos) {
+                    System.out.print(interval.report("last " + config.reportInterval().toSeconds() + " s",
+                            (due - intervalStart) / 1e9));
+                    interval = new LoadStats();
+                    intervalStart = due;
+                }
+
+                LoadStats current = interval;
+                if (!inFlight.tryAcquire()) {
+                    total.drop();
+                    current.drop();
+                    continue;
+                }
+                boolean read = random.nextDouble() < config.readRatio();
+                int player = random.nextInt(players.size());
+                executor.execute(() -> {
+                    try {
+                        int status = send(read ? leaderboardRequest() : submissionRequest(player));
+                        long latency = System.nanoTime() - due;
+                        total.record(read, latency, status);
+                        current.record(read, latency, status);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } // Closing the executor waits for the unanswered requests
+    }
+
+    /**
+     * @return the HTTP status, or {@link LoadStats#NO_RESPONSE}.
+     */
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return LoadStats.NO_RESPONSE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return LoadStats.NO_RESPONSE;
+        }
+    }
+
+    private List<PlayerRegistration> registerPlayers() throws IOException, InterruptedException {
+        Semaphore registrations = new Semaphore(REGISTRATION_CONCURRENCY);
+        List<Future<PlayerRegistration>> pending = new ArrayList<>(config.players());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.players(); i++) {
+                pending.add(executor.submit(() -> {
+                    registrations.acquire();
+                    try {
+                        return register();
+                    } finally {
+                        registrations.release();
+                    }
+                }));
+            }
+        }
+
+        List<PlayerRegistration> registered = new ArrayList<>(pending.size());
+        for (Future<PlayerRegistration> registration : pending) {
+            try {
+                registered.add(registration.get());
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to register players at " + config.baseUrl(), e.getCause());
+            }
+        }
+        return registered;
+    }
+
+    private PlayerRegistration register() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(config.baseUrl().resolve("/api/v1/auth/register"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Registration failed with HTTP " + response.statusCode());
+        }
+        return mapper.readValue(response.body(), PlayerRegistration.class);
+    }
+
+    private HttpRequest leaderboardRequest() {
+        return HttpRequest.newBuilder(config.baseUrl().resolve("/api/v1/leaderboard?limit=10"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest submissionRequest(int player) {
+        PlayerRegistration registration = players.get(player);
+        long sequence = sequences.incrementAndGet(player);
+        LeaderboardEntry entry = new LeaderboardEntry("Load Tester " + player, sequence,
+                GAMES[(int) (sequence % GAMES.length)], System.currentTimeMillis());
+        try {
+            byte[] json = mapper.writeValueAsBytes(entry);
+            String timestamp = Long.toString(System.currentTimeMillis());
+            String nonce = SignedRequest.nonceOf(json);
+            String signature = Base64.getEncoder().encodeToString(signatureUtil.calculateHMAC(
+                    SignedRequest.context(timestamp, nonce), json, 0, json.length, registration.getSecretKey()));
+            return HttpRequest.newBuilder(config.baseUrl().resolve("/api/v1/leaderboard"))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .header(SignedRequest.PLAYER_ID_HEADER, registration.getPlayerId())
+                    .header(SignedRequest.SIGNATURE_HEADER, signature)
+                    .header(SignedRequest.TIMESTAMP_HEADER, timestamp)
+                    .header(SignedRequest.NONCE_HEADER, nonce)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize load test entry", e);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Options: --url= --players= --rate= --read-ratio= --warmup-seconds= --seconds= --report-seconds= --max-in-flight=");
+            System.exit(2);
+            return;
+        }
+        System.out.printf("Load test against %s with %,d players%n", config.baseUrl(), config.players());
+        new LoadGenerator(config).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.eleven.pet.loadtest;
+
+import com.eleven.pet.shared.util.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Figures of one measurement period: latencies per request type, failures by cause and dropped requests.
+ */
+public class LoadStats {
+    /**
+     * Pseudo status code for requests that got no HTTP answer (connection refused, timeout, ...).
+     */
+    public static final int NO_RESPONSE = 0;
+
+    private final LatencyHistogram submissions = new LatencyHistogram();
+    private final LatencyHistogram reads = new LatencyHistogram();
+    private final ConcurrentHashMap<Integer, LongAdder> failures = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Records an answered or failed request.
+     *
+     * @param read   {@code true} for a leaderboard read, {@code false} for a submission.
+     * @param nanos  the latency, measured from when the request was due to be sent.
+     * @param status the HTTP status, or {@link #NO_RESPONSE}.
+     */
+    public void record(boolean read, long nanos, int status) {
+        (read ? reads : submissions).record(nanos);
+        if (status != 200) {
+            failures.computeIfAbsent(status, _ -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Counts a request that was not sent because too many were unanswered.
+     */
+    public void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * Formats the figures as a report.
+     *
+     * @param label          the name of the period, e.g. {@code total}.
+     * @param elapsedSeconds the length of the period.
+     * @return a few lines with throughput, error rate and latency percentiles.
+     */
+    public String report(String label, double elapsedSeconds) {
+        long requests = submissions.count() + reads.count();
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        failures.forEach((status, count) -> byStatus.put(status, count.sum()));
+        long failed = byStatus.values().stream().mapToLong(Long::longValue).sum();
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%s: %,d requests in %.1f s, %,.0f req/s, %.2f%% errors",
+                label, requests, elapsedSeconds, requests / elapsedSeconds, requests == 0 ? 0 : 100.0 * failed / requests));
+        if (!byStatus.isEmpty()) {
+            out.append(' ').append(byStatus.toString().replace(NO_RESPONSE + "=", "no response="));
+        }
+        out.append(String.format(", %,d dropped%n", dropped.sum()));
+        out.append(latencies("  submit", submissions)).append(latencies("  read  ", reads));
+        return out.toString();
+    }
+
+    private static String latencies(String label, LatencyHistogram histogram) {
+        return String.format("%s %,9d  p50 %8.2f ms  p90 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  max %8.2f ms%n",
+                label, histogram.count(), millis(histogram.percentile(50)), millis(histogram.percentile(90)),
+                millis(histogram.percentile(99)), millis(histogram.percentile(99.9)), millis(histogram.max()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
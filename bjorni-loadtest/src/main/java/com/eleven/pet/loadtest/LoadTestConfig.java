@@ -0,0 +1,84 @@
+package com.eleven.pet.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of one load or soak run, parsed from {@code --name=value} arguments.
+ *
+ * @param baseUrl        the server root, e.g. {@code http://localhost:8080}.
+ * @param players        the number of synthetic players registered before the run.
+ * @param rate           the target number of requests per second, across all players.
+ * @param readRatio      the share of requests that are leaderboard reads, the rest are submissions.
+ * @param warmup         how long to send load before measuring, so the server runs compiled code.
+ * @param duration       how long to measure.
+ * @param reportInterval how often to print the figures of the last interval; zero prints only the summary.
+ * @param maxInFlight    the number of unanswered requests at which further ones are dropped instead of sent.
+ */
+public record LoadTestConfig(URI baseUrl, int players, double rate, double readRatio,
+                             Duration warmup, Duration duration, Duration reportInterval, int maxInFlight) {
+
+    public LoadTestConfig {
+        if (players < 1) {
+            throw new IllegalArgumentException("players must be at least 1");
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (readRatio < 0 || readRatio > 1) {
+            throw new IllegalArgumentException("read-ratio must be between 0 and 1");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("max-in-flight must be at least 1");
+        }
+    }
+
+    /**
+     * Parses the command line. Every setting is optional:
+     * <pre>{@code
+     * --url=http://localhost:8080 --players=1000 --rate=500 --read-ratio=0.2
+     * --warmup-seconds=10 --seconds=60 --report-seconds=10 --max-in-flight=10000
+     * }</pre>
+     *
+     * @param args the arguments of {@code main}.
+     * @return the parsed settings.
+     * @throws IllegalArgumentException if an argument is unknown or malformed.
+     */
+    public static LoadTestConfig parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(options.getOrDefault("url", "http://localhost:8080")),
+                Integer.parseInt(options.getOrDefault("players", "1000")),
+                Double.parseDouble(options.getOrDefault("rate", "500")),
+                Double.parseDouble(options.getOrDefault("read-ratio", "0.2")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("report-seconds", "10"))),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")));
+
+        options.keySet().removeAll(List.of("url", "players", "rate", "read-ratio",
+                "warmup-seconds", "seconds", "report-seconds", "max-in-flight"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        return config;
+    }
+
+    /**
+     * @return the submissions each player sends per second on average.
+     */
+    public double submissionsPerPlayerPerSecond() {
+        return rate * (1 - readRatio) / players;
+    }
+}
@@ -0,0 +1,32 @@
+package com.eleven.pet.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadTestConfigTest {
+
+    @Test
+    void parseShouldApplyOptionsOverDefaults() {
+        LoadTestConfig config = LoadTestConfig.parse("--url=http://localhost:9090", "--players=50", "--rate=200", "--seconds=5");
+
+        assertEquals(URI.create("http://localhost:9090"), config.baseUrl());
+        assertEquals(50, config.players());
+        assertEquals(200, config.rate());
+        assertEquals(Duration.ofSeconds(5), config.duration());
+        assertEquals(0.2, config.readRatio());
+        assertEquals(3.2, config.submissionsPerPlayerPerSecond(), 1e-9);
+    }
+
+    @Test
+    void parseShouldRejectUnknownOrInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--users=5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("players=5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--read-ratio=1.5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--rate=fast"));
+    }
+}
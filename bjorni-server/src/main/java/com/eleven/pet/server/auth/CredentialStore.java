@@ -0,0 +1,278 @@
+package com.eleven.pet.server.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact map from player IDs to secret keys, for millions of registered players.
+ * <p>
+ * Both are UUIDs, so each is stored as its two 64-bit halves: a player takes one 32-byte slot in a
+ * single {@code long[]} (open addressing, linear probing), instead of a map node and two
+ * {@link String}s of about 200 bytes together. The table doubles at 75% load.
+ * </p>
+ * <p>
+ * Lookups parse the player ID straight from the request header and probe the table without
+ * allocating. {@link #copySecret(CharSequence, byte[], int)} writes the key bytes used for the HMAC
+ * into a caller's buffer, from which an HMAC engine is keyed; {@link #secretOf(CharSequence)}
+ * materializes the key as a {@link String}.
+ * </p>
+ * IDs or keys that are not canonical UUID strings (never produced by registration) are kept in a
+ * small regular map, so any credential can still be stored.
+ * <p>
+ * <strong>Concurrency Note:</strong> Writers hold a lock; registrations are rare compared to lookups.
+ * Readers take no lock: a slot's player ID is published last with release semantics and slots are
+ * never removed, so a reader that sees an ID also sees its key.
+ * </p>
+ */
+public class CredentialStore {
+    /**
+     * Length of a canonical UUID string, which is also the length of an HMAC key in bytes.
+     */
+    public static final int KEY_LENGTH = 36;
+
+    private static final int SLOT_LONGS = 4; // idHigh, idLow, keyHigh, keyLow
+    private static final int INITIAL_SLOTS = 1024;
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long[] table = new long[INITIAL_SLOTS * SLOT_LONGS];
+    private int size;
+
+    // Credentials that are not canonical UUIDs
+    private final ConcurrentHashMap<String, String> irregular = new ConcurrentHashMap<>();
+
+    /**
+     * Stores or replaces the secret key of a player.
+     *
+     * @param playerId  the unique identifier of the player.
+     * @param secretKey the player's secret key.
+     */
+    public void put(String playerId, String secretKey) {
+        if (!isCanonical(playerId) || !isCanonical(secretKey)
+                || (parseHigh(playerId) == 0 && parseLow(playerId) == 0)) { // The nil UUID marks empty slots
+            irregular.put(playerId, secretKey);
+            return;
+        }
+        long idHigh = parseHigh(playerId);
+        long idLow = parseLow(playerId);
+        long keyHigh = parseHigh(secretKey);
+        long keyLow = parseLow(secretKey);
+
+        writeLock.lock();
+        try {
+            if ((size + 1) * 4L > (table.length / SLOT_LONGS) * 3L) {
+                resize();
+            }
+            if (insert(table, idHigh, idLow, keyHigh, keyLow)) {
+                size++;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the HMAC key of a player, the UTF-8 bytes of their secret key, into a buffer.
+     * Does not allocate for players registered through the API.
+     *
+     * @param playerId the player ID from a request; need not be a valid UUID.
+     * @param out      the buffer, with room for {@link #KEY_LENGTH} bytes at {@code offset}.
+     * @param offset   the position to write to.
+     * @return the number of bytes written, or {@code -1} if the player is unknown or their key
+     * does not fit.
+     */
+    public int copySecret(CharSequence playerId, byte[] out, int offset) {
+        long[] current = table;
+        int slot = slotOf(current, playerId);
+        if (slot >= 0) {
+            formatUuid(current[slot + 2], current[slot + 3], out, offset);
+            return KEY_LENGTH;
+        }
+        String secret = irregularSecret(playerId);
+        if (secret == null) {
+            return -1;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > out.length - offset) {
+            return -1;
+        }
+        System.arraycopy(bytes, 0, out, offset, bytes.length);
+        return bytes.length;
+    }
+
+    /**
+     * @param playerId the player ID from a request; need not be a valid UUID.
+     * @return the player's secret key, or {@code null} if the player is unknown.
+     */
+    public String secretOf(CharSequence playerId) {
+        long[] current = table;
+        int slot = slotOf(current, playerId);
+        if (slot >= 0) {
+            return new UUID(current[slot + 2], current[slot + 3]).toString();
+        }
+        return irregularSecret(playerId);
+    }
+
+    /**
+     * Passes every stored credential to {@code action}, e.g. for a journal snapshot.
+     */
+    public void forEach(BiConsumer<String, String> action) {
+        long[] current = table;
+        for (int slot = 0; slot < current.length; slot += SLOT_LONGS) {
+            long idHigh = (long) LONGS.getAcquire(current, slot);
+            long idLow = current[slot + 1];
+            if (idHigh != 0 || idLow != 0) {
+                action.accept(new UUID(idHigh, idLow).toString(), new UUID(current[slot + 2], current[slot + 3]).toString());
+            }
+        }
+        irregular.forEach(action);
+    }
+
+    /**
+     * @return the number of stored credentials.
+     */
+    public int size() {
+        writeLock.lock();
+        try {
+            return size + irregular.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private String irregularSecret(CharSequence playerId) {
+        return irregular.isEmpty() ? null : irregular.get(playerId.toString());
+    }
+
+    /**
+     * @return the index of the player's slot in {@code table}, or {@code -1}.
+     */
+    private static int slotOf(long[] table, CharSequence playerId) {
+        if (!isCanonical(playerId)) {
+            return -1;
+        }
+        long idHigh = parseHigh(playerId);
+        long idLow = parseLow(playerId);
+        int mask = table.length / SLOT_LONGS - 1;
+        for (int i = hash(idHigh, idLow) & mask; ; i = (i + 1) & mask) {
+            int slot = i * SLOT_LONGS;
+            // The low half is written before the high half is released
+            long high = (long) LONGS.getAcquire(table, slot);
+            long low = table[slot + 1];
+            if (high == 0 && low == 0) {
+                return -1;
+            }
+            if (high == idHigh && low == idLow) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Inserts or replaces an entry. Callers hold the write lock.
+     *
+     * @return {@code true} if a new slot was used.
+     */
+    private static boolean insert(long[] table, long idHigh, long idLow, long keyHigh, long keyLow) {
+        int mask = table.length / SLOT_LONGS - 1;
+        for (int i = hash(idHigh, idLow) & mask; ; i = (i + 1) & mask) {
+            int slot = i * SLOT_LONGS;
+            long high = table[slot];
+            long low = table[slot + 1];
+            if (high == idHigh && low == idLow) {
+                // Replacing a key is not atomic for concurrent readers; registrations never replace keys
+                table[slot + 2] = keyHigh;
+                table[slot + 3] = keyLow;
+                return false;
+            }
+            if (high == 0 && low == 0) {
+                table[slot + 1] = idLow;
+                table[slot + 2] = keyHigh;
+                table[slot + 3] = keyLow;
+                LONGS.setRelease(table, slot, idHigh); // Publishes the slot
+                return true;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] current = table;
+        long[] grown = new long[current.length * 2];
+        for (int slot = 0; slot < current.length; slot += SLOT_LONGS) {
+            if (current[slot] != 0 || current[slot + 1] != 0) {
+                insert(grown, current[slot], current[slot + 1], current[slot + 2], current[slot + 3]);
+            }
+        }
+        table = grown;
+    }
+
+    private static int hash(long high, long low) {
+        long hash = high ^ Long.rotateLeft(low, 32);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    /**
+     * @return {@code true} for the 36 character, lower case form {@link UUID#toString()} produces.
+     * Only that form is rebuilt byte for byte from the two halves, which matters for keys.
+     */
+    private static boolean isCanonical(CharSequence value) {
+        if (value == null || value.length() != KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Both parsers expect a canonical UUID
+    private static long parseHigh(CharSequence value) {
+        return parseHex(value, 0, 8) << 32 | parseHex(value, 9, 13) << 16 | parseHex(value, 14, 18);
+    }
+
+    private static long parseLow(CharSequence value) {
+        return parseHex(value, 19, 23) << 48 | parseHex(value, 24, 36);
+    }
+
+    private static long parseHex(CharSequence value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            result = result << 4 | Character.digit(value.charAt(i), 16);
+        }
+        return result;
+    }
+
+    private static void formatUuid(long high, long low, byte[] out, int offset) {
+        formatHex(high >>> 32, 8, out, offset);
+        out[offset + 8] = '-';
+        formatHex(high >>> 16, 4, out, offset + 9);
+        out[offset + 13] = '-';
+        formatHex(high, 4, out, offset + 14);
+        out[offset + 18] = '-';
+        formatHex(low >>> 48, 4, out, offset + 19);
+        out[offset + 23] = '-';
+        formatHex(low, 12, out, offset + 24);
+    }
+
+    private static void formatHex(long value, int digits, byte[] out, int offset) {
+        for (int i = digits - 1; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
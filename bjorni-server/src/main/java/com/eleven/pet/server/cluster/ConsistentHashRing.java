@@ -0,0 +1,63 @@
+package com.eleven.pet.server.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring that assigns keys to nodes.
+ * <p>
+ * Every node is placed on the ring at {@code virtualNodes} pseudo-random points. A key belongs to the
+ * first point at or after its own hash, wrapping around at the end. Adding or removing a node therefore
+ * only moves the keys of the ring segments next to its points, roughly {@code 1/N} of all keys.
+ * </p>
+ * Hashes are the first 8 bytes of the key's MD5 digest, so every node computes the same ring from
+ * the same node list, regardless of JVM or platform.
+ */
+public class ConsistentHashRing {
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * @param nodes        the node identifiers; must not be empty.
+     * @param virtualNodes the number of points per node; more points spread keys more evenly.
+     */
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Returns the node that owns a key.
+     *
+     * @param key the key, e.g. a player ID.
+     * @return one of the nodes passed to the constructor.
+     */
+    public String nodeFor(String key) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide MD5
+            throw new IllegalStateException(e);
+        }
+    }
+}
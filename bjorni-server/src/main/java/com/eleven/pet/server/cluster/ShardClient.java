@@ -0,0 +1,270 @@
+package com.eleven.pet.server.cluster;
+
+import com.eleven.pet.server.leaderboard.LeaderboardSnapshots;
+import com.eleven.pet.server.leaderboard.LeaderboardWindow;
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.util.SignedRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP client for the other nodes of the cluster.
+ * <p>
+ * Forwards submissions to the node owning the player, and fetches the local top lists of all peers for
+ * the scatter-gather leaderboard and rank lookups. Peer lists are fetched with {@code If-None-Match}, so a peer whose
+ * ranking did not change answers with an empty {@code 304} and its cached list is reused.
+ * </p>
+ * <p>
+ * Limits are rounded up to one of a few fixed values, so the cached lists are keyed by few
+ * distinct requests; limits above {@link LeaderboardSnapshots#MAX_CACHED_LIMIT} are fetched uncached, and
+ * only a bounded number of lists is kept, so clients cannot grow the cache without bound.
+ * </p>
+ * A peer that does not answer within {@code bjorni.cluster.timeout-millis} contributes its last known
+ * list, or nothing if it never answered, so one slow node cannot stall every leaderboard read.
+ */
+@Component
+public class ShardClient {
+    private static final Logger log = LoggerFactory.getLogger(ShardClient.class);
+
+    private static final String LEADERBOARD_PATH = "/api/v1/leaderboard";
+    private static final String LOCAL_PATH = LEADERBOARD_PATH + "/local";
+    private static final String RANK_ABOVE_PATH = LEADERBOARD_PATH + "/rank/above";
+    /**
+     * Limits peers are asked for; a request's limit is rounded up to the next one.
+     */
+    private static final int[] CACHED_LIMITS = {10, 25, 50, LeaderboardSnapshots.MAX_CACHED_LIMIT};
+    /**
+     * Largest number of cached peer lists, over all peers, windows and games.
+     */
+    private static final int MAX_CACHED_TOPS = 4096;
+
+    /**
+     * Last list received from a peer for a request, with its ETag.
+     */
+    private record PeerTop(String etag, List<LeaderboardEntry> entries) {
+    }
+
+    private final ShardRouter router;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    // Keyed by request URL
+    private final ConcurrentHashMap<String, PeerTop> peerTops = new ConcurrentHashMap<>();
+
+    public ShardClient(ShardRouter router, @Value("${bjorni.cluster.timeout-millis:2000}") long timeoutMillis) {
+        this.router = router;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * Sends a submission unchanged to the node owning the player and relays its answer.
+     *
+     * @param owner           the base URL of the owning node.
+     * @param path            the path of the submission endpoint, e.g. {@code /api/v1/leaderboard/batch}.
+     * @param contentType     the {@code Content-Type} of the body, JSON or the binary codec.
+     * @param clientSignature  the client's {@code X-HMAC-Signature}; the owner verifies it.
+     * @param playerId         the client's {@code X-Player-ID}.
+     * @param requestTimestamp the client's {@code X-Request-Timestamp}, covered by the signature.
+     * @param nonce            the client's {@code X-Request-Nonce}, covered by the signature.
+     * @param body             the raw, signed body.
+     * @return the owner's response, or {@code 502 Bad Gateway} if it could not be reached.
+     */
+    public ResponseEntity<String> forward(String owner, String path, String contentType, String clientSignature, String playerId,
+                                          String requestTimestamp, String nonce, byte[] body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + path))
+                .timeout(timeout)
+                .header("Content-Type", contentType)
+                .header(SignedRequest.SIGNATURE_HEADER, clientSignature)
+                .header(SignedRequest.PLAYER_ID_HEADER, playerId)
+                .header(SignedRequest.TIMESTAMP_HEADER, requestTimestamp)
+                .header(SignedRequest.NONCE_HEADER, nonce)
+                .header(ShardRouter.FORWARDED_HEADER, "1")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.statusCode());
+            // The client backs off or corrects its clock from these
+            response.headers().firstValue("Retry-After").ifPresent(value -> builder.header("Retry-After", value));
+            response.headers().firstValue(SignedRequest.SERVER_TIME_HEADER)
+                    .ifPresent(value -> builder.header(SignedRequest.SERVER_TIME_HEADER, value));
+            return builder.body(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to forward submission to {}: {}", owner, e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body("502 Bad Gateway: The server owning this player is unreachable.");
+    }
+
+    /**
+     * Sends a read request unchanged to the node owning the player and relays its answer.
+     *
+     * @param owner        the base URL of the owning node.
+     * @param pathAndQuery the path of the request, with its query string if any.
+     * @return the owner's response, or {@code 502 Bad Gateway} if it could not be reached.
+     */
+    public ResponseEntity<byte[]> relay(String owner, String pathAndQuery) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(timeout)
+                .header(ShardRouter.FORWARDED_HEADER, "1")
+                .GET()
+                .build();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.statusCode());
+            response.headers().firstValue("Content-Type").ifPresent(type -> builder.header("Content-Type", type));
+            return builder.body(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to relay request to {}: {}", owner, e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+    }
+
+    /**
+     * Asks every peer in parallel how many of its players have a higher score.
+     *
+     * @param wins the score to compare with.
+     * @return the sum over all peers that answered in time.
+     */
+    public long peerCountAbove(long wins) {
+        List<CompletableFuture<Long>> requests = new ArrayList<>();
+        for (String peer : router.peers()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(peer + RANK_ABOVE_PATH + "?wins=" + wins))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+            requests.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("HTTP " + response.statusCode());
+                        }
+                        return Long.parseLong(response.body().strip());
+                    })
+                    .exceptionally(e -> {
+                        log.warn("Leaderboard shard {} did not answer: {}", peer, e.getMessage());
+                        return 0L;
+                    }));
+        }
+
+        long count = 0;
+        for (CompletableFuture<Long> request : requests) {
+            count += request.join();
+        }
+        return count;
+    }
+
+    /**
+     * Fetches the local top list of every peer in parallel.
+     *
+     * @param limit  the minimum number of entries to ask each peer for.
+     * @param window the time window of the rankings.
+     * @return one sorted list per peer that answered or answered before, each with up to
+     * {@code limit} or more entries.
+     */
+    public List<List<LeaderboardEntry>> peerTops(int limit, LeaderboardWindow window) {
+        int requested = requestedLimit(limit);
+        return gather(LOCAL_PATH + "?limit=" + requested + "&window=" + window.param(), isCached(requested));
+    }
+
+    /**
+     * Fetches the local top list of a game from every peer in parallel.
+     *
+     * @param gameName the name of the game.
+     * @param limit    the minimum number of entries to ask each peer for.
+     * @return one sorted list per peer that knows the game and answered, now or before, each with
+     * up to {@code limit} or more entries.
+     */
+    public List<List<LeaderboardEntry>> peerGameTops(String gameName, int limit) {
+        int requested = requestedLimit(limit);
+        return gather(LOCAL_PATH + "/" + URLEncoder.encode(gameName, StandardCharsets.UTF_8).replace("+", "%20")
+                + "?limit=" + requested, isCached(requested));
+    }
+
+    /**
+     * @return the smallest of the cached limits that is at least {@code limit}, or
+     * {@code limit} itself if it exceeds them all.
+     */
+    private static int requestedLimit(int limit) {
+        for (int cachedLimit : CACHED_LIMITS) {
+            if (limit <= cachedLimit) {
+                return cachedLimit;
+            }
+        }
+        return limit;
+    }
+
+    private static boolean isCached(int requestedLimit) {
+        return requestedLimit <= LeaderboardSnapshots.MAX_CACHED_LIMIT;
+    }
+
+    private List<List<LeaderboardEntry>> gather(String pathAndQuery, boolean cache) {
+        List<CompletableFuture<List<LeaderboardEntry>>> requests = new ArrayList<>();
+        for (String peer : router.peers()) {
+            requests.add(fetchTop(peer, pathAndQuery, cache));
+        }
+
+        List<List<LeaderboardEntry>> tops = new ArrayList<>(requests.size());
+        for (CompletableFuture<List<LeaderboardEntry>> request : requests) {
+            List<LeaderboardEntry> top = request.join();
+            if (top != null) {
+                tops.add(top);
+            }
+        }
+        return tops;
+    }
+
+    private CompletableFuture<List<LeaderboardEntry>> fetchTop(String peer, String pathAndQuery, boolean cache) {
+        String key = peer + pathAndQuery;
+        PeerTop cached = cache ? peerTops.get(key) : null;
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(key))
+                .timeout(timeout)
+                .GET();
+        if (cached != null) {
+            builder.header("If-None-Match", cached.etag());
+        }
+
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() == 304 && cached != null) {
+                        return cached.entries();
+                    }
+                    if (response.statusCode() == 404) {
+                        return List.<LeaderboardEntry>of(); // Nobody on that node won the game yet
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("HTTP " + response.statusCode());
+                    }
+                    List<LeaderboardEntry> entries = List.of(jsonMapper.readValue(response.body(), LeaderboardEntry[].class));
+                    if (cache && (cached != null || peerTops.size() < MAX_CACHED_TOPS)) {
+                        response.headers().firstValue("ETag").ifPresent(etag -> peerTops.put(key, new PeerTop(etag, entries)));
+                    }
+                    return entries;
+                })
+                .exceptionally(e -> {
+                    log.warn("Leaderboard shard {} did not answer: {}", peer, e.getMessage());
+                    return cached != null ? cached.entries() : null;
+                });
+    }
+}
@@ -0,0 +1,80 @@
+package com.eleven.pet.server.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides which server node owns a player.
+ * <p>
+ * Players are spread across the nodes listed in {@code bjorni.cluster.nodes} by consistent hashing on
+ * their player ID. Every node must be started with the same list and its own base URL in
+ * {@code bjorni.cluster.self}. A node only keeps the credentials and stats of the players it owns.
+ * </p>
+ * With no nodes configured (the default) the server runs as a single node that owns every player.
+ */
+@Component
+public class ShardRouter {
+    /**
+     * Header marking a request that was already routed by another node, so it is never forwarded again.
+     */
+    public static final String FORWARDED_HEADER = "X-Bjorni-Forwarded";
+
+    private final String self;
+    private final List<String> peers;
+    private final ConsistentHashRing ring;
+
+    public ShardRouter(@Value("${bjorni.cluster.nodes:}") String nodes,
+                       @Value("${bjorni.cluster.self:}") String self,
+                       @Value("${bjorni.cluster.virtual-nodes:128}") int virtualNodes) {
+        List<String> nodeList = Arrays.stream(nodes.split(","))
+                .map(String::strip)
+                .filter(node -> !node.isEmpty())
+                .distinct()
+                .toList();
+        if (nodeList.isEmpty()) {
+            this.self = self;
+            this.peers = List.of();
+            this.ring = null;
+            return;
+        }
+        if (!nodeList.contains(self)) {
+            throw new IllegalStateException("bjorni.cluster.self (" + self + ") must be one of bjorni.cluster.nodes");
+        }
+        this.self = self;
+        this.peers = nodeList.stream().filter(node -> !node.equals(self)).toList();
+        this.ring = new ConsistentHashRing(nodeList, virtualNodes);
+    }
+
+    /**
+     * @return {@code true} if players are spread across several nodes.
+     */
+    public boolean isClustered() {
+        return ring != null;
+    }
+
+    /**
+     * @param playerId the ID of the player.
+     * @return {@code true} if this node owns the player.
+     */
+    public boolean isLocal(String playerId) {
+        return ring == null || ring.nodeFor(playerId).equals(self);
+    }
+
+    /**
+     * @param playerId the ID of the player.
+     * @return the base URL of the node owning the player.
+     */
+    public String ownerOf(String playerId) {
+        return ring == null ? self : ring.nodeFor(playerId);
+    }
+
+    /**
+     * @return the base URLs of all other nodes; empty when not clustered.
+     */
+    public List<String> peers() {
+        return peers;
+    }
+}
@@ -1,5 +1,10 @@
 package com.eleven.pet.server.controller;
 
+import com.eleven.pet.server.auth.CredentialStore;
+import com.eleven.pet.server.cluster.ShardRouter;
+import com.eleven.pet.server.persistence.JournalParticipant;
+import com.eleven.pet.server.persistence.JournalRecord;
+import com.eleven.pet.server.persistence.ScoreJournal;
 import com.eleven.pet.shared.model.PlayerRegistration;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * REST Controller responsible for player authentication and credential management.
@@ -18,20 +25,28 @@ import java.util.concurrent.ConcurrentHashMap;
  * This controller handles the initial registration process, generating cryptographic
  * keys that the client must use to sign future requests (e.g., leaderboard submissions).
  * </p>
- * <strong>Storage Note:</strong> This implementation uses an in-memory {@link ConcurrentHashMap}
- * to store credentials. All registered players and keys will be lost if the server is restarted.
+ * <strong>Storage Note:</strong> Credentials are held in memory in a compact {@link CredentialStore}
+ * and every registration is appended to the {@link ScoreJournal}, which restores them on restart.
  */
 @RestController
 @RequestMapping("/api/v1/auth")
 @Tag(name = "Authentication", description = "Endpoints for player authentication and credential management")
-public class AuthController {
+public class AuthController implements JournalParticipant {
 
     /**
-     * In-memory storage mapping PlayerID -> SecretKey.
+     * In-memory storage mapping PlayerID -> SecretKey, 32 bytes per player.
      * Thread-safe to allow concurrent registrations.
      */
-    // Future improvement could be to use Redis or another in-memory DB for persistence across restarts
-    private final ConcurrentHashMap<String, String> validKeys = new ConcurrentHashMap<>();
+    private final CredentialStore validKeys = new CredentialStore();
+
+    private final ScoreJournal journal;
+    private final ShardRouter shardRouter;
+
+    public AuthController(ScoreJournal journal, ShardRouter shardRouter) {
+        this.journal = journal;
+        this.shardRouter = shardRouter;
+        journal.register(this);
+    }
 
     /**
      * Registers a new player and generates a unique set of credentials.
@@ -39,7 +54,9 @@ public class AuthController {
      * Endpoint: {@code POST /api/v1/auth/register}
      * </p>
      * Generates a random UUID for the Player ID and a random UUID for the Secret Key.
-     * These are stored internally and returned to the client.
+     * These are stored internally, made durable in the journal and returned to the client.
+     * In a cluster, Player IDs are drawn until one is owned by this node, so the credentials are
+     * stored where the player's submissions will be routed.
      *
      * @return a {@link PlayerRegistration} object containing the new {@code playerId}
      * and {@code secretKey}.
@@ -52,12 +69,17 @@ public class AuthController {
     @PostMapping("/register")
     public PlayerRegistration register() {
         String playerId = UUID.randomUUID().toString();
+        while (!shardRouter.isLocal(playerId)) {
+            // Takes about as many attempts as there are nodes
+            playerId = UUID.randomUUID().toString();
+        }
 
         // UUID is sufficiently random for secret keys in this context
         // however, in a more serious environment using a cryptographic RNG would be advisable
         String secretKey = UUID.randomUUID().toString();
 
         validKeys.put(playerId, secretKey);
+        journal.awaitDurable(journal.append(new JournalRecord.Registration(playerId, secretKey)));
 
         return new PlayerRegistration(playerId, secretKey);
     }
@@ -73,6 +95,39 @@ public class AuthController {
      * @return the associated secret key, or {@code null} if the player ID is not found.
      */
     public String getSharedKey(String playerId) {
-        return validKeys.get(playerId);
+        return validKeys.secretOf(playerId);
+    }
+
+    /**
+     * Retrieves the HMAC key of a player, the UTF-8 bytes of their secret key.
+     * <p>
+     * Unlike {@link #getSharedKey(String)}, the key is copied straight from the credential table,
+     * without building a {@link String} first.
+     * </p>
+     *
+     * @param playerId the unique identifier of the player.
+     * @return the key bytes, or {@code null} if the player ID is not found.
+     */
+    public byte[] getSharedKeyBytes(String playerId) {
+        byte[] key = new byte[CredentialStore.KEY_LENGTH];
+        int length = validKeys.copySecret(playerId, key, 0);
+        if (length >= 0) {
+            return length == key.length ? key : Arrays.copyOf(key, length);
+        }
+        // Unknown, or a longer key stored before registration used UUIDs
+        String secretKey = validKeys.secretOf(playerId);
+        return secretKey != null ? secretKey.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    public void restore(JournalRecord record) {
+        if (record instanceof JournalRecord.Registration registration) {
+            validKeys.put(registration.playerId(), registration.secretKey());
+        }
+    }
+
+    @Override
+    public void snapshot(Consumer<JournalRecord> sink) {
+        validKeys.forEach((playerId, secretKey) -> sink.accept(new JournalRecord.Registration(playerId, secretKey)));
     }
 }
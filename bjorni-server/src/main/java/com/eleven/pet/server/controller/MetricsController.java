@@ -0,0 +1,48 @@
+package com.eleven.pet.server.controller;
+
+import com.eleven.pet.server.metrics.Metrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes the server's {@link Metrics} for scraping by Prometheus.
+ * <p>
+ * The endpoint lives outside {@code /api/}, so scrapes are neither timed nor limited like API requests.
+ * </p>
+ */
+@RestController
+@Tag(name = "Metrics", description = "Endpoint for monitoring the server")
+public class MetricsController {
+    // Content type of the Prometheus text exposition format
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    private final Metrics metrics;
+
+    public MetricsController(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Renders the latency histograms and submission counters.
+     * <p>
+     * Endpoint: {@code GET /metrics}
+     * </p>
+     *
+     * @return the metrics in the Prometheus text format.
+     */
+    @GetMapping("/metrics")
+    @Operation(summary = "Retrieve server metrics",
+            description = "Per-endpoint latency histograms, submission phase histograms and submission counters by outcome, in the Prometheus text format.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the metrics.")
+    })
+    public ResponseEntity<String> getMetrics() {
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(metrics.toPrometheus());
+    }
+}
@@ -0,0 +1,47 @@
+package com.eleven.pet.server.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads raw request bodies into a single exactly sized byte array.
+ * <p>
+ * Submissions are signed over their raw bytes, so the controllers keep the body as bytes from
+ * the socket to the HMAC and on to Jackson's byte based parser. No intermediate {@link String}
+ * of the body is ever created.
+ * </p>
+ */
+public final class RequestBodyReader {
+
+    private RequestBodyReader() {
+    }
+
+    /**
+     * Reads a request body.
+     *
+     * @param in            the body stream.
+     * @param contentLength the declared {@code Content-Length}, or {@code -1} if unknown (chunked).
+     * @param maxBytes      the largest body accepted.
+     * @return the body, or {@code null} if it is larger than {@code maxBytes}.
+     * @throws IOException if the stream fails or ends before {@code contentLength} bytes.
+     */
+    public static byte[] read(InputStream in, long contentLength, int maxBytes) throws IOException {
+        if (contentLength > maxBytes) {
+            return null;
+        }
+
+        if (contentLength >= 0) {
+            // Common case: one allocation of exactly the right size, no intermediate buffers
+            byte[] body = new byte[(int) contentLength];
+            int read = in.readNBytes(body, 0, body.length);
+            if (read != body.length) {
+                throw new IOException("Request body ended after " + read + " of " + contentLength + " bytes");
+            }
+            return body;
+        }
+
+        // Unknown length: read one byte past the limit to detect oversized bodies
+        byte[] body = in.readNBytes(maxBytes + 1);
+        return body.length > maxBytes ? null : body;
+    }
+}
@@ -1,38 +1,129 @@
 package com.eleven.pet.server.controller;
 
+import com.eleven.pet.server.cluster.ShardClient;
+import com.eleven.pet.server.cluster.ShardRouter;
+import com.eleven.pet.server.guard.SubmissionGuard;
+import com.eleven.pet.server.leaderboard.GameLeaderboards;
+import com.eleven.pet.server.leaderboard.LeaderboardBroadcaster;
+import com.eleven.pet.server.leaderboard.LeaderboardIndex;
+import com.eleven.pet.server.leaderboard.LeaderboardMerge;
+import com.eleven.pet.server.leaderboard.LeaderboardSnapshots;
+import com.eleven.pet.server.leaderboard.LeaderboardWindow;
+import com.eleven.pet.server.leaderboard.WindowedLeaderboards;
+import com.eleven.pet.server.metrics.Metrics;
+import com.eleven.pet.server.model.GameIds;
 import com.eleven.pet.server.model.PlayerStats;
+import com.eleven.pet.server.persistence.JournalParticipant;
+import com.eleven.pet.server.persistence.JournalRecord;
+import com.eleven.pet.server.persistence.ScoreJournal;
+import com.eleven.pet.shared.model.LeaderboardDelta;
 import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.model.PlayerRank;
+import com.eleven.pet.shared.util.LeaderboardCodec;
 import com.eleven.pet.shared.util.Signature;
+import com.eleven.pet.shared.util.SignedRequest;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/v1/leaderboard")
 @Tag(name = "Leaderboard", description = "Endpoints for submitting and retrieving leaderboard scores")
-public class ScoreController {
+public class ScoreController implements JournalParticipant, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ScoreController.class);
+
+    // Upper bound for POST /batch, keeps a single compute short
+    private static final int MAX_BATCH_SIZE = 500;
+    /**
+     * Upper bound for any submission body, enough for a full batch.
+     */
+    public static final int MAX_BODY_BYTES = 128 * 1024;
+    // Opt-in compact encoding of entries, negotiated per request
+    private static final MediaType BINARY = MediaType.parseMediaType(LeaderboardCodec.MEDIA_TYPE);
+    // Upper bound for the players listed on each side of a rank lookup
+    private static final int MAX_NEIGHBOURS = 10;
+
     // Map<PlayerID, Stats> - Aggregates scores by the unique ID from the header
     // in a DB approach this would be a table with PlayerID as FK
-    // Future improvement could be to use Redis or another in-memory DB for persistence across restarts
+    // Every accepted win is appended to the ScoreJournal, which restores this map on restart
+    // In a cluster it only holds the players that the ShardRouter assigns to this node
     private final ConcurrentHashMap<String, PlayerStats> playerStats = new ConcurrentHashMap<>();
 
+    // Ranked view over playerStats, updated in place on every accepted win
+    private final LeaderboardIndex leaderboardIndex = new LeaderboardIndex();
+
+    // Caches keyed HMAC engines by player ID, so the secret key is only materialized on a miss
     private final Signature signatureUtil = new Signature();
+    private final Function<String, byte[]> sharedKeys = this::sharedKeyBytes;
     private final ObjectMapper jsonMapper = new ObjectMapper();
 
+    // Daily and weekly rankings derived from the day buckets in playerStats
+    private final WindowedLeaderboards windowedLeaderboards = new WindowedLeaderboards(playerStats, today());
+
+    // Serialized top-N views of each ranking, rebuilt only after that ranking changed
+    private final Map<LeaderboardWindow, LeaderboardSnapshots> leaderboardSnapshots = new EnumMap<>(Map.of(
+            LeaderboardWindow.ALL_TIME, new LeaderboardSnapshots(leaderboardIndex, jsonMapper),
+            LeaderboardWindow.DAILY, new LeaderboardSnapshots(windowedLeaderboards.index(LeaderboardWindow.DAILY), jsonMapper),
+            LeaderboardWindow.WEEKLY, new LeaderboardSnapshots(windowedLeaderboards.index(LeaderboardWindow.WEEKLY), jsonMapper)));
+
+    // One ranking per game, ordered by the wins in that game
+    private final GameLeaderboards gameLeaderboards = new GameLeaderboards(jsonMapper);
+
+    // Pushes ranking changes to /stream subscribers, coalesced per tick
+    private final LeaderboardBroadcaster leaderboardBroadcaster;
+
     private final AuthController authController;
+    private final ScoreJournal journal;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final SubmissionGuard submissionGuard;
+    private final Metrics metrics;
 
-    public ScoreController(AuthController authController) {
+    public ScoreController(AuthController authController, ScoreJournal journal,
+                           ShardRouter shardRouter, ShardClient shardClient, SubmissionGuard submissionGuard,
+                           Metrics metrics,
+                           @Value("${bjorni.leaderboard.stream-tick-millis:250}") long streamTickMillis,
+                           @Value("${bjorni.games.names:TimingGame,GuessingGame}") List<String> gameNames) {
         this.authController = authController;
+        this.journal = journal;
+        this.shardRouter = shardRouter;
+        this.shardClient = shardClient;
+        this.submissionGuard = submissionGuard;
+        this.metrics = metrics;
+        this.leaderboardBroadcaster = new LeaderboardBroadcaster(leaderboardIndex, jsonMapper, streamTickMillis);
+        // Before the journal is replayed, so restored wins keep their games
+        GameIds.register(gameNames);
+        journal.register(this);
     }
 
     /**
@@ -42,9 +133,15 @@ public class ScoreController {
      * Endpoint: {@code POST /api/v1/leaderboard}
      * </p>
      *
-     * @param clientSignature the cryptographic signature provided in the {@code X-HMAC-Signature} header.
-     * @param playerId        the ID of the player provided in the {@code X-Player-ID} header.
-     * @param rawJsonBody     the raw JSON body of the request containing the score submission.
+     * The body is JSON, or a single entry in the {@link LeaderboardCodec} format when sent with
+     * {@code Content-Type: }{@value LeaderboardCodec#MEDIA_TYPE}. Either way the signature covers the
+     * request timestamp, the nonce and the raw body, see {@link SignedRequest}.
+     *
+     * @param clientSignature  the cryptographic signature provided in the {@code X-HMAC-Signature} header.
+     * @param playerId         the ID of the player provided in the {@code X-Player-ID} header.
+     * @param requestTimestamp the time the request was sent, in the {@code X-Request-Timestamp} header.
+     * @param nonce            the unique value of the request, in the {@code X-Request-Nonce} header.
+     * @param request          the request whose raw JSON body contains the score submission.
      * @throws SecurityException if the player ID is unknown or the signature does not match.
      */
     @PostMapping
@@ -52,81 +149,791 @@ public class ScoreController {
             description = "Submits a player's score to the leaderboard with HMAC authentication.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Score submitted successfully."),
-            @ApiResponse(responseCode = "400", description = "Bad Request: Missing required headers."),
+            @ApiResponse(responseCode = "400", description = "Bad Request: Missing required headers, a request timestamp outside the accepted clock skew (the server's time is sent in X-Server-Time) a malformed body or a result outside the accepted time window."),
             @ApiResponse(responseCode = "401", description = "Unauthorized: Invalid player ID or signature."),
-            @ApiResponse(responseCode = "500", description = "Internal Server Error: An error occurred while processing the request.")
+            @ApiResponse(responseCode = "409", description = "Conflict: This submission was already accepted."),
+            @ApiResponse(responseCode = "413", description = "Content Too Large: The request body exceeds the size limit."),
+            @ApiResponse(responseCode = "429", description = "Too Many Requests: The player exceeded the submission rate."),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error: An error occurred while processing the request."),
+            @ApiResponse(responseCode = "502", description = "Bad Gateway: The cluster node owning the player is unreachable."),
+            @ApiResponse(responseCode = "503", description = "Service Unavailable: No room is left to remember the submission's nonce, or scores cannot be saved; retry later.",
+                    headers = @Header(name = HttpHeaders.RETRY_AFTER, description = "Seconds to wait before retrying.",
+                            schema = @Schema(type = "integer")))
     })
     public ResponseEntity<String> submitScore(
-            @RequestHeader(value = "X-HMAC-Signature") String clientSignature,
-            @RequestHeader(value = "X-Player-ID") String playerId,
-            @RequestBody String rawJsonBody) throws SecurityException {
+            @RequestHeader(value = SignedRequest.SIGNATURE_HEADER) String clientSignature,
+            @RequestHeader(value = SignedRequest.PLAYER_ID_HEADER) String playerId,
+            @RequestHeader(value = SignedRequest.TIMESTAMP_HEADER) String requestTimestamp,
+            @RequestHeader(value = SignedRequest.NONCE_HEADER) String nonce,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(schema = @Schema(implementation = LeaderboardEntry.class)))
+            HttpServletRequest request) throws SecurityException {
+        return submit(false, clientSignature, playerId, requestTimestamp, nonce, request.getContentType(), request.getRequestURI(),
+                request.getHeader(ShardRouter.FORWARDED_HEADER) != null, servletBody(request));
+    }
+
+    /**
+     * Submits several results of the same player in one request.
+     *
+     * <p>
+     * Endpoint: {@code POST /api/v1/leaderboard/batch}
+     * </p>
+     * The body is a JSON array of {@link LeaderboardEntry} objects, signed as a whole. All entries are
+     * applied to the player's stats in a single update and made durable with a single journal record.
+     * Lists in the {@link LeaderboardCodec} format are accepted as well, selected by the {@code Content-Type}.
+     *
+     * @param clientSignature  the cryptographic signature provided in the {@code X-HMAC-Signature} header.
+     * @param playerId         the ID of the player provided in the {@code X-Player-ID} header.
+     * @param requestTimestamp the time the request was sent, in the {@code X-Request-Timestamp} header.
+     * @param nonce            the unique value of the request, in the {@code X-Request-Nonce} header.
+     * @param request          the request whose raw JSON body is an array of score submissions, oldest first.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Submit several scores of a player",
+            description = "Submits a signed batch of a player's results to the leaderboard with HMAC authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Scores submitted successfully."),
+            @ApiResponse(responseCode = "400", description = "Bad Request: Missing required headers, a request timestamp outside the accepted clock skew (the server's time is sent in X-Server-Time), a malformed body, an invalid batch size or results outside the accepted time window."),
+            @ApiResponse(responseCode = "403", description = "Forbidden: Invalid player ID or signature."),
+            @ApiResponse(responseCode = "409", description = "Conflict: This submission was already accepted."),
+            @ApiResponse(responseCode = "413", description = "Content Too Large: The request body exceeds the size limit."),
+            @ApiResponse(responseCode = "429", description = "Too Many Requests: The player exceeded the submission rate."),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error: An error occurred while processing the request."),
+            @ApiResponse(responseCode = "502", description = "Bad Gateway: The cluster node owning the player is unreachable."),
+            @ApiResponse(responseCode = "503", description = "Service Unavailable: No room is left to remember the submission's nonce, or scores cannot be saved; retry later.",
+                    headers = @Header(name = HttpHeaders.RETRY_AFTER, description = "Seconds to wait before retrying.",
+                            schema = @Schema(type = "integer")))
+    })
+    public ResponseEntity<String> submitScores(
+            @RequestHeader(value = SignedRequest.SIGNATURE_HEADER) String clientSignature,
+            @RequestHeader(value = SignedRequest.PLAYER_ID_HEADER) String playerId,
+            @RequestHeader(value = SignedRequest.TIMESTAMP_HEADER) String requestTimestamp,
+            @RequestHeader(value = SignedRequest.NONCE_HEADER) String nonce,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntry.class))))
+            HttpServletRequest request) {
+        return submit(true, clientSignature, playerId, requestTimestamp, nonce, request.getContentType(), request.getRequestURI(),
+                request.getHeader(ShardRouter.FORWARDED_HEADER) != null, servletBody(request));
+    }
+
+    /**
+     * Source of a submission's raw body, read only after the submission passed the rate limit.
+     */
+    @FunctionalInterface
+    public interface SubmissionBody {
+        /**
+         * @param maxBytes the largest body accepted.
+         * @return the body, or {@code null} if it is larger than {@code maxBytes}.
+         * @throws IOException if the body could not be read.
+         */
+        byte[] read(int maxBytes) throws IOException;
+    }
+
+    private static SubmissionBody servletBody(HttpServletRequest request) {
+        return maxBytes -> RequestBodyReader.read(request.getInputStream(), request.getContentLengthLong(), maxBytes);
+    }
+
+    /**
+     * Handles a single or batch submission independently of the HTTP front end: the servlet endpoints
+     * above and the non-blocking {@code NioFrontEnd} both end up here.
+     * <p>
+     * Blocks until the wins are durable (or the owning node answered), so callers on an event loop
+     * must run it on another thread.
+     * </p>
+     *
+     * @param batch            {@code true} for {@code /batch}, where the body is a list of entries.
+     * @param clientSignature  the {@code X-HMAC-Signature} header.
+     * @param playerId         the {@code X-Player-ID} header.
+     * @param requestTimestamp the {@code X-Request-Timestamp} header.
+     * @param nonce            the {@code X-Request-Nonce} header.
+     * @param contentType      the {@code Content-Type} header, selecting JSON or the binary format.
+     * @param requestUri       the path the submission was sent to, used when forwarding it.
+     * @param forwarded        whether another node already forwarded the submission here.
+     * @param bodySource       the raw body, signed as received.
+     * @return the response to send.
+     */
+    public ResponseEntity<String> submit(boolean batch, String clientSignature, String playerId, String requestTimestamp,
+                                         String nonce, String contentType, String requestUri, boolean forwarded,
+                                         SubmissionBody bodySource) {
         try {
-            if (clientSignature == null || playerId == null) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("400 Bad Request: Missing required headers.");
+            ResponseEntity<String> throttled = admit(playerId, nonce);
+            if (throttled != null) {
+                return counted(throttled);
+            }
+            // The body stays raw bytes: the HMAC and the JSON parser both read the same array
+            byte[] body = bodySource.read(MAX_BODY_BYTES);
+            ResponseEntity<String> forwardedResponse = forwarded ? null
+                    : forwardToOwner(requestUri, contentType, clientSignature, playerId, requestTimestamp, nonce, body);
+            if (forwardedResponse != null) {
+                metrics.count(Metrics.Outcome.FORWARDED);
+                return forwardedResponse;
+            }
+            long sentAt = SignedRequest.parseTimestamp(requestTimestamp);
+            ResponseEntity<String> rejection = authenticate(clientSignature, playerId, requestTimestamp, sentAt, nonce, body);
+            if (rejection != null) {
+                return counted(rejection);
+            }
+            long parseStart = System.nanoTime();
+            List<LeaderboardEntry> entries = parseEntries(batch, isBinaryContent(contentType), body);
+            metrics.phase(Metrics.Phase.PARSE).recordSince(parseStart);
+            if (entries == null) {
+                // Authentic but unreadable, so retrying the same body can never succeed
+                return counted(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("400 Bad Request: The request body is malformed."));
+            }
+            if (entries.isEmpty() || entries.size() > MAX_BATCH_SIZE) {
+                return counted(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("400 Bad Request: A batch must contain 1 to " + MAX_BATCH_SIZE + " entries."));
             }
 
-            String secretKey = authController.getSharedKey(playerId);
-            if (secretKey == null) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("403 Forbidden: You are not authorized to perform this action.");
+            ResponseEntity<String> duplicate = recordWinsOnce(playerId, nonce, sentAt, entries);
+            if (duplicate != null) {
+                return counted(duplicate);
             }
 
-            String calculatedSignature = signatureUtil.calculateHMAC(rawJsonBody, secretKey);
-            if (!calculatedSignature.equals(clientSignature)) {
-                // Principle of the least knowledge: Do not reveal which part of the authentication failed
-                // basic security practice to avoid giving clues to potential attackers
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("403 Forbidden: You are not authorized to perform this action.");
+            return counted(ResponseEntity.ok(batch
+                    ? "200 OK: " + entries.size() + " scores submitted successfully."
+                    : "200 OK: Score submitted successfully."));
+        } catch (Exception e) {
+            log.error("Failed to record the submission of player {}", playerId, e);
+            return counted(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("500 Internal Server Error: An error occurred while processing the request."));
+        }
+    }
+
+    /**
+     * Reads the entries of a submission body.
+     *
+     * @param binary {@code true} for the {@link LeaderboardCodec} format, {@code false} for JSON.
+     * @return the entries, oldest first, or {@code null} if the body is malformed.
+     */
+    private List<LeaderboardEntry> parseEntries(boolean batch, boolean binary, byte[] body) {
+        try {
+            if (binary) {
+                return batch ? LeaderboardCodec.decodeList(body, 0, body.length) : List.of(LeaderboardCodec.decode(body, 0, body.length));
             }
-            LeaderboardEntry entry = jsonMapper.readValue(rawJsonBody, LeaderboardEntry.class);
+            // List.of rejects null entries, e.g. a body of "null" or "[null]"
+            return batch
+                    ? List.of(jsonMapper.readValue(body, LeaderboardEntry[].class))
+                    : List.of(jsonMapper.readValue(body, LeaderboardEntry.class));
+        } catch (IllegalArgumentException | NullPointerException | JacksonException e) {
+            return null;
+        }
+    }
 
-            // Update Stats (Using ID from Header as key)
-            playerStats.compute(playerId, (_, stats) -> {
-                if (stats == null) {
-                    stats = new PlayerStats(entry.getPlayerName());
-                }
-                stats.playerName = entry.getPlayerName(); // Update name if changed
-                stats.recordWin(entry.getGameName());
-                return stats;
-            });
+    /**
+     * Counts a submission handled on this node by the status of its response.
+     *
+     * @return {@code response}, unchanged.
+     */
+    private ResponseEntity<String> counted(ResponseEntity<String> response) {
+        int status = response.getStatusCode().value();
+        metrics.count(switch (status) {
+            case 200 -> Metrics.Outcome.ACCEPTED;
+            case 401, 403 -> Metrics.Outcome.FORBIDDEN;
+            case 409 -> Metrics.Outcome.DUPLICATE;
+            case 429 -> Metrics.Outcome.THROTTLED;
+            default -> status >= 500 ? Metrics.Outcome.FAILED : Metrics.Outcome.REJECTED;
+        });
+        return response;
+    }
 
-            return ResponseEntity.ok("200 OK: Score submitted successfully.");
-        } catch (Exception e) {
-            // Should log the exception in a logging framework (e.g., Log4j, SLF4J)
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("500 Internal Server Error: An error occurred while processing the request.");
+    /**
+     * Applies the {@link SubmissionGuard}'s rate limit and replay check, before the body is even read.
+     *
+     * @return the error response to send, or {@code null} if the submission may proceed.
+     */
+    private ResponseEntity<String> admit(String playerId, String nonce) {
+        if (playerId == null || nonce == null) {
+            return null; // Rejected by authenticate
+        }
+        if (!submissionGuard.tryAcquire(playerId)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("429 Too Many Requests: Please slow down your submissions.");
         }
+        if (submissionGuard.isReplay(playerId, nonce)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("409 Conflict: This submission was already accepted.");
+        }
+        return null;
     }
 
     /**
-     * Retrieves the latest scores, sorted by timestamp.
+     * Records an authentic submission unless an identical one was accepted before.
+     *
+     * @param entries the parsed results, oldest first.
+     * @return the error response to send, or {@code null} if the wins were recorded.
+     */
+    private ResponseEntity<String> recordWinsOnce(String playerId, String nonce, long sentAt, List<LeaderboardEntry> entries) {
+        long newest = entries.stream().mapToLong(LeaderboardEntry::getTimestamp).max().orElseThrow();
+        if (!submissionGuard.isWithinWindow(newest)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("400 Bad Request: The results are outside the accepted time window.");
+        }
+        if (journal.hasFailed()) {
+            // Wins applied now would be lost on restart, and the client would not retry them
+            return journalUnavailable();
+        }
+        SubmissionGuard.Claim claim = submissionGuard.claim(playerId, nonce, sentAt);
+        if (claim == SubmissionGuard.Claim.REPLAY) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("409 Conflict: This submission was already accepted.");
+        }
+        if (claim == SubmissionGuard.Claim.FULL) {
+            // Accepting it unrecorded would let it be replayed
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .body("503 Service Unavailable: Too many recent submissions, please retry later.");
+        }
+
+        JournalRecord.PlayerState journaled;
+        try {
+            journaled = recordWins(playerId, entries);
+        } catch (RuntimeException e) {
+            submissionGuard.release(playerId, nonce); // Not recorded, so the client may retry the same body
+            throw e;
+        }
+
+        // Acknowledge only once the wins are on disk
+        long journalStart = System.nanoTime();
+        try {
+            journal.awaitDurable(journal.append(journaled));
+        } catch (RuntimeException e) {
+            // The wins are applied in memory, so the nonce stays claimed and a retry is not counted twice
+            log.error("Failed to journal the wins of player {}", playerId, e);
+            return journalUnavailable();
+        }
+        metrics.phase(Metrics.Phase.JOURNAL_WAIT).recordSince(journalStart);
+        return null;
+    }
+
+    private static ResponseEntity<String> journalUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body("503 Service Unavailable: Scores cannot be saved at the moment, please retry later.");
+    }
+
+    /**
+     * Sends a submission to the node owning the player, if that is not this node.
+     * <p>
+     * The body is forwarded as received, so the owner verifies the client's signature itself.
+     * Callers skip this for requests that were already forwarded, which are always handled here.
+     * </p>
+     *
+     * @return the owner's response, or {@code null} if the submission is handled locally.
+     */
+    private ResponseEntity<String> forwardToOwner(String requestUri, String contentType, String clientSignature, String playerId,
+                                                  String requestTimestamp, String nonce, byte[] body) {
+        if (body == null || playerId == null || shardRouter.isLocal(playerId)) {
+            return null;
+        }
+        return shardClient.forward(shardRouter.ownerOf(playerId), requestUri,
+                contentType != null ? contentType : MediaType.APPLICATION_JSON_VALUE, clientSignature, playerId,
+                requestTimestamp, nonce, body);
+    }
+
+    /**
+     * Checks the headers, the body size, the request timestamp and the HMAC signature of a submission.
+     *
+     * @param sentAt the parsed {@code requestTimestamp}, or {@code -1} if it is not a number.
+     * @param body   the raw body, or {@code null} if it exceeded {@link #MAX_BODY_BYTES}.
+     * @return the error response to send, or {@code null} if the request is authentic.
+     */
+    private ResponseEntity<String> authenticate(String clientSignature, String playerId, String requestTimestamp, long sentAt,
+                                                String nonce, byte[] body) {
+        if (body == null) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body("413 Content Too Large: The request body exceeds the size limit.");
+        }
+        if (clientSignature == null || playerId == null || sentAt < 0 || !SignedRequest.isValidNonce(nonce)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("400 Bad Request: Missing or malformed required headers.");
+        }
+        if (!submissionGuard.isFresh(sentAt)) {
+            // Lets a client with a wrong clock correct its offset and sign the request again
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .header(SignedRequest.SERVER_TIME_HEADER, Long.toString(System.currentTimeMillis()))
+                    .body("400 Bad Request: The request timestamp is too far from the server's time.");
+        }
+
+        long verifyStart = System.nanoTime();
+        // Unknown players fail like wrong signatures
+        boolean authentic = signatureUtil.verifyHMAC(SignedRequest.context(requestTimestamp, nonce),
+                body, 0, body.length, playerId, sharedKeys, clientSignature);
+        metrics.phase(Metrics.Phase.HMAC_VERIFY).recordSince(verifyStart);
+        if (!authentic) {
+            // Principle of the least knowledge: Do not reveal which part of the authentication failed
+            // basic security practice to avoid giving clues to potential attackers
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("403 Forbidden: You are not authorized to perform this action.");
+        }
+        return null;
+    }
+
+    /**
+     * @return the HMAC key of a player, or {@code null} if the player is unknown. Keys never change
+     * once registered, so the engines built from it can be cached by player ID.
+     */
+    private byte[] sharedKeyBytes(String playerId) {
+        return authController.getSharedKeyBytes(playerId);
+    }
+
+    /**
+     * Applies one or more wins to a player's stats in a single update.
+     *
+     * @param playerId the ID of the player (from the header, never from the body).
+     * @param entries  the accepted results, oldest first; the newest name wins.
+     * @return the player's new state, to be journaled.
+     */
+    private JournalRecord.PlayerState recordWins(String playerId, List<LeaderboardEntry> entries) {
+        // Update Stats (Using ID from Header as key)
+        String playerName = entries.getLast().getPlayerName();
+        List<String> games = entries.stream().map(LeaderboardEntry::getGameName).distinct().toList();
+        long today = today();
+        windowedLeaderboards.rollTo(today); // Outside compute, it re-ranks other players
+        JournalRecord.PlayerState[] journaled = new JournalRecord.PlayerState[1];
+        long computeStart = System.nanoTime();
+        playerStats.compute(playerId, (_, stats) -> {
+            if (stats == null) {
+                stats = new PlayerStats(playerName);
+            }
+            stats.setPlayerName(playerName); // Update name if changed
+            for (LeaderboardEntry entry : entries) {
+                stats.recordWin(entry.getGameName());
+            }
+            long rankingStart = System.nanoTime();
+            leaderboardIndex.update(playerId, stats);
+            windowedLeaderboards.update(playerId, stats, today);
+            for (String game : games) {
+                gameLeaderboards.update(playerId, stats, game);
+            }
+            metrics.phase(Metrics.Phase.RANKING).recordSince(rankingStart);
+            journaled[0] = JournalRecord.PlayerState.of(playerId, stats);
+            return stats;
+        });
+        metrics.phase(Metrics.Phase.STATS_COMPUTE).recordSince(computeStart);
+        // Journaled by the caller, outside compute, so waiting for the disk keeps the map bin unlocked
+        return journaled[0];
+    }
+
+    /**
+     * Retrieves the top scores from the leaderboard.
      * <p>
      * Endpoint: {@code GET /api/v1/leaderboard}
      * </p>
-     * The results are sorted in descending order (newest first).
+     * The results are served from the {@link LeaderboardIndex}, sorted in descending order of wins
+     * (ties go to the player who reached the count first). The serialized list is cached per limit by
+     * {@link LeaderboardSnapshots} and only rebuilt after a submission changed the ranking.
+     * <p>
+     * {@code window} selects which wins count: {@code all} (default), {@code daily} (the current UTC day)
+     * or {@code weekly} (the last seven UTC days); see {@link WindowedLeaderboards}.
+     * </p>
+     * <p>
+     * In a cluster, the local top list is merged with the local top lists of all peers
+     * (scatter-gather); see {@link ShardClient#peerTops(int, LeaderboardWindow)} and {@link LeaderboardMerge}.
+     * </p>
+     * Every response carries an {@code ETag}. A client that sends it back in {@code If-None-Match}
+     * gets an empty {@code 304 Not Modified} as long as the list is unchanged.
+     * <p>
+     * A client accepting {@value LeaderboardCodec#MEDIA_TYPE} gets the list in the compact binary
+     * format of {@link LeaderboardCodec} instead of JSON.
+     * </p>
      *
-     * @param limit the maximum number of entries to return (default: 50).
-     * @return a list of {@link LeaderboardEntry} objects.
+     * @param limit       the maximum number of entries to return (default: 10).
+     * @param window      the time window of the ranking (default: {@code all}).
+     * @param ifNoneMatch the ETag of the client's cached list, if any.
+     * @param accept      the accepted media types; {@value LeaderboardCodec#MEDIA_TYPE} selects the binary format.
+     * @return a JSON list of {@link LeaderboardEntry} objects, or 304 if the client's copy is current.
      */
     @GetMapping
     @Operation(summary = "Retrieve top leaderboard scores",
-            description = "Fetches the top scores from the leaderboard, sorted by score.")
+            description = "Fetches the top scores from the leaderboard, sorted by score, over all time or the current day or week. Supports conditional requests via If-None-Match.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard scores.",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntry.class)))),
+            @ApiResponse(responseCode = "304", description = "Not Modified: The client's cached leaderboard is current."),
+            @ApiResponse(responseCode = "400", description = "Bad Request: Unknown window.")
+    })
+    public ResponseEntity<byte[]> getScores(
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "window", defaultValue = "all") String window,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        LeaderboardWindow parsedWindow = parseWindow(window);
+        if (parsedWindow == null) {
+            return unknownWindow(window);
+        }
+        boolean binary = acceptsBinary(accept);
+        if (!shardRouter.isClustered()) {
+            return negotiated(snapshotsOf(parsedWindow), limit, binary, ifNoneMatch);
+        }
+
+        List<List<LeaderboardEntry>> shards = new ArrayList<>(shardClient.peerTops(limit, parsedWindow));
+        shards.add(rankingOf(parsedWindow).top(limit));
+        List<LeaderboardEntry> top = LeaderboardMerge.top(shards, limit);
+        byte[] body = binary ? LeaderboardCodec.encodeList(top) : jsonMapper.writeValueAsBytes(top);
+        String etag = "\"" + (binary ? "b" : "") + Integer.toHexString(Arrays.hashCode(body)) + "-" + Integer.toHexString(body.length) + "\"";
+        return conditionalBody(body, etag, binary ? BINARY : MediaType.APPLICATION_JSON, ifNoneMatch);
+    }
+
+    /**
+     * Retrieves the top scores of the players owned by this node.
+     * <p>
+     * Endpoint: {@code GET /api/v1/leaderboard/local}
+     * </p>
+     * Used by the other nodes of a cluster to gather their leaderboard; on a single node this is the
+     * same list as {@link #getScores(int, String, String, String)}.
+     *
+     * @param limit       the maximum number of entries to return (default: 10).
+     * @param window      the time window of the ranking (default: {@code all}).
+     * @param ifNoneMatch the ETag of the caller's cached list, if any.
+     * @param accept      the accepted media types; {@value LeaderboardCodec#MEDIA_TYPE} selects the binary format.
+     * @return a JSON list of {@link LeaderboardEntry} objects, or 304 if the caller's copy is current.
+     */
+    @GetMapping("/local")
+    @Operation(summary = "Retrieve this node's top scores",
+            description = "Fetches the top scores of the players stored on this node. Used for scatter-gather between cluster nodes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the local leaderboard scores.",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntry.class)))),
+            @ApiResponse(responseCode = "304", description = "Not Modified: The caller's cached leaderboard is current."),
+            @ApiResponse(responseCode = "400", description = "Bad Request: Unknown window.")
+    })
+    public ResponseEntity<byte[]> getLocalScores(
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "window", defaultValue = "all") String window,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        LeaderboardWindow parsedWindow = parseWindow(window);
+        if (parsedWindow == null) {
+            return unknownWindow(window);
+        }
+        return negotiated(snapshotsOf(parsedWindow), limit, acceptsBinary(accept), ifNoneMatch);
+    }
+
+    /**
+     * Looks up the rank of a single player.
+     * <p>
+     * Endpoint: {@code GET /api/v1/leaderboard/rank/{playerId}}
+     * </p>
+     * The rank is one more than the number of players with more wins, so players with the same wins
+     * share a rank. It is read from the order-statistic tree of the {@link LeaderboardIndex} in
+     * {@code O(log n)}, and the players around the given one are read from the ranking next to it.
+     * <p>
+     * In a cluster the request is relayed to the node owning the player, which adds the counts of
+     * its peers to its own (see {@link #countAbove(long)}). The neighbours and the player count come
+     * from the owning node.
+     * </p>
+     *
+     * @param playerId   the ID of the player.
+     * @param neighbours the number of players to list above and below (default: 2, at most 10).
+     * @param request    the HTTP request, used to relay it to the owning node.
+     * @return the player's {@link PlayerRank}, or 404 if the player has no wins.
+     */
+    @GetMapping("/rank/{playerId}")
+    @Operation(summary = "Look up a player's rank",
+            description = "Returns the rank of a player on the all-time leaderboard, with the players ranked around them.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard scores.")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the player's rank.",
+                    content = @Content(schema = @Schema(implementation = PlayerRank.class))),
+            @ApiResponse(responseCode = "404", description = "Not Found: The player has no recorded wins."),
+            @ApiResponse(responseCode = "502", description = "Bad Gateway: The cluster node owning the player is unreachable.")
     })
-    public List<LeaderboardEntry> getScores(@RequestParam(value = "limit", defaultValue = "10") int limit) {
-        return playerStats.values().stream().map(stats -> {
-                    // Reconstruction of LeaderboardEntry from PlayerStats
-                    return new LeaderboardEntry(
-                            stats.getPlayerName(),
-                            stats.getTotalWins(),
-                            stats.getTopPlayedGame(),
-                            stats.getLastTimestamp()
-                    );
-                })
-                // Sort by score descending (higher scores first)
-                .sorted(Comparator.comparingLong(LeaderboardEntry::getScore).reversed())
-                // Applt limit
-                .limit(limit)
-                // Collect to list
-                .collect(Collectors.toList());
-    }
-}
\ No newline at end of file
+    public ResponseEntity<byte[]> getRank(
+            @PathVariable("playerId") String playerId,
+            @RequestParam(value = "neighbours", defaultValue = "2") int neighbours,
+            HttpServletRequest request) {
+        String query = request.getQueryString();
+        return rank(playerId, neighbours, request.getHeader(ShardRouter.FORWARDED_HEADER) != null,
+                request.getRequestURI() + (query != null ? "?" + query : ""));
+    }
+
+    /**
+     * Implements {@link #getRank} independently of the HTTP front end. May block on a peer node.
+     *
+     * @param forwarded    whether another node already relayed the request here.
+     * @param pathAndQuery the request's path and query, used when relaying it to the owning node.
+     */
+    public ResponseEntity<byte[]> rank(String playerId, int neighbours, boolean forwarded, String pathAndQuery) {
+        if (!shardRouter.isLocal(playerId) && !forwarded) {
+            return shardClient.relay(shardRouter.ownerOf(playerId), pathAndQuery);
+        }
+
+        PlayerRank rank = leaderboardIndex.rankOf(playerId, Math.clamp(neighbours, 0, MAX_NEIGHBOURS));
+        if (rank == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("404 Not Found: This player has no recorded wins.".getBytes(StandardCharsets.UTF_8));
+        }
+        if (shardRouter.isClustered()) {
+            long wins = rank.getEntry().getScore();
+            rank.setRank(rank.getRank() + shardClient.peerCountAbove(wins));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonMapper.writeValueAsBytes(rank));
+    }
+
+    /**
+     * Counts this node's players with more wins than the given number.
+     * <p>
+     * Endpoint: {@code GET /api/v1/leaderboard/rank/above}
+     * </p>
+     * Used by the other nodes of a cluster to compute global ranks.
+     *
+     * @param wins the number of wins to compare with.
+     * @return the count as a plain number.
+     */
+    @GetMapping("/rank/above")
+    @Operation(summary = "Count this node's players above a score",
+            description = "Returns how many players stored on this node have more wins than given. Used for rank lookups between cluster nodes.")
+    @ApiResponse(responseCode = "200", description = "Successfully counted the players.")
+    public long countAbove(@RequestParam("wins") long wins) {
+        return leaderboardIndex.countAbove(wins);
+    }
+
+    /**
+     * Retrieves the top scores of a single game.
+     * <p>
+     * Endpoint: {@code GET /api/v1/leaderboard/{gameName}}
+     * </p>
+     * Players are ranked by their wins in that game, and each entry's {@code score} is that count.
+     * Every game has its own ranking, maintained on each accepted win, so a read never scans other
+     * players or games. Caching, ETags and the cluster merge work as in {@link #getScores}.
+     * <p>
+     * The names {@code local}, {@code stream} and {@code batch} are taken by other endpoints.
+     * </p>
+     *
+     * @param gameName    the name of the game, as submitted in {@link LeaderboardEntry#getGameName()}.
+     * @param limit       the maximum number of entries to return (default: 10).
+     * @param ifNoneMatch the ETag of the client's cached list, if any.
+     * @return a JSON list of {@link LeaderboardEntry} objects, 304 if the client's copy is current,
+     * or 404 if nobody won the game yet.
+     */
+    @GetMapping("/{gameName}")
+    @Operation(summary = "Retrieve top scores of a game",
+            description = "Fetches the players with the most wins in one game, sorted by those wins. Supports conditional requests via If-None-Match.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the game's leaderboard scores.",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntry.class)))),
+            @ApiResponse(responseCode = "304", description = "Not Modified: The client's cached leaderboard is current."),
+            @ApiResponse(responseCode = "404", description = "Not Found: No wins were recorded for this game.")
+    })
+    public ResponseEntity<byte[]> getGameScores(
+            @PathVariable("gameName") String gameName,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        if (!shardRouter.isClustered()) {
+            return getLocalGameScores(gameName, limit, ifNoneMatch);
+        }
+
+        List<List<LeaderboardEntry>> shards = new ArrayList<>(shardClient.peerGameTops(gameName, limit));
+        GameLeaderboards.Board board = gameLeaderboards.find(gameName);
+        if (board != null) {
+            shards.add(board.index().top(limit));
+        }
+        List<LeaderboardEntry> top = LeaderboardMerge.top(shards, limit);
+        if (top.isEmpty()) {
+            return unknownGame(gameName);
+        }
+        byte[] json = jsonMapper.writeValueAsBytes(top);
+        String etag = "\"" + Integer.toHexString(Arrays.hashCode(json)) + "-" + Integer.toHexString(json.length) + "\"";
+        return conditionalJson(json, etag, ifNoneMatch);
+    }
+
+    /**
+     * Retrieves the top scores of a single game among the players owned by this node.
+     * <p>
+     * Endpoint: {@code GET /api/v1/leaderboard/local/{gameName}}
+     * </p>
+     * Used by the other nodes of a cluster to gather a game's leaderboard.
+     *
+     * @param gameName    the name of the game.
+     * @param limit       the maximum number of entries to return (default: 10).
+     * @param ifNoneMatch the ETag of the caller's cached list, if any.
+     * @return a JSON list of {@link LeaderboardEntry} objects, 304 if the caller's copy is current,
+     * or 404 if no player of this node won the game yet.
+     */
+    @GetMapping("/local/{gameName}")
+    @Operation(summary = "Retrieve this node's top scores of a game",
+            description = "Fetches the top scores of one game among the players stored on this node. Used for scatter-gather between cluster nodes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the game's local leaderboard scores.",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntry.class)))),
+            @ApiResponse(responseCode = "304", description = "Not Modified: The caller's cached leaderboard is current."),
+            @ApiResponse(responseCode = "404", description = "Not Found: No wins were recorded for this game on this node.")
+    })
+    public ResponseEntity<byte[]> getLocalGameScores(
+            @PathVariable("gameName") String gameName,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        GameLeaderboards.Board board = gameLeaderboards.find(gameName);
+        if (board == null) {
+            return unknownGame(gameName);
+        }
+        LeaderboardSnapshots.Snapshot snapshot = board.snapshots().top(limit);
+        return conditionalJson(snapshot.json(), snapshot.etag(), ifNoneMatch);
+    }
+
+    /**
+     * Returns the snapshots of a window, after moving the time windows to the current day.
+     * The all-time ranking does not depend on the day, so reading it never re-ranks anyone.
+     */
+    private LeaderboardSnapshots snapshotsOf(LeaderboardWindow window) {
+        if (window != LeaderboardWindow.ALL_TIME) {
+            windowedLeaderboards.rollTo(today());
+        }
+        return leaderboardSnapshots.get(window);
+    }
+
+    /**
+     * Returns the ranking of a window, after moving the time windows to the current day.
+     */
+    private LeaderboardIndex rankingOf(LeaderboardWindow window) {
+        if (window == LeaderboardWindow.ALL_TIME) {
+            return leaderboardIndex;
+        }
+        windowedLeaderboards.rollTo(today());
+        return windowedLeaderboards.index(window);
+    }
+
+    private static LeaderboardWindow parseWindow(String window) {
+        try {
+            return LeaderboardWindow.fromParam(window);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static ResponseEntity<byte[]> unknownWindow(String window) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(("400 Bad Request: Unknown window '" + window + "', expected all, daily or weekly.").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseEntity<byte[]> unknownGame(String gameName) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(("404 Not Found: No wins were recorded for game '" + gameName + "'.").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long today() {
+        return PlayerStats.epochDay(System.currentTimeMillis());
+    }
+
+    /**
+     * Answers a GET with the given JSON, or with 304 if the caller already has it.
+     */
+    private static ResponseEntity<byte[]> conditionalJson(byte[] json, String etag, String ifNoneMatch) {
+        return conditionalBody(json, etag, MediaType.APPLICATION_JSON, ifNoneMatch);
+    }
+
+    /**
+     * Answers a GET with a snapshot in the negotiated format, or with 304 if the caller already has it.
+     */
+    private static ResponseEntity<byte[]> negotiated(LeaderboardSnapshots snapshots, int limit, boolean binary, String ifNoneMatch) {
+        LeaderboardSnapshots.Snapshot snapshot = binary ? snapshots.topBinary(limit) : snapshots.top(limit);
+        return conditionalBody(snapshot.json(), snapshot.etag(), binary ? BINARY : MediaType.APPLICATION_JSON, ifNoneMatch);
+    }
+
+    private static ResponseEntity<byte[]> conditionalBody(byte[] body, String etag, MediaType type, String ifNoneMatch) {
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(type)
+                .body(body);
+    }
+
+    /**
+     * @param contentType a {@code Content-Type} header, may be {@code null}.
+     * @return {@code true} if the body is in the binary {@link LeaderboardCodec} format.
+     */
+    private static boolean isBinaryContent(String contentType) {
+        try {
+            return contentType != null && BINARY.equalsTypeAndSubtype(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Negotiates the response format. The binary {@link LeaderboardCodec} format is chosen if the client
+     * accepts it at least as much as JSON, so {@code q=0} or a preferred JSON keep the response in JSON.
+     *
+     * @param accept an {@code Accept} header, may be {@code null}.
+     * @return {@code true} to answer in the binary format.
+     */
+    private static boolean acceptsBinary(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        double binary = 0;
+        double json = 0;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (BINARY.equalsTypeAndSubtype(type)) {
+                    binary = Math.max(binary, type.getQualityValue());
+                } else if (type.includes(MediaType.APPLICATION_JSON)) {
+                    json = Math.max(json, type.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return binary > 0 && binary >= json;
+    }
+
+    /**
+     * Streams changes of the top scores as Server-Sent Events.
+     * <p>
+     * Endpoint: {@code GET /api/v1/leaderboard/stream}
+     * </p>
+     * Every {@code delta} event carries a {@link LeaderboardDelta}. The first one contains the whole
+     * list, later ones only the ranks that changed. Submissions are coalesced, so a subscriber receives
+     * at most one event per broadcast tick. In a cluster the stream covers the players of this node only.
+     *
+     * @param limit the number of ranks to follow (default: 10, at most 100).
+     * @return the event stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream leaderboard changes",
+            description = "Pushes changes of the top scores as Server-Sent Events, starting with the full list.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened; events carry leaderboard deltas.",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = LeaderboardDelta.class)))
+    })
+    public SseEmitter streamScores(@RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return leaderboardBroadcaster.subscribe(limit);
+    }
+
+    @Override
+    public void destroy() {
+        leaderboardBroadcaster.close();
+    }
+
+    @Override
+    public void restore(JournalRecord record) {
+        if (record instanceof JournalRecord.PlayerState state) {
+            playerStats.compute(state.playerId(), (_, stats) -> {
+                // Records are full states, so an older one must never overwrite a newer one
+                if (stats != null && stats.getTotalWins() >= state.totalWins()) {
+                    return stats;
+                }
+                PlayerStats restored = state.toPlayerStats();
+                leaderboardIndex.update(state.playerId(), restored);
+                windowedLeaderboards.update(state.playerId(), restored, today());
+                for (String game : state.gameWins().keySet()) {
+                    gameLeaderboards.update(state.playerId(), restored, game);
+                }
+                return restored;
+            });
+        }
+    }
+
+    @Override
+    public void snapshot(Consumer<JournalRecord> sink) {
+        for (String playerId : playerStats.keySet()) {
+            // computeIfPresent gives a consistent view of a player while other requests keep running
+            playerStats.computeIfPresent(playerId, (id, stats) -> {
+                sink.accept(JournalRecord.PlayerState.of(id, stats));
+                return stats;
+            });
+        }
+    }
+}
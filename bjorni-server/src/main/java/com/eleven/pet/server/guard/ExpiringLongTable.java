@@ -0,0 +1,208 @@
+package com.eleven.pet.server.guard;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size hash table from 64-bit keys to 64-bit expiry times, stored in primitive arrays.
+ * <p>
+ * An entry whose value is not after the current time counts as absent, and its slot is reused
+ * without any clean-up pass. The table never grows: if every slot in a key's probe window is live,
+ * {@link #tryAcquire} overwrites the entry expiring first, while {@link #putIfAbsent} refuses the
+ * new key, so no entry is dropped before it expires. Each slot costs 16 bytes, so a million slots take 16 MB
+ * and no objects are allocated per key.
+ * </p>
+ * The table is split into segments with one lock each; a key only ever probes within its segment.
+ */
+final class ExpiringLongTable {
+    private static final int SEGMENTS = 64;
+    private static final int PROBE_LIMIT = 16;
+    // Key 0 marks an empty slot
+    private static final long EMPTY = 0;
+
+    /**
+     * Outcome of {@link #putIfAbsent}.
+     */
+    enum Insertion {
+        INSERTED, PRESENT, FULL
+    }
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int segmentMask;
+
+    /**
+     * @param capacity the total number of slots, rounded up to a power of two.
+     */
+    ExpiringLongTable(int capacity) {
+        int perSegment = Integer.highestOneBit(Math.max(capacity / SEGMENTS - 1, PROBE_LIMIT - 1)) << 1;
+        this.segmentMask = perSegment - 1;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Generic cell rate algorithm: a token bucket kept as one "theoretical arrival time" per key.
+     * <p>
+     * A request is allowed if the stored time is at most {@code tolerance} ahead of {@code now};
+     * the stored time then advances by {@code interval}. This equals a bucket refilled at one token
+     * per {@code interval} holding {@code tolerance / interval + 1} tokens.
+     * </p>
+     *
+     * @return {@code true} if the request is within the rate.
+     */
+    boolean tryAcquire(long key, long now, long interval, long tolerance) {
+        key = nonEmpty(key);
+        Segment segment = segmentOf(key);
+        segment.lock.lock();
+        try {
+            int slot = segment.slotOf(key, now, segmentMask);
+            long arrival = segment.keys[slot] == key ? Math.max(segment.values[slot], now) : now;
+            if (arrival - now > tolerance) {
+                return false;
+            }
+            segment.keys[slot] = key;
+            segment.values[slot] = arrival + interval;
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if the key is present and not expired.
+     */
+    boolean contains(long key, long now) {
+        key = nonEmpty(key);
+        Segment segment = segmentOf(key);
+        segment.lock.lock();
+        try {
+            int slot = segment.slotOf(key, now, segmentMask);
+            return segment.keys[slot] == key;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a key unless it is already present or no slot in its probe window is free.
+     *
+     * @param expiry the time after which the key counts as absent again.
+     * @return whether the key was inserted, was present, or found no free slot.
+     */
+    Insertion putIfAbsent(long key, long expiry, long now) {
+        key = nonEmpty(key);
+        Segment segment = segmentOf(key);
+        segment.lock.lock();
+        try {
+            int slot = segment.slotOf(key, now, segmentMask);
+            if (segment.keys[slot] == key) {
+                return Insertion.PRESENT;
+            }
+            if (segment.keys[slot] != EMPTY) {
+                return Insertion.FULL; // Every candidate slot holds a live key
+            }
+            segment.keys[slot] = key;
+            segment.values[slot] = expiry;
+            return Insertion.INSERTED;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a key if present.
+     */
+    void remove(long key, long now) {
+        key = nonEmpty(key);
+        Segment segment = segmentOf(key);
+        segment.lock.lock();
+        try {
+            int slot = segment.slotOf(key, now, segmentMask);
+            if (segment.keys[slot] == key) {
+                segment.keys[slot] = EMPTY;
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private Segment segmentOf(long key) {
+        // High bits pick the segment, low bits the slot, so both are independent
+        return segments[(int) (key >>> 58) & (SEGMENTS - 1)];
+    }
+
+    private static long nonEmpty(long key) {
+        return key == EMPTY ? 1 : key;
+    }
+
+    /**
+     * Spreads a string into a 64-bit key (FNV-1a followed by a murmur finalizer).
+     */
+    static long hash(CharSequence value) {
+        return mix(fnv(0xcbf29ce484222325L, value));
+    }
+
+    /**
+     * Spreads a pair of strings into a 64-bit key; the pair is hashed with a separator, so
+     * {@code ("ab", "c")} and {@code ("a", "bc")} differ.
+     */
+    static long hash(CharSequence first, CharSequence second) {
+        return mix(fnv((fnv(0xcbf29ce484222325L, first) ^ 0xFFFF) * 0x100000001b3L, second));
+    }
+
+    private static long fnv(long hash, CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final long[] keys;
+        final long[] values;
+
+        Segment(int size) {
+            this.keys = new long[size];
+            this.values = new long[size];
+        }
+
+        /**
+         * Returns the slot holding the live key, or else the slot a new entry should go to:
+         * the first free or expired slot, or the live slot expiring first. Callers hold the lock.
+         * Expired slots found on the way are cleared, so a returned slot with a matching key is live.
+         */
+        int slotOf(long key, long now, int mask) {
+            int start = (int) key & mask;
+            int free = -1;
+            int oldest = start;
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int slot = (start + i) & mask;
+                long slotKey = keys[slot];
+                if (slotKey != EMPTY && values[slot] <= now) {
+                    keys[slot] = EMPTY; // Expired
+                    slotKey = EMPTY;
+                }
+                if (slotKey == key) {
+                    return slot;
+                }
+                if (slotKey == EMPTY) {
+                    if (free < 0) {
+                        free = slot;
+                    }
+                } else if (values[slot] < values[oldest] || keys[oldest] == EMPTY) {
+                    oldest = slot;
+                }
+            }
+            return free >= 0 ? free : oldest;
+        }
+    }
+}
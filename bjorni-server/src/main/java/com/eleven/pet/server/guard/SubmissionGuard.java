@@ -0,0 +1,153 @@
+package com.eleven.pet.server.guard;
+
+import com.eleven.pet.shared.util.SignedRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cheap checks that reject floods and replayed submissions before they cost an HMAC, a JSON parse
+ * or a stats update.
+ * <p>
+ * <b>Rate limiting:</b> every player ID gets a token bucket of {@code bjorni.guard.burst} submissions,
+ * refilled at {@code bjorni.guard.rate-per-second}. Buckets live in an {@link ExpiringLongTable} as a
+ * single timestamp each, and a full bucket needs no entry at all, so the table only holds players
+ * that submitted within the last few seconds.
+ * </p>
+ * <p>
+ * <b>Replay protection:</b> every submission carries a signed request timestamp and nonce (see
+ * {@link SignedRequest}). Requests sent more than {@code bjorni.guard.request-skew-seconds} before or
+ * after the server's time are rejected, and the nonce of every accepted request is remembered until its
+ * timestamp leaves that window, so a replay is caught by one check or the other. A request whose nonce
+ * is known is rejected before its HMAC is checked.
+ * </p>
+ * <p>
+ * <b>Result age:</b> independently of replays, results older (or further in the future) than
+ * {@code bjorni.guard.result-max-age-seconds} are rejected, so a client cannot submit ancient wins.
+ * </p>
+ * Both tables have a fixed number of slots. When the bucket table is full, the buckets refilling
+ * first are dropped early, which only forgets a recent burst. Nonces are never dropped before they
+ * expire, as that would let the dropped request be replayed: when the nonce table is full, new
+ * submissions are refused until old nonces expire. A nonce lives at most twice the skew, so the table
+ * is sized for {@code bjorni.guard.peak-submissions-per-second * 2 * bjorni.guard.request-skew-seconds}
+ * nonces, which also leaves half the slots free while clocks agree.
+ */
+@Component
+public class SubmissionGuard {
+    /**
+     * Outcome of {@link #claim(String, String, long)}.
+     */
+    public enum Claim {
+        /**
+         * The nonce was recorded; the submission may be applied.
+         */
+        CLAIMED,
+        /**
+         * A submission with the same nonce was already accepted.
+         */
+        REPLAY,
+        /**
+         * No room is left to remember the nonce, so the submission cannot be protected
+         * against replays and must be refused.
+         */
+        FULL
+    }
+
+    // Largest nonce table, 16 GB
+    private static final long MAX_NONCE_SLOTS = 1L << 30;
+
+    private final boolean enabled;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long resultMaxAgeMillis;
+    private final long requestSkewMillis;
+    private final ExpiringLongTable buckets;
+    private final ExpiringLongTable nonces;
+
+    public SubmissionGuard(@Value("${bjorni.guard.enabled:true}") boolean enabled,
+                           @Value("${bjorni.guard.rate-per-second:2}") double ratePerSecond,
+                           @Value("${bjorni.guard.burst:20}") int burst,
+                           @Value("${bjorni.guard.result-max-age-seconds:604800}") long resultMaxAgeSeconds,
+                           @Value("${bjorni.guard.request-skew-seconds:60}") long requestSkewSeconds,
+                           @Value("${bjorni.guard.player-slots:1048576}") int playerSlots,
+                           @Value("${bjorni.guard.peak-submissions-per-second:10000}") long peakSubmissionsPerSecond) {
+        this.enabled = enabled;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.toleranceNanos = intervalNanos * (Math.max(burst, 1) - 1);
+        this.resultMaxAgeMillis = TimeUnit.SECONDS.toMillis(resultMaxAgeSeconds);
+        this.requestSkewMillis = TimeUnit.SECONDS.toMillis(requestSkewSeconds);
+        long nonceSlots = Math.min(Math.max(peakSubmissionsPerSecond, 1) * 2 * Math.max(requestSkewSeconds, 1), MAX_NONCE_SLOTS);
+        // Nothing is allocated when disabled, e.g. for load tests that replay one body on purpose
+        this.buckets = enabled ? new ExpiringLongTable(playerSlots) : null;
+        this.nonces = enabled ? new ExpiringLongTable((int) nonceSlots) : null;
+    }
+
+    /**
+     * Takes a token from the player's bucket.
+     *
+     * @param playerId the {@code X-Player-ID} of the submission.
+     * @return {@code false} if the player exceeded the rate and the submission must be rejected.
+     */
+    public boolean tryAcquire(String playerId) {
+        return !enabled || buckets.tryAcquire(ExpiringLongTable.hash(playerId), System.nanoTime(), intervalNanos, toleranceNanos);
+    }
+
+    /**
+     * @param playerId the {@code X-Player-ID} of the submission.
+     * @param nonce    the {@code X-Request-Nonce} of the submission.
+     * @return {@code true} if a submission of this player with this nonce was already accepted.
+     */
+    public boolean isReplay(String playerId, String nonce) {
+        return enabled && nonces.contains(ExpiringLongTable.hash(playerId, nonce), System.currentTimeMillis());
+    }
+
+    /**
+     * @param requestTimestamp the {@code X-Request-Timestamp} of the submission, in milliseconds since the Unix Epoch.
+     * @return {@code true} if the request was sent within the accepted clock skew of the server's time.
+     */
+    public boolean isFresh(long requestTimestamp) {
+        return !enabled || Math.abs(System.currentTimeMillis() - requestTimestamp) <= requestSkewMillis;
+    }
+
+    /**
+     * @param timestamp the time of a submitted result in milliseconds since the Unix Epoch.
+     * @return {@code true} if the result is recent enough, and not too far in the future, to be accepted.
+     */
+    public boolean isWithinWindow(long timestamp) {
+        return !enabled || Math.abs(System.currentTimeMillis() - timestamp) <= resultMaxAgeMillis;
+    }
+
+    /**
+     * Records the nonce of an authentic submission, so later copies are rejected. The nonce is kept
+     * until {@link #isFresh(long)} rejects the request's timestamp anyway.
+     *
+     * @param playerId         the {@code X-Player-ID} of the submission.
+     * @param nonce            the {@code X-Request-Nonce} of the submission.
+     * @param requestTimestamp the {@code X-Request-Timestamp} of the submission.
+     * @return {@link Claim#CLAIMED} if the submission may be applied; otherwise it must be rejected.
+     */
+    public Claim claim(String playerId, String nonce, long requestTimestamp) {
+        if (!enabled) {
+            return Claim.CLAIMED;
+        }
+        return switch (nonces.putIfAbsent(ExpiringLongTable.hash(playerId, nonce),
+                requestTimestamp + requestSkewMillis + 1, System.currentTimeMillis())) {
+            case INSERTED -> Claim.CLAIMED;
+            case PRESENT -> Claim.REPLAY;
+            case FULL -> Claim.FULL;
+        };
+    }
+
+    /**
+     * Forgets a claimed nonce, so a submission that failed after {@link #claim} can be retried.
+     *
+     * @param playerId the {@code X-Player-ID} of the submission.
+     * @param nonce    the {@code X-Request-Nonce} of the submission.
+     */
+    public void release(String playerId, String nonce) {
+        if (enabled) {
+            nonces.remove(ExpiringLongTable.hash(playerId, nonce), System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.eleven.pet.server.leaderboard;
+
+import com.eleven.pet.server.model.GameIds;
+import com.eleven.pet.server.model.PlayerStats;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One ranking per game, ordered by the players' wins in that game.
+ * <p>
+ * Rankings are indexed by {@link GameIds} ID, so there are at most {@link GameIds#MAX_GAMES} of them
+ * and a lookup is an array read. Each one is a {@link LeaderboardIndex} with its own
+ * {@link LeaderboardSnapshots}, so a per-game read walks only the top of that game's ranking and is
+ * served from cache while the game's ranking is unchanged.
+ * </p>
+ * <strong>Concurrency Note:</strong> {@link #update} follows the rules of {@link LeaderboardIndex}:
+ * it must be called while owning the player's stats.
+ */
+public class GameLeaderboards {
+    /**
+     * The ranking of a game with its serialized views.
+     */
+    public record Board(LeaderboardIndex index, LeaderboardSnapshots snapshots) {
+    }
+
+    private final ObjectMapper jsonMapper;
+    private final AtomicReferenceArray<Board> boards = new AtomicReferenceArray<>(GameIds.MAX_GAMES);
+
+    public GameLeaderboards(ObjectMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Re-ranks a player in one game after their wins in it changed.
+     *
+     * @param playerId the unique identifier of the player.
+     * @param stats    the player's stats, owned by the caller.
+     * @param game     the name of the game.
+     */
+    public void update(String playerId, PlayerStats stats, String game) {
+        int gameId = GameIds.idOf(game);
+        int wins = stats.getGameWins(gameId);
+        if (wins > 0) {
+            boardOf(gameId).index().update(playerId, stats, wins, GameIds.nameOf(gameId));
+        }
+    }
+
+    /**
+     * Looks up the ranking of a game without creating one.
+     *
+     * @param game the name of the game.
+     * @return the game's board, or {@code null} if nobody won that game yet.
+     */
+    public Board find(String game) {
+        int gameId = GameIds.find(game);
+        return gameId < 0 ? null : boards.get(gameId);
+    }
+
+    private Board boardOf(int gameId) {
+        Board board = boards.get(gameId);
+        if (board == null) {
+            LeaderboardIndex index = new LeaderboardIndex();
+            boards.compareAndSet(gameId, null, new Board(index, new LeaderboardSnapshots(index, jsonMapper)));
+            board = boards.get(gameId);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,304 @@
+package com.eleven.pet.server.leaderboard;
+
+import com.eleven.pet.shared.model.LeaderboardDelta;
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes changes of a {@link LeaderboardIndex} to Server-Sent Event subscribers.
+ * <p>
+ * Subscribers are grouped by the limit they asked for. Once per tick a single thread checks the index
+ * version; if it moved, every group with subscribers computes one {@link LeaderboardDelta} against the
+ * list it published last, serializes it once and writes the same JSON to all of its subscribers.
+ * Any number of submissions within a tick therefore cost one serialization per group, however many
+ * clients are listening.
+ * </p>
+ * A new subscriber first receives the full list as a delta from an empty list, then the deltas of
+ * its group. Limits are capped at {@link LeaderboardSnapshots#MAX_CACHED_LIMIT}.
+ * <p>
+ * Neither the ticker nor a subscribing request thread writes to a connection. Events are put into a
+ * small queue per subscriber, which a virtual thread of that subscriber drains, so one slow client
+ * only delays itself. A subscriber with {@value #MAX_QUEUED_EVENTS} events still queued is dropped;
+ * its client reconnects and starts again from the full list.
+ * </p>
+ */
+public class LeaderboardBroadcaster implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardBroadcaster.class);
+
+    /**
+     * Name of the SSE events carrying a {@link LeaderboardDelta}.
+     */
+    public static final String DELTA_EVENT = "delta";
+
+    // Comment lines sent to idle streams, so dead connections are noticed and dropped
+    private static final long HEARTBEAT_MILLIS = 15_000;
+    // Clients reconnect after this, which also bounds the lifetime of a forgotten emitter
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60_000;
+    // About four seconds of deltas at the default tick
+    private static final int MAX_QUEUED_EVENTS = 16;
+
+    private final LeaderboardIndex index;
+    private final ObjectMapper jsonMapper;
+    private final ConcurrentHashMap<Integer, Channel> channels = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("leaderboard-broadcast").daemon().factory());
+    // Writes to the connections, at most one task per subscriber at a time
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private long lastHeartbeat = System.currentTimeMillis();
+
+    /**
+     * @param index      the ranking to watch.
+     * @param jsonMapper the mapper used to serialize deltas.
+     * @param tickMillis how often the index is checked for changes.
+     */
+    public LeaderboardBroadcaster(LeaderboardIndex index, ObjectMapper jsonMapper, long tickMillis) {
+        this.index = index;
+        this.jsonMapper = jsonMapper;
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of the top {@code limit} players.
+     *
+     * @param limit the number of ranks to follow, capped to {@code 1..MAX_CACHED_LIMIT}.
+     * @return the emitter to return from the controller.
+     */
+    public SseEmitter subscribe(int limit) {
+        int cappedLimit = Math.clamp(limit, 1, LeaderboardSnapshots.MAX_CACHED_LIMIT);
+        Channel channel = channels.computeIfAbsent(cappedLimit, Channel::new);
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(subscriber::discard);
+        emitter.onTimeout(subscriber::discard);
+        emitter.onError(_ -> subscriber.discard());
+
+        synchronized (channel) {
+            // Catch the group up first, so the newcomer's full list and the next delta line up
+            channel.advance(index.version());
+            LeaderboardDelta full = diff(channel.version, List.of(), channel.published);
+            // Queued under the monitor, so no delta of the group can overtake the full list
+            channel.subscribers.add(subscriber);
+            subscriber.offer(SseEmitter.event()
+                    .name(DELTA_EVENT)
+                    .id(Long.toString(full.getVersion()))
+                    .data(jsonMapper.writeValueAsString(full))
+                    .build());
+        }
+        return emitter;
+    }
+
+    /**
+     * Computes the delta that turns {@code previous} into {@code current}.
+     *
+     * @param version  the ranking version {@code current} was read at.
+     * @param previous the list the subscribers currently have.
+     * @param current  the new list.
+     * @return the ranks of {@code current} that differ from {@code previous}, in ascending order.
+     */
+    public static LeaderboardDelta diff(long version, List<LeaderboardEntry> previous, List<LeaderboardEntry> current) {
+        List<LeaderboardDelta.RankedEntry> changes = new ArrayList<>();
+        for (int rank = 0; rank < current.size(); rank++) {
+            LeaderboardEntry entry = current.get(rank);
+            if (rank >= previous.size() || !previous.get(rank).equals(entry)) {
+                changes.add(new LeaderboardDelta.RankedEntry(rank, entry));
+            }
+        }
+        return new LeaderboardDelta(version, current.size(), changes);
+    }
+
+    /**
+     * Publishes pending changes to every group. Runs on the ticker thread only.
+     */
+    private void tick() {
+        try {
+            long version = index.version();
+            for (Channel channel : channels.values()) {
+                if (channel.subscribers.isEmpty()) {
+                    continue; // Idle groups catch up when the next subscriber arrives
+                }
+                synchronized (channel) {
+                    channel.advance(version);
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastHeartbeat >= HEARTBEAT_MILLIS) {
+                lastHeartbeat = now;
+                for (Channel channel : channels.values()) {
+                    channel.broadcast(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the scheduled task and silently stop all streams
+            log.error("Failed to broadcast leaderboard changes", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        for (Channel channel : channels.values()) {
+            channel.subscribers.forEach(subscriber -> subscriber.drop(null));
+        }
+        sender.shutdown(); // Lets the queued completions run
+    }
+
+    /**
+     * Subscribers of one limit and the list they were last sent.
+     */
+    private class Channel {
+        private final int limit;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private List<LeaderboardEntry> published = List.of();
+        private long version = -1;
+
+        private Channel(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Brings {@link #published} up to {@code target} and sends the difference to all subscribers.
+         * Callers hold the channel's monitor.
+         */
+        private void advance(long target) {
+            if (version == target) {
+                return;
+            }
+            List<LeaderboardEntry> current = index.top(limit);
+            LeaderboardDelta delta = diff(target, published, current);
+            boolean unchanged = delta.getChanges().isEmpty() && current.size() == published.size();
+            published = current;
+            version = target;
+            // Nobody to tell, or only players below this group's limit moved
+            if (subscribers.isEmpty() || unchanged) {
+                return;
+            }
+            broadcast(SseEmitter.event()
+                    .name(DELTA_EVENT)
+                    .id(Long.toString(target))
+                    .data(jsonMapper.writeValueAsString(delta)));
+        }
+
+        /**
+         * Queues one event for every subscriber. Never blocks on a connection.
+         */
+        private void broadcast(SseEmitter.SseEventBuilder event) {
+            // Built once: the same bytes go to every subscriber
+            Set<ResponseBodyEmitter.DataWithMediaType> data = event.build();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(data);
+            }
+        }
+    }
+
+    /**
+     * One open stream and the events not yet written to it.
+     */
+    private final class Subscriber {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        // Guarded by this
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean sending;
+        private boolean closed;
+
+        private Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues an event and makes sure a sender task is running, or drops the subscriber if it fell behind.
+         */
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> data) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() < MAX_QUEUED_EVENTS) {
+                    queue.add(data);
+                    if (!sending) {
+                        sending = true;
+                        sender.execute(this::drain);
+                    }
+                    return;
+                }
+            }
+            log.debug("Dropping a leaderboard stream that fell {} events behind", MAX_QUEUED_EVENTS);
+            drop(null);
+        }
+
+        /**
+         * Writes queued events until the queue is empty. Runs on a sender thread only.
+         */
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> data;
+                synchronized (this) {
+                    data = closed ? null : queue.poll();
+                    if (data == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(data);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter's callbacks may not fire for a broken pipe
+                    drop(e);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stops sending to the subscriber and ends its stream, with {@code error} if not {@code null}.
+         */
+        private void drop(Throwable error) {
+            if (!discard()) {
+                return;
+            }
+            // The emitter waits for a send in progress, so it is completed on a sender thread too
+            sender.execute(() -> {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                } else {
+                    emitter.complete();
+                }
+            });
+        }
+
+        /**
+         * Stops sending to the subscriber, e.g. once its stream ended.
+         *
+         * @return {@code false} if it was already stopped.
+         */
+        private boolean discard() {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                closed = true;
+                queue.clear();
+            }
+            channel.subscribers.remove(this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.eleven.pet.server.leaderboard;
+
+import com.eleven.pet.server.model.PlayerStats;
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.model.PlayerRank;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incrementally maintained ranking of players, ordered from best to worst.
+ * <p>
+ * Every accepted win replaces the player's previous position in a concurrent skip list,
+ * so reading the top {@code N} players only walks the first {@code N} nodes instead of
+ * sorting every registered player on each request.
+ * </p>
+ * Ordering: most wins first; ties are broken by the earlier {@code lastTimestamp}
+ * (the player who reached the count first ranks higher), then by player ID.
+ * <p>
+ * A {@link WinCountTree} next to the skip list counts players per win count, so the rank of a single
+ * player is found in {@code O(log n)} without walking the list.
+ * </p>
+ * <p>
+ * <strong>Concurrency Note:</strong> Reads are lock-free and may run alongside updates.
+ * Updates for the <em>same</em> player must be serialized by the caller (e.g., by calling
+ * {@link #update(String, PlayerStats)} from inside {@code ConcurrentHashMap.compute}).
+ * </p>
+ */
+public class LeaderboardIndex {
+    private final ConcurrentSkipListSet<RankedPlayer> ranking = new ConcurrentSkipListSet<>(RankedPlayer.ORDER);
+
+    // Current position per player, so the old node can be removed on update
+    private final ConcurrentHashMap<String, RankedPlayer> positions = new ConcurrentHashMap<>();
+
+    // Players per win count, for rank lookups
+    private final WinCountTree winCounts = new WinCountTree();
+
+    // Bumped after every change to the ranking, so readers can tell whether a cached view is stale
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Moves a player to the position matching their latest stats.
+     *
+     * @param playerId the unique identifier of the player.
+     * @param stats    the player's stats after the update has been applied.
+     */
+    public void update(String playerId, PlayerStats stats) {
+        update(playerId, stats, stats.getTotalWins());
+    }
+
+    /**
+     * Moves a player to the position matching a score other than their lifetime wins,
+     * e.g. their wins within a time window.
+     *
+     * @param playerId the unique identifier of the player.
+     * @param stats    the player's stats, for name, top game and timestamp.
+     * @param wins     the score to rank the player by.
+     */
+    public void update(String playerId, PlayerStats stats, long wins) {
+        update(playerId, stats, wins, stats.getTopPlayedGame());
+    }
+
+    /**
+     * Moves a player to the position matching a score, listing them under a given game,
+     * e.g. their wins in that game on a per-game leaderboard.
+     *
+     * @param playerId the unique identifier of the player.
+     * @param stats    the player's stats, for name and timestamp.
+     * @param wins     the score to rank the player by.
+     * @param gameName the game shown in the player's entry.
+     */
+    public void update(String playerId, PlayerStats stats, long wins, String gameName) {
+        RankedPlayer next = new RankedPlayer(
+                playerId,
+                stats.getPlayerName(),
+                wins,
+                gameName,
+                stats.getLastTimestamp()
+        );
+
+        RankedPlayer previous = positions.put(playerId, next);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(next);
+        winCounts.move(previous != null ? previous.totalWins() : -1, wins);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Removes a player from the ranking. Same concurrency rules as {@link #update(String, PlayerStats)}.
+     *
+     * @param playerId the unique identifier of the player.
+     */
+    public void remove(String playerId) {
+        RankedPlayer previous = positions.remove(playerId);
+        if (previous != null) {
+            ranking.remove(previous);
+            winCounts.move(previous.totalWins(), -1);
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return a snapshot of the IDs of all ranked players.
+     */
+    public Set<String> playerIds() {
+        return Set.copyOf(positions.keySet());
+    }
+
+    /**
+     * Returns a counter that grows with every change of the ranking.
+     * <p>
+     * It is incremented <em>after</em> the ranking changed, so a view built after reading version
+     * {@code v} contains at least every update up to {@code v}.
+     * </p>
+     *
+     * @return the current version of the ranking.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Returns the best ranked players.
+     *
+     * @param limit the maximum number of entries to return.
+     * @return up to {@code limit} entries, best first; empty if {@code limit} is not positive.
+     */
+    public List<LeaderboardEntry> top(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<LeaderboardEntry> result = new ArrayList<>(Math.min(limit, positions.size()));
+        Iterator<RankedPlayer> iterator = ranking.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next().toEntry());
+        }
+        return result;
+    }
+
+    /**
+     * @param wins a score.
+     * @return the number of ranked players with a higher score.
+     */
+    public long countAbove(long wins) {
+        return winCounts.countAbove(wins);
+    }
+
+    /**
+     * Looks up where a player stands, with the players ranked around them.
+     * <p>
+     * The rank comes from the {@link WinCountTree}; the neighbours are read from the skip list next
+     * to the player's node, so the cost does not depend on the number of players.
+     * </p>
+     *
+     * @param playerId   the unique identifier of the player.
+     * @param neighbours the number of players to include above and below.
+     * @return the player's rank, or {@code null} if the player is not ranked.
+     */
+    public PlayerRank rankOf(String playerId, int neighbours) {
+        RankedPlayer player = positions.get(playerId);
+        if (player == null) {
+            return null;
+        }
+
+        List<LeaderboardEntry> above = new ArrayList<>(neighbours);
+        Iterator<RankedPlayer> up = ranking.headSet(player, false).descendingIterator();
+        while (above.size() < neighbours && up.hasNext()) {
+            above.add(up.next().toEntry());
+        }
+        Collections.reverse(above); // Best first
+        List<LeaderboardEntry> below = new ArrayList<>(neighbours);
+        Iterator<RankedPlayer> down = ranking.tailSet(player, false).iterator();
+        while (below.size() < neighbours && down.hasNext()) {
+            below.add(down.next().toEntry());
+        }
+
+        return new PlayerRank(countAbove(player.totalWins()) + 1, size(), player.toEntry(), above, below);
+    }
+
+    /**
+     * @return the number of ranked players.
+     */
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Immutable snapshot of a player's ranking-relevant stats, used as the skip list key.
+     */
+    record RankedPlayer(String playerId, String playerName, long totalWins, String topGame, long lastTimestamp) {
+        static final Comparator<RankedPlayer> ORDER = Comparator
+                .comparingLong(RankedPlayer::totalWins).reversed()
+                .thenComparingLong(RankedPlayer::lastTimestamp)
+                .thenComparing(RankedPlayer::playerId);
+
+        LeaderboardEntry toEntry() {
+            return new LeaderboardEntry(playerName, totalWins, topGame, lastTimestamp);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.eleven.pet.server.leaderboard;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the top lists of several shards into one global top list.
+ */
+public final class LeaderboardMerge {
+    /**
+     * Leaderboard order: most wins first, ties to whoever reached the count first. Matches the
+     * order of {@link LeaderboardIndex}, except that the last tie-break is the name, as entries carry
+     * no player ID.
+     */
+    public static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingLong(LeaderboardEntry::getScore).reversed()
+            .thenComparingLong(LeaderboardEntry::getTimestamp)
+            .thenComparing(LeaderboardEntry::getPlayerName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private LeaderboardMerge() {
+    }
+
+    /**
+     * K-way merge of shard lists, each already sorted by {@link #ORDER}.
+     * <p>
+     * A heap holds the head of every list, so the cost is {@code O(limit * log k)} for {@code k} shards
+     * and no list is read further than needed.
+     * </p>
+     *
+     * @param shards the sorted top lists of the shards.
+     * @param limit  the maximum number of entries to return.
+     * @return up to {@code limit} entries, best first.
+     */
+    public static List<LeaderboardEntry> top(List<List<LeaderboardEntry>> shards, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Heap of {shard, position} cursors, ordered by the entry they point at
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(shards.size(), 1),
+                Comparator.comparing((int[] cursor) -> shards.get(cursor[0]).get(cursor[1]), ORDER));
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (!shards.get(shard).isEmpty()) {
+                heads.add(new int[]{shard, 0});
+            }
+        }
+
+        List<LeaderboardEntry> result = new ArrayList<>(limit);
+        while (result.size() < limit && !heads.isEmpty()) {
+            int[] cursor = heads.poll();
+            List<LeaderboardEntry> list = shards.get(cursor[0]);
+            result.add(list.get(cursor[1]));
+            if (++cursor[1] < list.size()) {
+                heads.add(cursor);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package com.eleven.pet.server.leaderboard;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.util.LeaderboardCodec;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Pre-serialized JSON views of the top of a {@link LeaderboardIndex}, one per requested limit.
+ * <p>
+ * A view is rebuilt only when the index version moved since it was built, so repeated reads of an
+ * unchanged leaderboard return the same {@code byte[]} without touching the ranking or the JSON
+ * serializer. Each view carries an ETag for conditional GETs. The ETag only changes when the
+ * serialized bytes do, so wins of players below the requested limit do not invalidate clients' caches.
+ * </p>
+ * <p>
+ * Views in the binary {@link LeaderboardCodec} format are cached separately by {@link #topBinary(int)}.
+ * Their ETags carry a {@code b} prefix, so a tag of one representation never matches the other.
+ * </p>
+ * Limits above {@link #MAX_CACHED_LIMIT} are served uncached, so clients cannot grow the cache
+ * without bound by asking for arbitrary limits.
+ */
+public class LeaderboardSnapshots {
+    /**
+     * Largest limit that gets a cached view.
+     */
+    public static final int MAX_CACHED_LIMIT = 100;
+
+    /**
+     * A serialized leaderboard view.
+     *
+     * @param version the index version the view was last validated against.
+     * @param json    the serialized entries, a JSON array unless requested in binary; must not be modified.
+     * @param etag    the quoted entity tag of {@code json}.
+     */
+    public record Snapshot(long version, byte[] json, String etag) {
+    }
+
+    private final LeaderboardIndex index;
+    private final ObjectMapper jsonMapper;
+    private final ConcurrentHashMap<Integer, Snapshot> byLimit = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Snapshot> binaryByLimit = new ConcurrentHashMap<>();
+
+    public LeaderboardSnapshots(LeaderboardIndex index, ObjectMapper jsonMapper) {
+        this.index = index;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Returns the current view of the top {@code limit} players, rebuilding it if the ranking changed.
+     *
+     * @param limit the maximum number of entries.
+     * @return an up to date snapshot.
+     */
+    public Snapshot top(int limit) {
+        return top(limit, byLimit, jsonMapper::writeValueAsBytes, "");
+    }
+
+    /**
+     * Same as {@link #top(int)}, encoded with the {@link LeaderboardCodec}.
+     *
+     * @param limit the maximum number of entries.
+     * @return an up to date snapshot in the binary format.
+     */
+    public Snapshot topBinary(int limit) {
+        return top(limit, binaryByLimit, LeaderboardCodec::encodeList, "b");
+    }
+
+    private Snapshot top(int limit, ConcurrentHashMap<Integer, Snapshot> cache,
+                         Function<List<LeaderboardEntry>, byte[]> encoder, String etagPrefix) {
+        limit = Math.max(limit, 0); // Every non-positive limit is the same empty view
+        // Read the version before the ranking: the view then holds at least every update up to it
+        long version = index.version();
+        Snapshot cached = limit <= MAX_CACHED_LIMIT ? cache.get(limit) : null;
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        byte[] bytes = encoder.apply(index.top(limit));
+        Snapshot snapshot;
+        if (cached != null && Arrays.equals(cached.json(), bytes)) {
+            // Same content under a newer version: keep the tag so conditional GETs still match
+            snapshot = new Snapshot(version, cached.json(), cached.etag());
+        } else {
+            // Updates in flight while reading may make two views of one version differ, hence the content hash
+            String etag = "\"" + etagPrefix + Long.toHexString(version) + "-" + Integer.toHexString(Arrays.hashCode(bytes)) + "\"";
+            snapshot = new Snapshot(version, bytes, etag);
+        }
+
+        if (limit <= MAX_CACHED_LIMIT) {
+            // Concurrent rebuilds may race; keep whichever saw the newer version
+            cache.merge(limit, snapshot, (old, fresh) -> fresh.version() >= old.version() ? fresh : old);
+        }
+        return snapshot;
+    }
+}
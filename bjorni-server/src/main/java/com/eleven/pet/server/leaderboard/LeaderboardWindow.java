@@ -0,0 +1,59 @@
+package com.eleven.pet.server.leaderboard;
+
+import com.eleven.pet.server.model.PlayerStats;
+
+import java.util.Locale;
+
+/**
+ * The time span a leaderboard counts wins over.
+ */
+public enum LeaderboardWindow {
+    /**
+     * Every win since registration.
+     */
+    ALL_TIME(0),
+    /**
+     * Wins of the current UTC day.
+     */
+    DAILY(1),
+    /**
+     * Wins of the last seven UTC days, today included.
+     */
+    WEEKLY(PlayerStats.WINDOW_DAYS);
+
+    private final int days;
+
+    LeaderboardWindow(int days) {
+        this.days = days;
+    }
+
+    /**
+     * @return the number of days counted, or {@code 0} for {@link #ALL_TIME}.
+     */
+    public int days() {
+        return days;
+    }
+
+    /**
+     * Parses the {@code window} query parameter.
+     *
+     * @param value {@code all}, {@code daily} or {@code weekly}, in any case.
+     * @return the matching window.
+     * @throws IllegalArgumentException if the value names no window.
+     */
+    public static LeaderboardWindow fromParam(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "all", "all-time", "all_time" -> ALL_TIME;
+            case "daily", "day" -> DAILY;
+            case "weekly", "week" -> WEEKLY;
+            default -> throw new IllegalArgumentException("Unknown leaderboard window: " + value);
+        };
+    }
+
+    /**
+     * @return the value of this window for the {@code window} query parameter.
+     */
+    public String param() {
+        return this == ALL_TIME ? "all" : name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,112 @@
+package com.eleven.pet.server.leaderboard;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fenwick tree counting players per win count, for rank queries in {@code O(log maxWins)}.
+ * <p>
+ * Slot {@code w} holds the number of players with exactly {@code w} wins, so the players ahead of
+ * someone with {@code w} wins are the sum of all slots above {@code w}. Moving a player costs two
+ * point updates, independent of how many players there are.
+ * </p>
+ * <strong>Concurrency Note:</strong> Point updates are atomic adds under a shared lock, so updates
+ * of different players run in parallel. The tree doubles when a win count exceeds its capacity,
+ * which takes the lock exclusively. A query running alongside a move may see the player in both or
+ * neither slot, so ranks are exact only between updates.
+ */
+public class WinCountTree {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 1-based Fenwick array; win count w lives at index w + 1
+    private volatile AtomicIntegerArray tree = new AtomicIntegerArray(INITIAL_CAPACITY + 1);
+
+    /**
+     * Moves one player from one win count to another.
+     *
+     * @param from the previous win count, or a negative value for a new player.
+     * @param to   the new win count, or a negative value for a removed player.
+     */
+    public void move(long from, long to) {
+        if (from == to) {
+            return;
+        }
+        if (to >= capacity()) {
+            grow(to);
+        }
+        lock.readLock().lock();
+        try {
+            if (from >= 0) {
+                add(from, -1);
+            }
+            if (to >= 0) {
+                add(to, 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param wins a win count.
+     * @return the number of players with more than {@code wins} wins.
+     */
+    public long countAbove(long wins) {
+        lock.readLock().lock();
+        try {
+            AtomicIntegerArray current = tree;
+            return prefix(current, current.length() - 1) - prefix(current, (int) Math.min(Math.max(wins + 1, 0), current.length() - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long capacity() {
+        return tree.length() - 1;
+    }
+
+    private void add(long wins, int delta) {
+        AtomicIntegerArray current = tree;
+        for (int i = (int) wins + 1; i < current.length(); i += i & -i) {
+            current.addAndGet(i, delta);
+        }
+    }
+
+    // Sum of the slots for win counts 0 .. index - 1
+    private static long prefix(AtomicIntegerArray tree, int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    private void grow(long wins) {
+        if (wins >= Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Win count out of range: " + wins);
+        }
+        lock.writeLock().lock();
+        try {
+            AtomicIntegerArray current = tree;
+            int capacity = current.length() - 1;
+            if (wins < capacity) {
+                return;
+            }
+            while (capacity <= wins) {
+                capacity <<= 1;
+            }
+            // Rebuild from the per-slot counts, recovered as differences of prefix sums
+            AtomicIntegerArray grown = new AtomicIntegerArray(capacity + 1);
+            for (int w = 0; w < current.length() - 1; w++) {
+                int count = (int) (prefix(current, w + 1) - prefix(current, w));
+                for (int i = w + 1; count != 0 && i < grown.length(); i += i & -i) {
+                    grown.addAndGet(i, count);
+                }
+            }
+            tree = grown;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.eleven.pet.server.leaderboard;
+
+import com.eleven.pet.server.model.PlayerStats;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daily and weekly rankings, kept next to the all-time {@link LeaderboardIndex}.
+ * <p>
+ * Each player's windowed score comes from the day buckets in their {@link PlayerStats}. Scores only
+ * change on a win or when a day with wins leaves the window, so the rankings record which players won
+ * on which day. When the UTC day rolls over, {@link #rollTo(long)} re-ranks just the players whose
+ * scores can have changed: yesterday's daily ranking and the winners of the day that left the weekly
+ * window. Nobody else is touched, however many players are registered.
+ * </p>
+ * <strong>Concurrency Note:</strong> {@link #update} must be called while owning the player's stats
+ * (inside {@code compute} on the stats map). {@link #rollTo(long)} takes each player's stats through
+ * {@code computeIfPresent} and must therefore be called outside of any {@code compute}.
+ */
+public class WindowedLeaderboards {
+    private final ConcurrentHashMap<String, PlayerStats> playerStats;
+    private final LeaderboardIndex daily = new LeaderboardIndex();
+    private final LeaderboardIndex weekly = new LeaderboardIndex();
+
+    // Epoch day -> players with wins on that day, for the days still inside the weekly window
+    private final ConcurrentHashMap<Long, Set<String>> winnersByDay = new ConcurrentHashMap<>();
+    private volatile long currentDay;
+
+    /**
+     * @param playerStats the stats map the rankings are derived from.
+     * @param today       the current epoch day.
+     */
+    public WindowedLeaderboards(ConcurrentHashMap<String, PlayerStats> playerStats, long today) {
+        this.playerStats = playerStats;
+        this.currentDay = today;
+    }
+
+    /**
+     * @param window {@link LeaderboardWindow#DAILY} or {@link LeaderboardWindow#WEEKLY}.
+     * @return the ranking of that window.
+     */
+    public LeaderboardIndex index(LeaderboardWindow window) {
+        return switch (window) {
+            case DAILY -> daily;
+            case WEEKLY -> weekly;
+            case ALL_TIME -> throw new IllegalArgumentException("The all-time ranking is not windowed");
+        };
+    }
+
+    /**
+     * Re-ranks a player after their stats changed, e.g. after a win or a restore.
+     * <p>
+     * A caller may have read {@code today} just before another thread rolled the windows forward, so
+     * days older than the rolled day are ignored: the player is ranked for the newer day instead, and
+     * again if the windows roll while they are being ranked. Otherwise a stale daily entry would stay
+     * until the next roll.
+     * </p>
+     *
+     * @param playerId the unique identifier of the player.
+     * @param stats    the player's stats, owned by the caller.
+     * @param today    the current epoch day.
+     */
+    public void update(String playerId, PlayerStats stats, long today) {
+        long day = Math.max(today, currentDay);
+        while (true) {
+            long newest = stats.getNewestDay();
+            for (long winDay = Math.max(newest, day) - PlayerStats.WINDOW_DAYS + 1; winDay <= newest; winDay++) {
+                if (stats.getWinsInLastDays(winDay, 1) > 0) {
+                    winnersByDay.computeIfAbsent(winDay, _ -> ConcurrentHashMap.newKeySet()).add(playerId);
+                }
+            }
+            rank(daily, playerId, stats, day, LeaderboardWindow.DAILY);
+            rank(weekly, playerId, stats, day, LeaderboardWindow.WEEKLY);
+
+            // A roll that started before the player was ranked may have missed them
+            long rolled = currentDay;
+            if (rolled <= day) {
+                return;
+            }
+            day = rolled;
+        }
+    }
+
+    /**
+     * Moves the windows forward to {@code today}. Cheap when the day has not changed.
+     *
+     * @param today the current epoch day.
+     */
+    public void rollTo(long today) {
+        if (today <= currentDay) {
+            return;
+        }
+        synchronized (this) {
+            if (today <= currentDay) {
+                return;
+            }
+            // Published first: an update that still ranked for the old day sees it afterwards and ranks
+            // again, or else ranked early enough to be among the players re-ranked below
+            currentDay = today;
+
+            // Days that left the weekly window: their winners lose those wins
+            Set<String> expired = new HashSet<>();
+            for (Map.Entry<Long, Set<String>> day : winnersByDay.entrySet()) {
+                if (day.getKey() <= today - PlayerStats.WINDOW_DAYS) {
+                    expired.addAll(day.getValue());
+                    winnersByDay.remove(day.getKey());
+                }
+            }
+            for (String playerId : expired) {
+                rerank(weekly, playerId, today, LeaderboardWindow.WEEKLY);
+            }
+
+            // Yesterday's daily ranking drops out, apart from whoever already won today
+            Set<String> candidates = new HashSet<>(daily.playerIds());
+            candidates.addAll(winnersByDay.getOrDefault(today, Set.of()));
+            for (String playerId : candidates) {
+                rerank(daily, playerId, today, LeaderboardWindow.DAILY);
+            }
+        }
+    }
+
+    private void rerank(LeaderboardIndex index, String playerId, long today, LeaderboardWindow window) {
+        PlayerStats stats = playerStats.computeIfPresent(playerId, (_, current) -> {
+            rank(index, playerId, current, today, window);
+            return current;
+        });
+        if (stats == null) {
+            index.remove(playerId);
+        }
+    }
+
+    private static void rank(LeaderboardIndex index, String playerId, PlayerStats stats, long today, LeaderboardWindow window) {
+        long wins = stats.getWinsInLastDays(today, window.days());
+        if (wins > 0) {
+            index.update(playerId, stats, wins);
+        } else {
+            index.remove(playerId);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.eleven.pet.server.metrics;
+
+import com.eleven.pet.shared.util.LatencyHistogram;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the server's latency histograms and counters, rendered in the Prometheus text format.
+ * <p>
+ * The submission phases and outcomes are fixed enums, so the hot path reaches its histogram or
+ * counter with an array lookup and records without allocating. Endpoint histograms are created on
+ * the first request to each route and looked up by the route's (interned) pattern afterwards.
+ * </p>
+ */
+@Component
+public class Metrics {
+    /**
+     * Timed steps of a score submission.
+     */
+    public enum Phase {
+        /**
+         * Checking the HMAC signature of the raw body.
+         */
+        HMAC_VERIFY,
+        /**
+         * Decoding the body into entries.
+         */
+        PARSE,
+        /**
+         * Updating the player's stats, including the rankings.
+         */
+        STATS_COMPUTE,
+        /**
+         * Updating the rankings (all-time, windows, per game), a part of {@link #STATS_COMPUTE}.
+         */
+        RANKING,
+        /**
+         * Waiting for the journal to make the wins durable.
+         */
+        JOURNAL_WAIT
+    }
+
+    /**
+     * How a score submission ended.
+     */
+    public enum Outcome {
+        ACCEPTED,
+        /**
+         * Unknown player or wrong signature.
+         */
+        FORBIDDEN,
+        /**
+         * Malformed, too large or outside the accepted time window.
+         */
+        REJECTED,
+        /**
+         * Over the player's rate limit.
+         */
+        THROTTLED,
+        /**
+         * Replay of an accepted submission.
+         */
+        DUPLICATE,
+        /**
+         * Sent on to the node owning the player.
+         */
+        FORWARDED,
+        /**
+         * Failed with an internal error.
+         */
+        FAILED
+    }
+
+    // Bucket bounds of the exported histograms, in seconds
+    private static final double[] EXPORTED_BOUNDS = {
+            0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005,
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05,
+            0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    /**
+     * Label shared by all requests with a method outside the standard ones.
+     */
+    public static final String OTHER_METHOD = "OTHER";
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+    // Method -> route pattern -> latency
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, LatencyHistogram>> endpoints = new ConcurrentHashMap<>();
+
+    public Metrics() {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param phase a step of the submission path.
+     * @return the histogram timing that step.
+     */
+    public LatencyHistogram phase(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Counts a finished submission.
+     *
+     * @param outcome how the submission ended.
+     */
+    public void count(Outcome outcome) {
+        outcomes[outcome.ordinal()].increment();
+    }
+
+    /**
+     * @param outcome how submissions ended.
+     * @return the number of submissions that ended that way.
+     */
+    public long total(Outcome outcome) {
+        return outcomes[outcome.ordinal()].sum();
+    }
+
+    /**
+     * @param method  the HTTP method of the request; methods other than the standard ones share
+     *                the label {@value #OTHER_METHOD}, so clients cannot create histograms at will.
+     * @param pattern the route pattern that handled the request, e.g. {@code /api/v1/leaderboard/{gameName}}.
+     * @return the histogram timing that endpoint.
+     */
+    public LatencyHistogram endpoint(String method, String pattern) {
+        method = switch (method) {
+            case "GET", "POST", "PUT", "DELETE", "HEAD", "OPTIONS", "PATCH" -> method;
+            case null, default -> OTHER_METHOD;
+        };
+        ConcurrentHashMap<String, LatencyHistogram> byPattern = endpoints.get(method);
+        if (byPattern == null) {
+            byPattern = endpoints.computeIfAbsent(method, _ -> new ConcurrentHashMap<>());
+        }
+        LatencyHistogram histogram = byPattern.get(pattern);
+        return histogram != null ? histogram : byPattern.computeIfAbsent(pattern, _ -> new LatencyHistogram());
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format (version 0.0.4).
+     *
+     * @return the exposition text.
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+
+        out.append("# HELP bjorni_http_request_duration_seconds Time to handle an API request.\n");
+        out.append("# TYPE bjorni_http_request_duration_seconds histogram\n");
+        endpoints.forEach((method, byPattern) -> byPattern.forEach((pattern, histogram) ->
+                appendHistogram(out, "bjorni_http_request_duration_seconds",
+                        "method=\"" + method + "\",uri=\"" + escape(pattern) + "\"", histogram)));
+
+        out.append("# HELP bjorni_submission_phase_duration_seconds Time spent in each step of a score submission.\n");
+        out.append("# TYPE bjorni_submission_phase_duration_seconds histogram\n");
+        for (Phase phase : Phase.values()) {
+            appendHistogram(out, "bjorni_submission_phase_duration_seconds",
+                    "phase=\"" + phase.name().toLowerCase(Locale.ROOT) + "\"", phase(phase));
+        }
+
+        out.append("# HELP bjorni_submissions_total Score submissions by outcome.\n");
+        out.append("# TYPE bjorni_submissions_total counter\n");
+        for (Outcome outcome : Outcome.values()) {
+            out.append("bjorni_submissions_total{outcome=\"").append(outcome.name().toLowerCase(Locale.ROOT))
+                    .append("\"} ").append(total(outcome)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void appendHistogram(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        long[] counts = histogram.counts();
+        long cumulative = 0;
+        int bucket = 0;
+        for (double bound : EXPORTED_BOUNDS) {
+            long boundNanos = (long) (bound * 1e9);
+            // A bucket is included once all of its values are within the bound
+            while (bucket < counts.length && LatencyHistogram.upperBound(bucket) - 1 <= boundNanos) {
+                cumulative += counts[bucket++];
+            }
+            out.append(name).append("_bucket{").append(labels).append(",le=\"").append(bound).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        long total = cumulative;
+        while (bucket < counts.length) {
+            total += counts[bucket++];
+        }
+        out.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(total).append('\n');
+        out.append(name).append("_sum{").append(labels).append("} ").append(histogram.sumNanos() / 1e9).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(total).append('\n');
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
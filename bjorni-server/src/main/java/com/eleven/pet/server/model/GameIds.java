@@ -0,0 +1,100 @@
+package com.eleven.pet.server.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide table mapping game names to small integer IDs.
+ * <p>
+ * {@link PlayerStats} counts wins per game ID instead of per {@link String}, so each player stores
+ * a few ints rather than a map of boxed counters. IDs never change once assigned.
+ * </p>
+ * Game names come from client requests, so only the known games configured in
+ * {@code bjorni.games.names} get an ID, through {@link #register(Collection)} at startup. Every other
+ * name, including a missing one, is counted as {@link #OTHER}, so junk names cannot grow the table.
+ */
+public final class GameIds {
+    /**
+     * Maximum number of distinct game names, including {@link #OTHER}.
+     */
+    public static final int MAX_GAMES = 1024;
+
+    /**
+     * Name shared by games without a name and by names that are not known games.
+     */
+    public static final String OTHER = "Unknown";
+
+    // Assigned first, in the static initializer
+    private static final int OTHER_ID = 0;
+
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[16];
+    private static int count;
+
+    static {
+        assign(OTHER);
+    }
+
+    private GameIds() {
+    }
+
+    /**
+     * Adds known games. Names that are already known keep their ID.
+     *
+     * @param names the game names (e.g., "TimingGame").
+     * @throws IllegalArgumentException if there would be more than {@link #MAX_GAMES} games.
+     */
+    public static synchronized void register(Collection<String> names) {
+        long unknown = names.stream().filter(name -> !ids.containsKey(name)).distinct().count();
+        if (count + unknown > MAX_GAMES) {
+            throw new IllegalArgumentException("At most " + (MAX_GAMES - 1) + " games can be registered");
+        }
+        names.forEach(GameIds::assign);
+    }
+
+    /**
+     * Returns the ID under which wins in a game are counted. Never assigns a new ID.
+     *
+     * @param name the game name from a request, may be {@code null}.
+     * @return the game's ID, or the ID of {@link #OTHER} if it is not a known game.
+     */
+    public static int idOf(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id != null ? id : OTHER_ID;
+    }
+
+    /**
+     * Looks up the ID of a game without assigning one, e.g. for names from read-only requests.
+     *
+     * @param name the game name.
+     * @return the game ID, or {@code -1} if it is not a known game.
+     */
+    public static int find(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param id a game ID returned by {@link #idOf(String)}.
+     * @return the name of the game.
+     */
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    // Callers hold the class lock
+    private static void assign(String name) {
+        if (ids.containsKey(name)) {
+            return;
+        }
+        int id = count++;
+        String[] current = names;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = name;
+        names = current; // Publish the name before the ID becomes visible
+        ids.put(name, id);
+    }
+}
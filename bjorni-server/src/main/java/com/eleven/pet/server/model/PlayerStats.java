@@ -1,17 +1,46 @@
 package com.eleven.pet.server.model;
 
-import lombok.Data;
-
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
-@Data
+/**
+ * Aggregated leaderboard stats of one player.
+ * <p>
+ * Wins per game are kept in a single {@code int[]} of {@code [gameId, wins]} pairs (see {@link GameIds}),
+ * and the most played game is cached and updated by {@link #recordWin(String)}, so reading the
+ * leaderboard never scans or boxes anything.
+ * </p>
+ * <p>
+ * Wins of the last {@link #WINDOW_DAYS} UTC days are counted in a ring of day buckets, which feeds the
+ * daily and weekly leaderboards. The ring has a fixed size, so memory per player stays bounded however
+ * long they play.
+ * </p>
+ * <strong>Concurrency Note:</strong> Writers must be serialized per player (e.g., inside
+ * {@code ConcurrentHashMap.compute}). Readers need no lock: all fields are volatile and the
+ * counter array is replaced, never resized in place, so a reader always sees a consistent array.
+ * The day buckets are the exception: they are updated in place, so the windowed counts should be
+ * read under the same serialization as the writes.
+ */
 public class PlayerStats {
-    public String playerName;
-    public long totalWins;
-    public long lastTimestamp;
+    /**
+     * Number of days covered by the day buckets.
+     */
+    public static final int WINDOW_DAYS = 7;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
 
-    Map<String, Integer> gameFrequency = new HashMap<>(); // To track "Top Played Game"
+    private volatile String playerName;
+    private volatile long totalWins;
+    private volatile long lastTimestamp;
+
+    // [gameId0, wins0, gameId1, wins1, ...] - players only play a handful of games
+    private volatile int[] gameWins = new int[0];
+    private volatile int topGameIndex = -1;
+
+    // Wins per UTC day; the bucket of epoch day d is dayWins[d % WINDOW_DAYS] while d > newestDay - WINDOW_DAYS
+    private final int[] dayWins = new int[WINDOW_DAYS];
+    private volatile long newestDay;
 
     public PlayerStats(String playerName) {
         this.playerName = playerName;
@@ -19,15 +48,103 @@ public class PlayerStats {
         this.lastTimestamp = System.currentTimeMillis();
     }
 
+    /**
+     * Rebuilds stats from persisted values.
+     *
+     * @param playerName    the display name of the player.
+     * @param totalWins     the lifetime number of wins.
+     * @param lastTimestamp the time of the last win in milliseconds since the Unix Epoch.
+     * @param gameFrequency wins per game name.
+     * @return the restored stats.
+     */
+    public static PlayerStats restore(String playerName, long totalWins, long lastTimestamp, Map<String, Integer> gameFrequency) {
+        return restore(playerName, totalWins, lastTimestamp, gameFrequency, 0, new int[0]);
+    }
+
+    /**
+     * Rebuilds stats from persisted values, including the day buckets.
+     *
+     * @param newestDay     the epoch day of the last element of {@code recentDayWins}.
+     * @param recentDayWins wins per day, oldest first, as returned by {@link #getRecentDayWins()};
+     *                      only the last {@link #WINDOW_DAYS} elements are used.
+     * @see #restore(String, long, long, Map)
+     */
+    public static PlayerStats restore(String playerName, long totalWins, long lastTimestamp, Map<String, Integer> gameFrequency,
+                                      long newestDay, int[] recentDayWins) {
+        PlayerStats stats = new PlayerStats(playerName);
+        gameFrequency.forEach((game, wins) -> stats.addWins(GameIds.idOf(game), wins));
+        stats.totalWins = totalWins;
+        stats.lastTimestamp = lastTimestamp;
+        stats.newestDay = newestDay;
+        for (int i = 0; i < Math.min(recentDayWins.length, WINDOW_DAYS); i++) {
+            long day = newestDay - i;
+            stats.dayWins[Math.floorMod(day, WINDOW_DAYS)] = recentDayWins[recentDayWins.length - 1 - i];
+        }
+        return stats;
+    }
+
+    /**
+     * @param timestamp a time in milliseconds since the Unix Epoch.
+     * @return the number of whole UTC days between the Unix Epoch and {@code timestamp}.
+     */
+    public static long epochDay(long timestamp) {
+        return Math.floorDiv(timestamp, MILLIS_PER_DAY);
+    }
+
     /**
      * Records a win for the player in a specific game.
      *
-     * @param game The name of the game in which the player won.
+     * @param game The name of the game in which the player won; wins in games that are not known
+     *             to {@link GameIds} are counted as {@link GameIds#OTHER}.
      */
     public void recordWin(String game) {
-        this.totalWins++;
-        this.gameFrequency.merge(game, 1, Integer::sum);
-        this.lastTimestamp = System.currentTimeMillis();
+        long now = System.currentTimeMillis();
+        addWins(GameIds.idOf(game), 1);
+        addDayWin(epochDay(now));
+        this.lastTimestamp = now;
+        this.totalWins++; // Written last, so a reader seeing the new total also sees the counters
+    }
+
+    private void addDayWin(long day) {
+        long newest = newestDay;
+        if (day > newest) {
+            // Clear the buckets of the days skipped since the last win, at most the whole ring
+            for (long d = Math.max(newest + 1, day - WINDOW_DAYS + 1); d <= day; d++) {
+                dayWins[Math.floorMod(d, WINDOW_DAYS)] = 0;
+            }
+            newestDay = day;
+        } else if (day <= newest - WINDOW_DAYS) {
+            return; // The clock went back by more than the window
+        }
+        dayWins[Math.floorMod(day, WINDOW_DAYS)]++;
+    }
+
+    private void addWins(int gameId, int wins) {
+        int[] counters = gameWins;
+        int index = indexOf(counters, gameId);
+        if (index < 0) {
+            index = counters.length;
+            counters = Arrays.copyOf(counters, counters.length + 2);
+            counters[index] = gameId;
+            counters[index + 1] = wins;
+            gameWins = counters;
+        } else {
+            counters[index + 1] += wins;
+        }
+
+        int top = topGameIndex;
+        if (top < 0 || counters[index + 1] > counters[top + 1]) {
+            topGameIndex = index;
+        }
+    }
+
+    private static int indexOf(int[] counters, int gameId) {
+        for (int i = 0; i < counters.length; i += 2) {
+            if (counters[i] == gameId) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -36,9 +153,94 @@ public class PlayerStats {
      * @return The name of the top played game, or "Unknown" if no games have been played.
      */
     public String getTopPlayedGame() {
-        return gameFrequency.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("Unknown");
+        int top = topGameIndex;
+        int[] counters = gameWins;
+        return top < 0 || top >= counters.length ? GameIds.OTHER : GameIds.nameOf(counters[top]);
+    }
+
+    /**
+     * @param game the name of the game.
+     * @return the player's wins in that game.
+     */
+    public int getGameWins(String game) {
+        return getGameWins(GameIds.idOf(game));
+    }
+
+    /**
+     * @param gameId a game ID from {@link GameIds}.
+     * @return the number of wins in that game.
+     */
+    public int getGameWins(int gameId) {
+        int[] counters = gameWins;
+        int index = indexOf(counters, gameId);
+        return index < 0 ? 0 : counters[index + 1];
+    }
+
+    /**
+     * Builds a map of wins per game name. Intended for persistence, not for the request path.
+     *
+     * @return a new map of game name to wins.
+     */
+    public Map<String, Integer> getGameFrequency() {
+        int[] counters = gameWins;
+        Map<String, Integer> frequency = HashMap.newHashMap(counters.length / 2);
+        for (int i = 0; i < counters.length; i += 2) {
+            frequency.put(GameIds.nameOf(counters[i]), counters[i + 1]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts the wins of the last {@code days} UTC days, today included.
+     *
+     * @param today the current epoch day (see {@link #epochDay(long)}).
+     * @param days  the length of the window, at most {@link #WINDOW_DAYS}.
+     * @return the wins from day {@code today - days + 1} to {@code today}.
+     */
+    public long getWinsInLastDays(long today, int days) {
+        long newest = newestDay;
+        long from = Math.max(today - days + 1, newest - WINDOW_DAYS + 1);
+        long wins = 0;
+        for (long day = from; day <= Math.min(today, newest); day++) {
+            wins += dayWins[Math.floorMod(day, WINDOW_DAYS)];
+        }
+        return wins;
+    }
+
+    /**
+     * @return the epoch day of the newest day bucket.
+     */
+    public long getNewestDay() {
+        return newestDay;
+    }
+
+    /**
+     * Copies the day buckets for persistence.
+     *
+     * @return {@link #WINDOW_DAYS} counters, oldest first, the last one for {@link #getNewestDay()}.
+     */
+    public int[] getRecentDayWins() {
+        long newest = newestDay;
+        int[] recent = new int[WINDOW_DAYS];
+        for (int i = 0; i < WINDOW_DAYS; i++) {
+            recent[WINDOW_DAYS - 1 - i] = dayWins[Math.floorMod(newest - i, WINDOW_DAYS)];
+        }
+        return recent;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public long getTotalWins() {
+        return totalWins;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.eleven.pet.server.nio;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Pool of direct read buffers owned by one event loop, so it needs no synchronization.
+ * <p>
+ * A connection holds a buffer only while a request is partially received, so idle keep-alive
+ * connections cost no buffer memory, and the socket reads straight into direct memory without
+ * the JDK's temporary copy.
+ * </p>
+ */
+final class BufferPool {
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+    /**
+     * @param bufferSize the capacity of each buffer.
+     * @param maxPooled  the number of free buffers kept; more are left to the garbage collector.
+     */
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = free.pollLast();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void release(ByteBuffer buffer) {
+        if (free.size() < maxPooled) {
+            buffer.clear();
+            free.addLast(buffer);
+        }
+    }
+}
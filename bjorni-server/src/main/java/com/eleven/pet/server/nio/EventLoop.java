@@ -0,0 +1,163 @@
+package com.eleven.pet.server.nio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single thread multiplexing many connections over one {@link Selector}.
+ * <p>
+ * All state of a connection is touched only by its loop. Other threads hand work to the loop with
+ * {@link #execute(Runnable)}, e.g. a response completed on a worker thread.
+ * </p>
+ */
+final class EventLoop implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(EventLoop.class);
+    // Free read buffers kept per loop, enough for bursts of partially received requests
+    private static final int MAX_POOLED_BUFFERS = 1024;
+    // Longest time between two sweeps for idle connections
+    private static final long MAX_SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final Selector selector;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final BufferPool bufferPool;
+    private final RequestHandler handler;
+    private final int maxHeaderBytes;
+    private final int maxBodyBytes;
+    private final long idleTimeoutNanos;
+    private final long sweepIntervalMillis;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param idleTimeoutMillis how long a connection may go without reading or writing while no
+     *                          response is pending, {@code 0} to keep idle connections open.
+     */
+    EventLoop(String name, RequestHandler handler, int bufferSize, int maxBodyBytes, long idleTimeoutMillis) throws IOException {
+        this.selector = Selector.open();
+        this.handler = handler;
+        this.bufferPool = new BufferPool(bufferSize, MAX_POOLED_BUFFERS);
+        this.maxHeaderBytes = bufferSize; // The header block has to fit into one read buffer
+        this.maxBodyBytes = maxBodyBytes;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.sweepIntervalMillis = idleTimeoutMillis > 0 ? Math.clamp(idleTimeoutMillis / 2, 1, MAX_SWEEP_INTERVAL_MILLIS) : 0;
+        this.thread = Thread.ofPlatform().name(name).daemon(true).unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Runs {@code task} on this loop: immediately if called from it, otherwise on its next turn.
+     */
+    void execute(Runnable task) {
+        if (Thread.currentThread() == thread) {
+            task.run();
+        } else {
+            tasks.add(task);
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Takes over an accepted connection.
+     */
+    void register(SocketChannel channel) {
+        execute(() -> {
+            try {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new NioConnection(channel, key, this, handler, bufferPool, maxHeaderBytes, maxBodyBytes));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to register connection: {}", e.getMessage());
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        try {
+            long nextSweep = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sweepIntervalMillis);
+            while (running) {
+                // A failing task or connection must not take the loop and all its other connections down
+                selector.select(sweepIntervalMillis);
+                for (Runnable task; (task = tasks.poll()) != null; ) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.error("Task on event loop {} failed", thread.getName(), e);
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    NioConnection connection = (NioConnection) key.attachment();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    try {
+                        if (key.isWritable()) {
+                            connection.onWritable();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            connection.onReadable();
+                        }
+                    } catch (RuntimeException e) {
+                        log.error("Closing connection after an error on event loop {}", thread.getName(), e);
+                        connection.close();
+                    }
+                }
+                if (sweepIntervalMillis > 0 && System.nanoTime() - nextSweep >= 0) {
+                    closeIdleConnections();
+                    nextSweep = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sweepIntervalMillis);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                log.error("Event loop {} failed", thread.getName(), e);
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    /**
+     * Closes the connections that waited longer than the idle timeout on their client, e.g. one that
+     * sent only part of a request and so holds a read buffer.
+     */
+    private void closeIdleConnections() {
+        long idleSince = System.nanoTime() - idleTimeoutNanos;
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof NioConnection connection) {
+                connection.closeIfIdleSince(idleSince);
+            }
+        }
+    }
+
+    void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to do with a failed close
+        }
+    }
+}
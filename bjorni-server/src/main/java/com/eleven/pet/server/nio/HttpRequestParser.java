@@ -0,0 +1,163 @@
+package com.eleven.pet.server.nio;
+
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Incremental parser of HTTP/1.1 requests with a {@code Content-Length} body, one per connection.
+ * <p>
+ * {@link #parse(ByteBuffer)} consumes bytes from a read buffer and returns each request as soon as
+ * it is complete, so several pipelined requests in one read come out one after another. The header
+ * block must fit into the read buffer; a body is copied into its own array as it arrives, so large
+ * bodies never grow the pooled buffers. The array starts small and doubles as bytes arrive, ending at
+ * exactly the body's length, so a {@code Content-Length} alone cannot make the parser allocate.
+ * </p>
+ * Chunked request bodies are not supported and answered with {@code 411 Length Required}.
+ */
+final class HttpRequestParser {
+    /**
+     * A request the parser cannot accept. The connection is answered with {@code status} and closed.
+     */
+    static final class BadRequestException extends RuntimeException {
+        final int status;
+
+        BadRequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int INITIAL_BODY_BYTES = 8 * 1024;
+
+    private final int maxHeaderBytes;
+    private final int maxBodyBytes;
+
+    // Request whose headers were parsed while its body is still arriving
+    private NioRequest head;
+    private byte[] body;
+    private int bodyLength;
+    private int bodyRead;
+    // Bytes of the current header block already searched for its end
+    private int scanned;
+
+    /**
+     * @param maxHeaderBytes the largest header block, at most the capacity of the read buffer.
+     * @param maxBodyBytes   the largest body.
+     */
+    HttpRequestParser(int maxHeaderBytes, int maxBodyBytes) {
+        this.maxHeaderBytes = maxHeaderBytes;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Parses the next request from {@code buffer}, which is in read mode.
+     *
+     * @return the request, or {@code null} if more bytes are needed; the consumed bytes are removed
+     * from the buffer either way.
+     * @throws BadRequestException if the request is malformed or too large.
+     */
+    NioRequest parse(ByteBuffer buffer) {
+        if (head == null) {
+            int end = headerEnd(buffer);
+            if (end < 0) {
+                if (buffer.remaining() >= maxHeaderBytes) {
+                    throw new BadRequestException(431, "Request header fields too large");
+                }
+                return null;
+            }
+            byte[] headerBytes = new byte[end];
+            buffer.get(headerBytes);
+            scanned = 0;
+            head = parseHead(new String(headerBytes, StandardCharsets.ISO_8859_1));
+            long length = contentLength(head.headers());
+            if (length > maxBodyBytes) {
+                head = null;
+                throw new BadRequestException(413, "Request body too large");
+            }
+            bodyLength = (int) length;
+            body = length == 0 ? EMPTY : new byte[Math.min(bodyLength, INITIAL_BODY_BYTES)];
+            bodyRead = 0;
+        }
+
+        while (buffer.hasRemaining() && bodyRead < bodyLength) {
+            if (bodyRead == body.length) {
+                body = Arrays.copyOf(body, (int) Math.min(bodyLength, 2L * body.length));
+            }
+            int n = Math.min(buffer.remaining(), body.length - bodyRead);
+            buffer.get(body, bodyRead, n);
+            bodyRead += n;
+        }
+        if (bodyRead < bodyLength) {
+            return null;
+        }
+        NioRequest request = new NioRequest(head.method(), head.path(), head.query(), head.headers(), body, head.keepAlive());
+        head = null;
+        body = null;
+        return request;
+    }
+
+    /**
+     * @return the length of the header block including the blank line, or {@code -1} if incomplete.
+     */
+    private int headerEnd(ByteBuffer buffer) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        // Resume where the last search stopped, backing up over a possibly split CRLFCRLF
+        for (int i = start + Math.max(scanned - 3, 0); i + 3 < limit; i++) {
+            if (buffer.get(i) == '\r' && buffer.get(i + 1) == '\n' && buffer.get(i + 2) == '\r' && buffer.get(i + 3) == '\n') {
+                return i + 4 - start;
+            }
+        }
+        scanned = limit - start;
+        return -1;
+    }
+
+    private static NioRequest parseHead(String text) {
+        String[] lines = text.split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+            throw new BadRequestException(400, "Malformed request line");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon <= 0) {
+                throw new BadRequestException(400, "Malformed header line");
+            }
+            headers.add(lines[i].substring(0, colon).trim(), lines[i].substring(colon + 1).trim());
+        }
+        if (headers.getFirst(HttpHeaders.TRANSFER_ENCODING) != null) {
+            throw new BadRequestException(411, "Chunked request bodies are not supported");
+        }
+
+        String connection = headers.getFirst(HttpHeaders.CONNECTION);
+        boolean keepAlive = requestLine[2].equals("HTTP/1.1")
+                ? !"close".equalsIgnoreCase(connection)
+                : "keep-alive".equalsIgnoreCase(connection);
+        String target = requestLine[1];
+        int question = target.indexOf('?');
+        String path = question < 0 ? target : target.substring(0, question);
+        String query = question < 0 ? null : target.substring(question + 1);
+        return new NioRequest(requestLine[0], path, query, headers, EMPTY, keepAlive);
+    }
+
+    private static long contentLength(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            long length = Long.parseLong(value);
+            if (length < 0) {
+                throw new NumberFormatException(value);
+            }
+            return length;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(400, "Malformed Content-Length");
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.eleven.pet.server.nio;
+
+import com.eleven.pet.server.cluster.ShardRouter;
+import com.eleven.pet.server.controller.AuthController;
+import com.eleven.pet.server.controller.ScoreController;
+import com.eleven.pet.server.leaderboard.LeaderboardWindow;
+import com.eleven.pet.server.metrics.Metrics;
+import com.eleven.pet.shared.util.SignedRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Maps the leaderboard API onto the {@link NioHttpServer}, calling the same controller methods as
+ * the servlet endpoints.
+ * <p>
+ * Reads of a single node only touch in-memory rankings and cached snapshots, so they are answered
+ * directly on the event loop. Everything that may wait (submissions and registrations on the
+ * journal's fsync, requests to other cluster nodes) runs on a virtual thread, bounded by
+ * {@code bjorni.concurrency.max-requests} like the servlet stack's {@code ConcurrencyLimitFilter};
+ * when no permit is free the request is answered with 503 right away, as the loop cannot wait.
+ * </p>
+ * The {@code /stream} endpoint needs the servlet stack's async support and is not offered here.
+ */
+public class LeaderboardRoutes implements RequestHandler {
+    private static final String LEADERBOARD = "/api/v1/leaderboard";
+    private static final String REGISTER = "/api/v1/auth/register";
+    private static final String METRICS = "/metrics";
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    private final ScoreController scoreController;
+    private final AuthController authController;
+    private final ShardRouter shardRouter;
+    private final Metrics metrics;
+    private final Executor blockingExecutor;
+    private final Semaphore permits;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    /**
+     * @param blockingExecutor runs the handlers that may block.
+     * @param maxBlocking      the number of blocking handlers running at once, {@code 0} for no bound.
+     */
+    public LeaderboardRoutes(ScoreController scoreController, AuthController authController, ShardRouter shardRouter,
+                             Metrics metrics, Executor blockingExecutor, int maxBlocking) {
+        this.scoreController = scoreController;
+        this.authController = authController;
+        this.shardRouter = shardRouter;
+        this.metrics = metrics;
+        this.blockingExecutor = blockingExecutor;
+        this.permits = maxBlocking > 0 ? new Semaphore(maxBlocking) : null;
+    }
+
+    @Override
+    public void handle(NioRequest request, Consumer<NioResponse> respond) {
+        String method = request.method();
+        String path = request.path();
+        try {
+            if (path.equals(METRICS)) {
+                requireGet(method);
+                respond.accept(new NioResponse(200, contentType(PROMETHEUS_TEXT), metrics.toPrometheus().getBytes(StandardCharsets.UTF_8)));
+            } else if (path.equals(REGISTER)) {
+                requirePost(method);
+                blocking(request, REGISTER, respond, () -> ResponseEntity.ok(authController.register()));
+            } else if (path.equals(LEADERBOARD) || path.startsWith(LEADERBOARD + "/")) {
+                leaderboard(request, path.substring(LEADERBOARD.length()), respond);
+            } else {
+                respond.accept(text(HttpStatus.NOT_FOUND, "404 Not Found"));
+            }
+        } catch (RouteException e) {
+            respond.accept(text(e.status, e.getMessage()));
+        }
+    }
+
+    private void leaderboard(NioRequest request, String rest, Consumer<NioResponse> respond) {
+        if (request.method().equals("POST")) {
+            boolean batch = rest.equals("/batch");
+            if (!batch && !rest.isEmpty()) {
+                throw new RouteException(HttpStatus.METHOD_NOT_ALLOWED, "405 Method Not Allowed");
+            }
+            String signature = requiredHeader(request, SignedRequest.SIGNATURE_HEADER);
+            String playerId = requiredHeader(request, SignedRequest.PLAYER_ID_HEADER);
+            String requestTimestamp = requiredHeader(request, SignedRequest.TIMESTAMP_HEADER);
+            String nonce = requiredHeader(request, SignedRequest.NONCE_HEADER);
+            blocking(request, LEADERBOARD + rest, respond, () -> scoreController.submit(batch, signature, playerId,
+                    requestTimestamp, nonce, request.header(HttpHeaders.CONTENT_TYPE), request.path(), isForwarded(request),
+                    maxBytes -> request.body().length > maxBytes ? null : request.body()));
+            return;
+        }
+        requireGet(request.method());
+
+        String ifNoneMatch = request.header(HttpHeaders.IF_NONE_MATCH);
+        boolean clustered = shardRouter.isClustered();
+        if (rest.isEmpty()) {
+            int limit = intParam(request, "limit", 10);
+            String window = param(request, "window", "all");
+            String accept = request.header(HttpHeaders.ACCEPT);
+            route(request, LEADERBOARD, clustered || isTimeWindow(window), respond,
+                    () -> scoreController.getScores(limit, window, ifNoneMatch, accept));
+        } else if (rest.equals("/local")) {
+            int limit = intParam(request, "limit", 10);
+            String window = param(request, "window", "all");
+            String accept = request.header(HttpHeaders.ACCEPT);
+            route(request, LEADERBOARD + "/local", isTimeWindow(window), respond,
+                    () -> scoreController.getLocalScores(limit, window, ifNoneMatch, accept));
+        } else if (rest.equals("/stream")) {
+            throw new RouteException(HttpStatus.NOT_IMPLEMENTED, "501 Not Implemented: Live updates are only served by the servlet front end.");
+        } else if (rest.equals("/rank/above")) {
+            String wins = queryParam(request, "wins");
+            if (wins == null) {
+                throw new RouteException(HttpStatus.BAD_REQUEST, "400 Bad Request: Missing parameter 'wins'.");
+            }
+            long parsed = parseLong(wins);
+            route(request, LEADERBOARD + "/rank/above", false, respond, () -> ResponseEntity.ok(scoreController.countAbove(parsed)));
+        } else if (rest.startsWith("/rank/")) {
+            String playerId = segment(rest.substring("/rank/".length()));
+            int neighbours = intParam(request, "neighbours", 2);
+            route(request, LEADERBOARD + "/rank/{playerId}", clustered, respond,
+                    () -> scoreController.rank(playerId, neighbours, isForwarded(request), request.pathAndQuery()));
+        } else if (rest.startsWith("/local/")) {
+            String gameName = segment(rest.substring("/local/".length()));
+            int limit = intParam(request, "limit", 10);
+            route(request, LEADERBOARD + "/local/{gameName}", false, respond, () -> scoreController.getLocalGameScores(gameName, limit, ifNoneMatch));
+        } else {
+            String gameName = segment(rest.substring(1));
+            int limit = intParam(request, "limit", 10);
+            route(request, LEADERBOARD + "/{gameName}", clustered, respond, () -> scoreController.getGameScores(gameName, limit, ifNoneMatch));
+        }
+    }
+
+    /**
+     * Runs a handler on the event loop, or on a virtual thread if it may block.
+     */
+    private void route(NioRequest request, String pattern, boolean mayBlock, Consumer<NioResponse> respond,
+                       Supplier<ResponseEntity<?>> handler) {
+        if (mayBlock) {
+            blocking(request, pattern, respond, handler);
+            return;
+        }
+        long start = System.nanoTime();
+        NioResponse response = toResponse(handler);
+        metrics.endpoint(request.method(), pattern).recordSince(start);
+        respond.accept(response);
+    }
+
+    private void blocking(NioRequest request, String pattern, Consumer<NioResponse> respond, Supplier<ResponseEntity<?>> handler) {
+        if (permits != null && !permits.tryAcquire()) {
+            NioResponse busy = text(HttpStatus.SERVICE_UNAVAILABLE, "503 Service Unavailable: The server is busy, please retry.");
+            busy.headers().set(HttpHeaders.RETRY_AFTER, "1");
+            respond.accept(busy);
+            return;
+        }
+        long start = System.nanoTime();
+        blockingExecutor.execute(() -> {
+            try {
+                NioResponse response = toResponse(handler);
+                metrics.endpoint(request.method(), pattern).recordSince(start);
+                respond.accept(response);
+            } finally {
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Converts a controller result the way Spring MVC would: {@code byte[]} as is, strings as
+     * plain text and other bodies as JSON.
+     */
+    private NioResponse toResponse(Supplier<ResponseEntity<?>> handler) {
+        ResponseEntity<?> entity;
+        try {
+            entity = handler.get();
+        } catch (RuntimeException e) {
+            return text(HttpStatus.INTERNAL_SERVER_ERROR, "500 Internal Server Error: An error occurred while processing the request.");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        entity.getHeaders().forEach((name, values) -> values.forEach(value -> headers.add(name, value)));
+        Object body = entity.getBody();
+        byte[] bytes;
+        if (body == null) {
+            bytes = new byte[0];
+        } else if (body instanceof byte[] raw) {
+            bytes = raw;
+        } else if (body instanceof String string) {
+            bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (headers.getContentType() == null) {
+                headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+            }
+        } else {
+            bytes = jsonMapper.writeValueAsBytes(body);
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.APPLICATION_JSON);
+            }
+        }
+        return new NioResponse(entity.getStatusCode().value(), headers, bytes);
+    }
+
+    /**
+     * @return {@code true} for a daily or weekly window, whose reads may re-rank players when the day rolls over.
+     */
+    private static boolean isTimeWindow(String window) {
+        try {
+            return LeaderboardWindow.fromParam(window) != LeaderboardWindow.ALL_TIME;
+        } catch (IllegalArgumentException e) {
+            return false; // Rejected without touching the rankings
+        }
+    }
+
+    private static boolean isForwarded(NioRequest request) {
+        return request.header(ShardRouter.FORWARDED_HEADER) != null;
+    }
+
+    private static void requireGet(String method) {
+        if (!method.equals("GET")) {
+            throw new RouteException(HttpStatus.METHOD_NOT_ALLOWED, "405 Method Not Allowed");
+        }
+    }
+
+    private static void requirePost(String method) {
+        if (!method.equals("POST")) {
+            throw new RouteException(HttpStatus.METHOD_NOT_ALLOWED, "405 Method Not Allowed");
+        }
+    }
+
+    private static String requiredHeader(NioRequest request, String name) {
+        String value = request.header(name);
+        if (value == null) {
+            throw new RouteException(HttpStatus.BAD_REQUEST, "400 Bad Request: Missing required headers.");
+        }
+        return value;
+    }
+
+    /**
+     * Decodes a query parameter, answering malformed percent-encoding with 400.
+     */
+    private static String queryParam(NioRequest request, String name) {
+        try {
+            return request.queryParam(name);
+        } catch (IllegalArgumentException e) {
+            throw new RouteException(HttpStatus.BAD_REQUEST, "400 Bad Request: Invalid encoding of the query.");
+        }
+    }
+
+    private static String param(NioRequest request, String name, String defaultValue) {
+        String value = queryParam(request, name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static int intParam(NioRequest request, String name, int defaultValue) {
+        String value = queryParam(request, name);
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new RouteException(HttpStatus.BAD_REQUEST, "400 Bad Request: Invalid parameter '" + name + "'.");
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new RouteException(HttpStatus.BAD_REQUEST, "400 Bad Request: Invalid number '" + value + "'.");
+        }
+    }
+
+    /**
+     * Decodes a single path segment; deeper paths match no route.
+     */
+    private static String segment(String raw) {
+        if (raw.isEmpty() || raw.indexOf('/') >= 0) {
+            throw new RouteException(HttpStatus.NOT_FOUND, "404 Not Found");
+        }
+        try {
+            return UriUtils.decode(raw, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RouteException(HttpStatus.BAD_REQUEST, "400 Bad Request: Invalid encoding of the path.");
+        }
+    }
+
+    private static HttpHeaders contentType(MediaType type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(type);
+        return headers;
+    }
+
+    private static NioResponse text(HttpStatus status, String message) {
+        return new NioResponse(status.value(), contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8)),
+                message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A request that matches no route or has invalid parameters.
+     */
+    private static final class RouteException extends RuntimeException {
+        final HttpStatus status;
+
+        RouteException(HttpStatus status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
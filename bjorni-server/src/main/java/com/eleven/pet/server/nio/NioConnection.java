@@ -0,0 +1,280 @@
+package com.eleven.pet.server.nio;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * One client connection of an {@link EventLoop}, touched only by that loop's thread.
+ * <p>
+ * Pipelined requests are parsed and dispatched as they arrive, so their handlers may run at the
+ * same time, but responses are written strictly in request order: each request reserves a
+ * {@link Slot}, and only the completed slots at the head of the queue are written. Once
+ * {@value #MAX_PIPELINED} responses are outstanding the connection stops reading, which pushes
+ * back on the client through TCP flow control.
+ * </p>
+ * A connection that neither reads nor writes for the idle timeout while no response is pending is
+ * closed by its loop, so clients that stop halfway through a request cannot hold buffers forever.
+ */
+final class NioConnection {
+    private static final int MAX_PIPELINED = 64;
+    // Buffers handed to one gathering write
+    private static final int MAX_GATHER = 16;
+
+    /**
+     * Position of a response in the connection's output order.
+     */
+    private static final class Slot {
+        final boolean keepAlive;
+        ByteBuffer[] data;
+
+        Slot(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+    }
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final EventLoop loop;
+    private final RequestHandler handler;
+    private final BufferPool bufferPool;
+    private final HttpRequestParser parser;
+
+    // Held only while a request is partially received
+    private ByteBuffer readBuffer;
+    private final ArrayDeque<Slot> slots = new ArrayDeque<>();
+    private final ArrayDeque<ByteBuffer> writes = new ArrayDeque<>();
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+    // No more requests are read once the client or a response asked to close
+    private boolean closing;
+    private boolean closed;
+    // Set while processBuffered runs, as handlers may complete synchronously and re-enter it
+    private boolean processing;
+    // System.nanoTime() of the last read or write
+    private long lastActive = System.nanoTime();
+
+    NioConnection(SocketChannel channel, SelectionKey key, EventLoop loop, RequestHandler handler,
+                  BufferPool bufferPool, int maxHeaderBytes, int maxBodyBytes) {
+        this.channel = channel;
+        this.key = key;
+        this.loop = loop;
+        this.handler = handler;
+        this.bufferPool = bufferPool;
+        this.parser = new HttpRequestParser(maxHeaderBytes, maxBodyBytes);
+    }
+
+    void onReadable() {
+        if (readBuffer == null) {
+            readBuffer = bufferPool.acquire();
+        }
+        int read;
+        try {
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            close();
+            return;
+        }
+        lastActive = System.nanoTime();
+        if (read < 0) {
+            // The client finished sending; answer what it already asked for, then close
+            closing = true;
+            releaseReadBuffer();
+            closeIfDone();
+            updateInterest();
+            return;
+        }
+        processBuffered();
+    }
+
+    /**
+     * Dispatches the complete requests in the read buffer, as far as the pipelining limit allows.
+     */
+    private void processBuffered() {
+        if (readBuffer == null || closed || processing) {
+            return;
+        }
+        processing = true;
+        ByteBuffer buffer = readBuffer;
+        buffer.flip();
+        try {
+            while (!closed && !closing && slots.size() < MAX_PIPELINED) {
+                NioRequest request = parser.parse(buffer);
+                if (request == null) {
+                    break;
+                }
+                dispatch(request);
+            }
+        } catch (HttpRequestParser.BadRequestException e) {
+            // The stream position is lost after a malformed request, so answer and close
+            closing = true;
+            Slot slot = new Slot(false);
+            slots.add(slot);
+            complete(slot, new NioResponse(e.status, textPlain(), (e.status + " " + e.getMessage()).getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            processing = false;
+        }
+        if (closed) {
+            return; // The buffer went back to the pool
+        }
+        buffer.compact();
+        if (buffer.position() == 0 || closing) {
+            releaseReadBuffer();
+        }
+        updateInterest();
+    }
+
+    private void dispatch(NioRequest request) {
+        Slot slot = new Slot(request.keepAlive());
+        slots.add(slot);
+        if (!request.keepAlive()) {
+            closing = true;
+        }
+        handler.handle(request, response -> loop.execute(() -> {
+            try {
+                complete(slot, response);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }));
+    }
+
+    private void complete(Slot slot, NioResponse response) {
+        if (closed) {
+            return;
+        }
+        slot.data = encode(response, slot.keepAlive);
+        while (!slots.isEmpty() && slots.peekFirst().data != null) {
+            for (ByteBuffer buffer : slots.pollFirst().data) {
+                writes.addLast(buffer);
+            }
+        }
+        write();
+        if (!closed && !closing && readBuffer != null) {
+            processBuffered(); // Requests held back by the pipelining limit
+        }
+    }
+
+    void onWritable() {
+        write();
+    }
+
+    private void write() {
+        try {
+            while (!writes.isEmpty()) {
+                int count = 0;
+                for (ByteBuffer buffer : writes) {
+                    gather[count++] = buffer;
+                    if (count == MAX_GATHER) {
+                        break;
+                    }
+                }
+                if (channel.write(gather, 0, count) > 0) {
+                    lastActive = System.nanoTime();
+                }
+                while (!writes.isEmpty() && !writes.peekFirst().hasRemaining()) {
+                    writes.pollFirst();
+                }
+                if (gather[count - 1].hasRemaining()) {
+                    break; // The socket buffer is full, wait for OP_WRITE
+                }
+            }
+        } catch (IOException e) {
+            close();
+            return;
+        } finally {
+            Arrays.fill(gather, null);
+        }
+        closeIfDone();
+        updateInterest();
+    }
+
+    private void closeIfDone() {
+        if (closing && slots.isEmpty() && writes.isEmpty()) {
+            close();
+        }
+    }
+
+    private void updateInterest() {
+        if (closed) {
+            return;
+        }
+        int ops = 0;
+        if (!closing && slots.size() < MAX_PIPELINED) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (!writes.isEmpty()) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        key.interestOps(ops);
+    }
+
+    private void releaseReadBuffer() {
+        if (readBuffer != null) {
+            bufferPool.release(readBuffer);
+            readBuffer = null;
+        }
+    }
+
+    /**
+     * Closes the connection if it has not read or written since {@code idleSince} and no handler is
+     * still working on one of its requests.
+     *
+     * @param idleSince a {@link System#nanoTime()} value.
+     */
+    void closeIfIdleSince(long idleSince) {
+        if (!closed && slots.isEmpty() && lastActive - idleSince < 0) {
+            close();
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseReadBuffer();
+        slots.clear();
+        writes.clear();
+        key.cancel();
+        EventLoop.closeQuietly(channel);
+    }
+
+    private static HttpHeaders textPlain() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, "text/plain;charset=UTF-8");
+        return headers;
+    }
+
+    /**
+     * @return the status line and headers, followed by the body as is.
+     */
+    static ByteBuffer[] encode(NioResponse response, boolean keepAlive) {
+        HttpStatus status = HttpStatus.resolve(response.status());
+        StringBuilder head = new StringBuilder(256)
+                .append("HTTP/1.1 ").append(response.status()).append(' ')
+                .append(status != null ? status.getReasonPhrase() : "Unknown").append("\r\n");
+        response.headers().forEach((name, values) -> {
+            for (String value : values) {
+                head.append(name).append(": ").append(value).append("\r\n");
+            }
+        });
+        byte[] body = response.body();
+        if (response.status() != 204 && response.status() != 304) {
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        if (!keepAlive) {
+            head.append("Connection: close\r\n");
+        }
+        head.append("\r\n");
+        ByteBuffer headBuffer = ByteBuffer.wrap(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        return body.length == 0 ? new ByteBuffer[]{headBuffer} : new ByteBuffer[]{headBuffer, ByteBuffer.wrap(body)};
+    }
+}
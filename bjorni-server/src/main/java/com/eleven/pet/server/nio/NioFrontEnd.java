@@ -0,0 +1,80 @@
+package com.eleven.pet.server.nio;
+
+import com.eleven.pet.server.cluster.ShardRouter;
+import com.eleven.pet.server.controller.AuthController;
+import com.eleven.pet.server.controller.ScoreController;
+import com.eleven.pet.server.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the API through the {@link NioHttpServer} instead of Tomcat.
+ * <p>
+ * Enabled with {@code bjorni.frontend=nio}, which the {@code nio} profile sets together with
+ * {@code spring.main.web-application-type=none}, so no servlet container is started. Handlers that
+ * may block run on virtual threads of {@link #blockingExecutor}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "bjorni.frontend", havingValue = "nio")
+public class NioFrontEnd implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(NioFrontEnd.class);
+
+    private final NioHttpServer server;
+    private final ExecutorService blockingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+
+    public NioFrontEnd(ScoreController scoreController, AuthController authController, ShardRouter shardRouter, Metrics metrics,
+                       @Value("${bjorni.nio.port:${server.port:8080}}") int port,
+                       @Value("${bjorni.nio.event-loops:0}") int eventLoops,
+                       @Value("${bjorni.nio.idle-timeout-millis:30000}") long idleTimeoutMillis,
+                       @Value("${bjorni.concurrency.max-requests:0}") int maxRequests) {
+        LeaderboardRoutes routes = new LeaderboardRoutes(scoreController, authController, shardRouter, metrics,
+                blockingExecutor, maxRequests);
+        int loops = eventLoops > 0 ? eventLoops : Runtime.getRuntime().availableProcessors();
+        try {
+            this.server = new NioHttpServer(new InetSocketAddress(port), loops,
+                    ScoreController.MAX_BODY_BYTES, idleTimeoutMillis, routes); // The largest body of any route
+        } catch (IOException e) {
+            blockingExecutor.close();
+            throw new UncheckedIOException("Failed to bind the NIO front end to port " + port, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        server.start();
+        running = true;
+        log.info("NIO front end listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        server.close();
+        // Waits for the handlers still running, e.g. submissions waiting on the journal
+        blockingExecutor.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return the port the front end listens on.
+     */
+    public int port() {
+        return server.port();
+    }
+}
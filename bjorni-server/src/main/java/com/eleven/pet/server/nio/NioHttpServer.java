@@ -0,0 +1,124 @@
+package com.eleven.pet.server.nio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Minimal non-blocking HTTP/1.1 server on plain NIO.
+ * <p>
+ * A few {@link EventLoop} threads, one per core by default, serve every connection; a connection
+ * costs a selection key and a small state object instead of a thread, so tens of thousands of
+ * mostly idle clients fit on a small machine. Reads go into pooled direct buffers, keep-alive and
+ * pipelining are supported, and response bodies are written without copying.
+ * </p>
+ * The server only speaks HTTP: routing and application logic are up to the {@link RequestHandler},
+ * which must not block the loop.
+ */
+public class NioHttpServer implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(NioHttpServer.class);
+
+    /**
+     * Capacity of the pooled read buffers, and so the largest accepted header block.
+     */
+    public static final int BUFFER_SIZE = 16 * 1024;
+    /**
+     * How long a connection may wait on its client before it is closed, unless configured otherwise.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30_000;
+    private static final int ACCEPT_BACKLOG = 4096;
+    private static final long ACCEPT_RETRY_NANOS = 10_000_000;
+
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] loops;
+    private final Thread acceptor;
+
+    /**
+     * Binds the server socket; {@link #start()} begins serving.
+     *
+     * @param address      the address to listen on; port {@code 0} picks a free port.
+     * @param eventLoops   the number of event loop threads.
+     * @param maxBodyBytes the largest request body; larger requests are answered with 413.
+     * @param handler      the application logic.
+     * @throws IOException if the address cannot be bound.
+     */
+    public NioHttpServer(InetSocketAddress address, int eventLoops, int maxBodyBytes, RequestHandler handler) throws IOException {
+        this(address, eventLoops, maxBodyBytes, DEFAULT_IDLE_TIMEOUT_MILLIS, handler);
+    }
+
+    /**
+     * Binds the server socket; {@link #start()} begins serving.
+     *
+     * @param address           the address to listen on; port {@code 0} picks a free port.
+     * @param eventLoops        the number of event loop threads.
+     * @param maxBodyBytes      the largest request body; larger requests are answered with 413.
+     * @param idleTimeoutMillis how long a connection may go without reading or writing while no
+     *                          response is pending before it is closed, {@code 0} for no limit.
+     * @param handler           the application logic.
+     * @throws IOException if the address cannot be bound.
+     */
+    public NioHttpServer(InetSocketAddress address, int eventLoops, int maxBodyBytes, long idleTimeoutMillis,
+                         RequestHandler handler) throws IOException {
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, ACCEPT_BACKLOG);
+        this.loops = new EventLoop[Math.max(eventLoops, 1)];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop("nio-loop-" + i, handler, BUFFER_SIZE, maxBodyBytes, idleTimeoutMillis);
+        }
+        this.acceptor = Thread.ofPlatform().name("nio-acceptor").daemon(true).unstarted(this::acceptLoop);
+    }
+
+    public void start() {
+        for (EventLoop loop : loops) {
+            loop.start();
+        }
+        acceptor.start();
+    }
+
+    /**
+     * @return the port the server listens on.
+     */
+    public int port() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("Server socket is closed", e);
+        }
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                // Round robin spreads connections evenly over the loops
+                loops[next].register(channel);
+                next = next + 1 == loops.length ? 0 : next + 1;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // E.g. out of file descriptors; keep serving the open connections
+                log.warn("Failed to accept connection: {}", e.getMessage());
+                LockSupport.parkNanos(ACCEPT_RETRY_NANOS);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        EventLoop.closeQuietly(serverChannel);
+        for (EventLoop loop : loops) {
+            loop.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.eleven.pet.server.nio;
+
+import org.springframework.http.HttpHeaders;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A complete HTTP/1.1 request received by the {@link NioHttpServer}.
+ *
+ * @param method    the request method, e.g. {@code GET}.
+ * @param path      the raw (still percent-encoded) path, without the query.
+ * @param query     the raw query string without {@code ?}, or {@code null}.
+ * @param headers   the request headers.
+ * @param body      the body, empty if the request has none.
+ * @param keepAlive whether the connection stays open after the response.
+ */
+public record NioRequest(String method, String path, String query, HttpHeaders headers, byte[] body, boolean keepAlive) {
+
+    /**
+     * @param name a header name, in any case.
+     * @return the first value of the header, or {@code null}.
+     */
+    public String header(String name) {
+        return headers.getFirst(name);
+    }
+
+    /**
+     * @param name the name of a query parameter.
+     * @return the decoded value of its first occurrence, or {@code null}.
+     * @throws IllegalArgumentException if the query contains malformed percent-encoding.
+     */
+    public String queryParam(String name) {
+        if (query == null) {
+            return null;
+        }
+        for (int start = 0; start <= query.length(); ) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            int separator = query.indexOf('=', start);
+            boolean hasValue = separator >= 0 && separator < end;
+            String key = URLDecoder.decode(query.substring(start, hasValue ? separator : end), StandardCharsets.UTF_8);
+            if (key.equals(name)) {
+                return hasValue ? URLDecoder.decode(query.substring(separator + 1, end), StandardCharsets.UTF_8) : "";
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * @return the path followed by the query, as sent by the client.
+     */
+    public String pathAndQuery() {
+        return query != null ? path + "?" + query : path;
+    }
+}
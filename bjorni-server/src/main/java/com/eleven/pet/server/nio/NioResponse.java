@@ -0,0 +1,17 @@
+package com.eleven.pet.server.nio;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A response to write back through the {@link NioHttpServer}.
+ * <p>
+ * {@code Content-Length} and {@code Connection} are added by the server; {@code body} is written
+ * as is, without copying, and must not be modified afterwards.
+ * </p>
+ *
+ * @param status  the HTTP status code.
+ * @param headers the response headers.
+ * @param body    the body, empty for none.
+ */
+public record NioResponse(int status, HttpHeaders headers, byte[] body) {
+}
@@ -0,0 +1,19 @@
+package com.eleven.pet.server.nio;
+
+import java.util.function.Consumer;
+
+/**
+ * Application logic behind the {@link NioHttpServer}.
+ */
+@FunctionalInterface
+public interface RequestHandler {
+    /**
+     * Handles a request. Called on an event loop thread, so it must not block: work that waits
+     * (on disk, locks or other nodes) has to be moved to another thread, which then calls
+     * {@code respond}.
+     *
+     * @param request the complete request.
+     * @param respond receives the response exactly once, from any thread.
+     */
+    void handle(NioRequest request, Consumer<NioResponse> respond);
+}
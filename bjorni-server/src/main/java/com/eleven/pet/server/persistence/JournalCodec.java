@@ -0,0 +1,199 @@
+package com.eleven.pet.server.persistence;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary framing for {@link JournalRecord}s, shared by log segments and snapshots.
+ * <p>
+ * Frame layout: {@code [int payloadLength][int crc32c(payload)][payload]}, where the payload
+ * starts with a one byte record type. A frame with a short read or a checksum mismatch marks
+ * the end of the valid data (e.g., a write torn by a crash).
+ * </p>
+ */
+final class JournalCodec {
+    private static final int HEADER_BYTES = 8;
+
+    private static final byte REGISTRATION = 1;
+    // Player state without day buckets, still read from journals written before they existed
+    private static final byte PLAYER_STATE = 2;
+    private static final byte PLAYER_STATE_WITH_DAYS = 3;
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Encodes a record into a complete frame.
+     *
+     * @param record the record to encode.
+     * @return the frame bytes, header included.
+     */
+    static byte[] encode(JournalRecord record) {
+        ByteBuffer buffer = switch (record) {
+            case JournalRecord.Registration registration -> {
+                byte[] playerId = utf8(registration.playerId());
+                byte[] secretKey = utf8(registration.secretKey());
+                ByteBuffer frame = allocateFrame(1 + sizeOf(playerId) + sizeOf(secretKey));
+                frame.put(REGISTRATION);
+                putString(frame, playerId);
+                putString(frame, secretKey);
+                yield frame;
+            }
+            case JournalRecord.PlayerState state -> {
+                byte[] playerId = utf8(state.playerId());
+                byte[] playerName = utf8(state.playerName());
+                byte[][] games = new byte[state.gameWins().size()][];
+                int[] wins = new int[games.length];
+                int size = 1 + sizeOf(playerId) + sizeOf(playerName) + Long.BYTES * 2 + Integer.BYTES
+                        + Long.BYTES + Integer.BYTES * (1 + state.recentDayWins().length);
+                int i = 0;
+                for (Map.Entry<String, Integer> game : state.gameWins().entrySet()) {
+                    games[i] = utf8(game.getKey());
+                    wins[i] = game.getValue();
+                    size += sizeOf(games[i]) + Integer.BYTES;
+                    i++;
+                }
+
+                ByteBuffer frame = allocateFrame(size);
+                frame.put(PLAYER_STATE_WITH_DAYS);
+                putString(frame, playerId);
+                putString(frame, playerName);
+                frame.putLong(state.totalWins());
+                frame.putLong(state.lastTimestamp());
+                frame.putInt(games.length);
+                for (int g = 0; g < games.length; g++) {
+                    putString(frame, games[g]);
+                    frame.putInt(wins[g]);
+                }
+                frame.putLong(state.newestDay());
+                frame.putInt(state.recentDayWins().length);
+                for (int dayWins : state.recentDayWins()) {
+                    frame.putInt(dayWins);
+                }
+                yield frame;
+            }
+        };
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, buffer.capacity() - HEADER_BYTES);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Sequential frame reader that tracks how many bytes of valid frames it has consumed.
+     */
+    static final class Reader {
+        private final DataInputStream in;
+        private long validBytes;
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the next frame.
+         *
+         * @return the decoded record, or {@code null} at a clean end of stream or at the first torn/corrupt frame.
+         * @throws IOException if the underlying stream fails.
+         */
+        JournalRecord next() throws IOException {
+            int length;
+            int checksum;
+            byte[] payload;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+                if (length <= 0) {
+                    return null;
+                }
+                payload = in.readNBytes(length);
+            } catch (EOFException e) {
+                return null;
+            }
+            if (payload.length != length) {
+                return null;
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                return null;
+            }
+
+            JournalRecord record = decode(ByteBuffer.wrap(payload));
+            if (record != null) {
+                validBytes += HEADER_BYTES + length;
+            }
+            return record;
+        }
+
+        /**
+         * @return the number of bytes occupied by the frames returned so far.
+         */
+        long validBytes() {
+            return validBytes;
+        }
+    }
+
+    private static JournalRecord decode(ByteBuffer payload) {
+        byte type = payload.get();
+        return switch (type) {
+            case REGISTRATION -> new JournalRecord.Registration(getString(payload), getString(payload));
+            case PLAYER_STATE, PLAYER_STATE_WITH_DAYS -> {
+                String playerId = getString(payload);
+                String playerName = getString(payload);
+                long totalWins = payload.getLong();
+                long lastTimestamp = payload.getLong();
+                int gameCount = payload.getInt();
+                Map<String, Integer> gameWins = HashMap.newHashMap(gameCount);
+                for (int i = 0; i < gameCount; i++) {
+                    gameWins.put(getString(payload), payload.getInt());
+                }
+                if (type == PLAYER_STATE) {
+                    yield new JournalRecord.PlayerState(playerId, playerName, totalWins, lastTimestamp, gameWins);
+                }
+                long newestDay = payload.getLong();
+                int[] recentDayWins = new int[payload.getInt()];
+                for (int i = 0; i < recentDayWins.length; i++) {
+                    recentDayWins[i] = payload.getInt();
+                }
+                yield new JournalRecord.PlayerState(playerId, playerName, totalWins, lastTimestamp, gameWins, newestDay, recentDayWins);
+            }
+            default -> null;
+        };
+    }
+
+    private static ByteBuffer allocateFrame(int payloadLength) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payloadLength);
+        frame.putInt(payloadLength);
+        frame.putInt(0); // checksum, filled in once the payload is written
+        return frame;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] encoded) {
+        return Integer.BYTES + encoded.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] encoded) {
+        buffer.putInt(encoded.length);
+        buffer.put(encoded);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,36 @@
+package com.eleven.pet.server.persistence;
+
+import java.util.function.Consumer;
+
+/**
+ * A component whose in-memory state is made durable through the {@link ScoreJournal}.
+ * <p>
+ * Participants register themselves with the journal, which then calls
+ * {@link #restore(JournalRecord)} during startup recovery and {@link #snapshot(Consumer)}
+ * whenever a compacted snapshot is written.
+ * </p>
+ */
+public interface JournalParticipant {
+
+    /**
+     * Applies a recovered record to the in-memory state.
+     * <p>
+     * Records owned by other participants must be ignored. Implementations must be idempotent,
+     * since a record can appear both in a snapshot and in the replayed log tail.
+     * </p>
+     *
+     * @param record the recovered record.
+     */
+    void restore(JournalRecord record);
+
+    /**
+     * Emits the full current state of this participant as records.
+     * <p>
+     * Runs concurrently with normal request handling; every record emitted must be
+     * a consistent view of one entity (e.g., one player).
+     * </p>
+     *
+     * @param sink the consumer receiving the records.
+     */
+    void snapshot(Consumer<JournalRecord> sink);
+}
@@ -0,0 +1,87 @@
+package com.eleven.pet.server.persistence;
+
+import com.eleven.pet.server.model.PlayerStats;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A single durable fact stored in the {@link ScoreJournal}.
+ * <p>
+ * Records describe <em>state</em> rather than deltas, so replaying them is idempotent:
+ * a record that was captured by a snapshot and is also present in the log tail
+ * can be applied twice without double counting.
+ * </p>
+ */
+public sealed interface JournalRecord permits JournalRecord.Registration, JournalRecord.PlayerState {
+
+    /**
+     * A registered player and their shared secret.
+     *
+     * @param playerId  the unique identifier of the player.
+     * @param secretKey the shared secret used for HMAC signing.
+     */
+    record Registration(String playerId, String secretKey) implements JournalRecord {
+    }
+
+    /**
+     * A player's aggregated stats after an accepted win.
+     *
+     * @param playerId      the unique identifier of the player.
+     * @param playerName    the display name of the player.
+     * @param totalWins     the lifetime number of wins.
+     * @param lastTimestamp the time of the last win in milliseconds since the Unix Epoch.
+     * @param gameWins      wins per game name.
+     * @param newestDay     the epoch day of the last element of {@code recentDayWins}.
+     * @param recentDayWins wins per UTC day, oldest first; empty in records written before day buckets existed.
+     */
+    record PlayerState(String playerId, String playerName, long totalWins, long lastTimestamp,
+                       Map<String, Integer> gameWins, long newestDay, int[] recentDayWins) implements JournalRecord {
+
+        /**
+         * A state without day buckets.
+         */
+        public PlayerState(String playerId, String playerName, long totalWins, long lastTimestamp, Map<String, Integer> gameWins) {
+            this(playerId, playerName, totalWins, lastTimestamp, gameWins, 0, new int[0]);
+        }
+
+        /**
+         * Captures the current stats of a player.
+         * <p>
+         * Must be called while the caller owns the player's stats (e.g., inside {@code compute}).
+         * </p>
+         */
+        public static PlayerState of(String playerId, PlayerStats stats) {
+            return new PlayerState(playerId, stats.getPlayerName(), stats.getTotalWins(),
+                    stats.getLastTimestamp(), stats.getGameFrequency(), stats.getNewestDay(), stats.getRecentDayWins());
+        }
+
+        /**
+         * Rebuilds the in-memory stats described by this record.
+         */
+        public PlayerStats toPlayerStats() {
+            return PlayerStats.restore(playerName, totalWins, lastTimestamp, gameWins, newestDay, recentDayWins);
+        }
+
+        // Compares the day buckets by content, so a decoded record equals the one that was written
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PlayerState state
+                    && totalWins == state.totalWins
+                    && lastTimestamp == state.lastTimestamp
+                    && newestDay == state.newestDay
+                    && Objects.equals(playerId, state.playerId)
+                    && Objects.equals(playerName, state.playerName)
+                    && Objects.equals(gameWins, state.gameWins)
+                    && Arrays.equals(recentDayWins, state.recentDayWins);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerId, playerName, totalWins, lastTimestamp, gameWins, newestDay)
+                    * 31 + Arrays.hashCode(recentDayWins);
+        }
+    }
+}
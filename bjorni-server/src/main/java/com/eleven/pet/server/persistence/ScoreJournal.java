@@ -0,0 +1,497 @@
+package com.eleven.pet.server.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only write-ahead log that makes registrations and accepted wins survive a restart.
+ * <p>
+ * Records are appended to an in-memory batch and written to the current log segment by a single
+ * flusher thread using {@link FileChannel}. Each write is followed by one {@code fsync} for the
+ * whole batch (group commit), so callers waiting in {@link #awaitDurable(long)} share the cost
+ * of the disk flush.
+ * </p>
+ * <p>
+ * Periodically the journal rolls to a new segment and asks every {@link JournalParticipant} to
+ * write its state into a compacted snapshot. Once the snapshot is durable, older segments are
+ * deleted. On startup the newest snapshot is loaded and the segments written after it are replayed.
+ * </p>
+ * <p>
+ * If a write fails, the journal stops for good: {@link #hasFailed()} turns {@code true}, and
+ * {@link #append(JournalRecord)} and {@link #awaitDurable(long)} throw instead of queueing records
+ * that will never be written.
+ * </p>
+ * Files in the journal directory:
+ * <ul>
+ * <li>{@code segment-<n>.log}: log segments, replayed in ascending order.</li>
+ * <li>{@code snapshot-<n>.snap}: state covering every segment below {@code n}.</li>
+ * </ul>
+ */
+@Component
+public class ScoreJournal implements SmartInitializingSingleton, DisposableBean, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ScoreJournal.class);
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.snap");
+    private static final int INITIAL_BATCH_BYTES = 1 << 20;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final long snapshotIntervalSeconds;
+
+    private final List<JournalParticipant> participants = new CopyOnWriteArrayList<>();
+
+    // Guards everything below. A ReentrantLock rather than a monitor, so request threads waiting
+    // for durability do not pin their carrier when running on virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled when there is something for the flusher to do
+    private final Condition work = lock.newCondition();
+    // Signalled when a batch became durable, a segment rolled or the journal failed
+    private final Condition progress = lock.newCondition();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+    private long appendedTicket;
+    private long durableTicket;
+    private boolean rollRequested;
+    private long rollGeneration;
+    private boolean closed;
+    // Set once the flusher has exited, after writing everything appended before closing
+    private boolean stopped;
+    private IOException failure;
+
+    // Owned by the flusher thread once started
+    private FileChannel segment;
+    private long segmentIndex;
+    private long segmentBytes;
+
+    private Thread flusher;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public ScoreJournal(@Value("${bjorni.journal.enabled:true}") boolean enabled,
+                        @Value("${bjorni.journal.directory:data/journal}") String directory,
+                        @Value("${bjorni.journal.segment-size-bytes:67108864}") long segmentSizeBytes,
+                        @Value("${bjorni.journal.snapshot-interval-seconds:300}") long snapshotIntervalSeconds) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+    }
+
+    /**
+     * Registers a component whose state is restored from, and snapshotted into, this journal.
+     * Must be called before the application context finishes starting.
+     *
+     * @param participant the component to register.
+     */
+    public void register(JournalParticipant participant) {
+        participants.add(participant);
+    }
+
+    /**
+     * Recovers all registered participants and starts the flusher and snapshot threads.
+     * Runs once every singleton exists, before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover score journal from " + directory, e);
+        }
+    }
+
+    /**
+     * @return {@code true} if a write failed, so no further record will become durable.
+     */
+    public boolean hasFailed() {
+        if (!enabled) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return failure != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a record for the next group commit.
+     *
+     * @param record the record to append.
+     * @return a ticket to pass to {@link #awaitDurable(long)}.
+     * @throws UncheckedIOException if an earlier write failed.
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public long append(JournalRecord record) {
+        if (!enabled) {
+            return 0;
+        }
+
+        byte[] frame = JournalCodec.encode(record);
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Score journal write failed", failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("Score journal is closed");
+            }
+            if (pending.remaining() < frame.length) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + frame.length));
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+            pending.put(frame);
+            appendedTicket++;
+            work.signal();
+            return appendedTicket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the record identified by {@code ticket} has been written and fsynced.
+     *
+     * @param ticket the ticket returned by {@link #append(JournalRecord)}.
+     * @throws UncheckedIOException if the journal could not be written.
+     */
+    public void awaitDurable(long ticket) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            // A closing journal still writes what was appended, so wait for the flusher rather than for closed
+            while (durableTicket < ticket && failure == null && !stopped) {
+                progress.awaitUninterruptibly();
+            }
+            if (durableTicket < ticket) {
+                throw new UncheckedIOException("Score journal write failed", failure != null ? failure : new IOException("Journal closed"));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a compacted snapshot of all participants and deletes the segments it covers.
+     *
+     * @throws IOException if the snapshot could not be written.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        long firstUncovered = rollSegment();
+        Path temp = directory.resolve(snapshotName(firstUncovered) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16)) {
+            for (JournalParticipant participant : participants) {
+                participant.snapshot(record -> {
+                    try {
+                        out.write(JournalCodec.encode(record));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            out.flush();
+            channel.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temp, directory.resolve(snapshotName(firstUncovered)), StandardCopyOption.ATOMIC_MOVE);
+
+        // Everything below firstUncovered is now covered by the snapshot
+        for (Path file : listFiles()) {
+            long index = indexOf(file, SEGMENT_FILE);
+            long snapshotIndex = indexOf(file, SNAPSHOT_FILE);
+            if ((index >= 0 && index < firstUncovered) || (snapshotIndex >= 0 && snapshotIndex < firstUncovered)) {
+                Files.deleteIfExists(file);
+            }
+        }
+        log.info("Wrote score journal snapshot {}", firstUncovered);
+    }
+
+    /**
+     * Writes a final snapshot and stops the journal threads.
+     */
+    @Override
+    public void destroy() {
+        if (!enabled || flusher == null) {
+            return;
+        }
+
+        snapshotScheduler.shutdownNow();
+        try {
+            snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+            snapshot();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write shutdown snapshot", e);
+        }
+
+        lock.lock();
+        try {
+            closed = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Same as {@link #destroy()}, for journals opened outside of Spring.
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+
+        long snapshotIndex = -1;
+        long lastSegment = -1;
+        for (Path file : listFiles()) {
+            snapshotIndex = Math.max(snapshotIndex, indexOf(file, SNAPSHOT_FILE));
+            lastSegment = Math.max(lastSegment, indexOf(file, SEGMENT_FILE));
+            if (file.getFileName().toString().endsWith(".tmp")) {
+                Files.delete(file); // Incomplete snapshot from a crash
+            }
+        }
+
+        long started = System.nanoTime();
+        long records = 0;
+        if (snapshotIndex >= 0) {
+            records += replay(directory.resolve(snapshotName(snapshotIndex)), false);
+        }
+        for (long index = Math.max(snapshotIndex, 0); index <= lastSegment; index++) {
+            Path file = directory.resolve(segmentName(index));
+            if (Files.exists(file)) {
+                records += replay(file, true);
+            }
+        }
+        log.info("Recovered {} journal records in {} ms", records, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        segmentIndex = Math.max(lastSegment + 1, snapshotIndex);
+        segment = openSegment(segmentIndex);
+
+        flusher = Thread.ofPlatform().name("score-journal-flusher").daemon().start(this::flushLoop);
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("score-journal-snapshot").daemon().factory());
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to write score journal snapshot", e);
+            }
+        }, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private long replay(Path file, boolean truncateTornTail) throws IOException {
+        long records = 0;
+        long validBytes;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            JournalCodec.Reader reader = new JournalCodec.Reader(in);
+            JournalRecord record;
+            while ((record = reader.next()) != null) {
+                for (JournalParticipant participant : participants) {
+                    participant.restore(record);
+                }
+                records++;
+            }
+            validBytes = reader.validBytes();
+        }
+
+        if (truncateTornTail && validBytes < Files.size(file)) {
+            log.warn("Truncating torn journal tail in {} at byte {}", file, validBytes);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+        }
+        return records;
+    }
+
+    private void flushLoop() {
+        try {
+            writeBatches();
+        } finally {
+            lock.lock();
+            try {
+                stopped = true;
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void writeBatches() {
+        while (true) {
+            ByteBuffer batch;
+            long batchTicket;
+            boolean roll;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !rollRequested && !closed) {
+                    // Only closing the journal stops the flusher
+                    work.awaitUninterruptibly();
+                }
+                if (pending.position() == 0 && !rollRequested && closed) {
+                    break;
+                }
+                batch = pending;
+                pending = spare;
+                spare = null;
+                batchTicket = appendedTicket;
+                roll = rollRequested;
+                rollRequested = false;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                batch.flip();
+                segmentBytes += batch.remaining();
+                while (batch.hasRemaining()) {
+                    segment.write(batch);
+                }
+                segment.force(false);
+                if (roll || segmentBytes >= segmentSizeBytes) {
+                    segment.close();
+                    segmentIndex++;
+                    segment = openSegment(segmentIndex);
+                }
+            } catch (IOException e) {
+                log.error("Failed to write score journal", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    progress.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                durableTicket = batchTicket;
+                batch.clear();
+                spare = batch;
+                if (roll) {
+                    rollGeneration++;
+                }
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal segment", e);
+        }
+    }
+
+    /**
+     * Makes the flusher start a new segment and waits for it.
+     *
+     * @return the index of the new segment; every earlier segment is closed.
+     */
+    private long rollSegment() throws IOException {
+        lock.lock();
+        try {
+            long target = rollGeneration + 1;
+            rollRequested = true;
+            work.signal();
+            while (rollGeneration < target && failure == null) {
+                try {
+                    progress.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while rolling journal segment", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return segmentIndex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FileChannel openSegment(long index) throws IOException {
+        segmentBytes = 0;
+        return FileChannel.open(directory.resolve(segmentName(index)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files.toList());
+        }
+    }
+
+    private static long indexOf(Path file, Pattern pattern) {
+        Matcher matcher = pattern.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static String segmentName(long index) {
+        return String.format("segment-%020d.log", index);
+    }
+
+    private static String snapshotName(long index) {
+        return String.format("snapshot-%020d.snap", index);
+    }
+}
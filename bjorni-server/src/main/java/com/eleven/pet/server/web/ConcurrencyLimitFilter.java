@@ -0,0 +1,70 @@
+package com.eleven.pet.server.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of API requests that are processed at the same time.
+ * <p>
+ * With virtual threads enabled ({@code spring.threads.virtual.enabled=true}) Tomcat no longer caps
+ * concurrency through its worker pool, so a burst of submissions would all pile up on the journal and
+ * the stats map at once. This filter restores a bound: a request waits up to
+ * {@code bjorni.concurrency.queue-timeout-millis} for a permit and is answered with
+ * {@code 503 Service Unavailable} if none becomes free.
+ * </p>
+ * The limiter is disabled when {@code bjorni.concurrency.max-requests} is {@code 0} (the default).
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final Semaphore permits;
+    private final long queueTimeoutMillis;
+
+    public ConcurrencyLimitFilter(
+            @Value("${bjorni.concurrency.max-requests:0}") int maxRequests,
+            @Value("${bjorni.concurrency.queue-timeout-millis:100}") long queueTimeoutMillis) {
+        this.permits = maxRequests > 0 ? new Semaphore(maxRequests) : null;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Swagger UI and other static resources are never limited
+        return permits == null || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.getWriter().write("503 Service Unavailable: The server is busy, please retry.");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
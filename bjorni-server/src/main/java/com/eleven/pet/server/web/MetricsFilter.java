@@ -0,0 +1,53 @@
+package com.eleven.pet.server.web;
+
+import com.eleven.pet.server.metrics.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every API request into the latency histogram of its endpoint.
+ * <p>
+ * Endpoints are identified by the route pattern that handled the request (e.g.
+ * {@code /api/v1/leaderboard/rank/{playerId}}), not by the URI, so the number of histograms stays
+ * bounded. Requests no route matched share the pattern {@value #UNMATCHED}, and non-standard
+ * methods share the label {@value Metrics#OTHER_METHOD}. Requests that went
+ * asynchronous, like the {@code /stream} subscriptions, are not timed: their duration is the
+ * lifetime of the connection.
+ * </p>
+ */
+@Component
+public class MetricsFilter extends OncePerRequestFilter {
+    private static final String UNMATCHED = "unmatched";
+
+    private final Metrics metrics;
+
+    public MetricsFilter(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                metrics.endpoint(request.getMethod(), pattern != null ? pattern.toString() : UNMATCHED).recordSince(start);
+            }
+        }
+    }
+}
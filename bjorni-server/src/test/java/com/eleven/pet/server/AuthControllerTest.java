@@ -1,21 +1,31 @@
 package com.eleven.pet.server;
 
+import com.eleven.pet.server.cluster.ShardRouter;
 import com.eleven.pet.server.controller.AuthController;
+import com.eleven.pet.server.metrics.Metrics;
+import com.eleven.pet.server.persistence.ScoreJournal;
 import com.eleven.pet.shared.model.PlayerRegistration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthController.class)
+// Real router with no nodes configured: a single node owning every player
+@Import({ShardRouter.class, Metrics.class})
 @AutoConfigureJson
 class AuthControllerTest {
     private final ObjectMapper mapper = new ObjectMapper();
@@ -23,6 +33,13 @@ class AuthControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private AuthController authController;
+
+    // The journal is mocked so tests never touch the disk
+    @MockitoBean
+    private ScoreJournal scoreJournal;
+
     @Test
     void registerShouldReturnNewPlayerCredentials() throws Exception {
         // WHEN: We perform the POST request
@@ -38,5 +55,8 @@ class AuthControllerTest {
 
         assertNotNull(response.getPlayerId(), "Response should contain a Player ID");
         assertNotNull(response.getSecretKey(), "Response should contain a Secret Key");
+        // The HMAC key is copied from the credential table, byte for byte the secret key
+        assertArrayEquals(response.getSecretKey().getBytes(StandardCharsets.UTF_8),
+                authController.getSharedKeyBytes(response.getPlayerId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.cluster.ConsistentHashRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+    private static final List<String> NODES = List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    void keysShouldSpreadEvenlyAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(ring.nodeFor(UUID.randomUUID().toString()), 1, Integer::sum);
+        }
+
+        assertEquals(NODES.size(), counts.size());
+        // 10_000 each in theory; 128 points per node keep every share well within 25%
+        counts.values().forEach(count -> assertTrue(count > 7_500 && count < 12_500, "Unbalanced ring: " + counts));
+    }
+
+    @Test
+    void addingANodeShouldOnlyMoveKeysToThatNode() {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(
+                "http://localhost:8081", "http://localhost:8082", "http://localhost:8083", "http://localhost:8084"), 128);
+
+        for (int i = 0; i < 10_000; i++) {
+            String key = UUID.randomUUID().toString();
+            String owner = after.nodeFor(key);
+            assertTrue(owner.equals(before.nodeFor(key)) || owner.equals("http://localhost:8084"),
+                    "Key moved between existing nodes");
+        }
+    }
+}
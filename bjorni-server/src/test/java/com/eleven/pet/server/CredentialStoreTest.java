@@ -0,0 +1,64 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.auth.CredentialStore;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CredentialStoreTest {
+
+    @Test
+    void shouldReturnStoredKeysAcrossResizes() {
+        CredentialStore store = new CredentialStore();
+        Map<String, String> expected = new HashMap<>();
+        // Several times the initial capacity
+        for (int i = 0; i < 5_000; i++) {
+            String playerId = UUID.randomUUID().toString();
+            String secretKey = UUID.randomUUID().toString();
+            store.put(playerId, secretKey);
+            expected.put(playerId, secretKey);
+        }
+
+        assertEquals(expected.size(), store.size());
+        expected.forEach((playerId, secretKey) -> assertEquals(secretKey, store.secretOf(playerId)));
+        assertNull(store.secretOf(UUID.randomUUID().toString()));
+        assertNull(store.secretOf("not-a-uuid"));
+
+        Map<String, String> iterated = new HashMap<>();
+        store.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void copySecretShouldWriteTheKeyBytesUsedForTheHmac() {
+        CredentialStore store = new CredentialStore();
+        String playerId = UUID.randomUUID().toString();
+        String secretKey = UUID.randomUUID().toString();
+        store.put(playerId, secretKey);
+
+        byte[] buffer = new byte[CredentialStore.KEY_LENGTH + 2];
+        assertEquals(CredentialStore.KEY_LENGTH, store.copySecret(playerId, buffer, 2));
+        assertEquals(secretKey, new String(buffer, 2, CredentialStore.KEY_LENGTH, StandardCharsets.UTF_8));
+        assertEquals(-1, store.copySecret(UUID.randomUUID().toString(), buffer, 0));
+    }
+
+    @Test
+    void nonUuidCredentialsShouldStillBeStored() {
+        CredentialStore store = new CredentialStore();
+        String upperCaseId = UUID.randomUUID().toString().toUpperCase();
+        store.put("test-player-id", "test-secret-key");
+        store.put(upperCaseId, "Secret");
+
+        assertEquals("test-secret-key", store.secretOf("test-player-id"));
+        // Kept as given, not normalized to lower case
+        assertEquals("Secret", store.secretOf(upperCaseId));
+        assertNull(store.secretOf(upperCaseId.toLowerCase()));
+        assertEquals(2, store.size());
+    }
+}
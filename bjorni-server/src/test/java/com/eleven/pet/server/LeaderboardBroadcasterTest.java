@@ -0,0 +1,45 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.leaderboard.LeaderboardBroadcaster;
+import com.eleven.pet.shared.model.LeaderboardDelta;
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardBroadcasterTest {
+
+    private static LeaderboardEntry entry(String name, long wins) {
+        return new LeaderboardEntry(name, wins, "TimingGame", 100);
+    }
+
+    @Test
+    void diffShouldOnlyContainChangedRanks() {
+        List<LeaderboardEntry> before = List.of(entry("Alice", 5), entry("Bob", 3), entry("Carol", 1));
+        List<LeaderboardEntry> after = List.of(entry("Alice", 5), entry("Carol", 4), entry("Bob", 3));
+
+        LeaderboardDelta delta = LeaderboardBroadcaster.diff(7, before, after);
+
+        assertEquals(7, delta.getVersion());
+        assertEquals(List.of(1, 2), delta.getChanges().stream().map(LeaderboardDelta.RankedEntry::getRank).toList());
+    }
+
+    @Test
+    void deltasShouldRebuildTheListFromEmpty() {
+        List<LeaderboardEntry> first = List.of(entry("Alice", 2));
+        List<LeaderboardEntry> second = List.of(entry("Bob", 3), entry("Alice", 2));
+
+        List<LeaderboardEntry> client = new ArrayList<>();
+        LeaderboardBroadcaster.diff(1, List.of(), first).applyTo(client);
+        assertEquals(first, client);
+
+        LeaderboardBroadcaster.diff(2, first, second).applyTo(client);
+        assertEquals(second, client);
+
+        assertTrue(LeaderboardBroadcaster.diff(3, second, second).getChanges().isEmpty());
+    }
+}
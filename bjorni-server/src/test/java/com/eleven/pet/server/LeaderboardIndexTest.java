@@ -0,0 +1,175 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.leaderboard.LeaderboardIndex;
+import com.eleven.pet.server.leaderboard.LeaderboardMerge;
+import com.eleven.pet.server.leaderboard.LeaderboardSnapshots;
+import com.eleven.pet.server.leaderboard.LeaderboardWindow;
+import com.eleven.pet.server.leaderboard.WindowedLeaderboards;
+import com.eleven.pet.server.model.PlayerStats;
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.model.PlayerRank;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardIndexTest {
+
+    private static PlayerStats stats(String name, long wins, long timestamp) {
+        return PlayerStats.restore(name, wins, timestamp, Map.of("TimingGame", (int) wins));
+    }
+
+    @Test
+    void topShouldOrderByWinsThenEarliestTimestamp() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.update("a", stats("Alice", 3, 200));
+        index.update("b", stats("Bob", 5, 300));
+        index.update("c", stats("Carol", 3, 100));
+
+        List<LeaderboardEntry> top = index.top(10);
+
+        assertEquals(List.of("Bob", "Carol", "Alice"), top.stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(5, top.getFirst().getScore());
+    }
+
+    @Test
+    void updateShouldMovePlayerInsteadOfDuplicatingThem() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.update("a", stats("Alice", 1, 100));
+        index.update("b", stats("Bob", 2, 100));
+
+        // Alice overtakes Bob
+        index.update("a", stats("Alice", 3, 200));
+
+        List<LeaderboardEntry> top = index.top(10);
+        assertEquals(2, index.size());
+        assertEquals(List.of("Alice", "Bob"), top.stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(3, top.getFirst().getScore());
+    }
+
+    @Test
+    void topShouldRespectLimit() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        for (int i = 0; i < 100; i++) {
+            index.update("p" + i, stats("Player" + i, i, 100));
+        }
+
+        List<LeaderboardEntry> top = index.top(3);
+        assertEquals(List.of(99L, 98L, 97L), top.stream().map(LeaderboardEntry::getScore).toList());
+        assertTrue(index.top(0).isEmpty(), "Non-positive limits should return an empty list");
+    }
+
+    @Test
+    void snapshotsShouldOnlyChangeWhenTheirViewChanges() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        LeaderboardSnapshots snapshots = new LeaderboardSnapshots(index, new ObjectMapper());
+        index.update("a", stats("Alice", 5, 100));
+        index.update("b", stats("Bob", 1, 100));
+
+        LeaderboardSnapshots.Snapshot first = snapshots.top(1);
+        assertSame(first, snapshots.top(1), "An unchanged ranking should reuse the cached view");
+
+        // Bob stays below the limit, so the top 1 keeps its ETag
+        index.update("b", stats("Bob", 2, 200));
+        assertEquals(first.etag(), snapshots.top(1).etag());
+
+        // Bob takes the lead, so the view and its ETag change
+        index.update("b", stats("Bob", 6, 300));
+        assertNotEquals(first.etag(), snapshots.top(1).etag());
+    }
+
+    @Test
+    void mergedShardTopsShouldMatchASingleIndex() {
+        LeaderboardIndex all = new LeaderboardIndex();
+        List<LeaderboardIndex> shards = List.of(new LeaderboardIndex(), new LeaderboardIndex(), new LeaderboardIndex());
+        for (int i = 0; i < 60; i++) {
+            PlayerStats stats = stats("Player" + i, i % 17, 1_000 - i);
+            all.update("p" + i, stats);
+            shards.get(i % shards.size()).update("p" + i, stats);
+        }
+
+        List<List<LeaderboardEntry>> shardTops = shards.stream().map(shard -> shard.top(10)).toList();
+
+        assertEquals(all.top(10), LeaderboardMerge.top(shardTops, 10));
+    }
+
+    @Test
+    void windowedRankingsShouldDropWinsThatLeaveTheWindow() {
+        ConcurrentHashMap<String, PlayerStats> playerStats = new ConcurrentHashMap<>();
+        // Alice won 4 times on day 100, Bob once on each of days 98 to 100
+        playerStats.put("a", PlayerStats.restore("Alice", 4, 200, Map.of("TimingGame", 4), 100, new int[]{4}));
+        playerStats.put("b", PlayerStats.restore("Bob", 3, 100, Map.of("TimingGame", 3), 100, new int[]{1, 1, 1}));
+        WindowedLeaderboards windows = new WindowedLeaderboards(playerStats, 100);
+        playerStats.forEach((id, stats) -> windows.update(id, stats, 100));
+
+        LeaderboardIndex daily = windows.index(LeaderboardWindow.DAILY);
+        LeaderboardIndex weekly = windows.index(LeaderboardWindow.WEEKLY);
+        assertEquals(List.of(4L, 1L), daily.top(10).stream().map(LeaderboardEntry::getScore).toList());
+        assertEquals(List.of(4L, 3L), weekly.top(10).stream().map(LeaderboardEntry::getScore).toList());
+
+        // Nobody won on day 101, so the daily ranking empties and the weekly one keeps everything
+        windows.rollTo(101);
+        assertTrue(daily.top(10).isEmpty());
+        assertEquals(List.of(4L, 3L), weekly.top(10).stream().map(LeaderboardEntry::getScore).toList());
+
+        // On day 105 Bob's win of day 98 has left the window
+        windows.rollTo(105);
+        assertEquals(List.of("Alice", "Bob"), weekly.top(10).stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(2, weekly.top(10).getLast().getScore());
+
+        // By day 107 every win is older than a week
+        windows.rollTo(107);
+        assertTrue(weekly.top(10).isEmpty());
+    }
+
+    @Test
+    void updateShouldIgnoreDaysBeforeTheRolledDay() {
+        ConcurrentHashMap<String, PlayerStats> playerStats = new ConcurrentHashMap<>();
+        PlayerStats alice = PlayerStats.restore("Alice", 2, 200, Map.of("TimingGame", 2), 100, new int[]{2});
+        playerStats.put("a", alice);
+        WindowedLeaderboards windows = new WindowedLeaderboards(playerStats, 100);
+        windows.rollTo(101);
+
+        // A win recorded with the day read before the roll
+        windows.update("a", alice, 100);
+
+        assertTrue(windows.index(LeaderboardWindow.DAILY).top(10).isEmpty());
+        assertEquals(2, windows.index(LeaderboardWindow.WEEKLY).top(10).getFirst().getScore());
+    }
+
+    @Test
+    void rankOfShouldCountPlayersWithMoreWinsAndListNeighbours() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.update("a", stats("Alice", 9, 100));
+        index.update("b", stats("Bob", 7, 100));
+        index.update("c", stats("Carol", 7, 200));
+        index.update("d", stats("Dave", 3, 100));
+        // Far beyond the tree's initial capacity, so it has to grow
+        index.update("e", stats("Eve", 5000, 100));
+
+        PlayerRank carol = index.rankOf("c", 1);
+        // Ties share a rank
+        assertEquals(3, carol.getRank());
+        assertEquals(5, carol.getPlayers());
+        assertEquals(List.of("Bob"), carol.getAbove().stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(List.of("Dave"), carol.getBelow().stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(1, index.rankOf("e", 2).getRank());
+        assertTrue(index.rankOf("e", 2).getAbove().isEmpty());
+
+        index.update("d", stats("Dave", 8, 100));
+        assertEquals(3, index.rankOf("d", 0).getRank());
+        assertEquals(4, index.rankOf("c", 0).getRank());
+
+        index.remove("e");
+        assertEquals(3, index.rankOf("c", 0).getRank());
+        assertNull(index.rankOf("e", 0));
+    }
+}
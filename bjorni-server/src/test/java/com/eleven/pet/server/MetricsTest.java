@@ -0,0 +1,43 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.metrics.Metrics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    @Test
+    void prometheusOutputShouldHaveCumulativeBuckets() {
+        Metrics metrics = new Metrics();
+        metrics.endpoint("GET", "/api/v1/leaderboard").record(30_000);    // 30 µs
+        metrics.endpoint("GET", "/api/v1/leaderboard").record(3_000_000); // 3 ms
+        metrics.count(Metrics.Outcome.ACCEPTED);
+
+        String text = metrics.toPrometheus();
+
+        String labels = "method=\"GET\",uri=\"/api/v1/leaderboard\"";
+        assertTrue(text.contains("# TYPE bjorni_http_request_duration_seconds histogram\n"));
+        assertTrue(text.contains("bjorni_http_request_duration_seconds_bucket{" + labels + ",le=\"1.0E-5\"} 0\n"), text);
+        assertTrue(text.contains("bjorni_http_request_duration_seconds_bucket{" + labels + ",le=\"5.0E-5\"} 1\n"), text);
+        assertTrue(text.contains("bjorni_http_request_duration_seconds_bucket{" + labels + ",le=\"0.005\"} 2\n"), text);
+        assertTrue(text.contains("bjorni_http_request_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} 2\n"), text);
+        assertTrue(text.contains("bjorni_http_request_duration_seconds_count{" + labels + "} 2\n"), text);
+        assertTrue(text.contains("bjorni_submission_phase_duration_seconds_count{phase=\"hmac_verify\"} 0\n"), text);
+        assertTrue(text.contains("bjorni_submissions_total{outcome=\"accepted\"} 1\n"), text);
+    }
+
+    @Test
+    void nonStandardMethodsShouldShareOneLabel() {
+        Metrics metrics = new Metrics();
+        metrics.endpoint("BREW", "unmatched").record(1_000);
+        metrics.endpoint("PROPFIND", "unmatched").record(1_000);
+
+        assertSame(metrics.endpoint(Metrics.OTHER_METHOD, "unmatched"), metrics.endpoint("BREW", "unmatched"));
+        String text = metrics.toPrometheus();
+        assertTrue(text.contains("bjorni_http_request_duration_seconds_count{method=\"OTHER\",uri=\"unmatched\"} 2\n"), text);
+        assertFalse(text.contains("BREW") || text.contains("PROPFIND"), text);
+    }
+}
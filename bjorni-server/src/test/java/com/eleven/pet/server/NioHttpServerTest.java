@@ -0,0 +1,142 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.nio.NioHttpServer;
+import com.eleven.pet.server.nio.NioResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NioHttpServerTest {
+
+    @Test
+    void pipelinedResponsesShouldKeepRequestOrder() throws IOException {
+        // "/slow" completes from another thread after the requests behind it were answered
+        try (NioHttpServer server = new NioHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 1024,
+                (request, respond) -> {
+                    NioResponse response = new NioResponse(200, new HttpHeaders(), request.path().getBytes(StandardCharsets.UTF_8));
+                    if (request.path().equals("/slow")) {
+                        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> respond.accept(response));
+                    } else {
+                        respond.accept(response);
+                    }
+                })) {
+            server.start();
+
+            String responses = exchange(server.port(),
+                    "GET /slow HTTP/1.1\r\nHost: test\r\n\r\n"
+                            + "GET /fast HTTP/1.1\r\nHost: test\r\n\r\n"
+                            + "GET /last HTTP/1.1\r\nHost: test\r\nConnection: close\r\n\r\n");
+
+            int slow = responses.indexOf("\r\n\r\n/slow");
+            int fast = responses.indexOf("\r\n\r\n/fast");
+            int last = responses.indexOf("\r\n\r\n/last");
+            assertTrue(slow >= 0 && slow < fast && fast < last, responses);
+            assertTrue(responses.contains("Connection: close"), responses);
+        }
+    }
+
+    @Test
+    void postBodyShouldBeDelivered() throws IOException {
+        try (NioHttpServer server = new NioHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 1024,
+                (request, respond) -> respond.accept(new NioResponse(201, new HttpHeaders(), request.body())))) {
+            server.start();
+
+            String responses = exchange(server.port(),
+                    "POST /echo HTTP/1.1\r\nHost: test\r\nContent-Length: 5\r\nConnection: close\r\n\r\nhello");
+
+            assertTrue(responses.startsWith("HTTP/1.1 201 Created\r\n"), responses);
+            assertTrue(responses.contains("Content-Length: 5\r\n"), responses);
+            assertTrue(responses.endsWith("\r\n\r\nhello"), responses);
+        }
+    }
+
+    @Test
+    void largeBodyShouldBeDeliveredWhole() throws IOException {
+        // Larger than the parser's first body array and the read buffer, so the body arrives over several reads
+        String body = "0123456789abcdef".repeat(10_000);
+        try (NioHttpServer server = new NioHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, body.length(),
+                (request, respond) -> respond.accept(new NioResponse(200, new HttpHeaders(), request.body())))) {
+            server.start();
+
+            String responses = exchange(server.port(),
+                    "POST /echo HTTP/1.1\r\nHost: test\r\nContent-Length: " + body.length() + "\r\nConnection: close\r\n\r\n" + body);
+
+            assertTrue(responses.startsWith("HTTP/1.1 200 OK\r\n"), responses.substring(0, 100));
+            assertTrue(responses.endsWith("\r\n\r\n" + body));
+        }
+    }
+
+    @Test
+    void oversizedBodyShouldBeRejected() throws IOException {
+        try (NioHttpServer server = new NioHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 4,
+                (_, respond) -> respond.accept(new NioResponse(200, new HttpHeaders(), new byte[0])))) {
+            server.start();
+
+            String responses = exchange(server.port(),
+                    "POST /echo HTTP/1.1\r\nHost: test\r\nContent-Length: 5\r\n\r\nhello");
+
+            assertEquals("HTTP/1.1 413", responses.substring(0, 12), responses);
+        }
+    }
+
+    @Test
+    void failingHandlerShouldOnlyCloseItsConnection() throws IOException {
+        try (NioHttpServer server = new NioHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 1024,
+                (request, respond) -> {
+                    if (request.path().equals("/fail")) {
+                        throw new IllegalStateException("Handler failed");
+                    }
+                    respond.accept(new NioResponse(200, new HttpHeaders(), new byte[0]));
+                })) {
+            server.start();
+
+            assertEquals("", exchange(server.port(), "GET /fail HTTP/1.1\r\nHost: test\r\n\r\n"));
+            // The single event loop survived and serves the next connection
+            String responses = exchange(server.port(), "GET /ok HTTP/1.1\r\nHost: test\r\nConnection: close\r\n\r\n");
+            assertTrue(responses.startsWith("HTTP/1.1 200 OK\r\n"), responses);
+        }
+    }
+
+    @Test
+    void idleConnectionWithPartialRequestShouldBeClosed() throws IOException {
+        try (NioHttpServer server = new NioHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 1024, 100,
+                (_, respond) -> respond.accept(new NioResponse(200, new HttpHeaders(), new byte[0])))) {
+            server.start();
+
+            long start = System.nanoTime();
+            String responses = exchange(server.port(), "GET /never-finished HTTP/1.1\r\nHost: te");
+
+            assertEquals("", responses);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4), "Should be closed by the idle timeout");
+        }
+    }
+
+    /**
+     * Sends the raw requests at once and reads until the server closes the connection.
+     */
+    private static String exchange(int port, String requests) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setSoTimeout(5_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(requests.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            in.transferTo(received);
+            return received.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
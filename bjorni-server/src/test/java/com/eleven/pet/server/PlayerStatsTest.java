@@ -0,0 +1,96 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.model.GameIds;
+import com.eleven.pet.server.model.PlayerStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayerStatsTest {
+
+    @BeforeAll
+    static void registerGames() {
+        GameIds.register(List.of("TimingGame", "GuessingGame"));
+    }
+
+    @Test
+    void recordWinShouldTrackTopPlayedGame() {
+        PlayerStats stats = new PlayerStats("Bjorni");
+        assertEquals("Unknown", stats.getTopPlayedGame());
+
+        stats.recordWin("TimingGame");
+        stats.recordWin("GuessingGame");
+        stats.recordWin("GuessingGame");
+
+        assertEquals(3, stats.getTotalWins());
+        assertEquals("GuessingGame", stats.getTopPlayedGame());
+        assertEquals(1, stats.getGameWins("TimingGame"));
+        assertEquals(Map.of("TimingGame", 1, "GuessingGame", 2), stats.getGameFrequency());
+    }
+
+    @Test
+    void winsInUnknownGamesShouldCountAsOther() {
+        PlayerStats stats = new PlayerStats("Bjorni");
+        stats.recordWin("NotAGame");
+        stats.recordWin(null);
+
+        assertEquals(2, stats.getTotalWins());
+        assertEquals(GameIds.OTHER, stats.getTopPlayedGame());
+        assertEquals(Map.of(GameIds.OTHER, 2), stats.getGameFrequency());
+        // Not interned
+        assertEquals(-1, GameIds.find("NotAGame"));
+    }
+
+    @Test
+    void restoreShouldRebuildCountersAndTopGame() {
+        PlayerStats stats = PlayerStats.restore("Bjorni", 7, 1234, Map.of("TimingGame", 5, "GuessingGame", 2));
+
+        assertEquals(7, stats.getTotalWins());
+        assertEquals(1234, stats.getLastTimestamp());
+        assertEquals("TimingGame", stats.getTopPlayedGame());
+
+        stats.recordWin("GuessingGame");
+        stats.recordWin("GuessingGame");
+        stats.recordWin("GuessingGame");
+        assertEquals(5, stats.getGameWins("GuessingGame"));
+        // Ties keep the game that got there first
+        assertEquals("TimingGame", stats.getTopPlayedGame());
+
+        stats.recordWin("GuessingGame");
+        assertEquals("GuessingGame", stats.getTopPlayedGame());
+    }
+
+    @Test
+    void dayBucketsShouldOnlyCountWinsInsideTheWindow() {
+        // Wins on days 100..106, one more each day
+        PlayerStats stats = PlayerStats.restore("Bjorni", 28, 1234, Map.of("TimingGame", 28),
+                106, new int[]{1, 2, 3, 4, 5, 6, 7});
+
+        assertEquals(7, stats.getWinsInLastDays(106, 1));
+        assertEquals(28, stats.getWinsInLastDays(106, PlayerStats.WINDOW_DAYS));
+        // Two days later the two oldest buckets fell out and nobody won since
+        assertEquals(0, stats.getWinsInLastDays(108, 1));
+        assertEquals(25, stats.getWinsInLastDays(108, PlayerStats.WINDOW_DAYS));
+        assertEquals(0, stats.getWinsInLastDays(113, PlayerStats.WINDOW_DAYS));
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7}, stats.getRecentDayWins());
+    }
+
+    @Test
+    void recordWinShouldStartANewDayBucket() {
+        PlayerStats stats = PlayerStats.restore("Bjorni", 3, 1234, Map.of("TimingGame", 3),
+                PlayerStats.epochDay(System.currentTimeMillis()) - 1, new int[]{3});
+        long today = PlayerStats.epochDay(System.currentTimeMillis());
+
+        stats.recordWin("TimingGame");
+
+        assertEquals(today, stats.getNewestDay());
+        assertEquals(1, stats.getWinsInLastDays(today, 1));
+        assertEquals(4, stats.getWinsInLastDays(today, PlayerStats.WINDOW_DAYS));
+    }
+}
@@ -1,23 +1,48 @@
 package com.eleven.pet.server;
 
+import com.eleven.pet.server.cluster.ShardClient;
+import com.eleven.pet.server.cluster.ShardRouter;
 import com.eleven.pet.server.controller.AuthController;
+import com.eleven.pet.server.guard.SubmissionGuard;
+import com.eleven.pet.server.metrics.Metrics;
 import com.eleven.pet.server.controller.ScoreController;
+import com.eleven.pet.server.persistence.ScoreJournal;
 import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.util.LeaderboardCodec;
 import com.eleven.pet.shared.util.Signature;
+import com.eleven.pet.shared.util.SignedRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(ScoreController.class)
+@WebMvcTest(value = ScoreController.class,
+        properties = "bjorni.games.names=TimingGame,GuessingGame,PerGameTimingGame,PerGameGuessingGame")
+// Real router with no nodes configured: a single node owning every player
+@Import({ShardRouter.class, ShardClient.class, SubmissionGuard.class, Metrics.class})
 @AutoConfigureJson
 class ScoreControllerTest {
     private final ObjectMapper mapper = new ObjectMapper();
@@ -31,6 +56,31 @@ class ScoreControllerTest {
     @MockitoBean
     private AuthController authController;
 
+    // The journal is mocked so tests never touch the disk
+    @MockitoBean
+    private ScoreJournal scoreJournal;
+
+    @Autowired
+    private Metrics metrics;
+
+    /**
+     * Builds a submission sent now, signed over its timestamp, a nonce derived from the body and the body.
+     */
+    private MockHttpServletRequestBuilder signedPost(String path, String playerId, byte[] body, String secretKey) {
+        String timestamp = Long.toString(System.currentTimeMillis());
+        String nonce = SignedRequest.nonceOf(body);
+        return post(path)
+                .header(SignedRequest.PLAYER_ID_HEADER, playerId)
+                .header(SignedRequest.TIMESTAMP_HEADER, timestamp)
+                .header(SignedRequest.NONCE_HEADER, nonce)
+                .header(SignedRequest.SIGNATURE_HEADER, sign(timestamp, nonce, body, secretKey))
+                .content(body);
+    }
+
+    private String sign(String timestamp, String nonce, byte[] body, String secretKey) {
+        return Base64.getEncoder().encodeToString(signatureUtil.calculateHMAC(
+                SignedRequest.context(timestamp, nonce), body, 0, body.length, secretKey));
+    }
 
     @Test
     void submitScoreShouldAcceptValidSignature() throws Exception {
@@ -39,7 +89,7 @@ class ScoreControllerTest {
         String secretKey = "test-secret-key";
 
         // Tell the mock: "When asked for this ID's key, return 'test-secret-key'"
-        when(authController.getSharedKey(playerId)).thenReturn(secretKey);
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
 
         // Mock entry data
         LeaderboardEntry entry = new LeaderboardEntry(
@@ -47,25 +97,48 @@ class ScoreControllerTest {
         );
 
         String jsonPayload = mapper.writeValueAsString(entry);
-        String signature = signatureUtil.calculateHMAC(jsonPayload, secretKey);
 
         // WHEN: We perform the POST request
-        mockMvc.perform(post("/api/v1/leaderboard")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .header("X-Player-ID", playerId)
-                        .header("X-HMAC-Signature", signature)
-                        .content(jsonPayload))
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
                 // Expect a 200 OK
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void submissionsShouldBeCountedAndTimed() throws Exception {
+        String playerId = "metrics-player-id";
+        String secretKey = "metrics-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+        long accepted = metrics.total(Metrics.Outcome.ACCEPTED);
+        long forbidden = metrics.total(Metrics.Outcome.FORBIDDEN);
+
+        String jsonPayload = mapper.writeValueAsString(
+                new LeaderboardEntry("Measured", 1, "TimingGame", System.currentTimeMillis()));
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        // A different body, as the accepted one's nonce would be answered as a replay
+        String forgedPayload = mapper.writeValueAsString(
+                new LeaderboardEntry("Measured", 1, "GuessingGame", System.currentTimeMillis()));
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, forgedPayload.getBytes(StandardCharsets.UTF_8), "wrong-key")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+
+        assertEquals(accepted + 1, metrics.total(Metrics.Outcome.ACCEPTED));
+        assertEquals(forbidden + 1, metrics.total(Metrics.Outcome.FORBIDDEN));
+        assertTrue(metrics.phase(Metrics.Phase.JOURNAL_WAIT).count() > 0);
+        assertTrue(metrics.endpoint("POST", "/api/v1/leaderboard").count() >= 2);
+        assertTrue(metrics.toPrometheus().contains("bjorni_http_request_duration_seconds_count{method=\"POST\",uri=\"/api/v1/leaderboard\"}"));
+    }
+
     @Test
     void submitScoreShouldRejectInvalidSignature() throws Exception {
         // Mock player data
         String playerId = "hacker-id";
         String secretKey = "hacker-key";
 
-        when(authController.getSharedKey(playerId)).thenReturn(secretKey);
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
 
         // Prepare Payload
         LeaderboardEntry entry = new LeaderboardEntry(
@@ -73,15 +146,258 @@ class ScoreControllerTest {
         );
         String jsonPayload = mapper.writeValueAsString(entry);
 
-        // Generate a WRONG signature (signed with different key)
-        String wrongSignature = signatureUtil.calculateHMAC(jsonPayload, "wrong-key");
+        // Sign with a WRONG key and expect Forbidden (403)
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), "wrong-key")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void submitScoresShouldApplyWholeBatch() throws Exception {
+        String playerId = "batch-player-id";
+        String secretKey = "batch-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        long now = System.currentTimeMillis();
+        List<LeaderboardEntry> batch = List.of(
+                new LeaderboardEntry("Batcher", 1, "TimingGame", now),
+                new LeaderboardEntry("Batcher", 1, "GuessingGame", now + 1),
+                new LeaderboardEntry("Batcher", 1, "TimingGame", now + 2)
+        );
+        String jsonPayload = mapper.writeValueAsString(batch);
+
+        mockMvc.perform(signedPost("/api/v1/leaderboard/batch", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // All three wins count towards a single leaderboard row. Other tests share the
+        // controller and may rank above Batcher, so look up its own row.
+        mockMvc.perform(get("/api/v1/leaderboard").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.playerName == 'Batcher')].score").value(contains(3)))
+                .andExpect(jsonPath("$[?(@.playerName == 'Batcher')].gameName").value(contains("TimingGame")));
+    }
+
+    @Test
+    void getScoresShouldAnswerMatchingETagWithNotModified() throws Exception {
+        String playerId = "etag-player-id";
+        String secretKey = "etag-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        String etag = mockMvc.perform(get("/api/v1/leaderboard"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        // Nothing changed, so the client's copy is still current
+        mockMvc.perform(get("/api/v1/leaderboard").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        String jsonPayload = mapper.writeValueAsString(
+                new LeaderboardEntry("Tagger", 1, "TimingGame", System.currentTimeMillis()));
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // The new win changed the list, so the old tag no longer matches
+        String newEtag = mockMvc.perform(get("/api/v1/leaderboard").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void submitScoreShouldRejectReplayedSubmission() throws Exception {
+        String playerId = "replay-player-id";
+        String secretKey = "replay-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        String jsonPayload = mapper.writeValueAsString(
+                new LeaderboardEntry("Replayer", 1, "TimingGame", System.currentTimeMillis()));
+        MockHttpServletRequestBuilder request = signedPost("/api/v1/leaderboard", playerId,
+                jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey).contentType(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk());
+
+        // The identical signed request is rejected before its signature is verified again
+        mockMvc.perform(request)
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void submitScoreShouldRejectStaleTimestampAndReportServerTime() throws Exception {
+        String playerId = "stale-player-id";
+        String secretKey = "stale-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        byte[] body = mapper.writeValueAsBytes(
+                new LeaderboardEntry("Stale", 1, "TimingGame", System.currentTimeMillis()));
+        String timestamp = Long.toString(System.currentTimeMillis() - Duration.ofMinutes(10).toMillis());
+        String nonce = SignedRequest.nonceOf(body);
 
-        // Expect Forbidden (403)
+        // Correctly signed, but sent too long ago: a captured request cannot be replayed later
         mockMvc.perform(post("/api/v1/leaderboard")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .header("X-Player-ID", playerId)
-                        .header("X-HMAC-Signature", wrongSignature)
-                        .content(jsonPayload))
-                .andExpect(status().isForbidden());
+                        .header(SignedRequest.PLAYER_ID_HEADER, playerId)
+                        .header(SignedRequest.TIMESTAMP_HEADER, timestamp)
+                        .header(SignedRequest.NONCE_HEADER, nonce)
+                        .header(SignedRequest.SIGNATURE_HEADER, sign(timestamp, nonce, body, secretKey))
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().exists(SignedRequest.SERVER_TIME_HEADER));
+    }
+
+    @Test
+    void getScoresShouldServeDailyWindowAndRejectUnknownOnes() throws Exception {
+        String playerId = "window-player-id";
+        String secretKey = "window-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        String jsonPayload = mapper.writeValueAsString(
+                new LeaderboardEntry("Windower", 1, "TimingGame", System.currentTimeMillis()));
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // A win submitted now counts for today's and this week's ranking. Wins of other
+        // tests share the boards, so check Windower's own row rather than the first one.
+        mockMvc.perform(get("/api/v1/leaderboard").param("window", "daily").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.playerName == 'Windower')].score").value(contains(1)));
+        mockMvc.perform(get("/api/v1/leaderboard").param("window", "weekly").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.playerName == 'Windower')].score").value(contains(1)));
+
+        mockMvc.perform(get("/api/v1/leaderboard").param("window", "monthly"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getGameScoresShouldRankByWinsInThatGame() throws Exception {
+        String playerId = "game-player-id";
+        String secretKey = "game-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        long now = System.currentTimeMillis();
+        List<LeaderboardEntry> batch = List.of(
+                new LeaderboardEntry("Gamer", 1, "PerGameTimingGame", now),
+                new LeaderboardEntry("Gamer", 1, "PerGameGuessingGame", now + 1),
+                new LeaderboardEntry("Gamer", 1, "PerGameTimingGame", now + 2)
+        );
+        String jsonPayload = mapper.writeValueAsString(batch);
+        mockMvc.perform(signedPost("/api/v1/leaderboard/batch", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // The score is the wins in the requested game, not the total
+        mockMvc.perform(get("/api/v1/leaderboard/PerGameGuessingGame"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].playerName").value("Gamer"))
+                .andExpect(jsonPath("$[0].score").value(1))
+                .andExpect(jsonPath("$[0].gameName").value("PerGameGuessingGame"));
+        mockMvc.perform(get("/api/v1/leaderboard/PerGameTimingGame"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].score").value(2));
+
+        mockMvc.perform(get("/api/v1/leaderboard/NeverPlayedGame"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void winsInUnknownGamesShouldNotCreateLeaderboards() throws Exception {
+        String playerId = "junk-game-player-id";
+        String secretKey = "junk-game-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        String jsonPayload = mapper.writeValueAsString(
+                new LeaderboardEntry("Junk", 1, "NotAConfiguredGame", System.currentTimeMillis()));
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // The win counts, but under the shared "Unknown" game
+        mockMvc.perform(get("/api/v1/leaderboard/NotAConfiguredGame"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/leaderboard/Unknown"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].playerName").value("Junk"));
+    }
+
+    @Test
+    void getRankShouldReturnRankOfKnownPlayer() throws Exception {
+        String playerId = "rank-player-id";
+        String secretKey = "rank-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        String jsonPayload = mapper.writeValueAsString(
+                new LeaderboardEntry("Ranker", 1, "TimingGame", System.currentTimeMillis()));
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, jsonPayload.getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/leaderboard/rank/" + playerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entry.playerName").value("Ranker"))
+                .andExpect(jsonPath("$.rank").isNumber());
+
+        mockMvc.perform(get("/api/v1/leaderboard/rank/unknown-player-id"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void binaryBatchShouldBeAcceptedAndServedBack() throws Exception {
+        String playerId = "binary-player-id";
+        String secretKey = "binary-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        long now = System.currentTimeMillis();
+        byte[] body = LeaderboardCodec.encodeList(List.of(
+                new LeaderboardEntry("Binary Bjorni", 1, "TimingGame", now),
+                new LeaderboardEntry("Binary Bjorni", 1, "TimingGame", now + 1)));
+
+        mockMvc.perform(signedPost("/api/v1/leaderboard/batch", playerId, body, secretKey)
+                        .contentType(LeaderboardCodec.MEDIA_TYPE))
+                .andExpect(status().isOk());
+
+        byte[] top = mockMvc.perform(get("/api/v1/leaderboard").param("limit", "100")
+                        .accept(LeaderboardCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", LeaderboardCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertTrue(LeaderboardCodec.decodeList(top, 0, top.length).stream()
+                .anyMatch(entry -> entry.getPlayerName().equals("Binary Bjorni") && entry.getScore() == 2));
+    }
+
+    @Test
+    void malformedSignedBodyShouldBeABadRequest() throws Exception {
+        String playerId = "malformed-player-id";
+        String secretKey = "malformed-secret-key";
+        when(authController.getSharedKeyBytes(playerId)).thenReturn(secretKey.getBytes(StandardCharsets.UTF_8));
+
+        // Authentic, but no retry of these bodies can ever succeed
+        mockMvc.perform(signedPost("/api/v1/leaderboard", playerId, "{\"score\":".getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(signedPost("/api/v1/leaderboard/batch", playerId, "[null]".getBytes(StandardCharsets.UTF_8), secretKey)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(signedPost("/api/v1/leaderboard/batch", playerId, new byte[]{1, (byte) 0xFF}, secretKey)
+                        .contentType(LeaderboardCodec.MEDIA_TYPE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getScoresShouldOnlyAnswerBinaryWhenItIsAccepted() throws Exception {
+        mockMvc.perform(get("/api/v1/leaderboard").header("Accept", LeaderboardCodec.MEDIA_TYPE + ";q=0, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE));
+        mockMvc.perform(get("/api/v1/leaderboard").header("Accept", "application/json, " + LeaderboardCodec.MEDIA_TYPE + ";q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE));
+        mockMvc.perform(get("/api/v1/leaderboard").header("Accept", LeaderboardCodec.MEDIA_TYPE + ", */*;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", LeaderboardCodec.MEDIA_TYPE));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.persistence.JournalParticipant;
+import com.eleven.pet.server.persistence.JournalRecord;
+import com.eleven.pet.server.persistence.ScoreJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreJournalTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Minimal participant that keeps the latest record per player, like the controllers do.
+     */
+    private static class RecordingParticipant implements JournalParticipant {
+        final Map<String, JournalRecord> state = new LinkedHashMap<>();
+
+        @Override
+        public void restore(JournalRecord record) {
+            switch (record) {
+                case JournalRecord.Registration registration -> state.put("key:" + registration.playerId(), registration);
+                case JournalRecord.PlayerState playerState -> state.merge("stats:" + playerState.playerId(), playerState,
+                        (old, next) -> ((JournalRecord.PlayerState) old).totalWins() >= playerState.totalWins() ? old : next);
+            }
+        }
+
+        @Override
+        public void snapshot(Consumer<JournalRecord> sink) {
+            state.values().forEach(sink);
+        }
+    }
+
+    private ScoreJournal open(RecordingParticipant participant) {
+        ScoreJournal journal = new ScoreJournal(true, directory.toString(), 1 << 20, 3600);
+        journal.register(participant);
+        journal.afterSingletonsInstantiated();
+        return journal;
+    }
+
+    private static JournalRecord.PlayerState win(String playerId, long wins) {
+        return new JournalRecord.PlayerState(playerId, "Bjorni", wins, wins * 1000, Map.of("TimingGame", (int) wins));
+    }
+
+    private void append(ScoreJournal journal, RecordingParticipant participant, JournalRecord record) {
+        participant.restore(record);
+        journal.awaitDurable(journal.append(record));
+    }
+
+    @Test
+    void recoveryShouldReplayLogAfterRestart() {
+        RecordingParticipant before = new RecordingParticipant();
+        ScoreJournal journal = open(before);
+        append(journal, before, new JournalRecord.Registration("p1", "secret"));
+        append(journal, before, win("p1", 1));
+        append(journal, before, win("p1", 2));
+        journal.destroy();
+
+        RecordingParticipant after = new RecordingParticipant();
+        open(after).destroy();
+
+        assertEquals(before.state, after.state);
+        assertEquals(2, ((JournalRecord.PlayerState) after.state.get("stats:p1")).totalWins());
+    }
+
+    @Test
+    void snapshotShouldCompactSegmentsAndKeepTail() throws IOException {
+        RecordingParticipant before = new RecordingParticipant();
+        try (ScoreJournal journal = open(before)) {
+            for (int i = 1; i <= 100; i++) {
+                append(journal, before, win("p" + (i % 10), i));
+            }
+            journal.snapshot();
+            append(journal, before, win("p1", 500));
+
+            // Simulate a crash: no shutdown snapshot, only what is already on disk
+            RecordingParticipant after = new RecordingParticipant();
+            try (ScoreJournal _ = open(after)) {
+                assertEquals(before.state, after.state);
+                try (Stream<Path> files = Files.list(directory)) {
+                    assertTrue(files.anyMatch(file -> file.getFileName().toString().endsWith(".snap")));
+                }
+            }
+        }
+    }
+
+    @Test
+    void recoveryShouldIgnoreTornTail() throws IOException {
+        RecordingParticipant before = new RecordingParticipant();
+        try (ScoreJournal journal = open(before)) {
+            append(journal, before, win("p1", 1));
+
+            // Simulate a crash in the middle of writing the next frame
+            try (Stream<Path> files = Files.list(directory)) {
+                Path segment = files.filter(file -> file.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+                Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+            }
+
+            RecordingParticipant after = new RecordingParticipant();
+            try (ScoreJournal _ = open(after)) {
+                assertEquals(before.state, after.state);
+            }
+        }
+    }
+
+    @Test
+    void failedWriteShouldStopTheJournal() throws IOException {
+        // One byte segments roll after every batch, and opening the next segment fails once the directory is gone
+        ScoreJournal journal = new ScoreJournal(true, directory.toString(), 1, 3600);
+        journal.afterSingletonsInstantiated();
+        try (ScoreJournal _ = journal) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+
+            assertFalse(journal.hasFailed());
+            long ticket = journal.append(win("p1", 1));
+            assertThrows(UncheckedIOException.class, () -> journal.awaitDurable(ticket));
+            assertTrue(journal.hasFailed());
+            // Refused right away instead of queueing records that are never written
+            assertThrows(UncheckedIOException.class, () -> journal.append(win("p1", 2)));
+        } finally {
+            Files.createDirectories(directory);
+        }
+    }
+}
+
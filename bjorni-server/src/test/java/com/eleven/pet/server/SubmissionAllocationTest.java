@@ -0,0 +1,89 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.controller.RequestBodyReader;
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.eleven.pet.shared.util.Signature;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Profiles the heap allocation of the submission hot path (read body, verify HMAC, parse JSON).
+ * <p>
+ * Compares the byte based path used by {@code ScoreController} with the previous String based
+ * path, using the JVM's per-thread allocation counter.
+ * </p>
+ */
+class SubmissionAllocationTest {
+    private static final int ITERATIONS = 20_000;
+    private static final String SECRET_KEY = "allocation-secret-key";
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final Signature signatureUtil = new Signature();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final byte[] payload = ("{\"playerName\":\"Bjorni the Bear\",\"score\":1,"
+            + "\"gameName\":\"TimingGame\",\"timestamp\":1735689600000}").getBytes(StandardCharsets.UTF_8);
+    private final String signature = signatureUtil.calculateHMAC(new String(payload, StandardCharsets.UTF_8), SECRET_KEY);
+
+    /**
+     * The previous handling: decode the body into a String, re-encode it for the HMAC,
+     * compare Base64 strings and parse the String again.
+     */
+    private LeaderboardEntry stringPath(InputStream in) throws IOException {
+        String rawJsonBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        if (!signatureUtil.calculateHMAC(rawJsonBody, SECRET_KEY).equals(signature)) {
+            throw new IllegalStateException("Signature mismatch");
+        }
+        return jsonMapper.readValue(rawJsonBody, LeaderboardEntry.class);
+    }
+
+    /**
+     * The current handling: one byte array shared by the HMAC and the parser.
+     */
+    private LeaderboardEntry bytePath(InputStream in) throws IOException {
+        byte[] body = RequestBodyReader.read(in, payload.length, 128 * 1024);
+        if (!signatureUtil.verifyHMAC(body, 0, body.length, SECRET_KEY, signature)) {
+            throw new IllegalStateException("Signature mismatch");
+        }
+        return jsonMapper.readValue(body, LeaderboardEntry.class);
+    }
+
+    private interface SubmissionPath {
+        LeaderboardEntry handle(InputStream in) throws IOException;
+    }
+
+    private long allocatedBytesPerRequest(SubmissionPath path) throws IOException {
+        // Warm up so JIT compilation and lazy caches do not count
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.handle(new ByteArrayInputStream(payload));
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.handle(new ByteArrayInputStream(payload));
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    @Test
+    void bytePathShouldAllocateLessThanStringPath() throws IOException {
+        assertEquals(stringPath(new ByteArrayInputStream(payload)), bytePath(new ByteArrayInputStream(payload)),
+                "Both paths must decode the same entry");
+
+        long stringBytes = allocatedBytesPerRequest(this::stringPath);
+        long byteBytes = allocatedBytesPerRequest(this::bytePath);
+
+        assertTrue(byteBytes < stringBytes,
+                "Byte path allocated " + byteBytes + " B/request, String path " + stringBytes + " B/request");
+    }
+}
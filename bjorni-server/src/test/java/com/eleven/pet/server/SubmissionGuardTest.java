@@ -0,0 +1,108 @@
+package com.eleven.pet.server;
+
+import com.eleven.pet.server.guard.SubmissionGuard;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionGuardTest {
+
+    private static final long SKEW_SECONDS = 60;
+
+    private static SubmissionGuard guard() {
+        // 1 submission per second with a burst of 3, one day result age, one minute skew,
+        // 8 submissions per second at peak for 1024 nonce slots
+        return new SubmissionGuard(true, 1, 3, Duration.ofDays(1).toSeconds(), SKEW_SECONDS, 1024, 8);
+    }
+
+    @Test
+    void tryAcquireShouldAllowBurstThenReject() {
+        SubmissionGuard guard = guard();
+
+        assertTrue(guard.tryAcquire("flooder"));
+        assertTrue(guard.tryAcquire("flooder"));
+        assertTrue(guard.tryAcquire("flooder"));
+        assertFalse(guard.tryAcquire("flooder"), "The fourth submission within a second exceeds the burst");
+
+        // Buckets are per player
+        assertTrue(guard.tryAcquire("someone-else"));
+    }
+
+    @Test
+    void claimedNonceShouldBeAReplay() {
+        SubmissionGuard guard = guard();
+        long now = System.currentTimeMillis();
+
+        assertFalse(guard.isReplay("player", "nonce-1"));
+        assertEquals(SubmissionGuard.Claim.CLAIMED, guard.claim("player", "nonce-1", now));
+        assertTrue(guard.isReplay("player", "nonce-1"));
+        assertEquals(SubmissionGuard.Claim.REPLAY, guard.claim("player", "nonce-1", now), "A nonce can only be claimed once");
+
+        // Nonces are per player
+        assertFalse(guard.isReplay("someone-else", "nonce-1"));
+
+        guard.release("player", "nonce-1");
+        assertFalse(guard.isReplay("player", "nonce-1"), "Released nonces may be submitted again");
+    }
+
+    @Test
+    void nonceShouldBeForgottenOnceItsTimestampIsStale() {
+        SubmissionGuard guard = guard();
+        long stale = System.currentTimeMillis() - Duration.ofSeconds(SKEW_SECONDS + 1).toMillis();
+
+        assertFalse(guard.isFresh(stale), "A replay this old is rejected by its timestamp");
+        assertEquals(SubmissionGuard.Claim.CLAIMED, guard.claim("player", "nonce-1", stale));
+        assertFalse(guard.isReplay("player", "nonce-1"), "The nonce no longer needs a slot");
+    }
+
+    @Test
+    void isFreshShouldOnlyAcceptTimestampsWithinTheSkew() {
+        SubmissionGuard guard = guard();
+        long now = System.currentTimeMillis();
+
+        assertTrue(guard.isFresh(now));
+        assertTrue(guard.isFresh(now - Duration.ofSeconds(SKEW_SECONDS / 2).toMillis()));
+        assertTrue(guard.isFresh(now + Duration.ofSeconds(SKEW_SECONDS / 2).toMillis()));
+        assertFalse(guard.isFresh(now - Duration.ofMinutes(5).toMillis()));
+        assertFalse(guard.isFresh(now + Duration.ofMinutes(5).toMillis()));
+    }
+
+    @Test
+    void isWithinWindowShouldRejectOldAndFutureResults() {
+        SubmissionGuard guard = guard();
+        long now = System.currentTimeMillis();
+
+        assertTrue(guard.isWithinWindow(now - Duration.ofHours(1).toMillis()));
+        assertFalse(guard.isWithinWindow(now - Duration.ofDays(2).toMillis()));
+        assertFalse(guard.isWithinWindow(now + Duration.ofDays(2).toMillis()));
+    }
+
+    @Test
+    void fullNonceTableShouldRefuseClaimsInsteadOfForgettingNonces() {
+        // 1024 nonce slots
+        SubmissionGuard guard = guard();
+        long now = System.currentTimeMillis();
+
+        List<String> claimed = new ArrayList<>();
+        int refused = 0;
+        for (int i = 0; i < 4096; i++) {
+            SubmissionGuard.Claim claim = guard.claim("player", "nonce-" + i, now);
+            if (claim == SubmissionGuard.Claim.CLAIMED) {
+                claimed.add("nonce-" + i);
+            } else {
+                assertEquals(SubmissionGuard.Claim.FULL, claim);
+                refused++;
+            }
+        }
+
+        assertTrue(claimed.size() <= 1024 && refused >= 4096 - 1024);
+        // No claimed nonce was dropped to make room, so none can be replayed
+        claimed.forEach(nonce -> assertTrue(guard.isReplay("player", nonce), nonce));
+    }
+}
@@ -0,0 +1,70 @@
+package com.eleven.pet.shared.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) describing how the top of the leaderboard changed.
+ * <p>
+ * Deltas are pushed by the server over {@code GET /api/v1/leaderboard/stream}. The first delta of a
+ * stream lists every rank, later ones only the ranks whose entry changed. Applying the deltas in order
+ * to an initially empty list reproduces the server's top list.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardDelta {
+    /**
+     * The version of the server's ranking this delta brings the list up to.
+     */
+    private long version;
+    /**
+     * The length of the list after applying this delta; entries beyond it are dropped.
+     */
+    private int size;
+    /**
+     * The ranks that changed, each with its new entry.
+     */
+    private List<RankedEntry> changes = new ArrayList<>();
+
+    /**
+     * A leaderboard entry at a zero-based position in the list.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RankedEntry {
+        /**
+         * The zero-based position, 0 being the best player.
+         */
+        private int rank;
+        /**
+         * The entry now at {@code rank}.
+         */
+        private LeaderboardEntry entry;
+    }
+
+    /**
+     * Applies this delta to a list in place.
+     *
+     * @param entries the list built from the previous deltas of the same stream.
+     */
+    public void applyTo(List<LeaderboardEntry> entries) {
+        for (RankedEntry change : changes) {
+            // Changes are in ascending rank order, so a rank is at most one past the current end
+            if (change.getRank() < entries.size()) {
+                entries.set(change.getRank(), change.getEntry());
+            } else {
+                entries.add(change.getEntry());
+            }
+        }
+        while (entries.size() > size) {
+            entries.removeLast();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.eleven.pet.shared.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) describing where a single player stands on the leaderboard.
+ * <p>
+ * Returned by {@code GET /api/v1/leaderboard/rank/{playerId}}. Players with the same number of wins
+ * share a rank, so the rank is one more than the number of players with more wins.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerRank {
+    /**
+     * The one-based rank of the player.
+     */
+    private long rank;
+    /**
+     * The number of ranked players.
+     */
+    private long players;
+    /**
+     * The player's own leaderboard entry.
+     */
+    private LeaderboardEntry entry;
+    /**
+     * The players ranked directly above, best first.
+     */
+    private List<LeaderboardEntry> above = new ArrayList<>();
+    /**
+     * The players ranked directly below, best first.
+     */
+    private List<LeaderboardEntry> below = new ArrayList<>();
+}
@@ -0,0 +1,169 @@
+package com.eleven.pet.shared.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the style of HdrHistogram.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so a recorded value is
+ * known to within 12.5% from one nanosecond up to several hours, in a fixed 336 buckets. Recording is a
+ * few shifts and one atomic increment, and never allocates.
+ * </p>
+ * Counts are striped over {@value #STRIPES} arrays chosen by thread ID, so threads recording at the
+ * same time rarely contend on a cache line. Readers merge the stripes; a snapshot taken while values
+ * are recorded may miss the newest ones.
+ * <p>
+ * The server times its endpoints with it, and the load generator the requests it sends.
+ * </p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 43; // 2^44 ns, about 4.9 hours
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+    private static final int STRIPES = 8;
+    // Slots after the buckets of each stripe holding the sum and the largest of the recorded values
+    private static final int SUM = BUCKETS;
+    private static final int MAX = BUCKETS + 1;
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS + 2);
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values count as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().threadId() & (STRIPES - 1)];
+        stripe.incrementAndGet(bucketOf(value));
+        stripe.addAndGet(SUM, value);
+        if (value > stripe.get(MAX)) {
+            stripe.accumulateAndGet(MAX, value, Math::max);
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}.
+     *
+     * @param startNanos a value of {@link System#nanoTime()} taken before the measured work.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the merged bucket counts; element {@code i} counts values in {@code [lowerBound(i), upperBound(i))}.
+     */
+    public long[] counts() {
+        long[] counts = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long count() {
+        long count = 0;
+        for (long bucket : counts()) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    /**
+     * @return the sum of all recorded values in nanoseconds.
+     */
+    public long sumNanos() {
+        long sum = 0;
+        for (AtomicLongArray stripe : stripes) {
+            sum += stripe.get(SUM);
+        }
+        return sum;
+    }
+
+    /**
+     * @return the largest recorded value in nanoseconds, exact; {@code 0} if empty.
+     */
+    public long max() {
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            max = Math.max(max, stripe.get(MAX));
+        }
+        return max;
+    }
+
+    /**
+     * Estimates a percentile from the buckets.
+     *
+     * @param percentile a value in {@code [0, 100]}.
+     * @return an upper bound of the percentile in nanoseconds, at most 12.5% above it and never above
+     * {@link #max()}; {@code 0} if empty.
+     */
+    public long percentile(double percentile) {
+        long[] counts = counts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i) - 1, max());
+            }
+        }
+        return max();
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return the smallest value of bucket {@code index}.
+     */
+    public static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * @return the smallest value above bucket {@code index}.
+     */
+    public static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index + 1;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS);
+    }
+}
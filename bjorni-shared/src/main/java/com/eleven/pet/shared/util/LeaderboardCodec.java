@@ -0,0 +1,219 @@
+package com.eleven.pet.shared.util;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary encoding of {@link LeaderboardEntry} objects, an opt-in alternative to JSON.
+ * <p>
+ * Selected by content negotiation with the media type {@value #MEDIA_TYPE}: as {@code Content-Type}
+ * of a submission, or in {@code Accept} of a leaderboard read. The HMAC of a binary submission is
+ * computed over the encoded bytes, exactly as over the JSON text otherwise.
+ * </p>
+ * <p>
+ * An entry is written as its fields in declaration order, without names:
+ * </p>
+ * <ul>
+ * <li>{@code playerName}, {@code gameName}: varint of the UTF-8 length plus one ({@code 0} for
+ * {@code null}), followed by the UTF-8 bytes.</li>
+ * <li>{@code score}: zigzag varint.</li>
+ * <li>{@code timestamp}: zigzag varint; inside a list, the difference to the previous entry's
+ * timestamp, so the results of one batch take a byte or two each.</li>
+ * </ul>
+ * A list is a varint count followed by its entries. Varints use 7 bits per byte, least significant
+ * group first, with the high bit set on every byte but the last.
+ * <p>
+ * Encoding and decoding run without reflection and allocate only the result. Malformed input is
+ * reported with an {@link IllegalArgumentException}.
+ * </p>
+ */
+public final class LeaderboardCodec {
+    /**
+     * Media type of the binary encoding.
+     */
+    public static final String MEDIA_TYPE = "application/x-bjorni-leaderboard";
+
+    private LeaderboardCodec() {
+    }
+
+    /**
+     * @param entry the entry to encode.
+     * @return the binary form of the entry.
+     */
+    public static byte[] encode(LeaderboardEntry entry) {
+        Writer writer = new Writer(64);
+        writer.entry(entry, 0);
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param entries the entries to encode, in order.
+     * @return the binary form of the list.
+     */
+    public static byte[] encodeList(List<LeaderboardEntry> entries) {
+        Writer writer = new Writer(8 + entries.size() * 32);
+        writer.varint(entries.size());
+        long previous = 0;
+        for (LeaderboardEntry entry : entries) {
+            writer.entry(entry, previous);
+            previous = entry.getTimestamp();
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param bytes  the buffer holding an entry written by {@link #encode(LeaderboardEntry)}.
+     * @param offset the position of the entry.
+     * @param length the number of bytes of the entry.
+     * @return the decoded entry.
+     * @throws IllegalArgumentException if the bytes are not exactly one valid entry.
+     */
+    public static LeaderboardEntry decode(byte[] bytes, int offset, int length) {
+        Reader reader = new Reader(bytes, offset, length);
+        LeaderboardEntry entry = reader.entry(0);
+        reader.expectEnd();
+        return entry;
+    }
+
+    /**
+     * @param bytes  the buffer holding a list written by {@link #encodeList(List)}.
+     * @param offset the position of the list.
+     * @param length the number of bytes of the list.
+     * @return the decoded entries, in order.
+     * @throws IllegalArgumentException if the bytes are not exactly one valid list.
+     */
+    public static List<LeaderboardEntry> decodeList(byte[] bytes, int offset, int length) {
+        Reader reader = new Reader(bytes, offset, length);
+        long count = reader.varint();
+        // Every entry takes at least four bytes, so a count beyond that is malformed
+        if (count < 0 || count > length / 4) {
+            throw new IllegalArgumentException("Malformed leaderboard list: " + count + " entries in " + length + " bytes");
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>((int) count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            LeaderboardEntry entry = reader.entry(previous);
+            previous = entry.getTimestamp();
+            entries.add(entry);
+        }
+        reader.expectEnd();
+        return entries;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void entry(LeaderboardEntry entry, long previousTimestamp) {
+            string(entry.getPlayerName());
+            varint(zigzag(entry.getScore()));
+            string(entry.getGameName());
+            varint(zigzag(entry.getTimestamp() - previousTimestamp));
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        Reader(byte[] bytes, int offset, int length) {
+            if (offset < 0 || length < 0 || offset + length > bytes.length) {
+                throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ") out of " + bytes.length);
+            }
+            this.bytes = bytes;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        LeaderboardEntry entry(long previousTimestamp) {
+            String playerName = string();
+            long score = unzigzag(varint());
+            String gameName = string();
+            long timestamp = previousTimestamp + unzigzag(varint());
+            return new LeaderboardEntry(playerName, score, gameName, timestamp);
+        }
+
+        String string() {
+            long length = varint();
+            if (length == 0) {
+                return null;
+            }
+            // A ten byte varint can decode to a negative length
+            if (length < 1 || length - 1 > end - position) {
+                throw new IllegalArgumentException("Malformed leaderboard entry: string exceeds the input");
+            }
+            String value = new String(bytes, position, (int) length - 1, StandardCharsets.UTF_8);
+            position += (int) length - 1;
+            return value;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position == end) {
+                    throw new IllegalArgumentException("Malformed leaderboard entry: truncated input");
+                }
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed leaderboard entry: varint too long");
+        }
+
+        void expectEnd() {
+            if (position != end) {
+                throw new IllegalArgumentException("Malformed leaderboard data: " + (end - position) + " trailing bytes");
+            }
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
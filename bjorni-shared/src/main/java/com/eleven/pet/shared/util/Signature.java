@@ -1,13 +1,72 @@
 package com.eleven.pet.shared.util;
 
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 
+/**
+ * HMAC-SHA256 signing and verification with cached, reusable {@link Mac} engines.
+ * <p>
+ * Creating and keying a {@link Mac} is far more expensive than hashing a small payload, so every
+ * key gets a small pool of initialized engines. An engine is borrowed by exactly one thread for
+ * the duration of a call (a {@link Mac} is not thread-safe) and returned afterwards. Pools work
+ * the same for platform and virtual threads, unlike a {@link ThreadLocal} cache.
+ * </p>
+ * <p>
+ * Engines are cached either by the key itself or, with
+ * {@link #verifyHMAC(byte[], int, int, String, Function, CharSequence)}, by the ID of the key's
+ * owner, so verifying a request does not need to materialize the key.
+ * </p>
+ * <p>
+ * The number of cached keys is bounded; when the bound is exceeded the least recently used keys
+ * are evicted.
+ * </p>
+ */
 public class Signature {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final int ENCODED_MAC_LENGTH = 44; // Base64 of 32 bytes, one '=' of padding
+    private static final int ENGINES_PER_KEY = 4;
+    private static final int DEFAULT_MAX_KEYS = 4096;
+
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final ConcurrentHashMap<String, EnginePool> pools = new ConcurrentHashMap<>();
+    // Engines of keys looked up by their owner's ID, kept apart so IDs and keys cannot clash
+    private final ConcurrentHashMap<String, EnginePool> poolsById = new ConcurrentHashMap<>();
+    private final int maxKeys;
+
+    public Signature() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * @param maxKeys the maximum number of keys whose engines are kept cached.
+     */
+    public Signature(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
     /**
      * Generates an HMAC-SHA256 signature for the given data using the provided secret key.
      *
@@ -16,15 +75,320 @@ public class Signature {
      * @return A Base64 encoded string of the HMAC.
      */
     public String calculateHMAC(String data, String key) {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        return Base64.getEncoder().encodeToString(calculateHMAC(bytes, 0, bytes.length, key));
+    }
+
+    /**
+     * Generates the raw HMAC-SHA256 of a byte range.
+     *
+     * @param data   The bytes to sign.
+     * @param offset The offset of the first byte to sign.
+     * @param length The number of bytes to sign.
+     * @param key    The shared secret key.
+     * @return The 32 byte HMAC.
+     */
+    public byte[] calculateHMAC(byte[] data, int offset, int length, String key) {
+        Engine engine = borrow(key);
+        try {
+            engine.mac.update(data, offset, length);
+            return engine.mac.doFinal();
+        } finally {
+            release(key, engine);
+        }
+    }
+
+    /**
+     * Generates the raw HMAC-SHA256 of a context string followed by a byte range, e.g. the
+     * {@link SignedRequest#context(CharSequence, CharSequence) signed headers} and the body of a request.
+     *
+     * @param context The ASCII text signed before the data.
+     * @param data    The bytes to sign after the context.
+     * @param offset  The offset of the first byte to sign.
+     * @param length  The number of bytes to sign.
+     * @param key     The shared secret key.
+     * @return The 32 byte HMAC.
+     * @throws IllegalArgumentException if the context is not ASCII.
+     */
+    public byte[] calculateHMAC(CharSequence context, byte[] data, int offset, int length, String key) {
+        Engine engine = borrow(key);
+        try {
+            if (!engine.updateAscii(context)) {
+                throw new IllegalArgumentException("The signed context must be ASCII");
+            }
+            engine.mac.update(data, offset, length);
+            return engine.mac.doFinal();
+        } finally {
+            release(key, engine);
+        }
+    }
+
+    /**
+     * Generates the raw HMAC-SHA256 of the remaining bytes of a buffer.
+     * The buffer's position is advanced to its limit.
+     *
+     * @param data The bytes to sign.
+     * @param key  The shared secret key.
+     * @return The 32 byte HMAC.
+     */
+    public byte[] calculateHMAC(ByteBuffer data, String key) {
+        Engine engine = borrow(key);
         try {
-            Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secret_key = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            sha256_HMAC.init(secret_key);
+            engine.mac.update(data);
+            return engine.mac.doFinal();
+        } finally {
+            release(key, engine);
+        }
+    }
+
+    /**
+     * Checks a Base64 encoded signature against a byte range in constant time.
+     * <p>
+     * Neither the expected signature nor a decoded copy of the provided one is allocated;
+     * both live in scratch buffers owned by the borrowed engine.
+     * </p>
+     *
+     * @param data      The signed bytes.
+     * @param offset    The offset of the first signed byte.
+     * @param length    The number of signed bytes.
+     * @param key       The shared secret key.
+     * @param signature The Base64 encoded signature supplied by the client.
+     * @return {@code true} if the signature matches.
+     */
+    public boolean verifyHMAC(byte[] data, int offset, int length, String key, CharSequence signature) {
+        Engine engine = borrow(key);
+        try {
+            engine.mac.update(data, offset, length);
+            return engine.matches(signature);
+        } finally {
+            release(key, engine);
+        }
+    }
+
+    /**
+     * Checks a Base64 encoded signature against a byte range in constant time, with the engines
+     * cached under the ID of the key's owner.
+     * <p>
+     * The key is only looked up when no engine for the ID is cached, so a verification of a
+     * cached ID does not allocate. The key of an ID must therefore never change.
+     * </p>
+     *
+     * @param data      The signed bytes.
+     * @param offset    The offset of the first signed byte.
+     * @param length    The number of signed bytes.
+     * @param keyId     The ID of the key's owner, e.g. a player ID.
+     * @param keyLookup Returns the key bytes of an ID, or {@code null} if the ID is unknown.
+     * @param signature The Base64 encoded signature supplied by the client.
+     * @return {@code true} if the ID is known and the signature matches.
+     */
+    public boolean verifyHMAC(byte[] data, int offset, int length, String keyId, Function<String, byte[]> keyLookup,
+                              CharSequence signature) {
+        return verifyHMAC("", data, offset, length, keyId, keyLookup, signature);
+    }
+
+    /**
+     * Checks a Base64 encoded signature of a context string followed by a byte range, like
+     * {@link #verifyHMAC(byte[], int, int, String, Function, CharSequence)}.
+     *
+     * @param context   The ASCII text signed before the data, e.g. the signed headers of a request.
+     * @param data      The bytes signed after the context.
+     * @param offset    The offset of the first signed byte.
+     * @param length    The number of signed bytes.
+     * @param keyId     The ID of the key's owner, e.g. a player ID.
+     * @param keyLookup Returns the key bytes of an ID, or {@code null} if the ID is unknown.
+     * @param signature The Base64 encoded signature supplied by the client.
+     * @return {@code true} if the ID is known, the context is ASCII and the signature matches.
+     */
+    public boolean verifyHMAC(CharSequence context, byte[] data, int offset, int length, String keyId,
+                              Function<String, byte[]> keyLookup, CharSequence signature) {
+        EnginePool pool = poolsById.get(keyId);
+        if (pool == null) {
+            byte[] key = keyLookup.apply(keyId);
+            if (key == null) {
+                return false;
+            }
+            pool = poolsById.computeIfAbsent(keyId, _ -> new EnginePool(key));
+            if (poolsById.size() > maxKeys) {
+                evictLeastRecentlyUsed(poolsById);
+            }
+        }
+        Engine engine = borrow(pool);
+        try {
+            if (!engine.updateAscii(context)) {
+                engine.mac.reset();
+                return false;
+            }
+            engine.mac.update(data, offset, length);
+            return engine.matches(signature);
+        } finally {
+            release(poolsById, keyId, engine);
+        }
+    }
+
+    /**
+     * Checks a Base64 encoded signature against the remaining bytes of a buffer in constant time.
+     * The buffer's position is advanced to its limit.
+     *
+     * @param data      The signed bytes.
+     * @param key       The shared secret key.
+     * @param signature The Base64 encoded signature supplied by the client.
+     * @return {@code true} if the signature matches.
+     */
+    public boolean verifyHMAC(ByteBuffer data, String key, CharSequence signature) {
+        Engine engine = borrow(key);
+        try {
+            engine.mac.update(data);
+            return engine.matches(signature);
+        } finally {
+            release(key, engine);
+        }
+    }
+
+    private Engine borrow(String key) {
+        EnginePool pool = pools.get(key);
+        if (pool == null) {
+            pool = pools.computeIfAbsent(key, _ -> new EnginePool(key.getBytes(StandardCharsets.UTF_8)));
+            if (pools.size() > maxKeys) {
+                evictLeastRecentlyUsed(pools);
+            }
+        }
+        return borrow(pool);
+    }
+
+    private static Engine borrow(EnginePool pool) {
+        pool.lastUsed = System.nanoTime();
+
+        for (int i = 0; i < ENGINES_PER_KEY; i++) {
+            Engine engine = pool.idle.getAndSet(i, null);
+            if (engine != null) {
+                return engine;
+            }
+        }
+        return new Engine(pool.keySpec);
+    }
+
+    private void release(String key, Engine engine) {
+        release(pools, key, engine);
+    }
+
+    private static void release(Map<String, EnginePool> pools, String key, Engine engine) {
+        EnginePool pool = pools.get(key);
+        if (pool == null) {
+            return; // Evicted while in use
+        }
+        engine.mac.reset();
+        for (int i = 0; i < ENGINES_PER_KEY; i++) {
+            if (pool.idle.compareAndSet(i, null, engine)) {
+                return;
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed(Map<String, EnginePool> pools) {
+        // Keep the most recently used half of the allowed keys, so eviction runs rarely
+        long[] lastUsed = pools.values().stream().mapToLong(pool -> pool.lastUsed).sorted().toArray();
+        if (lastUsed.length <= maxKeys) {
+            return;
+        }
+        long cutoff = lastUsed[lastUsed.length - maxKeys / 2 - 1];
+        Iterator<Map.Entry<String, EnginePool>> iterator = pools.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().lastUsed <= cutoff) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * The idle engines for one key.
+     */
+    private static final class EnginePool {
+        final SecretKeySpec keySpec;
+        final AtomicReferenceArray<Engine> idle = new AtomicReferenceArray<>(ENGINES_PER_KEY);
+        volatile long lastUsed;
+
+        EnginePool(byte[] key) {
+            this.keySpec = new SecretKeySpec(key, ALGORITHM);
+            this.lastUsed = System.nanoTime();
+        }
+    }
+
+    /**
+     * A keyed {@link Mac} plus scratch space, confined to one thread while borrowed.
+     */
+    private static final class Engine {
+        final Mac mac;
+        final byte[] expected = new byte[MAC_LENGTH];
+        final byte[] provided = new byte[MAC_LENGTH];
+
+        Engine(SecretKeySpec keySpec) {
+            try {
+                this.mac = Mac.getInstance(ALGORITHM);
+                this.mac.init(keySpec);
+            } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+                throw new RuntimeException("Failed to calculate HMAC signature", e);
+            }
+        }
+
+        /**
+         * Feeds ASCII text into the MAC, one byte per character.
+         *
+         * @return {@code false} if a character is not ASCII; the MAC must then be reset.
+         */
+        boolean updateAscii(CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 128) {
+                    return false;
+                }
+                mac.update((byte) c);
+            }
+            return true;
+        }
+
+        /**
+         * Finishes the current MAC and compares it with a Base64 signature in constant time.
+         */
+        boolean matches(CharSequence signature) {
+            try {
+                mac.doFinal(expected, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            return decodeBase64(signature, provided) && MessageDigest.isEqual(expected, provided);
+        }
+    }
+
+    /**
+     * Decodes a padded Base64 encoding of exactly {@link #MAC_LENGTH} bytes.
+     * <p>
+     * Only the canonical encoding is accepted: the bits of the last character that carry no data
+     * must be zero, as otherwise several strings would decode to the same MAC.
+     * </p>
+     *
+     * @return {@code false} if the input is not such an encoding.
+     */
+    private static boolean decodeBase64(CharSequence encoded, byte[] out) {
+        if (encoded == null || encoded.length() != ENCODED_MAC_LENGTH || encoded.charAt(ENCODED_MAC_LENGTH - 1) != '=') {
+            return false;
+        }
 
-            byte[] rawHmac = sha256_HMAC.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(rawHmac);
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new RuntimeException("Failed to calculate HMAC signature", e);
+        int written = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < ENCODED_MAC_LENGTH - 1; i++) {
+            char c = encoded.charAt(i);
+            int value = c < 128 ? BASE64_VALUES[c] : -1;
+            if (value < 0) {
+                return false;
+            }
+            bits = ((bits << 6) | value) & 0xFFFF;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[written++] = (byte) (bits >> bitCount);
+            }
         }
+        return written == MAC_LENGTH && (bits & ((1 << bitCount) - 1)) == 0;
     }
 }
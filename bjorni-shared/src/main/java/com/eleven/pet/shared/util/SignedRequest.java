@@ -0,0 +1,102 @@
+package com.eleven.pet.shared.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Headers of a signed score submission and the content its HMAC covers.
+ * <p>
+ * Besides the body, a submission carries the time it was sent in {@value #TIMESTAMP_HEADER} (milliseconds
+ * since the Unix Epoch) and a nonce in {@value #NONCE_HEADER}. The HMAC in {@value #SIGNATURE_HEADER}
+ * covers the {@link #context(CharSequence, CharSequence) context} of both headers followed by the raw
+ * body, so neither can be changed without the key.
+ * </p>
+ * <p>
+ * The server only accepts requests sent within a few minutes of its own clock and remembers their nonces
+ * for that long, so a captured request cannot be sent again. A server rejecting the timestamp reports its
+ * own time in {@value #SERVER_TIME_HEADER}, from which the client can correct its clock offset.
+ * </p>
+ * The nonce may be any string of 16 to 64 Base64url characters. {@link #nonceOf(byte[])} derives it from
+ * the body, so retrying an unchanged body within the accepted skew is recognized as already accepted.
+ */
+public final class SignedRequest {
+    public static final String SIGNATURE_HEADER = "X-HMAC-Signature";
+    public static final String PLAYER_ID_HEADER = "X-Player-ID";
+    public static final String TIMESTAMP_HEADER = "X-Request-Timestamp";
+    public static final String NONCE_HEADER = "X-Request-Nonce";
+    public static final String SERVER_TIME_HEADER = "X-Server-Time";
+
+    private static final int MIN_NONCE_LENGTH = 16;
+    private static final int MAX_NONCE_LENGTH = 64;
+    // 16 bytes of the body's digest, 22 characters without padding
+    private static final int DERIVED_NONCE_BYTES = 16;
+
+    private SignedRequest() {
+    }
+
+    /**
+     * Returns the text signed before the body, one line per header.
+     *
+     * @param timestamp the {@value #TIMESTAMP_HEADER} value.
+     * @param nonce     the {@value #NONCE_HEADER} value.
+     * @return {@code timestamp + "\n" + nonce + "\n"}.
+     */
+    public static String context(CharSequence timestamp, CharSequence nonce) {
+        return timestamp + "\n" + nonce + "\n";
+    }
+
+    /**
+     * Derives a nonce from the body, so the same body always gets the same nonce.
+     *
+     * @param body the raw body to be signed.
+     * @return a nonce of 22 Base64url characters.
+     */
+    public static String nonceOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            byte[] nonce = new byte[DERIVED_NONCE_BYTES];
+            System.arraycopy(digest, 0, nonce, 0, DERIVED_NONCE_BYTES);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(nonce);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param nonce a {@value #NONCE_HEADER} value, may be {@code null}.
+     * @return {@code true} if it is 16 to 64 Base64url characters.
+     */
+    public static boolean isValidNonce(CharSequence nonce) {
+        if (nonce == null || nonce.length() < MIN_NONCE_LENGTH || nonce.length() > MAX_NONCE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < nonce.length(); i++) {
+            char c = nonce.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param timestamp a {@value #TIMESTAMP_HEADER} value, may be {@code null}.
+     * @return the time in milliseconds since the Unix Epoch, or {@code -1} if it is not a non-negative number.
+     */
+    public static long parseTimestamp(String timestamp) {
+        if (timestamp == null || timestamp.isEmpty() || timestamp.length() > 19) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < timestamp.length(); i++) {
+            char c = timestamp.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value < 0 ? -1 : value;
+    }
+}
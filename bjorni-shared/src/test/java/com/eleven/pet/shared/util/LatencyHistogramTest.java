@@ -0,0 +1,47 @@
+package com.eleven.pet.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesShouldBeWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(1_000, histogram.count());
+        assertEquals(500_500_000L, histogram.sumNanos());
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50 was " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.125, "p99 was " + p99);
+        assertEquals(0, new LatencyHistogram().percentile(99));
+    }
+
+    @Test
+    void maxShouldBeExactAndBoundPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(10_000_000, histogram.max());
+        assertEquals(histogram.max(), histogram.percentile(100));
+        assertEquals(0, new LatencyHistogram().max());
+    }
+
+    @Test
+    void extremeValuesShouldBeClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE / 2);
+
+        assertEquals(2, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+    }
+}
@@ -0,0 +1,66 @@
+package com.eleven.pet.shared.util;
+
+import com.eleven.pet.shared.model.LeaderboardEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardCodecTest {
+    private static final List<LeaderboardEntry> BATCH = List.of(
+            new LeaderboardEntry("Bjorni the Bear", 1, "TimingGame", 1735689600000L),
+            new LeaderboardEntry("Bjorni the Bear", 1, "GuessingGame", 1735689601234L),
+            new LeaderboardEntry("Bjørn 🐻", -3, null, 17L),
+            new LeaderboardEntry(null, Long.MAX_VALUE, "", Long.MIN_VALUE)
+    );
+
+    @Test
+    void entryShouldRoundTrip() {
+        for (LeaderboardEntry entry : BATCH) {
+            byte[] bytes = LeaderboardCodec.encode(entry);
+            assertEquals(entry, LeaderboardCodec.decode(bytes, 0, bytes.length));
+        }
+    }
+
+    @Test
+    void listShouldRoundTripWithinALargerBuffer() {
+        byte[] list = LeaderboardCodec.encodeList(BATCH);
+        byte[] buffer = new byte[list.length + 8];
+        System.arraycopy(list, 0, buffer, 4, list.length);
+
+        assertEquals(BATCH, LeaderboardCodec.decodeList(buffer, 4, list.length));
+        assertEquals(List.of(), LeaderboardCodec.decodeList(LeaderboardCodec.encodeList(List.of()), 0, 1));
+    }
+
+    @Test
+    void batchShouldBeFarSmallerThanJson() throws Exception {
+        List<LeaderboardEntry> typical = BATCH.subList(0, 2);
+        int binary = LeaderboardCodec.encodeList(typical).length;
+        int json = new ObjectMapper().writeValueAsBytes(typical).length;
+
+        assertTrue(binary * 2 < json, "Binary " + binary + " B, JSON " + json + " B");
+    }
+
+    @Test
+    void malformedInputShouldBeRejected() {
+        byte[] bytes = LeaderboardCodec.encode(BATCH.getFirst());
+
+        // Truncated
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCodec.decode(bytes, 0, bytes.length - 1));
+        // Trailing garbage
+        byte[] longer = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, longer, 0, bytes.length);
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCodec.decode(longer, 0, longer.length));
+        // A count no input of this size can hold
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCodec.decodeList(new byte[]{(byte) 0xFF, 0x7F}, 0, 2));
+        // Ten byte varints that decode to -1, as a string length and as a count
+        byte[] minusOne = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01, 0, 0, 0};
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCodec.decode(minusOne, 0, minusOne.length));
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCodec.decodeList(minusOne, 0, minusOne.length));
+    }
+}
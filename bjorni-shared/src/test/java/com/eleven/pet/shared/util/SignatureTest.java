@@ -0,0 +1,129 @@
+package com.eleven.pet.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignatureTest {
+    private static final String PAYLOAD = "{\"playerName\":\"Bjorni\",\"score\":1}";
+    private static final byte[] PAYLOAD_BYTES = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void calculateShouldMatchKnownHmac() {
+        // RFC 4231 test case 2 (5bdcc146...64ec3843 in hex)
+        String expected = "W9zBRr9gdU5qBCQmCJV1x1oAPwidJzmDnexYuWTsOEM=";
+        assertEquals(expected, new Signature().calculateHMAC("what do ya want for nothing?", "Jefe"));
+    }
+
+    @Test
+    void verifyShouldAcceptMatchingSignature() {
+        Signature signature = new Signature();
+        String hmac = signature.calculateHMAC(PAYLOAD, "secret");
+
+        assertTrue(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret", hmac));
+        assertTrue(signature.verifyHMAC(ByteBuffer.wrap(PAYLOAD_BYTES), "secret", hmac));
+    }
+
+    @Test
+    void verifyShouldRejectWrongKeyOrMalformedSignature() {
+        Signature signature = new Signature();
+        String hmac = signature.calculateHMAC(PAYLOAD, "secret");
+
+        assertFalse(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "other", hmac));
+        assertFalse(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret", hmac.substring(1)));
+        assertFalse(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret", "!" + hmac.substring(1)));
+        assertFalse(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret", null));
+    }
+
+    @Test
+    void verifyShouldOnlyAcceptTheCanonicalEncoding() {
+        Signature signature = new Signature();
+        String hmac = signature.calculateHMAC(PAYLOAD, "secret");
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        int last = alphabet.indexOf(hmac.charAt(hmac.length() - 2));
+
+        // The low two bits of the last character carry no data; setting them must not yield another valid signature
+        for (int unused = 1; unused < 4; unused++) {
+            String variant = hmac.substring(0, hmac.length() - 2) + alphabet.charAt(last | unused) + "=";
+            if (!variant.equals(hmac)) {
+                assertFalse(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret", variant), variant);
+            }
+        }
+        assertTrue(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret", hmac));
+    }
+
+    @Test
+    void evictionShouldKeepSignaturesCorrect() {
+        Signature signature = new Signature(4);
+        for (int i = 0; i < 100; i++) {
+            String key = "key-" + (i % 10);
+            String hmac = signature.calculateHMAC(PAYLOAD, key);
+            assertTrue(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, key, hmac));
+        }
+    }
+
+    @Test
+    void verifyByIdShouldLookUpTheKeyOnlyOnce() {
+        Signature signature = new Signature();
+        String hmac = signature.calculateHMAC(PAYLOAD, "secret");
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "player", playerId -> {
+                lookups.incrementAndGet();
+                return "secret".getBytes(StandardCharsets.UTF_8);
+            }, hmac));
+        }
+        assertEquals(1, lookups.get());
+        assertFalse(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "unknown", playerId -> null, hmac));
+        // IDs and keys are cached apart, so an ID that equals another key still uses its own key
+        assertFalse(signature.verifyHMAC(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret",
+                playerId -> "other".getBytes(StandardCharsets.UTF_8), hmac));
+    }
+
+    @Test
+    void contextShouldBeCoveredBySignature() {
+        Signature signature = new Signature();
+        String context = SignedRequest.context("1700000000000", SignedRequest.nonceOf(PAYLOAD_BYTES));
+        String hmac = Base64.getEncoder().encodeToString(
+                signature.calculateHMAC(context, PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "secret"));
+        Function<String, byte[]> keys = playerId -> "secret".getBytes(StandardCharsets.UTF_8);
+
+        // Same as signing the context and the body as one message
+        assertEquals(signature.calculateHMAC(context + PAYLOAD, "secret"), hmac);
+        assertTrue(signature.verifyHMAC(context, PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "player", keys, hmac));
+        // A changed timestamp or nonce breaks the signature
+        assertFalse(signature.verifyHMAC(SignedRequest.context("1700000000001", SignedRequest.nonceOf(PAYLOAD_BYTES)),
+                PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "player", keys, hmac));
+        assertFalse(signature.verifyHMAC("", PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "player", keys, hmac));
+        assertFalse(signature.verifyHMAC("caf\u00e9", PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "player", keys, hmac));
+        // The engine is still usable after rejecting a context
+        assertTrue(signature.verifyHMAC(context, PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, "player", keys, hmac));
+    }
+
+    @Test
+    void signedRequestShouldValidateNonceAndTimestamp() {
+        String nonce = SignedRequest.nonceOf(PAYLOAD_BYTES);
+
+        assertEquals(22, nonce.length());
+        assertEquals(nonce, SignedRequest.nonceOf(PAYLOAD_BYTES.clone()));
+        assertTrue(SignedRequest.isValidNonce(nonce));
+        assertFalse(SignedRequest.isValidNonce("too-short"));
+        assertFalse(SignedRequest.isValidNonce("not/base64url+characters"));
+        assertFalse(SignedRequest.isValidNonce(null));
+
+        assertEquals(1700000000000L, SignedRequest.parseTimestamp("1700000000000"));
+        assertEquals(-1, SignedRequest.parseTimestamp("-5"));
+        assertEquals(-1, SignedRequest.parseTimestamp("12a"));
+        assertEquals(-1, SignedRequest.parseTimestamp("99999999999999999999"));
+        assertEquals(-1, SignedRequest.parseTimestamp(null));
+    }
+}